@@ -0,0 +1,122 @@
+package com.example.photoviewer;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 혼잡도/시간대에 따라 폴링 간격을 정하는 정책 (RefreshScheduler.IntervalPolicy).
+ * 기본 간격
+ * - 피크 시간대(점심 12:00-12:30, 저녁 18:00-18:30, KST) 이거나 마지막 수치가 혼잡(대기열 > 0, 남은 좌석 0) → fastMs
+ * - 여유(남은 좌석 > 30%) → slowMs
+ * - 그 밖(보통 / 수치 모름) → normalMs
+ * 보정 (곱해서 maxMs 까지)
+ * - 백그라운드 → backgroundMs 이상
+ * - 데이터 요금 네트워크(metered) ×2, 배터리 부족(충전 중 아님) ×3
+ * 상태는 여러 스레드에서 바꾸고 읽으므로 synchronized. 시계는 주입해서 테스트에서 바꿀 수 있다.
+ */
+public class AdaptivePollingPolicy implements RefreshScheduler.IntervalPolicy {
+
+    /** 하루 중 구간 [startMinute, endMinute) (KST 자정 기준 분) */
+    static final class Window {
+        final int startMinute;
+        final int endMinute;
+
+        Window(int startHour, int startMin, int endHour, int endMin) {
+            this.startMinute = startHour * 60 + startMin;
+            this.endMinute = endHour * 60 + endMin;
+        }
+
+        boolean contains(int minuteOfDay) {
+            return minuteOfDay >= startMinute && minuteOfDay < endMinute;
+        }
+    }
+
+    static final Window[] DEFAULT_PEAKS = {
+            new Window(12, 0, 12, 30),
+            new Window(18, 0, 18, 30),
+    };
+
+    static final long FAST_MS = 3_000;
+    static final long NORMAL_MS = 10_000;
+    static final long SLOW_MS = 30_000;
+    static final long BACKGROUND_MS = 120_000;
+    static final long MAX_MS = 300_000;
+
+    private static final int METERED_FACTOR = 2;
+    private static final int LOW_BATTERY_FACTOR = 3;
+
+    private final LongSupplier clock;
+    private final Window[] peaks;
+    private final long fastMs, normalMs, slowMs, backgroundMs, maxMs;
+
+    private ParsedStats stats = ParsedStats.EMPTY;
+    private boolean foreground = true;
+    private boolean metered = false;
+    private boolean lowBattery = false;
+
+    public AdaptivePollingPolicy() {
+        this(System::currentTimeMillis, DEFAULT_PEAKS, FAST_MS, NORMAL_MS, SLOW_MS, BACKGROUND_MS, MAX_MS);
+    }
+
+    AdaptivePollingPolicy(LongSupplier clock, Window[] peaks,
+                          long fastMs, long normalMs, long slowMs, long backgroundMs, long maxMs) {
+        this.clock = clock;
+        this.peaks = peaks;
+        this.fastMs = fastMs;
+        this.normalMs = normalMs;
+        this.slowMs = slowMs;
+        this.backgroundMs = backgroundMs;
+        this.maxMs = maxMs;
+    }
+
+    @Override
+    public synchronized long nextIntervalMs() {
+        long interval;
+        if (isPeak(clock.getAsLong()) || isCongested(stats)) {
+            interval = fastMs;
+        } else if (isPlenty(stats)) {
+            interval = slowMs;
+        } else {
+            interval = normalMs;
+        }
+
+        if (!foreground) interval = Math.max(interval, backgroundMs);
+        if (metered) interval *= METERED_FACTOR;
+        if (lowBattery) interval *= LOW_BATTERY_FACTOR;
+        return Math.min(interval, maxMs);
+    }
+
+    /** 마지막으로 받은 최신 글의 수치 */
+    public synchronized void setStats(ParsedStats stats) {
+        this.stats = stats == null ? ParsedStats.EMPTY : stats;
+    }
+
+    public synchronized void setForeground(boolean foreground) {
+        this.foreground = foreground;
+    }
+
+    public synchronized void setMetered(boolean metered) {
+        this.metered = metered;
+    }
+
+    public synchronized void setLowBattery(boolean lowBattery) {
+        this.lowBattery = lowBattery;
+    }
+
+    boolean isPeak(long epochMs) {
+        int minuteOfDay = (int) (Math.floorMod(epochMs + IsoTime.KST_OFFSET_MS, 24 * 60 * 60 * 1000L) / 60_000L);
+        for (Window w : peaks) {
+            if (w.contains(minuteOfDay)) return true;
+        }
+        return false;
+    }
+
+    // 화면의 "혼잡" 배지와 같은 기준
+    static boolean isCongested(ParsedStats ps) {
+        return ps.isValid() && (ps.queue > 0 || ps.remainSeats <= 0);
+    }
+
+    // 화면의 "여유" 배지와 같은 기준
+    static boolean isPlenty(ParsedStats ps) {
+        return ps.isValid() && ps.queue <= 0 && ps.remainSeats > ps.totalSeats * 0.3;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.photoviewer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 앱이 가진 백그라운드 풀 하나 (AsyncTask.THREAD_POOL_EXECUTOR / SERIAL_EXECUTOR 대신).
+ * - io(): 기기 저장소 읽기, 파일 쓰기, History 페이지 요청 같은 짧은 블로킹 작업. 스레드는 IO_THREADS 개까지
+ * - serial(): 같은 풀 위에서 넣은 순서대로 하나씩 (목록 diff 처럼 순서가 중요한 작업)
+ * 이미지 로딩 / 폴링 / 푸시는 각자 전용 스레드를 쓰므로 여기에 넣지 않는다.
+ * 쉬는 스레드는 KEEP_ALIVE_SECONDS 뒤에 정리되고, 대기열·실행 중 개수는 디버그 화면(PerfMetrics)에서 본다.
+ */
+public final class AppExecutors {
+
+    static final int IO_THREADS = 4;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static AppExecutors instance;
+
+    private final ThreadPoolExecutor io;
+
+    public static synchronized AppExecutors get() {
+        if (instance == null) {
+            instance = new AppExecutors();
+            ThreadPoolExecutor io = instance.io;
+            PerfMetrics m = PerfMetrics.get();
+            m.probe("executor.active", io::getActiveCount);
+            m.probe("executor.queued", () -> io.getQueue().size());
+            m.probe("executor.completed", io::getCompletedTaskCount);
+        }
+        return instance;
+    }
+
+    private AppExecutors() {
+        io = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "app-io");
+                    t.setDaemon(true);
+                    return t;
+                });
+        io.allowCoreThreadTimeOut(true);
+    }
+
+    public Executor io() {
+        return io;
+    }
+
+    /** io() 위에서 넣은 순서대로 하나씩 실행하는 새 Executor (호출한 쪽마다 따로) */
+    public Executor serial() {
+        return new SerialExecutor(io);
+    }
+
+    static final class SerialExecutor implements Executor {
+        private final Executor target;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>(); // this 로 보호
+        private Runnable active;
+
+        SerialExecutor(Executor target) {
+            this.target = target;
+        }
+
+        @Override
+        public synchronized void execute(Runnable r) {
+            tasks.offer(() -> {
+                try {
+                    r.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null) scheduleNext();
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) target.execute(active);
+        }
+    }
+}
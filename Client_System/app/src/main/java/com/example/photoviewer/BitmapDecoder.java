@@ -0,0 +1,128 @@
+package com.example.photoviewer;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.DisplayMetrics;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 표시 크기에 맞춘 Bitmap 디코딩.
+ * 1) inJustDecodeBounds 로 원본 크기만 읽고
+ * 2) 대상 ImageView 크기에 맞게 inSampleSize(2의 거듭제곱)로 줄여 디코딩
+ * 3) 썸네일은 RGB_565 (픽셀당 2바이트), 히어로 이미지는 ARGB_8888
+ * 4) BitmapPool 에서 꺼낸 Bitmap 을 inBitmap 으로 재사용
+ * ✅ 계측: 새로 할당한 바이트 / 재사용한 바이트 / 서브샘플링으로 아낀 바이트 (ARGB_8888 원본 크기 대비).
+ * 디코딩 시간은 호출 측에서 잰다 (image.decode, timelapse.decode).
+ */
+final class BitmapDecoder {
+
+    private static final PerfMetrics METRICS = PerfMetrics.get();
+    private static final LongAdder BYTES_ALLOCATED = METRICS.counter("image.bytesAllocated");
+    private static final LongAdder BYTES_REUSED = METRICS.counter("image.bytesReused");
+    private static final LongAdder BYTES_SAVED = METRICS.counter("image.bytesSaved");
+
+    private BitmapDecoder() {}
+
+    /** 디코딩 목표 크기 + 화질 */
+    static final class Target {
+        final int width;
+        final int height;
+        final boolean thumbnail;
+
+        Target(int width, int height, boolean thumbnail) {
+            this.width = width;
+            this.height = height;
+            this.thumbnail = thumbnail;
+        }
+
+        Bitmap.Config config() {
+            return thumbnail ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+        }
+
+        /** 메모리 캐시 키: 같은 URL 이라도 크기/화질이 다르면 다른 Bitmap */
+        String cacheKey(String url) {
+            return url + "@" + width + "x" + height + (thumbnail ? "#565" : "");
+        }
+    }
+
+    /**
+     * ImageView 의 실제 크기. 아직 레이아웃 전이면 LayoutParams, 그것도 없으면 화면 폭 기준.
+     */
+    static Target targetFor(ImageView view, boolean thumbnail) {
+        int w = view.getWidth();
+        int h = view.getHeight();
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        if (w <= 0 && lp != null && lp.width > 0) w = lp.width;
+        if (h <= 0 && lp != null && lp.height > 0) h = lp.height;
+        if (w <= 0 || h <= 0) {
+            DisplayMetrics dm = view.getResources() != null ? view.getResources().getDisplayMetrics() : null;
+            int screen = dm != null ? dm.widthPixels : 1080;
+            if (w <= 0) w = screen;
+            if (h <= 0) h = screen;
+        }
+        return new Target(w, h, thumbnail);
+    }
+
+    static Bitmap decode(byte[] data, Target target, BitmapPool pool) {
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, opts);
+        int srcW = opts.outWidth;
+        int srcH = opts.outHeight;
+        if (srcW <= 0 || srcH <= 0) return null;
+
+        int sample = calculateInSampleSize(srcW, srcH, target.width, target.height);
+        int outW = ceilDiv(srcW, sample);
+        int outH = ceilDiv(srcH, sample);
+        Bitmap.Config config = target.config();
+
+        opts.inJustDecodeBounds = false;
+        opts.inSampleSize = sample;
+        opts.inPreferredConfig = config;
+        opts.inMutable = true;
+        opts.inBitmap = pool != null ? pool.take(outW, outH, config) : null;
+
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, opts);
+        } catch (IllegalArgumentException e) {
+            // inBitmap 이 맞지 않으면 새로 할당해서 다시
+            if (opts.inBitmap != null) pool.put(opts.inBitmap);
+            opts.inBitmap = null;
+            bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, opts);
+        }
+        if (bitmap == null) {
+            if (opts.inBitmap != null) pool.put(opts.inBitmap);
+            return null;
+        }
+
+        long fullBytes = (long) srcW * srcH * 4;
+        int actualBytes = bitmap.getAllocationByteCount();
+        if (opts.inBitmap != null && opts.inBitmap == bitmap) {
+            BYTES_REUSED.add(actualBytes);
+        } else {
+            BYTES_ALLOCATED.add(actualBytes);
+        }
+        BYTES_SAVED.add(Math.max(0, fullBytes - (long) outW * outH * BitmapPool.bytesPerPixel(config)));
+        return bitmap;
+    }
+
+    /**
+     * 결과가 요청 크기보다 작아지지 않는 가장 큰 2의 거듭제곱.
+     */
+    static int calculateInSampleSize(int srcW, int srcH, int reqW, int reqH) {
+        int sample = 1;
+        if (reqW <= 0 || reqH <= 0) return sample;
+        while ((srcW / (sample * 2)) >= reqW && (srcH / (sample * 2)) >= reqH) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
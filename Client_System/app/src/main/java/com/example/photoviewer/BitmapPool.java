@@ -0,0 +1,70 @@
+package com.example.photoviewer;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재사용 가능한 Bitmap 풀 (BitmapFactory.Options.inBitmap 용).
+ * 메모리 캐시에서 밀려났고 어떤 ImageView 에도 붙어 있지 않은 Bitmap 만 들어온다.
+ * 총 바이트가 maxBytes 를 넘으면 오래된 것부터 recycle.
+ */
+final class BitmapPool {
+
+    private final long maxBytes;
+    private final List<Bitmap> pool = new ArrayList<>();
+    private long sizeBytes = 0;
+
+    BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized void put(Bitmap b) {
+        if (b == null || b.isRecycled() || !b.isMutable()) return;
+        int bytes = b.getAllocationByteCount();
+        if (bytes > maxBytes) {
+            b.recycle();
+            return;
+        }
+        pool.add(b);
+        sizeBytes += bytes;
+        while (sizeBytes > maxBytes && !pool.isEmpty()) {
+            Bitmap old = pool.remove(0);
+            sizeBytes -= old.getAllocationByteCount();
+            old.recycle();
+        }
+    }
+
+    /**
+     * width x height, config 로 디코딩할 때 덮어쓸 수 있는 Bitmap 을 꺼낸다 (API 19+: 할당 크기만 맞으면 됨).
+     * 가장 낭비가 적은 것을 고른다.
+     */
+    synchronized Bitmap take(int width, int height, Bitmap.Config config) {
+        long needed = (long) width * height * bytesPerPixel(config);
+        int best = -1;
+        long bestSize = Long.MAX_VALUE;
+        for (int i = 0; i < pool.size(); i++) {
+            Bitmap b = pool.get(i);
+            int size = b.getAllocationByteCount();
+            if (b.getConfig() == config && size >= needed && size < bestSize) {
+                best = i;
+                bestSize = size;
+            }
+        }
+        if (best < 0) return null;
+        Bitmap b = pool.remove(best);
+        sizeBytes -= b.getAllocationByteCount();
+        return b;
+    }
+
+    synchronized long sizeBytes() {
+        return sizeBytes;
+    }
+
+    static int bytesPerPixel(Bitmap.Config config) {
+        if (config == Bitmap.Config.RGB_565) return 2;
+        if (config == Bitmap.Config.ALPHA_8) return 1;
+        return 4;
+    }
+}
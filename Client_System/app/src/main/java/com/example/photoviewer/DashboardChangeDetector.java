@@ -0,0 +1,95 @@
+package com.example.photoviewer;
+
+import java.util.List;
+
+/**
+ * 대시보드를 다시 그릴지 판단하는 워터마크.
+ * - 최신 글(생성 시각 최대, 같으면 id 최대) 의 id + 내용 해시가 같으면 화면/이미지 작업을 건너뛴다
+ * - 알림은 이전 목록의 최대 id 보다 큰 글이 새로 들어왔을 때만 (첫 표시 때는 알리지 않음)
+ * - 개수 비교 대신 id 집합 해시로 추가/삭제를 알아챈다
+ * 정렬 없이 목록을 한 번만 훑는다. UI 스레드에서만 사용.
+ */
+final class DashboardChangeDetector {
+
+    /** 한 번의 목록에 대한 판단 결과 */
+    static final class Change {
+        final PostItem latest;       // 최신 글 (목록이 비었으면 null)
+        final boolean render;        // 최신 글이 바뀌어서 다시 그려야 함
+        final boolean heroChanged;   // 최신 글의 이미지 URL 이 바뀜
+        final int newPosts;          // 이전보다 큰 id 로 들어온 글 수 (첫 표시면 0)
+        final boolean membershipChanged; // 글이 추가/삭제됨
+
+        Change(PostItem latest, boolean render, boolean heroChanged, int newPosts, boolean membershipChanged) {
+            this.latest = latest;
+            this.render = render;
+            this.heroChanged = heroChanged;
+            this.newPosts = newPosts;
+            this.membershipChanged = membershipChanged;
+        }
+    }
+
+    private boolean hasWatermark = false;
+    private int maxId;
+    private int count;
+    private long idSetHash;
+    private int latestId;
+    private long latestHash;
+    private String latestImage;
+
+    private long renders;
+    private long skipped;
+
+    Change update(List<PostItem> posts) {
+        PostItem latest = null;
+        int newMax = 0;
+        long setHash = 0;
+        int newPosts = 0;
+        for (PostItem p : posts) {
+            if (latest == null || PostStore.NEWEST_FIRST.compare(p, latest) < 0) latest = p;
+            if (p.getId() > newMax) newMax = p.getId();
+            if (hasWatermark && p.getId() > maxId) newPosts++;
+            setHash += mix(p.getId()); // 순서와 무관한 id 집합 해시
+        }
+
+        long hash = latest == null ? 0 : latest.contentHash();
+        int id = latest == null ? 0 : latest.getId();
+        String image = latest == null ? null : latest.getImageUrl();
+
+        boolean render = !hasWatermark || id != latestId || hash != latestHash;
+        boolean heroChanged = !hasWatermark || !eq(image, latestImage);
+        boolean membershipChanged = hasWatermark && (posts.size() != count || setHash != idSetHash);
+
+        if (render) renders++;
+        else skipped++;
+
+        hasWatermark = true;
+        maxId = Math.max(maxId, newMax);
+        count = posts.size();
+        idSetHash = setHash;
+        latestId = id;
+        latestHash = hash;
+        latestImage = image;
+
+        return new Change(latest, render, heroChanged, newPosts, membershipChanged);
+    }
+
+    long getRenderCount() {
+        return renders;
+    }
+
+    long getSkippedRenderCount() {
+        return skipped;
+    }
+
+    // splitmix64: 더하기로 모아도 충돌이 적도록 id 를 흩뿌림
+    private static long mix(long x) {
+        x += 0x9e3779b97f4a7c15L;
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+
+    private static boolean eq(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.photoviewer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * 원본(인코딩된) 이미지 바이트를 cacheDir 아래에 저장하는 디스크 캐시.
+ * - 파일명: URL 의 SHA-1
+ * - 전체 크기가 maxBytes 를 넘으면 가장 오래 안 쓴 파일(lastModified)부터 삭제
+ * - 쓰기는 임시 파일 → rename 으로, 중간에 죽어도 깨진 파일이 남지 않게
+ */
+final class DiskImageCache {
+
+    private final File dir;
+    private final long maxBytes;
+    private long sizeBytes = -1; // 처음 접근할 때 디렉터리를 훑어서 계산
+
+    DiskImageCache(File dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized byte[] get(String url) {
+        File f = fileFor(url);
+        if (!f.isFile()) return null;
+        try (InputStream in = new FileInputStream(f)) {
+            byte[] data = new byte[(int) f.length()];
+            int off = 0;
+            while (off < data.length) {
+                int n = in.read(data, off, data.length - off);
+                if (n < 0) break;
+                off += n;
+            }
+            if (off != data.length) return null;
+            f.setLastModified(System.currentTimeMillis()); // LRU 순서 갱신
+            return data;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    synchronized void put(String url, byte[] data) {
+        if (data == null || data.length == 0 || data.length > maxBytes) return;
+        ensureSize();
+        if (!dir.isDirectory() && !dir.mkdirs()) return;
+
+        File f = fileFor(url);
+        File tmp = new File(dir, f.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(data);
+        } catch (IOException e) {
+            tmp.delete();
+            return;
+        }
+        long previous = f.isFile() ? f.length() : 0;
+        if (!tmp.renameTo(f)) {
+            tmp.delete();
+            return;
+        }
+        sizeBytes += data.length - previous;
+        trimTo(maxBytes);
+    }
+
+    synchronized long sizeBytes() {
+        ensureSize();
+        return sizeBytes;
+    }
+
+    synchronized void clear() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        sizeBytes = 0;
+    }
+
+    private void ensureSize() {
+        if (sizeBytes >= 0) return;
+        sizeBytes = 0;
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File f : files) {
+            if (f.getName().endsWith(".tmp")) f.delete();
+            else sizeBytes += f.length();
+        }
+    }
+
+    private void trimTo(long limit) {
+        if (sizeBytes <= limit) return;
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File f : files) {
+            if (sizeBytes <= limit) break;
+            long len = f.length();
+            if (f.delete()) sizeBytes -= len;
+        }
+    }
+
+    private File fileFor(String url) {
+        return new File(dir, sha1Hex(url));
+    }
+
+    private static String sha1Hex(String s) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-1").digest(s.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[d.length * 2];
+            final char[] digits = "0123456789abcdef".toCharArray();
+            for (int i = 0; i < d.length; i++) {
+                hex[i * 2] = digits[(d[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = digits[d[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (Exception e) {
+            return Integer.toHexString(s.hashCode()) + "_" + s.length();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.photoviewer;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 혼잡도 글을 올리는 서버(식당) 하나.
+ * - 목록은 res/values/feeds.xml 의 feeds 배열: "이름|서버 주소" 또는 "이름|서버 주소|타임아웃(ms)"
+ * - 첫 번째가 기본 식당 (대시보드 상세 / History / 푸시 / 기기 저장소)
+ * - 나머지는 FeedAggregator 로 같이 읽어서 식당별 현황에만 쓴다
+ * 이미지 경로가 상대 경로(/media/...)면 그 서버 주소를 붙인다.
+ */
+public final class Feed {
+
+    static final long DEFAULT_TIMEOUT_MS = 5000;
+
+    // ✅ PythonAnywhere (설정이 비었거나 잘못됐을 때)
+    static final Feed DEFAULT = new Feed("학생식당", "https://soyeonkk.pythonanywhere.com", DEFAULT_TIMEOUT_MS);
+
+    private static List<Feed> configured;
+
+    public final String name;
+    public final String baseUrl;   // 끝에 / 없음
+    public final long timeoutMs;   // 이 서버 요청 하나의 전체 제한 시간
+
+    Feed(String name, String baseUrl, long timeoutMs) {
+        this.name = name;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** 설정된 식당 목록 (첫 번째가 기본, 비어 있지 않음) */
+    public static synchronized List<Feed> all(Context ctx) {
+        if (configured == null) {
+            configured = parseAll(ctx.getResources().getStringArray(R.array.feeds));
+        }
+        return configured;
+    }
+
+    public static Feed primary(Context ctx) {
+        return all(ctx).get(0);
+    }
+
+    static List<Feed> parseAll(String[] entries) {
+        List<Feed> out = new ArrayList<>();
+        for (String e : entries) {
+            Feed f = parse(e);
+            if (f != null) out.add(f);
+            else Log.w("Feed", "잘못된 피드 설정 무시 : " + e);
+        }
+        return out.isEmpty() ? Collections.singletonList(DEFAULT) : Collections.unmodifiableList(out);
+    }
+
+    /** "이름|주소[|타임아웃ms]" (형식이 틀리면 null) */
+    static Feed parse(String entry) {
+        if (entry == null) return null;
+        String[] parts = entry.split("\\|");
+        if (parts.length < 2 || parts.length > 3) return null;
+        String name = parts[0].trim();
+        String url = parts[1].trim();
+        if (name.isEmpty() || !(url.startsWith("http://") || url.startsWith("https://"))) return null;
+        long timeout = DEFAULT_TIMEOUT_MS;
+        if (parts.length == 3) {
+            try {
+                timeout = Long.parseLong(parts[2].trim());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+            if (timeout <= 0) return null;
+        }
+        return new Feed(name, url, timeout);
+    }
+
+    /** DRF Post 목록 */
+    public String postsUrl() {
+        return baseUrl + "/api_root/Post/";
+    }
+
+    /** 새 글 푸시 (SSE) */
+    public String streamUrl() {
+        return postsUrl() + "stream/";
+    }
+
+    /** 글의 이미지 경로 → 전체 URL (없으면 null) */
+    public String imageUrl(String imagePath) {
+        if (imagePath == null || imagePath.isEmpty()) return null;
+        return imagePath.startsWith("http") ? imagePath : baseUrl + imagePath;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + baseUrl + ")";
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.photoviewer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 여러 식당(Feed)을 동시에 동기화해서 식당별 현황과 합친 값을 만든다.
+ * - 식당마다 자기 Source 를 가진다 (보통 PostSync: since_id 워터마크 / ETag 캐시가 식당별로 따로)
+ * - refresh() 는 모든 식당 요청을 한꺼번에 시작하고, 식당마다 자기 timeoutMs 까지만 기다린다
+ *   → 걸리는 시간은 식당 수의 합이 아니라 가장 느린 식당 하나 (최대 가장 긴 제한 시간)
+ * - 제한 시간을 넘긴 요청은 끝날 때까지 두고 (PostSync 는 한 번에 하나), 그동안 그 식당은 새로 시작하지 않는다
+ * - 실패 / 시간 초과한 식당은 마지막으로 받은 값을 그대로 두고 상태만 표시한다
+ * refresh() 는 한 번에 한 스레드에서만 (RefreshScheduler 의 워커).
+ */
+public final class FeedAggregator {
+
+    /** 식당 하나의 최신 목록 (워커 스레드, 실패하면 IOException) */
+    public interface Source {
+        List<PostItem> poll() throws IOException;
+    }
+
+    public static final int OK = 0, TIMEOUT = 1, FAILED = 2, PENDING = 3;
+
+    /** 식당 하나의 현황 (불변) */
+    public static final class Site {
+        public final Feed feed;
+        public final int state;          // 이번 refresh 결과 (PENDING = 아직 한 번도 못 받음)
+        public final PostItem latest;    // 마지막으로 받은 가장 최근 글 (수치 있는 글 우선, 없으면 null)
+        public final long latencyMs;     // 이번 요청 시간 (시간 초과면 제한 시간)
+        public final long updatedAtMs;   // 마지막으로 성공한 시각 (clock 기준, 없으면 0)
+
+        Site(Feed feed, int state, PostItem latest, long latencyMs, long updatedAtMs) {
+            this.feed = feed;
+            this.state = state;
+            this.latest = latest;
+            this.latencyMs = latencyMs;
+            this.updatedAtMs = updatedAtMs;
+        }
+
+        public boolean hasStats() {
+            return latest != null && latest.getStats().isValid();
+        }
+
+        /** OccupancySeries.STATUS_* (수치가 없으면 STATUS_NONE) */
+        public int status() {
+            if (!hasStats()) return OccupancySeries.STATUS_NONE;
+            ParsedStats s = latest.getStats();
+            return OccupancySeries.statusOf(s.totalSeats, s.queue, s.remainSeats);
+        }
+    }
+
+    /** 한 번의 refresh 결과: 식당별 현황 (설정 순서) + 수치가 있는 식당의 합 */
+    public static final class View {
+        public final List<Site> sites;
+        public final long elapsedMs;
+        public final int totalSeats, remainSeats, queue;
+
+        View(List<Site> sites, long elapsedMs) {
+            this.sites = sites;
+            this.elapsedMs = elapsedMs;
+            int total = 0, remain = 0, q = 0;
+            for (Site s : sites) {
+                if (!s.hasStats()) continue;
+                ParsedStats st = s.latest.getStats();
+                total += st.totalSeats;
+                remain += st.remainSeats;
+                q += Math.max(0, st.queue);
+            }
+            this.totalSeats = total;
+            this.remainSeats = remain;
+            this.queue = q;
+        }
+
+        public int okCount() {
+            int n = 0;
+            for (Site s : sites) if (s.state == OK) n++;
+            return n;
+        }
+
+        /** 남은 좌석 비율이 가장 큰 식당 (대기열이 있으면 뒤로, 수치가 없으면 null) */
+        public Site best() {
+            Site best = null;
+            double bestScore = -1;
+            for (Site s : sites) {
+                if (!s.hasStats()) continue;
+                ParsedStats st = s.latest.getStats();
+                double score = (double) st.remainSeats / st.totalSeats - (st.queue > 0 ? 1 : 0);
+                if (best == null || score > bestScore) {
+                    best = s;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+    }
+
+    // ✅ 계측: 한 번의 전체 refresh 시간과 식당별 시간 초과 / 실패
+    private static final PerfMetrics METRICS = PerfMetrics.get();
+    private static final PerfMetrics.Histogram REFRESH = METRICS.histogram("feeds.refresh");
+    private static final LongAdder TIMEOUTS = METRICS.counter("feeds.timeouts");
+    private static final LongAdder FAILURES = METRICS.counter("feeds.failures");
+
+    private final List<Feed> feeds;
+    private final List<Source> sources;
+    private final ExecutorService pool;
+    private final LongSupplier clock;
+
+    // ---- refresh 스레드 전용 ----
+    private final List<Future<Fetched>> inFlight;
+    private final Site[] last;
+
+    /** 요청 결과와 걸린 시간 */
+    private static final class Fetched {
+        final List<PostItem> posts;
+        final long nanos;
+
+        Fetched(List<PostItem> posts, long nanos) {
+            this.posts = posts;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * 첫 번째 식당은 primary (보통 PostRepository), 나머지는 식당마다 새 PostSync.
+     * 스레드는 식당 수만큼 (데몬).
+     */
+    public static FeedAggregator create(List<Feed> feeds, Source primary, LongSupplier clock) {
+        List<Source> sources = new ArrayList<>(feeds.size());
+        sources.add(primary);
+        for (int i = 1; i < feeds.size(); i++) {
+            Feed f = feeds.get(i);
+            PostSync sync = new PostSync(f.postsUrl(), f.timeoutMs);
+            sources.add(() -> {
+                List<PostItem> posts = sync.poll();
+                if (posts == null) throw new IOException(f.name + " 동기화 실패");
+                return posts;
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(feeds.size(), r -> {
+            Thread t = new Thread(r, "feed-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        return new FeedAggregator(feeds, sources, pool, clock);
+    }
+
+    FeedAggregator(List<Feed> feeds, List<Source> sources, ExecutorService pool, LongSupplier clock) {
+        if (feeds.size() != sources.size()) throw new IllegalArgumentException("feeds / sources 개수가 다름");
+        this.feeds = feeds;
+        this.sources = sources;
+        this.pool = pool;
+        this.clock = clock;
+        this.inFlight = new ArrayList<>(Collections.nCopies(feeds.size(), null));
+        this.last = new Site[feeds.size()];
+        for (int i = 0; i < last.length; i++) last[i] = new Site(feeds.get(i), PENDING, null, 0, 0);
+    }
+
+    public int size() {
+        return feeds.size();
+    }
+
+    /**
+     * 모든 식당을 동시에 동기화한다. 하나라도 받았거나 이전 값이 있으면 View,
+     * 모두 실패했고 보여 줄 값도 없으면 IOException (→ 백오프).
+     */
+    public View refresh() throws IOException {
+        long start = METRICS.now();
+        long startMs = clock.getAsLong();
+        for (int i = 0; i < sources.size(); i++) {
+            Future<Fetched> prev = inFlight.get(i);
+            if (prev != null && !prev.isDone()) continue; // 지난번에 시간 초과한 요청이 아직 진행 중
+            Source src = sources.get(i);
+            inFlight.set(i, pool.submit(() -> {
+                long t0 = System.nanoTime();
+                List<PostItem> posts = src.poll();
+                return new Fetched(posts, System.nanoTime() - t0);
+            }));
+        }
+
+        List<Site> sites = new ArrayList<>(feeds.size());
+        boolean anyOk = false, anyValue = false;
+        for (int i = 0; i < feeds.size(); i++) {
+            Feed feed = feeds.get(i);
+            Future<Fetched> f = inFlight.get(i);
+            long waitMs = Math.max(0, startMs + feed.timeoutMs - clock.getAsLong());
+            Site prev = last[i];
+            Site site;
+            try {
+                Fetched r = f.get(waitMs, TimeUnit.MILLISECONDS);
+                inFlight.set(i, null);
+                PostItem latest = latestOf(r.posts);
+                site = new Site(feed, OK, latest != null ? latest : prev.latest,
+                        TimeUnit.NANOSECONDS.toMillis(r.nanos), clock.getAsLong());
+                anyOk = true;
+            } catch (TimeoutException e) {
+                TIMEOUTS.increment();
+                site = new Site(feed, TIMEOUT, prev.latest, feed.timeoutMs, prev.updatedAtMs);
+            } catch (ExecutionException e) {
+                inFlight.set(i, null);
+                long tookMs = clock.getAsLong() - startMs;
+                if (tookMs >= feed.timeoutMs) {
+                    // 요청 자체의 제한 시간(같은 timeoutMs)이 먼저 끊은 것 → 실패가 아니라 시간 초과
+                    TIMEOUTS.increment();
+                    site = new Site(feed, TIMEOUT, prev.latest, feed.timeoutMs, prev.updatedAtMs);
+                } else {
+                    FAILURES.increment();
+                    site = new Site(feed, FAILED, prev.latest, tookMs, prev.updatedAtMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("식당 동기화 대기 중 중단");
+            }
+            last[i] = site;
+            anyValue |= site.latest != null;
+            sites.add(site);
+        }
+        METRICS.recordSince(REFRESH, start);
+
+        if (!anyOk && !anyValue) throw new IOException("모든 식당 동기화 실패");
+        return new View(Collections.unmodifiableList(sites), clock.getAsLong() - startMs);
+    }
+
+    /** 진행 중인 요청을 끊고 스레드를 정리한다 */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** 가장 최근 글 (수치가 있는 글 우선) */
+    static PostItem latestOf(List<PostItem> posts) {
+        PostItem newest = null, newestWithStats = null;
+        for (PostItem p : posts) {
+            if (newest == null || PostStore.NEWEST_FIRST.compare(p, newest) < 0) newest = p;
+            if (p.getStats().isValid()
+                    && (newestWithStats == null || PostStore.NEWEST_FIRST.compare(p, newestWithStats) < 0)) {
+                newestWithStats = p;
+            }
+        }
+        return newestWithStats != null ? newestWithStats : newest;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.photoviewer;
+
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스크롤 중 놓친 프레임 세기 (Choreographer 프레임 간격).
+ * start()~stop() 사이에만 콜백을 걸어서 가만히 있을 때는 비용이 없다.
+ * 간격이 프레임 주기의 1.5배를 넘으면 그 사이 그리지 못한 프레임 수만큼 센다. UI 스레드 전용.
+ */
+final class FrameJankTracker implements Choreographer.FrameCallback {
+
+    private final long frameIntervalNanos;
+    private final PerfMetrics.Histogram frameTime;
+    private final LongAdder frames;
+    private final LongAdder dropped;
+
+    private boolean running = false;
+    private long lastFrameNanos = 0;
+
+    /** name 으로 "<name>.frame" 분포와 "<name>.frames" / "<name>.droppedFrames" 카운터를 남긴다 */
+    FrameJankTracker(String name, float refreshRateHz) {
+        float hz = refreshRateHz >= 30f ? refreshRateHz : 60f;
+        this.frameIntervalNanos = (long) (1_000_000_000L / hz);
+        PerfMetrics m = PerfMetrics.get();
+        this.frameTime = m.histogram(name + ".frame");
+        this.frames = m.counter(name + ".frames");
+        this.dropped = m.counter(name + ".droppedFrames");
+    }
+
+    void start() {
+        if (running) return;
+        running = true;
+        lastFrameNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void stop() {
+        if (!running) return;
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) return;
+        if (lastFrameNanos != 0) {
+            long interval = frameTimeNanos - lastFrameNanos;
+            frameTime.recordNanos(interval);
+            frames.increment();
+            dropped.add(droppedFrames(interval, frameIntervalNanos));
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /** 간격 안에 들어갔어야 할 프레임 중 못 그린 수 (반올림) */
+    static long droppedFrames(long intervalNanos, long frameIntervalNanos) {
+        return Math.max(0, (intervalNanos + frameIntervalNanos / 2) / frameIntervalNanos - 1);
+    }
+}
@@ -1,24 +1,74 @@
 package com.example.photoviewer;
 
-import android.os.AsyncTask;
+import android.app.DatePickerDialog;
+import android.app.TimePickerDialog;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import android.widget.ImageButton;
+import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 public class HistoryActivity extends AppCompatActivity {
 
+    private static final String TAG = "HistoryActivity";
+
     private RecyclerView recycler;
     private ImageButton btnClose;
+    private TextView tvSubtitle;
+    private CharSequence allSubtitle;
 
-    private final List<PostItem> items = new ArrayList<>();
     private HistoryAdapter adapter;
+    private HistoryPager pager;
+    private LinearLayoutManager layoutManager;
+    private RefreshScheduler<PostRepository.Snapshot> refresher;
+    private FrameJankTracker jank;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    // ✅ 서버 PAGE_SIZE 와 같게 (첫 응답에서 실제 크기로 맞춰짐)
+    private static final int PAGE_SIZE = 10;
+    // 메모리에 들고 있는 최대 페이지 수 / 끝에 닿기 몇 개 전에 다음 페이지를 미리 읽을지
+    private static final int MAX_PAGES = 6;
+    private static final int PREFETCH_ITEMS = 5;
+    // 스크롤 방향으로 썸네일을 미리 받을 행 수
+    private static final int PREFETCH_THUMBNAILS = 4;
+
+    private static final long REFRESH_INTERVAL_MS = 5000;
+    private static final long REFRESH_MAX_BACKOFF_MS = 60_000;
+    // 대시보드가 이만큼 안에 받아 둔 목록이면 첫 페이지를 다시 요청하지 않는다
+    private static final long FIRST_PAGE_MAX_AGE_MS = REFRESH_INTERVAL_MS;
+
+    // ✅ 시간 이동 / 구간 보기: 지금 보여 주는 생성 시각 구간 [rangeFrom, rangeTo) (전체면 0 ~ MAX)
+    //    그 구간만 서버에서 페이지로 읽고 (?created_after / ?created_before),
+    //    응답 전에는 기기 저장소의 같은 구간을 이진 탐색으로 (PostStore.between) 먼저 보여 준다
+    private static final int LUNCH_PEAK_MINUTE = 12 * 60;
+    private static final int DINNER_PEAK_MINUTE = 18 * 60;
+    private static final long PEAK_LENGTH_MS = 30 * 60_000L;
+    private static final long DAY_MS = 24 * 60 * 60_000L;
+    private static final long TIME_LAPSE_DEFAULT_MS = 60 * 60_000L;
+    private long rangeFrom = 0;
+    private long rangeTo = Long.MAX_VALUE;
+    private int rangeRequest = 0; // 구간을 바꿀 때마다 1씩 (늦게 온 기기 저장소 결과는 버림)
+    private PostStore store;
+    private Feed feed;
+    private HistoryPager.PageSource allPages;
+
+    // 새 글 확인용 (워커 스레드에서 읽음)
+    private volatile int topId = 0;
+    private PostRepository repo;
+    private int seenVersion = 0; // 워커 스레드 (pollNewest) 전용
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -27,35 +77,223 @@ public class HistoryActivity extends AppCompatActivity {
 
         recycler = findViewById(R.id.recyclerHistory);
         btnClose = findViewById(R.id.btnClose);
+        tvSubtitle = findViewById(R.id.tvHistorySubtitle);
+        allSubtitle = tvSubtitle.getText();
+
+        store = PostStore.get(this);
+        repo = PostRepository.get(this);
+        feed = Feed.primary(this);
+        HistoryPager.PageSource network = HistoryPager.network(feed.postsUrl());
 
-        recycler.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new HistoryAdapter(this, items);
+        // ✅ 전체를 한 번에 받지 않고 페이지 단위로, 받은 페이지는 기기 저장소에도 병합
+        // 첫 페이지는 대시보드와 같이 쓰는 PostRepository 에서 (막 받은 목록이면 네트워크 없이)
+        allPages = pageIndex -> {
+            if (pageIndex == 0) return firstPage(repo.refresh(FIRST_PAGE_MAX_AGE_MS));
+            HistoryPager.Page page = network.load(pageIndex);
+            store.putAll(page.posts);
+            return page;
+        };
+        pager = new HistoryPager(allPages, snapshot -> {
+            topId = pager.getTopId();
+            // ✅ 스냅샷끼리 diff 해서 바뀐 행만 갱신
+            adapter.submit(snapshot);
+            // 늘어난 자리가 이미 화면에 보이면 이어서 읽도록
+            handler.post(this::reportVisibleRange);
+        }, AppExecutors.get().io(), handler::post, PAGE_SIZE, MAX_PAGES, PREFETCH_ITEMS);
+
+        layoutManager = new LinearLayoutManager(this);
+        recycler.setLayoutManager(layoutManager);
+        adapter = new HistoryAdapter(this, pager, feed, AppExecutors.get().serial(), handler::post);
         recycler.setAdapter(adapter);
 
-        btnClose.setOnClickListener(v -> finish());
+        // ✅ 스크롤하는 동안만 놓친 프레임을 센다 (디버그 화면에서 확인)
+        jank = new FrameJankTracker("history.scroll", getWindowManager().getDefaultDisplay().getRefreshRate());
 
-        loadHistory();
-    }
+        recycler.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) jank.stop();
+                else jank.start();
+            }
 
-    private void loadHistory() {
-        new AsyncTask<Void, Void, List<PostItem>>() {
             @Override
-            protected List<PostItem> doInBackground(Void... voids) {
-                return PostFetcher.fetchPosts();
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                reportVisibleRange();
+                adapter.prefetchThumbnails(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition(), dy, PREFETCH_THUMBNAILS);
             }
+        });
+
+        btnClose.setOnClickListener(v -> finish());
+        findViewById(R.id.btnRangeAll).setOnClickListener(v -> showAll());
+        findViewById(R.id.btnRangeLunch).setOnClickListener(v -> showPeak(LUNCH_PEAK_MINUTE));
+        findViewById(R.id.btnRangeDinner).setOnClickListener(v -> showPeak(DINNER_PEAK_MINUTE));
+        findViewById(R.id.btnJumpTime).setOnClickListener(v -> pickJumpTime());
+        findViewById(R.id.btnTimeLapse).setOnClickListener(v -> playTimeLapse());
 
+        // ✅ 대시보드처럼 주기적으로 새 글 확인 → 위에 붙이기만 (보고 있는 행은 그대로)
+        refresher = new RefreshScheduler<>(this::pollNewest, new RefreshScheduler.Listener<PostRepository.Snapshot>() {
             @Override
-            protected void onPostExecute(List<PostItem> posts) {
-                if (posts == null) return;
+            public void onResult(PostRepository.Snapshot s) {
+                onNewestLoaded(s);
+            }
+        }, handler::post, REFRESH_INTERVAL_MS, REFRESH_MAX_BACKOFF_MS);
 
-                items.clear();
-                items.addAll(posts);
+        loadHistory(store);
+    }
 
-                // 최신순 정렬
-                Collections.sort(items, (a, b) -> Long.compare(b.getCreatedEpochMs(), a.getCreatedEpochMs()));
+    @Override
+    protected void onStart() {
+        super.onStart();
+        refresher.start();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        refresher.stop();
+        jank.stop();
+        if (Log.isLoggable(TAG, Log.DEBUG)) Log.d(TAG, "images " + ImageRequestScheduler.get(this).summary());
+    }
 
-                adapter.notifyDataSetChanged();
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        refresher.shutdown();
+    }
+
+    private boolean showingAll() {
+        return rangeFrom <= 0 && rangeTo == Long.MAX_VALUE;
+    }
+
+    private void showAll() {
+        if (showingAll()) return;
+        rangeFrom = 0;
+        rangeTo = Long.MAX_VALUE;
+        rangeRequest++;
+        tvSubtitle.setText(allSubtitle);
+        pager.show(allPages, repo.current().newest(PAGE_SIZE));
+        recycler.scrollToPosition(0);
+    }
+
+    /** 가장 최근에 시작한 (오늘, 아직이면 어제) 피크 30분 */
+    private void showPeak(int startMinute) {
+        long now = System.currentTimeMillis();
+        long from = IsoTime.kstStartOfDay(now) + startMinute * 60_000L;
+        if (from > now) from -= DAY_MS;
+        long to = from + PEAK_LENGTH_MS;
+        showRange(from, to, label(from) + "–" + hhmm(to) + " 피크");
+    }
+
+    private void pickJumpTime() {
+        int[] today = IsoTime.civilFromDays(Math.floorDiv(System.currentTimeMillis() + IsoTime.KST_OFFSET_MS, DAY_MS));
+        new DatePickerDialog(this, (dateView, y, month, d) ->
+                new TimePickerDialog(this, (timeView, h, min) -> jumpTo(IsoTime.kstEpochMs(y, month + 1, d, h, min)),
+                        12, 0, true).show(),
+                today[0], today[1] - 1, today[2]).show();
+    }
+
+    /** t 분까지 만들어진 글부터 과거로 (맨 위가 그 시각에 가장 최근이던 글) */
+    private void jumpTo(long t) {
+        showRange(0, t + 60_000L, label(t) + " 이전 기록");
+    }
+
+    /** 지금 보는 구간을 타임랩스로 (전체 / 시간 이동이면 끝 시각까지 최근 1시간) */
+    private void playTimeLapse() {
+        long to = rangeTo == Long.MAX_VALUE ? System.currentTimeMillis() : rangeTo;
+        long from = rangeFrom > 0 ? rangeFrom : to - TIME_LAPSE_DEFAULT_MS;
+        startActivity(TimeLapseActivity.intent(this, from, to, label(from) + "–" + hhmm(to) + " 타임랩스"));
+    }
+
+    /** [from, to) 구간만 보여 준다 */
+    private void showRange(long from, long to, String title) {
+        rangeFrom = from;
+        rangeTo = to;
+        int req = ++rangeRequest;
+        tvSubtitle.setText(title);
+
+        HistoryPager.PageSource network = HistoryPager.network(HistoryPager.withRange(feed.postsUrl(), from, to));
+        pager.show(pageIndex -> {
+            HistoryPager.Page page = network.load(pageIndex);
+            store.putAll(page.posts);
+            return page;
+        }, Collections.emptyList());
+        recycler.scrollToPosition(0);
+
+        AppExecutors.get().io().execute(() -> {
+            List<PostItem> local = store.between(from, to, PAGE_SIZE);
+            handler.post(() -> {
+                if (req == rangeRequest) pager.seed(local);
+            });
+        });
+    }
+
+    /** 한국 시간 "M월 d일 HH:mm" */
+    private static String label(long epochMs) {
+        int[] ymd = IsoTime.civilFromDays(Math.floorDiv(epochMs + IsoTime.KST_OFFSET_MS, DAY_MS));
+        return String.format(Locale.KOREA, "%d월 %d일 ", ymd[1], ymd[2]) + hhmm(epochMs);
+    }
+
+    /** 한국 시간 "HH:mm" */
+    private static String hhmm(long epochMs) {
+        int minuteOfDay = (int) (Math.floorMod(epochMs + IsoTime.KST_OFFSET_MS, DAY_MS) / 60_000L);
+        return String.format(Locale.KOREA, "%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    private void loadHistory(PostStore store) {
+        // ✅ 1) 대시보드가 이미 받아 둔 목록이 있으면 그걸로 바로, 없으면 기기 저장소의 최신 한 페이지
+        PostRepository.Snapshot current = repo.current();
+        if (!current.isEmpty()) {
+            pager.seed(current.newest(PAGE_SIZE));
+        } else {
+            AppExecutors.get().io().execute(() -> {
+                List<PostItem> posts = store.newestFirst(PAGE_SIZE);
+                handler.post(() -> pager.seed(posts));
+            });
+        }
+
+        // ✅ 2) 첫 페이지 (공용 목록이 오래됐을 때만 서버로, 나머지는 스크롤에 따라)
+        pager.refresh();
+    }
+
+    /** 워커 스레드. 공용 목록을 동기화 (since_id + ETag). 지난번과 같은 버전이면 null */
+    private PostRepository.Snapshot pollNewest() throws IOException {
+        if (topId == 0) return null; // 첫 페이지를 아직 못 받음
+        PostRepository.Snapshot s = repo.refresh(REFRESH_INTERVAL_MS);
+        if (s.version == seenVersion) return null;
+        seenVersion = s.version;
+        return s;
+    }
+
+    /** 워커 스레드. 공용 목록의 최신 한 페이지를 pager 첫 페이지로 */
+    private HistoryPager.Page firstPage(PostRepository.Snapshot s) {
+        List<PostItem> posts = s.newest(PAGE_SIZE);
+        boolean hasNext = s.totalCount >= 0 ? s.totalCount > posts.size() : posts.size() >= PAGE_SIZE;
+        return new HistoryPager.Page(posts, s.totalCount, hasNext);
+    }
+
+    private void onNewestLoaded(PostRepository.Snapshot s) {
+        if (s == null || !showingAll()) return; // 구간 보기 중에는 위에 붙이지 않음
+        int top = pager.getTopId();
+        List<PostItem> fresh = new ArrayList<>();
+        boolean reachedTop = false;
+        for (PostItem p : s.posts) { // 최신순: 맨 위 글에 닿기 전까지가 새 글
+            if (p.getId() <= top) {
+                reachedTop = true;
+                break;
             }
-        }.execute();
+            fresh.add(p);
+        }
+        if (fresh.isEmpty()) return;
+        if (reachedTop) {
+            pager.prepend(fresh);
+        } else {
+            pager.refresh(); // 한 페이지 넘게 쌓였거나 순서가 다름 → 처음부터
+        }
+    }
+
+    private void reportVisibleRange() {
+        pager.onVisibleRange(layoutManager.findFirstVisibleItemPosition(),
+                layoutManager.findLastVisibleItemPosition());
     }
 }
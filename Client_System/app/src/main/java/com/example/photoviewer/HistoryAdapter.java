@@ -8,23 +8,62 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Executor;
 
+/**
+ * History 목록 어댑터. 불변 스냅샷을 받아서 이전 스냅샷과의 차이(id 기준)를 백그라운드에서 계산하고
+ * 실제로 추가/이동/변경된 행만 알린다 (notifyDataSetChanged 로 보이는 행을 전부 다시 그리지 않음).
+ * 바인딩과 diff 는 스냅샷의 열(PostColumns)에서 바로 읽는다 (행마다 PostItem 을 만들지 않음).
+ */
 public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
 
     private final Context ctx;
-    private final List<PostItem> list;
+    private final HistoryPager pager;
+    private final Feed feed; // 이미지 상대 경로의 서버
+    private final Executor diffExecutor;
+    private final Executor uiExecutor;
+    private final ImageRequestScheduler images;
 
-    // ✅ PythonAnywhere
-    private static final String BASE_URL = "https://soyeonkk.pythonanywhere.com";
+    // ---- UI 스레드 전용 ----
+    private HistoryPager.Snapshot current = HistoryPager.Snapshot.EMPTY;
+    private int submitted = 0;
+    private BitmapDecoder.Target thumbTarget; // 마지막으로 바인딩한 행의 썸네일 크기 (미리 받기용)
 
-    public HistoryAdapter(Context ctx, List<PostItem> list) {
+    private static final PerfMetrics.Histogram BIND = PerfMetrics.get().histogram("render.historyBind");
+    private static final PerfMetrics.Histogram DIFF = PerfMetrics.get().histogram("history.diff");
+
+    public HistoryAdapter(Context ctx, HistoryPager pager, Feed feed, Executor diffExecutor, Executor uiExecutor) {
         this.ctx = ctx;
-        this.list = list;
+        this.pager = pager;
+        this.feed = feed;
+        this.diffExecutor = diffExecutor;
+        this.uiExecutor = uiExecutor;
+        this.images = ImageRequestScheduler.get(ctx);
+    }
+
+    /** 새 스냅샷. 마지막으로 넘긴 것만 반영된다 */
+    public void submit(HistoryPager.Snapshot next) {
+        final int gen = ++submitted;
+        final HistoryPager.Snapshot old = current;
+        if (old.isEmpty() || next.isEmpty()) {
+            current = next;
+            notifyDataSetChanged();
+            return;
+        }
+        diffExecutor.execute(() -> {
+            long start = PerfMetrics.get().now();
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new SnapshotDiff(old, next), true);
+            PerfMetrics.get().recordSince(DIFF, start);
+            uiExecutor.execute(() -> {
+                if (gen != submitted) return; // 그 사이 더 새 스냅샷이 왔음 (그쪽이 current 기준으로 다시 계산)
+                current = next;
+                diff.dispatchUpdatesTo(HistoryAdapter.this);
+            });
+        });
     }
 
     @NonNull
@@ -36,59 +75,150 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        PostItem item = list.get(position);
+        long start = PerfMetrics.get().now();
+        bind(h, position);
+        PerfMetrics.get().recordSince(BIND, start);
+    }
+
+    private void bind(VH h, int position) {
+        PostColumns cols = current.columnsAt(position);
 
         h.tvNewest.setVisibility(position == 0 ? View.VISIBLE : View.GONE);
 
-        // ✅ API24 호환: 문자열로 표시 (PostItem에서 포맷 만들어줌)
-        h.tvTime.setText(item.getCreatedTimeKor());
+        if (cols == null) {
+            // 아직 안 읽은(또는 메모리에서 버린) 페이지: 읽히면 새 스냅샷으로 다시 바인딩됨
+            pager.request(position);
+            RowText.EMPTY.applyTo(h);
+            images.cancelAndClear(h.img);
+            return;
+        }
 
-        ParsedStats ps = parseStatsFromText(item.getText());
+        int row = current.rowOf(position);
+        RowText.of(cols, row).applyTo(h);
 
-        if (ps.totalSeats > 0 && ps.remainSeats >= 0) {
-            h.tvQueue.setText("대기열 " + ps.queue + "명");
-            h.tvSeats.setText("남은좌석 " + ps.remainSeats + "/" + ps.totalSeats);
-            h.tvBadge.setText(makeBadge(ps));
+        String full = fullImageUrl(cols.imageUrl(row));
+        if (full != null) {
+            // ✅ 같은 행이 다른 글로 다시 바인딩되면 이전 요청은 취소됨
+            thumbTarget = BitmapDecoder.targetFor(h.img, true);
+            images.load(h.img, full, thumbTarget, ImageRequestScheduler.PRIORITY_VISIBLE);
         } else {
-            h.tvQueue.setText("대기열 -");
-            h.tvSeats.setText("남은좌석 -/-");
-            h.tvBadge.setText("-");
+            images.cancelAndClear(h.img);
         }
+    }
 
-        String imagePath = item.getImageUrl();
-        if (imagePath != null && !imagePath.isEmpty()) {
-            String full = imagePath.startsWith("http") ? imagePath : BASE_URL + imagePath;
-            new MainActivity.ImageLoadTask(h.img).execute(full);
-        } else {
-            h.img.setImageDrawable(null);
+    @Override
+    public void onViewRecycled(@NonNull VH h) {
+        // 화면에서 빠진 행: 아직 시작 안 한 요청은 받지 않는다
+        images.cancelAndClear(h.img);
+    }
+
+    /**
+     * 스크롤 방향(dy)으로 보이는 범위 다음 count 행의 썸네일을 미리 받는다.
+     * 아직 안 읽은 자리나 행을 한 번도 바인딩하지 않았으면(크기 모름) 건너뜀.
+     */
+    public void prefetchThumbnails(int first, int last, int dy, int count) {
+        if (thumbTarget == null || dy == 0 || first < 0 || last < first) return;
+        for (int i = 1; i <= count; i++) {
+            int pos = dy > 0 ? last + i : first - i;
+            if (pos < 0 || pos >= current.size()) break;
+            PostColumns cols = current.columnsAt(pos);
+            String full = cols != null ? fullImageUrl(cols.imageUrl(current.rowOf(pos))) : null;
+            if (full != null) images.prefetch(full, thumbTarget);
         }
     }
 
+    private String fullImageUrl(String imagePath) {
+        return feed.imageUrl(imagePath);
+    }
+
     @Override
     public int getItemCount() {
-        return list.size();
+        return current.size();
     }
 
-    private String makeBadge(ParsedStats ps) {
-        if (ps.queue > 0 || ps.remainSeats <= 0) return "😵  혼잡";
-        if (ps.remainSeats <= ps.totalSeats * 0.3) return "🙂  보통";
+    static String makeBadge(int queue, int remainSeats, int totalSeats) {
+        if (queue > 0 || remainSeats <= 0) return "😵  혼잡";
+        if (remainSeats <= totalSeats * 0.3) return "🙂  보통";
         return "😊  여유";
     }
 
-    private int parseInt(String text, String regex) {
-        if (text == null) return -1;
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(text);
-        if (m.find() && m.group(1) != null) return Integer.parseInt(m.group(1));
-        return -1;
+    /**
+     * 행 하나에 쓰는 글자 (시각 / 대기열 / 남은 좌석 / 뱃지). 열에서 바로 만들고 뷰는 몰라서
+     * 뷰 없이 바인딩만 따로 돌려 볼 수 있다 (PipelineScaleTest).
+     */
+    static final class RowText {
+        static final RowText EMPTY = new RowText("", "대기열 -", "남은좌석 -/-", "-");
+
+        final String time, queue, seats, badge;
+
+        RowText(String time, String queue, String seats, String badge) {
+            this.time = time;
+            this.queue = queue;
+            this.seats = seats;
+            this.badge = badge;
+        }
+
+        static RowText of(PostColumns cols, int row) {
+            // ✅ API24 호환: 문자열로 표시 (epoch 에서 포맷)
+            String time = cols.createdTimeKor(row);
+            if (!cols.hasStats(row)) return new RowText(time, EMPTY.queue, EMPTY.seats, EMPTY.badge);
+            int queue = cols.queue(row), remain = cols.remainSeats(row), total = cols.totalSeats(row);
+            return new RowText(time, "대기열 " + queue + "명", "남은좌석 " + remain + "/" + total,
+                    makeBadge(queue, remain, total));
+        }
+
+        void applyTo(VH h) {
+            h.tvTime.setText(time);
+            h.tvQueue.setText(queue);
+            h.tvSeats.setText(seats);
+            h.tvBadge.setText(badge);
+        }
     }
 
-    private ParsedStats parseStatsFromText(String text) {
-        int totalSeats  = parseInt(text, "총 좌석 수:\\s*(\\d+)석");
-        int seated      = parseInt(text, "착석 인원:\\s*(\\d+)명");
-        int queue       = parseInt(text, "대기열 인원.*?:\\s*(\\d+)명");
-        int remainSeats = parseInt(text, "남은 좌석:\\s*(\\d+)석");
-        return new ParsedStats(totalSeats, seated, queue, remainSeats);
+    /**
+     * 두 스냅샷 비교. 같은 글 = 같은 id. 아직 안 읽은 자리(null)끼리는 같은 것으로 보고,
+     * null ↔ 글은 같은 위치일 때만 같은 행(내용 변경)으로 본다.
+     * 맨 위 행은 "최신" 표시가 붙으니 맨 위로 오거나 내려가면 내용이 바뀐 것으로 본다.
+     * 내용 비교는 PostColumns 에 미리 계산해 둔 행 해시로.
+     */
+    static final class SnapshotDiff extends DiffUtil.Callback {
+        private final HistoryPager.Snapshot oldList;
+        private final HistoryPager.Snapshot newList;
+
+        SnapshotDiff(HistoryPager.Snapshot oldList, HistoryPager.Snapshot newList) {
+            this.oldList = oldList;
+            this.newList = newList;
+        }
+
+        SnapshotDiff(List<PostItem> oldList, List<PostItem> newList) {
+            this(HistoryPager.Snapshot.of(oldList), HistoryPager.Snapshot.of(newList));
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldList.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newList.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int o, int n) {
+            PostColumns a = oldList.columnsAt(o);
+            PostColumns b = newList.columnsAt(n);
+            if (a == null || b == null) return (a == null && b == null) || o == n;
+            return a.id(oldList.rowOf(o)) == b.id(newList.rowOf(n));
+        }
+
+        @Override
+        public boolean areContentsTheSame(int o, int n) {
+            PostColumns a = oldList.columnsAt(o);
+            PostColumns b = newList.columnsAt(n);
+            if (a == null || b == null) return a == b;
+            return (o == 0) == (n == 0) && a.contentHash(oldList.rowOf(o)) == b.contentHash(newList.rowOf(n));
+        }
     }
 
     static class VH extends RecyclerView.ViewHolder {
@@ -105,18 +235,4 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
             tvSeats = itemView.findViewById(R.id.tvSeats);
         }
     }
-
-    private static class ParsedStats {
-        final int totalSeats;
-        final int seated;
-        final int queue;
-        final int remainSeats;
-
-        ParsedStats(int totalSeats, int seated, int queue, int remainSeats) {
-            this.totalSeats = totalSeats;
-            this.seated = seated;
-            this.queue = queue;
-            this.remainSeats = remainSeats;
-        }
-    }
 }
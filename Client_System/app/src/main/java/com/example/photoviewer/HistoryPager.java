@@ -0,0 +1,384 @@
+package com.example.photoviewer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * History 목록을 페이지 단위로 읽는 창(window).
+ * - 처음엔 첫 페이지만 읽어서 바로 보여 준다
+ * - 스크롤 위치(onVisibleRange)를 보고 끝에 닿기 prefetchItems 개 전에 다음 페이지를 미리 요청
+ * - 메모리에는 최대 maxPages 구간만 두고, 보이는 범위에서 가장 먼 구간부터 버린다
+ *   (버린 자리는 null → 다시 보이면 그 페이지를 다시 읽음)
+ * - 새 글이 위에 붙으면 prepend() 로 들고 있는 구간을 그만큼 아래로 민다 (다시 읽지 않음)
+ * - show() 로 다른 목록(예: 시간 구간 피드)으로 바꾸면 들고 있던 구간을 모두 버리고 그 목록의 첫 페이지부터
+ * 그래서 기록이 아무리 길어도 들고 있는 글 수는 maxPages * 페이지 크기 정도를 넘지 않는다.
+ * 바뀔 때마다 불변 Snapshot 을 Listener 로 넘긴다 (어댑터는 스냅샷끼리 diff).
+ * 받은 페이지는 PostColumns 로 바꿔서 들고 있는다 (글 객체 없이, 혼잡도 수치는 읽을 때 한 번만 파싱).
+ * 상태는 UI 스레드에서만 만지고, 페이지 읽기는 loader, 결과 전달은 uiExecutor 로.
+ */
+public class HistoryPager {
+
+    /** 한 페이지 결과 */
+    static final class Page {
+        final List<PostItem> posts;
+        final int totalCount; // 모르면 -1
+        final boolean hasNext;
+
+        Page(List<PostItem> posts, int totalCount, boolean hasNext) {
+            this.posts = posts;
+            this.totalCount = totalCount;
+            this.hasNext = hasNext;
+        }
+    }
+
+    public interface PageSource {
+        /** pageIndex 는 0 부터. 워커 스레드에서 호출 */
+        Page load(int pageIndex) throws IOException;
+    }
+
+    public interface Listener {
+        /** 목록이 바뀜. 아직 안 읽은 자리는 null */
+        void onSnapshot(Snapshot snapshot);
+
+        default void onError(int pageIndex, Exception e) {}
+    }
+
+    /** 연속으로 들고 있는 글 구간 [start, start + posts.size()) */
+    private static final class Segment {
+        final int start;
+        final PostColumns posts;
+
+        Segment(int start, PostColumns posts) {
+            this.start = start;
+            this.posts = posts;
+        }
+
+        int end() {
+            return start + posts.size();
+        }
+    }
+
+    /**
+     * 어느 시점의 목록 (불변). 크기는 전체 개수, 들고 있지 않은 자리는 null.
+     * 화면 바인딩은 columnsAt / rowOf 로 열에서 바로 읽는다 (get 은 PostItem 을 새로 만든다).
+     */
+    public static final class Snapshot extends AbstractList<PostItem> {
+        static final Snapshot EMPTY = new Snapshot(0, Collections.emptyList());
+
+        private final int size;
+        private final List<Segment> segments;
+
+        private Snapshot(int size, List<Segment> segments) {
+            this.size = size;
+            this.segments = segments;
+        }
+
+        /** 비교/테스트용: 목록 그대로 (null 은 안 읽은 자리) */
+        static Snapshot of(List<PostItem> rows) {
+            List<Segment> segments = new ArrayList<>();
+            int runStart = -1;
+            for (int i = 0; i <= rows.size(); i++) {
+                boolean present = i < rows.size() && rows.get(i) != null;
+                if (present && runStart < 0) runStart = i;
+                if (!present && runStart >= 0) {
+                    segments.add(new Segment(runStart, PostColumns.of(rows.subList(runStart, i))));
+                    runStart = -1;
+                }
+            }
+            return new Snapshot(rows.size(), segments);
+        }
+
+        @Override
+        public PostItem get(int position) {
+            PostColumns c = columnsAt(position);
+            return c == null ? null : c.post(rowOf(position));
+        }
+
+        /** position 을 들고 있는 구간의 열 (안 읽은 자리면 null) */
+        public PostColumns columnsAt(int position) {
+            if (position < 0 || position >= size) throw new IndexOutOfBoundsException("position " + position);
+            Segment s = segmentAt(segments, position);
+            return s == null ? null : s.posts;
+        }
+
+        /** columnsAt(position) 안에서의 행 번호 */
+        public int rowOf(int position) {
+            Segment s = segmentAt(segments, position);
+            return s == null ? -1 : position - s.start;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private PageSource source;
+    private final Listener listener;
+    private final Executor loader;
+    private final Executor uiExecutor;
+    private final int maxPages;
+    private final int prefetchItems;
+
+    // ---- UI 스레드 전용 ----
+    private final List<Segment> segments = new ArrayList<>(); // start 순
+    private final Set<Integer> loading = new HashSet<>();
+    private int pageSize;
+    private int totalCount = 0;
+    private int generation = 0;
+    private int firstVisible = 0;
+    private int lastVisible = 0;
+
+    public HistoryPager(PageSource source, Listener listener, Executor loader, Executor uiExecutor,
+                        int pageSize, int maxPages, int prefetchItems) {
+        this.source = source;
+        this.listener = listener;
+        this.loader = loader;
+        this.uiExecutor = uiExecutor;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+        this.prefetchItems = prefetchItems;
+    }
+
+    /**
+     * 네트워크 피드용 PageSource: DRF PageNumberPagination 의 ?page=N (1 부터).
+     * 첫 페이지도 ?page=1 로 요청한다 (서버는 page 가 없으면 페이지 없이 전체 배열을 준다 → 대시보드 증분용)
+     */
+    static PageSource network(String feedUrl) {
+        return pageIndex -> {
+            String url = withPage(feedUrl, pageIndex + 1);
+            PostFetcher.Result r = PostFetcher.fetch(url, null, null, 0);
+            if (!r.isOk()) throw new IOException("History 페이지 " + pageIndex + " 실패 : " + r.code);
+            return new Page(r.posts, r.count, r.next != null);
+        };
+    }
+
+    static String withPage(String url, int page) {
+        return url + (url.indexOf('?') >= 0 ? "&" : "?") + "page=" + page;
+    }
+
+    /**
+     * 생성 시각 구간 [fromMs, toMs) 피드 (서버 ?created_after / ?created_before, 생성 시각 최신순).
+     * fromMs <= 0 이나 toMs == Long.MAX_VALUE 는 그쪽으로 열린 구간.
+     */
+    static String withRange(String url, long fromMs, long toMs) {
+        StringBuilder sb = new StringBuilder(url);
+        char sep = url.indexOf('?') >= 0 ? '&' : '?';
+        if (fromMs > 0) {
+            sb.append(sep).append("created_after=").append(IsoTime.formatIsoUtc(fromMs));
+            sep = '&';
+        }
+        if (toMs != Long.MAX_VALUE) sb.append(sep).append("created_before=").append(IsoTime.formatIsoUtc(toMs));
+        return sb.toString();
+    }
+
+    /** 처음부터 다시 (첫 페이지만 요청). 뒤 구간은 위치가 밀렸을 수 있으니 첫 페이지만 남긴다 */
+    public void refresh() {
+        generation++;
+        loading.clear();
+        segments.removeIf(s -> s.start >= pageSize);
+        load(0);
+    }
+
+    /**
+     * 다른 목록으로 바꾼다 (시간 이동 / 구간 보기). 들고 있던 구간과 진행 중인 요청은 모두 버리고,
+     * 그 목록에서 화면에 필요한 페이지만 다시 읽는다. seed 가 있으면 응답 전까지 첫 페이지로 보여 준다.
+     */
+    public void show(PageSource newSource, List<PostItem> seed) {
+        source = newSource;
+        generation++;
+        loading.clear();
+        segments.clear();
+        totalCount = 0;
+        firstVisible = 0;
+        lastVisible = 0;
+        if (!seed.isEmpty()) {
+            put(0, PostColumns.of(seed));
+            totalCount = seed.size();
+        }
+        publish();
+        load(0);
+    }
+
+    /**
+     * 네트워크 응답 전에 보여 줄 첫 페이지 (기기 저장소 등). 이미 첫 페이지가 있으면 무시.
+     */
+    public void seed(List<PostItem> firstPage) {
+        if (segmentAt(segments, 0) != null || firstPage.isEmpty()) return;
+        put(0, PostColumns.of(firstPage));
+        totalCount = Math.max(totalCount, firstPage.size());
+        publish();
+    }
+
+    /**
+     * 맨 위에 새 글(최신순)이 붙었다. 들고 있는 구간은 그만큼 아래로 밀고 다시 읽지 않는다.
+     */
+    public void prepend(List<PostItem> newestFirst) {
+        int k = newestFirst.size();
+        if (k == 0) return;
+        generation++; // 진행 중인 페이지 요청은 옛 위치 기준이라 버림
+        loading.clear();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment s = segments.get(i);
+            segments.set(i, new Segment(s.start + k, s.posts));
+        }
+        firstVisible += k;
+        lastVisible += k;
+        totalCount += k;
+        put(0, PostColumns.of(newestFirst));
+        trim(0);
+        publish();
+    }
+
+    public int getItemCount() {
+        return totalCount;
+    }
+
+    /** 맨 위 글의 id (아직 없으면 0) */
+    public int getTopId() {
+        Segment top = segmentAt(segments, 0);
+        return top != null ? top.posts.id(0) : 0;
+    }
+
+    /** 아직 안 읽었거나 메모리에서 버린 자리면 그 페이지 읽기를 시작한다 */
+    public void request(int position) {
+        if (position < 0 || position >= totalCount) return;
+        if (segmentAt(segments, position) == null) load(position / pageSize);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(totalCount, Collections.unmodifiableList(new ArrayList<>(segments)));
+    }
+
+    /** 스크롤할 때마다 화면에 보이는 첫/마지막 위치를 알려 준다 */
+    public void onVisibleRange(int first, int last) {
+        if (first < 0 || last < first) return;
+        firstVisible = first;
+        lastVisible = last;
+        if (totalCount == 0) return;
+
+        int from = Math.max(0, first - prefetchItems);
+        int to = Math.min(totalCount - 1, last + prefetchItems);
+        for (int pos = from; pos <= to; pos++) {
+            if (segmentAt(segments, pos) == null) load(pos / pageSize);
+        }
+        trim(-1);
+    }
+
+    /** 지금 메모리에 들고 있는 구간 수 */
+    public int getLoadedPageCount() {
+        return segments.size();
+    }
+
+    public int getLoadedItemCount() {
+        int n = 0;
+        for (Segment s : segments) n += s.posts.size();
+        return n;
+    }
+
+    private static Segment segmentAt(List<Segment> segments, int position) {
+        for (Segment s : segments) {
+            if (position >= s.start && position < s.end()) return s;
+        }
+        return null;
+    }
+
+    private void load(int page) {
+        if (loading.contains(page)) return;
+        loading.add(page);
+        final int gen = generation;
+        final PageSource src = source; // show() 로 바뀌어도 이 요청은 요청한 목록에서
+        loader.execute(() -> {
+            Page result = null;
+            PostColumns columns = null;
+            Exception error = null;
+            try {
+                result = src.load(page);
+                columns = PostColumns.of(result.posts); // 수치 파싱 / 인코딩은 여기(워커)서
+            } catch (Exception e) {
+                error = e;
+            }
+            final Page r = result;
+            final PostColumns c = columns;
+            final Exception e = error;
+            uiExecutor.execute(() -> onLoaded(gen, page, r, c, e));
+        });
+    }
+
+    private void onLoaded(int gen, int page, Page result, PostColumns columns, Exception error) {
+        if (gen != generation) return;
+        loading.remove(page);
+        if (error != null) {
+            listener.onError(page, error);
+            return;
+        }
+
+        // 첫 페이지에서 서버 페이지 크기를 배운다 (다음 페이지가 있으면 꽉 찬 페이지)
+        if (page == 0 && result.hasNext && !result.posts.isEmpty() && result.posts.size() != pageSize) {
+            pageSize = result.posts.size();
+            segments.clear();
+        }
+
+        int count = result.totalCount >= 0
+                ? result.totalCount
+                : Math.max(totalCount, page * pageSize + result.posts.size() + (result.hasNext ? pageSize : 0));
+        if (!result.hasNext) count = page * pageSize + result.posts.size();
+
+        // 뒤 페이지에서 서버 개수가 다르면 그 사이 글이 추가/삭제된 것 → 들고 있던 다른 구간은 위치가 틀림
+        if (page != 0 && count != totalCount) segments.clear();
+
+        totalCount = count;
+        put(page * pageSize, columns);
+        segments.removeIf(s -> s.start >= totalCount);
+        trim(page * pageSize); // 방금 요청한 페이지는 남긴다 (화면에 바인딩되려고 읽은 것)
+        publish();
+    }
+
+    /** [start, start+posts) 구간을 넣는다. 겹치는 기존 구간은 겹친 부분만 잘라 낸다 */
+    private void put(int start, PostColumns posts) {
+        if (posts.isEmpty()) return;
+        int end = start + posts.size();
+        List<Segment> next = new ArrayList<>(segments.size() + 2);
+        for (Segment s : segments) {
+            if (s.end() <= start || s.start >= end) {
+                next.add(s);
+                continue;
+            }
+            if (s.start < start) next.add(new Segment(s.start, s.posts.slice(0, start - s.start)));
+            if (s.end() > end) next.add(new Segment(end, s.posts.slice(end - s.start, s.posts.size())));
+        }
+        next.add(new Segment(start, posts));
+        next.sort((a, b) -> Integer.compare(a.start, b.start));
+        segments.clear();
+        segments.addAll(next);
+    }
+
+    /** maxPages 를 넘으면 보이는 범위에서 가장 먼 구간부터 버린다 (keepStart 에서 시작하는 구간은 제외) */
+    private void trim(int keepStart) {
+        while (segments.size() > maxPages) {
+            Segment farthest = null;
+            int farthestDist = -1;
+            for (Segment s : segments) {
+                if (s.start == keepStart) continue;
+                int dist = s.end() <= firstVisible ? firstVisible - s.end() + 1
+                        : s.start > lastVisible ? s.start - lastVisible : 0;
+                if (dist > farthestDist) {
+                    farthestDist = dist;
+                    farthest = s;
+                }
+            }
+            if (farthestDist <= 0) break; // 보이는 구간은 버리지 않음
+            segments.remove(farthest);
+        }
+    }
+
+    private void publish() {
+        listener.onSnapshot(snapshot());
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.photoviewer;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 2단 이미지 캐시 (ImageRequestScheduler 뒤에서 사용).
+ * 1) 메모리: 표시 크기로 디코딩된 Bitmap 을 바이트 크기 기준 LRU 로 보관 (힙의 1/8)
+ * 2) 디스크: 인코딩된 원본 바이트를 cacheDir/images 에 보관 (최대 DISK_MAX_BYTES)
+ * 같은 URL 을 동시에 여러 곳에서 요청하면 네트워크/디코딩은 한 번만 한다.
+ * 메모리에서 밀려났고 화면에도 없는 Bitmap 은 BitmapPool 로 보내 다음 디코딩에 재사용.
+ */
+public final class ImageCache {
+
+    private static final long DISK_MAX_BYTES = 30L * 1024 * 1024;
+
+    private static ImageCache instance;
+
+    private final LruCache<String, Bitmap> memory;
+    private final DiskImageCache disk;
+    private final BitmapPool pool;
+    private final ConcurrentHashMap<String, FutureTask<Bitmap>> inFlight = new ConcurrentHashMap<>();
+
+    // 호출자에게 넘어갔거나 ImageView 에 붙어 있는 Bitmap 별 참조 수 (0 이 되기 전엔 풀로 보내지 않음)
+    private final Map<Bitmap, Integer> displayed = new IdentityHashMap<>();
+    // 지금 메모리 캐시에 들어 있는 Bitmap (displayed 락으로 보호)
+    private final Set<Bitmap> inMemory = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong networkLoads = new AtomicLong();
+    private final AtomicLong dedupedLoads = new AtomicLong();
+    private final AtomicLong networkBytes = new AtomicLong();
+
+    private static final PerfMetrics.Histogram DOWNLOAD = PerfMetrics.get().histogram("image.download");
+    private static final PerfMetrics.Histogram DECODE = PerfMetrics.get().histogram("image.decode");
+
+    /** load() 한 번에서 실제로 네트워크로 받은 바이트 (다른 요청의 다운로드를 기다렸으면 0) */
+    static final class LoadTrace {
+        volatile long networkBytes;
+    }
+
+    public static synchronized ImageCache get(Context ctx) {
+        if (instance == null) instance = new ImageCache(ctx.getApplicationContext());
+        return instance;
+    }
+
+    private ImageCache(Context appCtx) {
+        long maxMemory = Runtime.getRuntime().maxMemory();
+        pool = new BitmapPool(maxMemory / 32);
+        memory = new LruCache<String, Bitmap>((int) (maxMemory / 1024 / 8)) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount() / 1024;
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+                if (oldValue == newValue) return;
+                synchronized (displayed) { inMemory.remove(oldValue); }
+                releaseIfUnused(oldValue);
+            }
+        };
+        disk = new DiskImageCache(new File(appCtx.getCacheDir(), "images"), DISK_MAX_BYTES);
+
+        PerfMetrics m = PerfMetrics.get();
+        m.probe("image.memoryHits", memoryHits::get);
+        m.probe("image.diskHits", diskHits::get);
+        m.probe("image.networkLoads", networkLoads::get);
+        m.probe("image.dedupedLoads", dedupedLoads::get);
+        m.probe("image.networkBytes", networkBytes::get);
+        m.probe("image.poolBytes", pool::sizeBytes);
+    }
+
+    /**
+     * UI 스레드에서 바로 쓸 수 있는 메모리 캐시 조회.
+     * get/load 가 돌려준 Bitmap 은 bind() 또는 release() 로 참조를 넘겨야 한다.
+     */
+    public Bitmap getFromMemory(String url, BitmapDecoder.Target target) {
+        Bitmap b;
+        synchronized (displayed) {
+            b = memory.get(target.cacheKey(url));
+            if (b != null) pin(b);
+        }
+        if (b != null) memoryHits.incrementAndGet();
+        return b;
+    }
+
+    /** 백그라운드 스레드 전용: 메모리 → 디스크 → 네트워크 순으로 찾는다 */
+    public Bitmap load(String url, BitmapDecoder.Target target) throws Exception {
+        return load(url, target, null);
+    }
+
+    Bitmap load(String url, BitmapDecoder.Target target, LoadTrace trace) throws Exception {
+        Bitmap cached = getFromMemory(url, target);
+        if (cached != null) return cached;
+
+        String key = target.cacheKey(url);
+        FutureTask<Bitmap> task = new FutureTask<>(() -> loadUncached(url, key, target, trace));
+        FutureTask<Bitmap> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) {
+            dedupedLoads.incrementAndGet();
+            Bitmap shared = await(existing);
+            if (shared != null) {
+                synchronized (displayed) { pin(shared); }
+            }
+            return shared;
+        }
+        try {
+            task.run();
+            return await(task);
+        } finally {
+            inFlight.remove(key, task);
+        }
+    }
+
+    /**
+     * UI 스레드: get/load 로 받은 bitmap 을 view 에 붙이고, 이전에 붙어 있던 Bitmap 의 참조를 푼다.
+     */
+    public void bind(ImageView view, Bitmap bitmap) {
+        Object prev = view.getTag(R.id.tag_bound_bitmap);
+        if (prev == bitmap) {
+            release(bitmap); // 이미 붙어 있으니 이번 참조는 필요 없음
+            return;
+        }
+        view.setTag(R.id.tag_bound_bitmap, bitmap);
+        view.setImageBitmap(bitmap);
+        if (prev instanceof Bitmap) release((Bitmap) prev);
+    }
+
+    /** UI 스레드: view 를 비우고 붙어 있던 Bitmap 의 참조를 푼다 (행 재사용 시 이전 이미지가 남지 않게) */
+    public void unbind(ImageView view) {
+        Object prev = view.getTag(R.id.tag_bound_bitmap);
+        view.setTag(R.id.tag_bound_bitmap, null);
+        view.setImageDrawable(null);
+        if (prev instanceof Bitmap) release((Bitmap) prev);
+    }
+
+    /** get/load 로 받았지만 화면에 붙이지 않은 Bitmap 의 참조를 돌려준다 */
+    public void release(Bitmap b) {
+        if (b == null) return;
+        synchronized (displayed) {
+            Integer n = displayed.get(b);
+            if (n != null && n > 1) {
+                displayed.put(b, n - 1);
+                return;
+            }
+            displayed.remove(b);
+        }
+        releaseIfUnused(b);
+    }
+
+    private void pin(Bitmap b) {
+        displayed.merge(b, 1, Integer::sum);
+    }
+
+    private void releaseIfUnused(Bitmap b) {
+        synchronized (displayed) {
+            if (displayed.containsKey(b)) return;
+            if (inMemory.contains(b)) return;
+        }
+        pool.put(b);
+    }
+
+    /**
+     * 백그라운드 스레드 전용: 인코딩된 원본 바이트 (디스크 → 네트워크, 받으면 디스크에 저장, 없으면 null).
+     * 메모리 캐시를 거치지 않으니 호출자가 직접 디코딩한다 (타임랩스처럼 자기 BitmapPool 을 쓰는 곳).
+     */
+    byte[] loadBytes(String url, LoadTrace trace) throws Exception {
+        byte[] data = disk.get(url);
+        if (data != null) {
+            diskHits.incrementAndGet();
+            return data;
+        }
+        long start = PerfMetrics.get().now();
+        data = download(url);
+        PerfMetrics.get().recordSince(DOWNLOAD, start);
+        if (data == null) return null;
+        networkLoads.incrementAndGet();
+        networkBytes.addAndGet(data.length);
+        if (trace != null) trace.networkBytes = data.length;
+        disk.put(url, data);
+        return data;
+    }
+
+    private Bitmap loadUncached(String url, String key, BitmapDecoder.Target target, LoadTrace trace) throws Exception {
+        byte[] data = loadBytes(url, trace);
+        if (data == null) return null;
+        long decodeStart = PerfMetrics.get().now();
+        Bitmap bitmap = BitmapDecoder.decode(data, target, pool);
+        PerfMetrics.get().recordSince(DECODE, decodeStart);
+        if (bitmap == null) return null;
+        synchronized (displayed) {
+            pin(bitmap); // 호출자 몫의 참조 (캐시에 넣는 순간 밀려나도 풀로 가지 않게 먼저)
+            inMemory.add(bitmap);
+        }
+        memory.put(key, bitmap);
+        return bitmap;
+    }
+
+    private static byte[] download(String url) throws Exception {
+        try (Response response = NetClient.get().newCall(new Request.Builder().url(url).build()).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) return null;
+            return body.bytes();
+        }
+    }
+
+    private static Bitmap await(FutureTask<Bitmap> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    public long getMemoryHits() { return memoryHits.get(); }
+    public long getDiskHits() { return diskHits.get(); }
+    public long getNetworkLoads() { return networkLoads.get(); }
+    public long getDedupedLoads() { return dedupedLoads.get(); }
+    /** 메모리에서 못 찾은 횟수 = 디스크 적중 + 네트워크 */
+    public long getMemoryMisses() { return diskHits.get() + networkLoads.get(); }
+    public long getPoolBytes() { return pool.sizeBytes(); }
+}
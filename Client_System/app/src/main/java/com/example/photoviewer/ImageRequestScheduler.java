@@ -0,0 +1,301 @@
+package com.example.photoviewer;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.widget.ImageView;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * 화면 위치 우선 이미지 요청 스케줄러 (ImageCache 앞단).
+ * - 요청마다 대상 뷰(owner)를 기록해서, 같은 뷰가 다른 URL 로 다시 바인딩되거나 재활용되면 이전 요청을 취소
+ *   (아직 시작 전이면 아예 받지 않고, 이미 받는 중이면 결과를 붙이지 않음)
+ * - 우선순위: 대시보드 대표 이미지 > 화면에 바인딩된 행 > 미리 받기. 같은 단계에서는 나중 요청 먼저
+ *   (빠르게 스크롤할 때 지금 보이는 행이 지나간 행보다 먼저)
+ * - 동시에 받는 수는 maxConcurrent 로 제한
+ * - 미리 받기는 스크롤 방향으로 몇 행 앞. 대기 중인 것은 maxPendingPrefetch 개까지만 두고 오래된 것부터 버림
+ * 측정: 화면에 못 붙이고 버린 다운로드 바이트(wasted), 요청부터 썸네일이 붙기까지 걸린 시간.
+ * 상태는 UI 스레드에서만 만지고, 읽기는 workers, 결과 전달은 uiExecutor 로.
+ */
+public final class ImageRequestScheduler {
+
+    static final int PRIORITY_HERO = 0;
+    static final int PRIORITY_VISIBLE = 1;
+    static final int PRIORITY_PREFETCH = 2;
+
+    static final int MAX_CONCURRENT = 3;
+    static final int MAX_PENDING_PREFETCH = 12;
+
+    /** 실제 캐시/뷰 작업 (테스트에서 바꿔 끼울 수 있게) */
+    interface Backend {
+        /** UI 스레드. 메모리 캐시에 있으면 참조를 잡아서 돌려준다 */
+        Bitmap fromMemory(String url, BitmapDecoder.Target target);
+
+        /** 워커 스레드. 메모리 → 디스크 → 네트워크 */
+        Bitmap load(String url, BitmapDecoder.Target target, ImageCache.LoadTrace trace) throws Exception;
+
+        void bind(Object owner, Bitmap bitmap);
+
+        void clear(Object owner);
+
+        void release(Bitmap bitmap);
+    }
+
+    /** 요청 하나 */
+    final class Request {
+        final Object owner; // 미리 받기면 null
+        final String url;
+        final String key;
+        final BitmapDecoder.Target target;
+        final int priority;
+        final long seq;
+        final long requestedNanos;
+        final ImageCache.LoadTrace trace = new ImageCache.LoadTrace();
+        boolean started;
+        boolean cancelled;
+
+        Request(Object owner, String url, BitmapDecoder.Target target, int priority) {
+            this.owner = owner;
+            this.url = url;
+            this.key = target.cacheKey(url);
+            this.target = target;
+            this.priority = priority;
+            this.seq = nextSeq++;
+            this.requestedNanos = clock.getAsLong();
+        }
+    }
+
+    private static ImageRequestScheduler instance;
+
+    private static final PerfMetrics.Histogram TO_VISIBLE = PerfMetrics.get().histogram("image.toVisible");
+
+    private final Backend backend;
+    private final Executor workers;
+    private final Executor uiExecutor;
+    private final LongSupplier clock;
+    private final int maxConcurrent;
+    private final int maxPendingPrefetch;
+
+    // ---- UI 스레드 전용 ----
+    private final PriorityQueue<Request> queue = new PriorityQueue<>(16, (a, b) -> a.priority != b.priority
+            ? Integer.compare(a.priority, b.priority)
+            : Long.compare(b.seq, a.seq));
+    private final Map<Object, Request> byOwner = new IdentityHashMap<>();
+    private final ArrayDeque<Request> pendingPrefetch = new ArrayDeque<>();
+    private long nextSeq = 0;
+    private int running = 0;
+
+    private long memoryBinds;
+    private long skippedBeforeStart;
+    private long staleResults;
+    private long wastedBytes;
+    private long prefetchBytes;
+    private long visibleBinds;
+    private long visibleNanosTotal;
+    private long visibleNanosMax;
+
+    public static synchronized ImageRequestScheduler get(Context ctx) {
+        if (instance == null) {
+            ImageCache cache = ImageCache.get(ctx);
+            Handler main = new Handler(Looper.getMainLooper());
+            instance = new ImageRequestScheduler(new CacheBackend(cache),
+                    Executors.newFixedThreadPool(MAX_CONCURRENT, r -> {
+                        Thread t = new Thread(r, "image-loader");
+                        t.setDaemon(true);
+                        return t;
+                    }),
+                    main::post, System::nanoTime, MAX_CONCURRENT, MAX_PENDING_PREFETCH);
+
+            // 디버그 화면 보고서는 UI 스레드에서 만드니 UI 전용 필드를 그대로 읽어도 됨
+            ImageRequestScheduler s = instance;
+            PerfMetrics m = PerfMetrics.get();
+            m.probe("image.running", () -> s.running);
+            m.probe("image.queued", () -> s.queue.size());
+            m.probe("image.memoryBinds", () -> s.memoryBinds);
+            m.probe("image.skippedBeforeStart", () -> s.skippedBeforeStart);
+            m.probe("image.staleResults", () -> s.staleResults);
+            m.probe("image.wastedBytes", () -> s.wastedBytes);
+            m.probe("image.prefetchBytes", () -> s.prefetchBytes);
+        }
+        return instance;
+    }
+
+    ImageRequestScheduler(Backend backend, Executor workers, Executor uiExecutor, LongSupplier clock,
+                          int maxConcurrent, int maxPendingPrefetch) {
+        this.backend = backend;
+        this.workers = workers;
+        this.uiExecutor = uiExecutor;
+        this.clock = clock;
+        this.maxConcurrent = maxConcurrent;
+        this.maxPendingPrefetch = maxPendingPrefetch;
+    }
+
+    /** UI 스레드: view 에 url 을 붙인다 (메모리 캐시에 있으면 바로) */
+    public void load(ImageView view, String url, boolean thumbnail, int priority) {
+        load(view, url, BitmapDecoder.targetFor(view, thumbnail), priority);
+    }
+
+    void load(Object owner, String url, BitmapDecoder.Target target, int priority) {
+        Request prev = byOwner.get(owner);
+        if (prev != null && prev.key.equals(target.cacheKey(url))) return; // 같은 이미지를 이미 기다리는 중
+
+        cancel(owner);
+        Bitmap cached = backend.fromMemory(url, target);
+        if (cached != null) {
+            memoryBinds++;
+            backend.bind(owner, cached);
+            return;
+        }
+        // 대표 이미지는 새 이미지가 올 때까지 이전 것을 두고, 목록 행은 이전 글의 이미지가 남지 않게 비운다
+        if (priority != PRIORITY_HERO) backend.clear(owner);
+
+        Request r = new Request(owner, url, target, priority);
+        byOwner.put(owner, r);
+        queue.add(r);
+        pump();
+    }
+
+    /** UI 스레드: 스크롤 방향으로 곧 보일 썸네일을 미리 메모리 캐시에 올린다 */
+    void prefetch(String url, BitmapDecoder.Target target) {
+        String key = target.cacheKey(url);
+        for (Request p : pendingPrefetch) {
+            if (p.key.equals(key)) return;
+        }
+        Bitmap cached = backend.fromMemory(url, target);
+        if (cached != null) {
+            backend.release(cached);
+            return;
+        }
+        Request r = new Request(null, url, target, PRIORITY_PREFETCH);
+        pendingPrefetch.addLast(r);
+        queue.add(r);
+        while (pendingPrefetch.size() > maxPendingPrefetch) {
+            Request oldest = pendingPrefetch.pollFirst();
+            oldest.cancelled = true;
+            if (queue.remove(oldest)) skippedBeforeStart++;
+        }
+        pump();
+    }
+
+    /** UI 스레드: view 에 걸린 요청을 취소하고 비운다 (행이 재활용될 때 / 이미지 없는 행) */
+    public void cancelAndClear(ImageView view) {
+        cancel(view);
+        backend.clear(view);
+    }
+
+    void cancel(Object owner) {
+        Request r = byOwner.remove(owner);
+        if (r == null) return;
+        r.cancelled = true;
+        if (!r.started && queue.remove(r)) skippedBeforeStart++;
+    }
+
+    private void pump() {
+        while (running < maxConcurrent) {
+            Request r = queue.poll();
+            if (r == null) return;
+            if (r.owner == null) pendingPrefetch.remove(r);
+            r.started = true;
+            running++;
+            workers.execute(() -> {
+                Bitmap b;
+                try {
+                    b = backend.load(r.url, r.target, r.trace);
+                } catch (Exception e) {
+                    b = null;
+                }
+                final Bitmap bitmap = b;
+                uiExecutor.execute(() -> onLoaded(r, bitmap));
+            });
+        }
+    }
+
+    private void onLoaded(Request r, Bitmap bitmap) {
+        running--;
+        if (r.owner == null) {
+            // 미리 받기: 메모리 캐시에 들어갔으니 참조만 돌려준다
+            prefetchBytes += r.trace.networkBytes;
+            backend.release(bitmap);
+        } else if (!r.cancelled && byOwner.get(r.owner) == r) {
+            byOwner.remove(r.owner);
+            if (bitmap != null) {
+                long nanos = clock.getAsLong() - r.requestedNanos;
+                visibleBinds++;
+                visibleNanosTotal += nanos;
+                visibleNanosMax = Math.max(visibleNanosMax, nanos);
+                TO_VISIBLE.recordNanos(nanos);
+                backend.bind(r.owner, bitmap);
+            }
+        } else {
+            // 그 사이 뷰가 다른 글로 넘어감: 받은 건 캐시에만 남고 화면에는 안 쓰임
+            staleResults++;
+            wastedBytes += r.trace.networkBytes;
+            backend.release(bitmap);
+        }
+        pump();
+    }
+
+    int getRunningCount() { return running; }
+    int getQueuedCount() { return queue.size(); }
+
+    public long getMemoryBinds() { return memoryBinds; }
+    /** 시작 전에 취소돼서 아예 받지 않은 요청 수 */
+    public long getSkippedBeforeStart() { return skippedBeforeStart; }
+    /** 받는 중에 취소돼서 화면에 못 붙인 요청 수 / 그 네트워크 바이트 */
+    public long getStaleResults() { return staleResults; }
+    public long getWastedBytes() { return wastedBytes; }
+    public long getPrefetchBytes() { return prefetchBytes; }
+    /** 메모리 캐시에 없던 이미지가 요청부터 화면에 붙기까지 걸린 시간 */
+    public long getVisibleBinds() { return visibleBinds; }
+    public long getAverageTimeToVisibleMs() { return visibleBinds == 0 ? 0 : visibleNanosTotal / visibleBinds / 1_000_000; }
+    public long getMaxTimeToVisibleMs() { return visibleNanosMax / 1_000_000; }
+
+    public String summary() {
+        return "memoryBinds=" + memoryBinds + " visible=" + visibleBinds
+                + " avgToVisibleMs=" + getAverageTimeToVisibleMs() + " maxToVisibleMs=" + getMaxTimeToVisibleMs()
+                + " skipped=" + skippedBeforeStart + " stale=" + staleResults
+                + " wastedBytes=" + wastedBytes + " prefetchBytes=" + prefetchBytes;
+    }
+
+    /** ImageCache + ImageView */
+    private static final class CacheBackend implements Backend {
+        private final ImageCache cache;
+
+        CacheBackend(ImageCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Bitmap fromMemory(String url, BitmapDecoder.Target target) {
+            return cache.getFromMemory(url, target);
+        }
+
+        @Override
+        public Bitmap load(String url, BitmapDecoder.Target target, ImageCache.LoadTrace trace) throws Exception {
+            return cache.load(url, target, trace);
+        }
+
+        @Override
+        public void bind(Object owner, Bitmap bitmap) {
+            cache.bind((ImageView) owner, bitmap);
+        }
+
+        @Override
+        public void clear(Object owner) {
+            cache.unbind((ImageView) owner);
+        }
+
+        @Override
+        public void release(Bitmap bitmap) {
+            cache.release(bitmap);
+        }
+    }
+}
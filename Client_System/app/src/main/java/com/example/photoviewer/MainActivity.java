@@ -1,13 +1,18 @@
 package com.example.photoviewer;
 
+import android.content.Context;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.media.AudioManager;
 import android.media.ToneGenerator;
-import android.os.AsyncTask;
+import android.net.ConnectivityManager;
+import android.os.BatteryManager;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
@@ -16,63 +21,79 @@ import android.widget.TextView;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.Collections;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 public class MainActivity extends AppCompatActivity {
 
-    private TextView tvTime, tvStatusBadge, tvDesc, tvQueueCount, tvSeatCount, tvTip;
+    private TextView tvTime, tvStatusBadge, tvDesc, tvQueueCount, tvSeatCount, tvTip, tvTrend, tvSites;
     private ImageView heroImage;
     private ProgressBar progressSeats;
     private Button btnHistory;
 
-    private final Handler handler = new Handler();
-    private Runnable autoRefreshTask;
-
-    private int lastCount = 0;
-
-    // ✅ PythonAnywhere
-    private static final String BASE_URL   = "https://soyeonkk.pythonanywhere.com";
-    private static final String SERVER_URL = BASE_URL + "/api_root/Post/";
-
-    private static final DateTimeFormatterKOR KOR_TIME = new DateTimeFormatterKOR();
-
-    private int parseInt(String text, String regex) {
-        if (text == null) return -1;
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(regex);
-        java.util.regex.Matcher m = p.matcher(text);
-        if (m.find() && m.group(1) != null) {
-            return Integer.parseInt(m.group(1));
-        }
-        return -1;
-    }
-
-    private ParsedStats parseStatsFromText(String text) {
-        int totalSeats  = parseInt(text, "총 좌석 수:\\s*(\\d+)석");
-        int seated      = parseInt(text, "착석 인원:\\s*(\\d+)명");
-        int queue       = parseInt(text, "대기열 인원.*?:\\s*(\\d+)명");
-        int remainSeats = parseInt(text, "남은 좌석:\\s*(\\d+)석");
-
-        return new ParsedStats(totalSeats, seated, queue, remainSeats);
-    }
-
-    private static class ParsedStats {
-        final int totalSeats;
-        final int seated;
-        final int queue;
-        final int remainSeats;
-
-        ParsedStats(int totalSeats, int seated, int queue, int remainSeats) {
-            this.totalSeats = totalSeats;
-            this.seated = seated;
-            this.queue = queue;
-            this.remainSeats = remainSeats;
+    private static final String TAG = "MainActivity";
+
+    private static final long REFRESH_MAX_BACKOFF_MS = 60_000;
+    private static final int LOW_BATTERY_PERCENT = 15;
+
+    // ✅ 피크 시간대/혼잡하면 빠르게, 여유롭거나 화면 밖이면 느리게 (데이터 요금 망, 배터리 부족도 반영)
+    private final AdaptivePollingPolicy pollingPolicy = new AdaptivePollingPolicy();
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private RefreshScheduler<PostRepository.Snapshot> refresher;
+    private PostPushClient push;
+    private boolean started = false;
+    // 푸시 연결됨 (UI 스레드). 폴링은 PostSync 가 기준(첫 동기화)을 가진 뒤에만 쉰다
+    private boolean pushConnected = false;
+
+    // ✅ 기기 저장소: 켜자마자 마지막으로 받은 글로 먼저 그리고, 네트워크 결과는 뒤에 병합
+    private PostStore store;
+    private boolean renderedFromNetwork = false;
+    private static boolean firstFrameReported = false;
+
+    // ✅ 최신 글 id + 내용 해시가 같으면 다시 그리지 않음, 새 id 가 들어왔을 때만 알림
+    private final DashboardChangeDetector changes = new DashboardChangeDetector();
+
+    private static final PerfMetrics.Histogram RENDER = PerfMetrics.get().histogram("render.dashboard");
+    // 콜드 스타트 → 첫 대시보드 프레임 (디버그 화면에서, 로그는 log.tag.StartupTiming 을 DEBUG 로 켰을 때만)
+    private static final PerfMetrics.Histogram FIRST_FRAME = PerfMetrics.get().histogram("startup.firstFrame");
+    private static final String STARTUP_TAG = "StartupTiming";
+
+    // ✅ 혼잡도 추세: 새 글만 O(1) 로 접어 넣고 (기록을 다시 훑지 않음) 최근 10분/1시간/24시간 요약을 그림
+    //    시작할 때 기기 저장소의 최근 글로 한 번 채운다
+    private static final int SERIES_CAPACITY = 512;
+    private static final int SERIES_SEED_POSTS = 2000;
+    private final OccupancySeries series = new OccupancySeries(SERIES_CAPACITY);
+    private boolean seriesSeeded = false;
+    private int seriesVersion = 0;
+    // 새 글이 없어도 "최근 10분 / 1시간" 창은 시간이 가면 바뀌니, 화면에 있는 동안 1분마다 다시 그림
+    private static final long TREND_REFRESH_MS = 60_000;
+    private final Runnable trendTicker = new Runnable() {
+        @Override
+        public void run() {
+            if (!started) return;
+            if (seriesSeeded) renderTrend();
+            handler.postDelayed(this, TREND_REFRESH_MS);
         }
-    }
+    };
+
+    // ✅ History 와 같이 쓰는 프로세스 공용 목록 (증분 동기화 since_id + ETag 는 그 안에서)
+    private PostRepository repo;
+    private int shownVersion = 0;
+    // 그 사이 History 등이 막 동기화했으면 요청하지 않고 그 Snapshot 을 쓴다
+    private static final long SNAPSHOT_MAX_AGE_MS = 2000;
+    private final PostRepository.Listener repoListener = s -> handler.post(() -> {
+        if (started) onSnapshot(s);
+    });
+
+    // ✅ 식당(피드) 목록: 첫 번째가 위 상세 화면, 여러 곳이면 식당별 현황을 동시에 받아서 같이 보여 준다
+    //    (식당마다 제한 시간이 따로라 한 곳이 느려도 나머지는 제때, 전체 시간은 가장 느린 한 곳)
+    private static final long SITES_REFRESH_MS = 15_000;
+    private Feed feed;
+    private FeedAggregator sites;
+    private RefreshScheduler<FeedAggregator.View> sitesRefresher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -90,35 +111,299 @@ public class MainActivity extends AppCompatActivity {
         progressSeats = findViewById(R.id.progressSeats);
 
         tvTip = findViewById(R.id.tvTip);
+        tvTrend = findViewById(R.id.tvTrend);
+        tvSites = findViewById(R.id.tvSites);
         btnHistory = findViewById(R.id.btnHistory);
 
         btnHistory.setOnClickListener(v ->
                 startActivity(new Intent(MainActivity.this, HistoryActivity.class))
         );
 
-        loadAndRender();
-        startAutoRefresh();
-    }
+        // 숨은 디버그 화면: 시각을 길게 누르면 계측 결과
+        tvTime.setOnLongClickListener(v -> {
+            startActivity(new Intent(MainActivity.this, MetricsActivity.class));
+            return true;
+        });
 
-    private void startAutoRefresh() {
-        autoRefreshTask = new Runnable() {
+        // ✅ 한 번에 하나만 가져오고, 실패하면 간격을 늘리고, 결과는 메인 스레드로
+        refresher = new RefreshScheduler<>(this::pollPosts, new RefreshScheduler.Listener<PostRepository.Snapshot>() {
             @Override
-            public void run() {
-                loadAndRender();
-                handler.postDelayed(this, 3000);
+            public void onResult(PostRepository.Snapshot s) {
+                onSnapshot(s);
+                pauseForPush();
             }
-        };
-        handler.post(autoRefreshTask);
+        }, handler::post, pollingPolicy, REFRESH_MAX_BACKOFF_MS);
+
+        repo = PostRepository.get(this);
+        store = PostStore.get(this);
+        feed = Feed.primary(this);
+
+        List<Feed> feeds = Feed.all(this);
+        if (feeds.size() > 1) {
+            // 기본 식당은 공용 목록에서 (방금 동기화했으면 네트워크 없이)
+            sites = FeedAggregator.create(feeds, () -> repo.refresh(SITES_REFRESH_MS).posts,
+                    SystemClock::elapsedRealtime);
+            sitesRefresher = new RefreshScheduler<>(sites::refresh, new RefreshScheduler.Listener<FeedAggregator.View>() {
+                @Override
+                public void onResult(FeedAggregator.View v) {
+                    renderSites(v);
+                }
+            }, handler::post, SITES_REFRESH_MS, REFRESH_MAX_BACKOFF_MS);
+            findViewById(R.id.cardSites).setVisibility(View.VISIBLE);
+        }
+        AppExecutors.get().io().execute(() -> {
+            List<PostItem> cached = store.newestFirst(SERIES_SEED_POSTS);
+            handler.post(() -> {
+                onCachedPosts(cached.isEmpty() ? cached : cached.subList(0, 1));
+                seedSeries(cached);
+            });
+        });
+
+        // ✅ 서버 푸시(SSE)가 연결돼 있는 동안은 폴링을 쉬고, 끊기거나 미지원이면 폴링으로
+        push = new PostPushClient(feed.streamUrl(), new PostPushClient.Listener() {
+            @Override
+            public void onConnected() {
+                handler.post(() -> {
+                    pushConnected = true;
+                    pauseForPush();
+                });
+            }
+
+            @Override
+            public void onPosts(List<PostItem> posts) {
+                repo.ingest(posts); // 바뀌면 repoListener 로 온다
+            }
+
+            @Override
+            public void onDisconnected() {
+                handler.post(() -> {
+                    pushConnected = false;
+                    if (started) refresher.start();
+                });
+            }
+
+            @Override
+            public void onUnavailable() {
+                onDisconnected();
+            }
+        });
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        started = true;
+        repo.addListener(repoListener);
+        // History 에 가 있는 동안 바뀐 목록이 있으면 바로 반영
+        if (!repo.current().isEmpty()) onSnapshot(repo.current());
+        refresher.start();
+        if (sitesRefresher != null) sitesRefresher.start();
+        push.start(repo.current().highestId);
+        handler.removeCallbacks(trendTicker);
+        trendTicker.run(); // 멈춰 있던 동안 지난 시간만큼 바로 갱신
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        pollingPolicy.setForeground(true);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        pollingPolicy.setForeground(false); // 멀티 윈도우 등 보이지만 포커스가 없을 때는 천천히
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        started = false;
+        repo.removeListener(repoListener);
+        push.stop();
+        pushConnected = false;
+        refresher.stop();
+        if (sitesRefresher != null) sitesRefresher.stop();
+        handler.removeCallbacks(trendTicker);
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (autoRefreshTask != null) handler.removeCallbacks(autoRefreshTask);
+        push.stop();
+        refresher.shutdown();
+        if (sitesRefresher != null) {
+            sitesRefresher.shutdown();
+            sites.shutdown();
+        }
     }
 
-    private void loadAndRender() {
-        new LoadPostsTask().execute(SERVER_URL);
+    /**
+     * 푸시가 붙어 있으면 다음 폴링부터 쉰다 (진행 중인 폴링은 끝까지 받음).
+     * 첫 동기화 전이면 계속 폴링: 그 전에 온 푸시는 PostSync 가 버리므로, 폴링까지 멈추면 그 글을 놓친다.
+     */
+    private void pauseForPush() {
+        if (pushConnected && repo.current().highestId > 0) refresher.pause();
+    }
+
+    /** 워커 스레드. 실패하면 예외(→ 백오프). 바뀌었는지는 onSnapshot 에서 버전으로 */
+    private PostRepository.Snapshot pollPosts() throws IOException {
+        updateDeviceConditions();
+        return repo.refresh(SNAPSHOT_MAX_AGE_MS);
+    }
+
+    /**
+     * 워커 스레드: 요금제 망 / 배터리 상태를 정책에 반영.
+     * 참고용이라 여기서 실패해도 (권한 등) 글 받아오기는 그대로 한다 (이전 값 유지)
+     */
+    private void updateDeviceConditions() {
+        try {
+            ConnectivityManager cm = (ConnectivityManager) getSystemService(Context.CONNECTIVITY_SERVICE);
+            if (cm != null) pollingPolicy.setMetered(cm.isActiveNetworkMetered());
+        } catch (RuntimeException e) {
+            Log.w(TAG, "네트워크 상태 확인 실패", e);
+        }
+        try {
+            BatteryManager bm = (BatteryManager) getSystemService(Context.BATTERY_SERVICE);
+            if (bm != null) {
+                int level = bm.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY);
+                pollingPolicy.setLowBattery(!bm.isCharging() && level > 0 && level <= LOW_BATTERY_PERCENT);
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "배터리 상태 확인 실패", e);
+        }
+    }
+
+    private void onCachedPosts(List<PostItem> cached) {
+        if (renderedFromNetwork || cached.isEmpty()) return; // 네트워크가 먼저 왔으면 그걸 유지
+        DashboardChangeDetector.Change c = changes.update(cached);
+        pollingPolicy.setStats(c.latest.getStats());
+        renderDashboard(c.latest, c.heroChanged);
+        reportFirstFrame("store");
+    }
+
+    private void onSnapshot(PostRepository.Snapshot s) {
+        // 폴링 결과와 리스너가 같은 버전을 두 번 줄 수 있고, 304 면 버전이 그대로
+        if (s.version <= shownVersion) return;
+        shownVersion = s.version;
+        onPostsLoaded(s.posts);
+        foldIntoSeries(s);
+    }
+
+    /** 기기 저장소의 최근 글(최신순)을 오래된 것부터 넣는다. 그 뒤로는 Snapshot 의 새 글만 */
+    private void seedSeries(List<PostItem> newestFirst) {
+        for (int i = newestFirst.size() - 1; i >= 0; i--) series.ingest(newestFirst.get(i));
+        seriesSeeded = true;
+        PostRepository.Snapshot s = repo.current();
+        if (!s.isEmpty()) foldIntoSeries(s);
+        else renderTrend();
+    }
+
+    private void foldIntoSeries(PostRepository.Snapshot s) {
+        if (!seriesSeeded || s.version == seriesVersion) return;
+        List<PostItem> fresh = s.addedPosts;
+        if (s.version != seriesVersion + 1) {
+            // 버전을 건너뛰었음 (화면 밖에 있었음) → 아직 안 넣은 글만 골라서 한 번
+            fresh = new ArrayList<>();
+            for (PostItem p : s.posts) if (p.getId() > series.getLastId()) fresh.add(p);
+            fresh.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        }
+        seriesVersion = s.version;
+        for (PostItem p : fresh) {
+            int flags = series.ingest(p);
+            if (flags > 0) {
+                List<OccupancySeries.Anomaly> recent = series.recentAnomalies();
+                Log.w(TAG, "이상치 : " + recent.get(recent.size() - 1).describe());
+            }
+        }
+        renderTrend();
+    }
+
+    /** 식당별 현황 + 합계 (여러 식당을 설정했을 때만) */
+    private void renderSites(FeedAggregator.View v) {
+        StringBuilder sb = new StringBuilder();
+        if (v.totalSeats > 0) {
+            sb.append("전체 남은 좌석 ").append(v.remainSeats).append(" / ").append(v.totalSeats).append("석");
+            if (v.queue > 0) sb.append(" · 대기 ").append(v.queue).append("명");
+            FeedAggregator.Site best = v.best();
+            if (best != null) sb.append("\n지금 가장 여유: ").append(best.feed.name);
+        }
+        for (FeedAggregator.Site s : v.sites) {
+            if (sb.length() > 0) sb.append('\n');
+            sb.append(s.feed.name).append(" · ");
+            if (s.hasStats()) {
+                ParsedStats st = s.latest.getStats();
+                sb.append(statusLabel(s.status())).append(" · 남은 ").append(st.remainSeats)
+                        .append('/').append(st.totalSeats).append(" · ").append(s.latest.getCreatedTimeKor());
+            } else {
+                sb.append("수치 없음");
+            }
+            if (s.state == FeedAggregator.TIMEOUT) sb.append(" · ⚠️ 응답 지연");
+            else if (s.state == FeedAggregator.FAILED) sb.append(" · ⚠️ 연결 실패");
+        }
+        tvSites.setText(sb.toString());
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+            Log.d(TAG, "식당 " + v.okCount() + "/" + v.sites.size() + " 갱신 " + v.elapsedMs + "ms");
+        }
+    }
+
+    private static String statusLabel(int status) {
+        switch (status) {
+            case OccupancySeries.STATUS_BUSY: return "혼잡";
+            case OccupancySeries.STATUS_NORMAL: return "보통";
+            case OccupancySeries.STATUS_FREE: return "여유";
+            default: return "-";
+        }
+    }
+
+    private void renderTrend() {
+        OccupancySeries.Trend t = series.trend(System.currentTimeMillis());
+        StringBuilder sb = new StringBuilder();
+        if (Double.isNaN(t.meanRemain10m)) {
+            sb.append("최근 10분 기록 없음");
+        } else {
+            sb.append(String.format(Locale.KOREA, "최근 10분 평균 남은 좌석 %.1f석", t.meanRemain10m));
+            double d = t.remainDelta();
+            if (!Double.isNaN(d)) sb.append(String.format(Locale.KOREA, " (%s%.1f)", d >= 0 ? "▲" : "▼", Math.abs(d)));
+            sb.append(" · 대기 최대 ").append(t.maxQueue10m).append("명");
+        }
+        sb.append("\n최근 1시간 ").append(t.events1h).append("건");
+        if (t.minRemain1h >= 0) sb.append(" (최소 남은 좌석 ").append(t.minRemain1h).append("석)");
+        sb.append(" · 24시간 ").append(t.events24h).append("건");
+        sb.append("\n24시간 여유 ").append(t.free24h).append(" · 보통 ").append(t.normal24h)
+                .append(" · 혼잡 ").append(t.busy24h);
+        if (t.anomalies > 0) sb.append(" · ⚠️ 이상치 ").append(t.anomalies).append("건");
+        tvTrend.setText(sb.toString());
+    }
+
+    private void onPostsLoaded(List<PostItem> posts) {
+        renderedFromNetwork = true;
+
+        DashboardChangeDetector.Change c = changes.update(posts);
+        if (c.latest != null) pollingPolicy.setStats(c.latest.getStats());
+        if (c.render) {
+            renderDashboard(c.latest, c.heroChanged);
+        } else if (Log.isLoggable(TAG, Log.DEBUG)) {
+            Log.d(TAG, "최신 글 그대로 → 그리기 생략 (생략 " + changes.getSkippedRenderCount()
+                    + " / 그림 " + changes.getRenderCount() + ")");
+        }
+        reportFirstFrame("network");
+
+        if (c.newPosts > 0) triggerAlert();
+    }
+
+    /** 콜드 스타트(프로세스 시작) → 대시보드에 데이터가 처음 그려진 프레임까지 (프로세스당 한 번) */
+    private void reportFirstFrame(String source) {
+        if (firstFrameReported) return;
+        firstFrameReported = true;
+        getWindow().getDecorView().post(() -> {
+            long ms = SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+            FIRST_FRAME.recordNanos(ms * 1_000_000L);
+            if (Log.isLoggable(STARTUP_TAG, Log.DEBUG)) {
+                Log.d(STARTUP_TAG, "cold start → first dashboard frame: " + ms + "ms (" + source + ")");
+            }
+            reportFullyDrawn();
+        });
     }
 
     private void triggerAlert() {
@@ -134,19 +419,16 @@ public class MainActivity extends AppCompatActivity {
                 .show());
     }
 
-    private void renderDashboard(List<PostItem> posts) {
-        if (posts == null || posts.isEmpty()) return;
-
-        // 최신순 정렬 (epoch로)
-        Collections.sort(posts, (a, b) -> Long.compare(b.getCreatedEpochMs(), a.getCreatedEpochMs()));
+    private void renderDashboard(PostItem latest, boolean heroChanged) {
+        if (latest == null) return;
+        long start = PerfMetrics.get().now();
 
-        PostItem latest = posts.get(0);
         setTimeFromLatest(latest);
-        updateHeroFromLatest(latest);
+        if (heroChanged) updateHeroFromLatest(latest);
 
-        ParsedStats ps = parseStatsFromText(latest.getText());
+        ParsedStats ps = latest.getStats();
 
-        if (ps.totalSeats > 0 && ps.remainSeats >= 0) {
+        if (ps.isValid()) {
             tvQueueCount.setText(ps.queue + "명");
             tvSeatCount.setText(ps.remainSeats + " / " + ps.totalSeats + "석");
 
@@ -172,6 +454,7 @@ public class MainActivity extends AppCompatActivity {
         }
 
         tvTip.setText("점심시간 피크는 12:00-12:30, 저녁시간 피크는 18:00-18:30입니다.");
+        PerfMetrics.get().recordSince(RENDER, start);
     }
 
     private void setTimeFromLatest(PostItem latest) {
@@ -180,86 +463,14 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void updateHeroFromLatest(PostItem latest) {
-        String imagePath = latest.getImageUrl();
-        if (imagePath == null || imagePath.isEmpty()) return;
+        String fullUrl = feed.imageUrl(latest.getImageUrl());
+        if (fullUrl == null) return;
 
-        String fullUrl = imagePath.startsWith("http") ? imagePath : BASE_URL + imagePath;
-        new ImageLoadTask(heroImage).execute(fullUrl);
+        // ✅ 대표 이미지는 목록 썸네일보다 먼저
+        ImageRequestScheduler.get(this).load(heroImage, fullUrl, false, ImageRequestScheduler.PRIORITY_HERO);
     }
 
     private int clamp(int v, int min, int max) {
         return Math.max(min, Math.min(max, v));
     }
-
-    private class LoadPostsTask extends AsyncTask<String, Void, List<PostItem>> {
-        @Override
-        protected List<PostItem> doInBackground(String... urls) {
-            return PostFetcher.fetchPosts(); // URL 파라미터 쓰지 않아도 됨
-        }
-
-        @Override
-        protected void onPostExecute(List<PostItem> posts) {
-            if (posts == null) return;
-
-            boolean isNewPost = posts.size() > lastCount;
-            lastCount = posts.size();
-
-            renderDashboard(posts);
-
-            if (isNewPost) triggerAlert();
-        }
-    }
-
-    public static class ImageLoadTask extends AsyncTask<String, Void, Bitmap> {
-        private final ImageView targetView;
-
-        public ImageLoadTask(ImageView targetView) {
-            this.targetView = targetView;
-        }
-
-        @Override
-        protected Bitmap doInBackground(String... urls) {
-            String urlStr = urls[0];
-            try {
-                URL url = new URL(urlStr);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setConnectTimeout(8000);
-                conn.setReadTimeout(8000);
-                conn.setDoInput(true);
-                conn.connect();
-                InputStream is = conn.getInputStream();
-                return BitmapFactory.decodeStream(is);
-            } catch (Exception e) {
-                return null;
-            }
-        }
-
-        @Override
-        protected void onPostExecute(Bitmap bitmap) {
-            if (bitmap != null && targetView != null) {
-                targetView.setImageBitmap(bitmap);
-            }
-        }
-    }
-
-    // (API24용) 간단 포맷터 래퍼
-    private static class DateTimeFormatterKOR {
-        String format(String iso) {
-            // ISO "2025-12-18T19:11:09+09:00" or "2025-12-18T19:11:09"
-            if (iso == null || iso.length() < 16) return "";
-            try {
-                String t = iso.replace("T", " ");
-                // "2025-12-18 19:11:09"
-                String hhmm = t.substring(11, 16);
-                int hh = Integer.parseInt(hhmm.substring(0, 2));
-                String ampm = (hh < 12) ? "오전" : "오후";
-                int hh12 = hh % 12;
-                if (hh12 == 0) hh12 = 12;
-                String mm = hhmm.substring(3, 5);
-                return String.format(Locale.KOREA, "%s %02d:%s", ampm, hh12, mm);
-            } catch (Exception e) {
-                return "";
-            }
-        }
-    }
 }
@@ -0,0 +1,123 @@
+package com.example.photoviewer;
+
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 숨은 디버그 화면 (대시보드 시각을 길게 누르기). PerfMetrics 를 1초마다 다시 그리고,
+ * JSON 으로 앱 전용 외부 저장소(없으면 내부)의 metrics/ 에 내보낸다:
+ * adb pull /sdcard/Android/data/com.example.photoviewer/files/metrics/
+ */
+public class MetricsActivity extends AppCompatActivity {
+
+    private static final String TAG = "MetricsActivity";
+    private static final long REFRESH_MS = 1000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private TextView tvMetrics;
+
+    private final Runnable refresh = new Runnable() {
+        @Override
+        public void run() {
+            render();
+            handler.postDelayed(this, REFRESH_MS);
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metrics);
+
+        tvMetrics = findViewById(R.id.tvMetrics);
+        Button btnExport = findViewById(R.id.btnMetricsExport);
+        Button btnReset = findViewById(R.id.btnMetricsReset);
+
+        btnExport.setOnClickListener(v -> export());
+        btnReset.setOnClickListener(v -> {
+            PerfMetrics.get().reset();
+            render();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        handler.post(refresh);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        handler.removeCallbacks(refresh);
+    }
+
+    private void render() {
+        ImageCache cache = ImageCache.get(this);
+        long lookups = cache.getMemoryHits() + cache.getMemoryMisses();
+        String hitRate = lookups == 0 ? "-" : String.format(Locale.ROOT, "%.1f%%",
+                100.0 * cache.getMemoryHits() / lookups);
+        tvMetrics.setText(PerfMetrics.get().toText() + "\n이미지 메모리 캐시 적중률 " + hitRate + "\n");
+    }
+
+    private void export() {
+        // 보고서는 UI 스레드에서 만들고 (UI 전용 값도 읽으니) 파일 쓰기만 워커에서
+        Map<String, String> meta = new HashMap<>();
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date());
+        meta.put("exportedAt", stamp);
+        meta.put("uptimeMs", String.valueOf(SystemClock.uptimeMillis()));
+        meta.put("device", Build.MANUFACTURER + " " + Build.MODEL);
+        meta.put("sdk", String.valueOf(Build.VERSION.SDK_INT));
+        meta.put("versionName", versionName());
+        String json = PerfMetrics.get().toJson(meta);
+
+        File base = getExternalFilesDir(null);
+        File dir = new File(base != null ? base : getFilesDir(), "metrics");
+        File file = new File(dir, "metrics-" + stamp + ".json");
+
+        AppExecutors.get().io().execute(() -> {
+            String message;
+            try {
+                if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("폴더를 만들 수 없음 : " + dir);
+                try (Writer w = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                    w.write(json);
+                }
+                message = "내보냄 : " + file.getAbsolutePath();
+            } catch (IOException e) {
+                Log.e(TAG, "계측 내보내기 실패 : " + e.getMessage(), e);
+                message = "내보내기 실패 : " + e.getMessage();
+            }
+            String m = message;
+            handler.post(() -> Toast.makeText(MetricsActivity.this, m, Toast.LENGTH_LONG).show());
+        });
+    }
+
+    private String versionName() {
+        try {
+            return getPackageManager().getPackageInfo(getPackageName(), 0).versionName;
+        } catch (Exception e) {
+            return "?";
+        }
+    }
+}
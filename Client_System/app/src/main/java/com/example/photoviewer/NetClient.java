@@ -0,0 +1,129 @@
+package com.example.photoviewer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * 앱 전체가 같이 쓰는 OkHttp 클라이언트 (JSON 피드 + 이미지).
+ * - 커넥션 풀 / keep-alive: 3초 폴링과 썸네일이 매번 TCP·TLS 를 새로 맺지 않음
+ * - HTTP/2: TLS(ALPN) 로 협상되면 한 커넥션에서 요청 다중화
+ * - gzip: Accept-Encoding 을 직접 넣지 않으면 OkHttp 가 자동으로 요청·해제
+ * 타임아웃/동시성은 configure() 로 조절 (기존 HttpURLConnection 값 8초 유지).
+ * 모든 요청은 MetricsInterceptor 로 계측 (진행 중인 요청 수, 헤더까지 걸린 시간, 실제로 받은 바이트).
+ */
+public final class NetClient {
+
+    public static final class Settings {
+        long connectTimeoutMs = 8000;
+        long readTimeoutMs = 8000;
+        int maxRequests = 16;
+        int maxRequestsPerHost = 6;
+        int maxIdleConnections = 5;
+        long keepAliveMs = 5 * 60 * 1000L;
+
+        public Settings connectTimeoutMs(long v) { connectTimeoutMs = v; return this; }
+        public Settings readTimeoutMs(long v) { readTimeoutMs = v; return this; }
+        public Settings maxRequests(int v) { maxRequests = v; return this; }
+        public Settings maxRequestsPerHost(int v) { maxRequestsPerHost = v; return this; }
+        public Settings maxIdleConnections(int v) { maxIdleConnections = v; return this; }
+        public Settings keepAliveMs(long v) { keepAliveMs = v; return this; }
+    }
+
+    private static OkHttpClient client;
+
+    private NetClient() {}
+
+    public static synchronized OkHttpClient get() {
+        if (client == null) client = build(new Settings());
+        return client;
+    }
+
+    /** 설정을 바꿔 클라이언트를 다시 만든다. 진행 중인 요청은 이전 클라이언트로 끝까지 간다. */
+    public static synchronized void configure(Settings s) {
+        OkHttpClient old = client;
+        client = build(s);
+        if (old != null) old.connectionPool().evictAll();
+    }
+
+    private static OkHttpClient build(Settings s) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(s.maxRequests);
+        dispatcher.setMaxRequestsPerHost(s.maxRequestsPerHost);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(s.maxIdleConnections, s.keepAliveMs, TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(s.connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(s.readTimeoutMs, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .addNetworkInterceptor(new MetricsInterceptor())
+                .build();
+    }
+
+    /**
+     * 네트워크 단(gzip 풀기 전)에서 계측. 요청은 응답 본문을 닫을 때까지 진행 중으로 센다.
+     */
+    static final class MetricsInterceptor implements Interceptor {
+        private final PerfMetrics metrics = PerfMetrics.get();
+        private final PerfMetrics.Histogram headers = metrics.histogram("http.headers");
+        private final PerfMetrics.Gauge inFlight = metrics.gauge("http.inFlight");
+        private final LongAdder requests = metrics.counter("http.requests");
+        private final LongAdder errors = metrics.counter("http.errors");
+        private final LongAdder wireBytes = metrics.counter("http.wireBytes");
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            requests.increment();
+            inFlight.increment();
+            long start = metrics.now();
+            Response response;
+            try {
+                response = chain.proceed(chain.request());
+            } catch (IOException | RuntimeException e) {
+                inFlight.decrement();
+                errors.increment();
+                throw e;
+            }
+            metrics.recordSince(headers, start);
+
+            ResponseBody body = response.body();
+            if (body == null) {
+                inFlight.decrement();
+                return response;
+            }
+            AtomicBoolean closed = new AtomicBoolean();
+            ForwardingSource counting = new ForwardingSource(body.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long n = super.read(sink, byteCount);
+                    if (n > 0) wireBytes.add(n);
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (closed.compareAndSet(false, true)) inFlight.decrement();
+                    super.close();
+                }
+            };
+            return response.newBuilder()
+                    .body(ResponseBody.create(Okio.buffer(counting), body.contentType(), body.contentLength()))
+                    .build();
+        }
+    }
+}
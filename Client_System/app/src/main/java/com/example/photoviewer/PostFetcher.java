@@ -2,84 +2,154 @@ package com.example.photoviewer;
 
 import android.util.Log;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 public class PostFetcher {
 
-    private static final String BASE_URL   = "https://soyeonkk.pythonanywhere.com";
-    private static final String SERVER_URL = BASE_URL + "/api_root/Post/";
     private static final String TAG = "PostFetcher";
 
-    public static List<PostItem> fetchPosts() {
-        List<PostItem> list = new ArrayList<>();
-
-        HttpURLConnection conn = null;
-        BufferedReader reader = null;
-
-        try {
-            URL url = new URL(SERVER_URL);
-            conn = (HttpURLConnection) url.openConnection();
-            conn.setConnectTimeout(8000);
-            conn.setReadTimeout(8000);
-            conn.setRequestMethod("GET");
+    // ✅ 컬럼형 JSON 을 먼저 요청하고, 서버가 모르면 (구버전) 일반 JSON 으로 받는다
+    static final String COLUMNAR_TYPE = "application/vnd.photoviewer.columnar+json";
+    static final String ACCEPT = COLUMNAR_TYPE + ", application/json;q=0.9";
+
+    // ✅ 계측: 요청 전체 / 본문 디코딩 시간, 결과별 횟수
+    private static final PerfMetrics METRICS = PerfMetrics.get();
+    private static final PerfMetrics.Histogram FETCH = METRICS.histogram("feed.fetch");
+    private static final PerfMetrics.Histogram DECODE = METRICS.histogram("feed.decode");
+    private static final LongAdder NOT_MODIFIED = METRICS.counter("feed.notModified");
+    private static final LongAdder FAILURES = METRICS.counter("feed.failures");
+    private static final LongAdder DECODED_POSTS = METRICS.counter("feed.decodedPosts");
+    // 형식별 비교: 본문 디코딩 시간(수치 파싱 포함)과 압축 해제 후 본문 바이트
+    private static final PerfMetrics.Histogram DECODE_JSON = METRICS.histogram("feed.decode.json");
+    private static final PerfMetrics.Histogram DECODE_COLUMNAR = METRICS.histogram("feed.decode.columnar");
+    private static final LongAdder BYTES_JSON = METRICS.counter("feed.bytes.json");
+    private static final LongAdder BYTES_COLUMNAR = METRICS.counter("feed.bytes.columnar");
+
+    /**
+     * 조건부 GET. etag / lastModified 가 있으면 If-None-Match / If-Modified-Since 로 보내고,
+     * 서버가 304 를 주면 posts 는 비어 있고 code 만 304 로 돌려준다.
+     * stopAtId > 0 이면 이미 가진 글(id <= stopAtId)에 닿는 순간 읽기를 멈춘다.
+     * 실패 시 code 는 -1.
+     */
+    static Result fetch(String urlStr, String etag, String lastModified, int stopAtId) {
+        return fetch(urlStr, etag, lastModified, stopAtId, 0);
+    }
 
-            int code = conn.getResponseCode();
+    /**
+     * timeoutMs > 0 이면 이 요청 하나를 (연결 ~ 본문 끝까지) 그 시간 안에 끝내고, 넘으면 실패(-1).
+     * 식당(피드)마다 제한 시간이 다를 때 쓴다. 공용 클라이언트 설정은 그대로.
+     */
+    static Result fetch(String urlStr, String etag, String lastModified, int stopAtId, long timeoutMs) {
+        Result result = new Result();
+        long start = METRICS.now();
+
+        // ✅ 공용 클라이언트: 커넥션 재사용 + gzip 자동 처리, close 로 커넥션을 풀에 반납
+        Call call = NetClient.get().newCall(buildRequest(urlStr, etag, lastModified));
+        if (timeoutMs > 0) call.timeout().timeout(timeoutMs, TimeUnit.MILLISECONDS);
+        try (Response response = call.execute()) {
+            int code = response.code();
+            result.code = code;
             if (code == HttpURLConnection.HTTP_OK) {
-
-                reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-                StringBuilder jsonBuilder = new StringBuilder();
-                String line;
-
-                while ((line = reader.readLine()) != null) {
-                    jsonBuilder.append(line);
-                }
-
-                String raw = jsonBuilder.toString().trim();
-
-                // ✅ 1) 배열로 오는 경우: [...]
-                // ✅ 2) 페이지네이션: {"count":..,"results":[...]}
-                JSONArray array;
-                if (raw.startsWith("[")) {
-                    array = new JSONArray(raw);
-                } else {
-                    JSONObject root = new JSONObject(raw);
-                    array = root.optJSONArray("results");
-                    if (array == null) array = new JSONArray(); // 방어
-                }
-
-                for (int i = 0; i < array.length(); i++) {
-                    JSONObject obj = array.getJSONObject(i);
-
-                    int id = obj.optInt("id", 0);
-                    String title = obj.optString("title", "제목 없음");
-                    String text = obj.optString("text", "");
-                    String created = obj.optString("created_date", "");
-                    String published = obj.optString("published_date", "");
-                    String image = obj.optString("image", "");
-                    String author = obj.optString("author", "익명");
-
-                    list.add(new PostItem(id, title, text, created, published, image, author));
+                result.etag = response.header("ETag");
+                result.lastModified = response.header("Last-Modified");
+
+                // ✅ 응답을 문자열로 모으지 않고 스트림에서 바로 PostItem 생성
+                ResponseBody body = response.body();
+                if (body != null) {
+                    result.columnar = isColumnar(body.contentType());
+                    CountingStream in = new CountingStream(body.byteStream());
+                    long decodeStart = METRICS.now();
+                    PostFeedDecoder decoder = PostFeedDecoder.of(in);
+                    if (result.columnar) {
+                        decoder.decodeColumnar(result.posts, stopAtId);
+                    } else {
+                        decoder.decode(result.posts, stopAtId); // 수치는 행마다 본문에서 (stats.parse)
+                    }
+                    long decodeNanos = METRICS.now() - decodeStart;
+                    DECODE.recordNanos(decodeNanos);
+                    (result.columnar ? DECODE_COLUMNAR : DECODE_JSON).recordNanos(decodeNanos);
+                    (result.columnar ? BYTES_COLUMNAR : BYTES_JSON).add(in.count);
+                    DECODED_POSTS.add(result.posts.size());
+                    result.stoppedEarly = decoder.stoppedEarly();
+                    result.count = decoder.totalCount();
+                    result.next = decoder.nextPageUrl();
                 }
 
+            } else if (code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                NOT_MODIFIED.increment();
             } else {
+                FAILURES.increment();
                 Log.e(TAG, "서버 응답 코드 : " + code);
             }
 
         } catch (Exception e) {
+            result.code = -1;
+            FAILURES.increment();
             Log.e(TAG, "POST 불러오기 실패 : " + e.getMessage(), e);
-        } finally {
-            try { if (reader != null) reader.close(); } catch (Exception ignored) {}
-            if (conn != null) conn.disconnect();
         }
 
-        return list;
+        METRICS.recordSince(FETCH, start);
+        return result;
+    }
+
+    private static Request buildRequest(String urlStr, String etag, String lastModified) {
+        Request.Builder req = new Request.Builder().url(urlStr).header("Accept", ACCEPT);
+        if (etag != null) req.header("If-None-Match", etag);
+        if (lastModified != null) req.header("If-Modified-Since", lastModified);
+        return req.build();
+    }
+
+    static boolean isColumnar(MediaType type) {
+        return type != null && COLUMNAR_TYPE.equals(type.type() + "/" + type.subtype());
+    }
+
+    /** 디코더가 실제로 읽은 바이트 수 */
+    private static final class CountingStream extends FilterInputStream {
+        long count;
+
+        CountingStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+
+    static class Result {
+        int code = -1;
+        final List<PostItem> posts = new ArrayList<>();
+        String etag;
+        String lastModified;
+        boolean stoppedEarly;
+        int count = -1;   // DRF 페이지네이션의 전체 개수 (모르면 -1)
+        String next;      // 다음 페이지 URL (마지막 페이지면 null)
+        boolean columnar; // 서버가 컬럼형으로 응답했는지
+
+        boolean isOk() { return code == HttpURLConnection.HTTP_OK; }
+        boolean isNotModified() { return code == HttpURLConnection.HTTP_NOT_MODIFIED; }
     }
 }
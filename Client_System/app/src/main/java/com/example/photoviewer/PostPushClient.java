@@ -0,0 +1,238 @@
+package com.example.photoviewer;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * 새 Post 를 Server-Sent Events 로 받는 푸시 구독.
+ * - 연결 하나를 유지하며 "post" 이벤트(data = Post JSON 하나)를 받는다
+ * - 끊기면 Last-Event-ID / since_id 로 마지막 받은 글 다음부터 재연결 (간격은 2배씩, 최대 RECONNECT_MAX_MS)
+ * - 서버가 스트림을 지원하지 않으면(404 등, text/event-stream 아님) onUnavailable → 호출 측은 폴링 유지
+ * - 서버가 붐비면(503 + Retry-After) 그만큼은 다시 붙지 않는다 (그동안 호출 측은 폴링)
+ * 서버는 15초마다 주석(":")으로 heartbeat 를 보내므로 READ_TIMEOUT_MS 동안 아무것도 없으면 끊긴 것으로 본다.
+ */
+public class PostPushClient {
+
+    private static final String TAG = "PostPushClient";
+
+    private static final long READ_TIMEOUT_MS = 45_000;
+    private static final long RECONNECT_MIN_MS = 1_000;
+    private static final long RECONNECT_MAX_MS = 60_000;
+
+    public interface Listener {
+        /** 스트림 연결됨 (이때부터 폴링은 쉬어도 됨) */
+        void onConnected();
+
+        /** 새 글 도착. 푸시 스레드에서 호출 */
+        void onPosts(List<PostItem> posts);
+
+        /** 연결이 끊김. 곧 재연결을 시도한다 */
+        void onDisconnected();
+
+        /** 서버가 푸시를 지원하지 않음. 재연결하지 않는다 */
+        void onUnavailable();
+    }
+
+    private final String streamUrl;
+    private final Listener listener;
+    private final OkHttpClient client;
+
+    // ---- this 로 보호 ----
+    private Thread thread;
+    private Call call;
+    private int lastEventId;
+    private long reconnectDelayMs = RECONNECT_MIN_MS;
+
+    public PostPushClient(String streamUrl, Listener listener) {
+        this.streamUrl = streamUrl;
+        this.listener = listener;
+        // 공용 풀/디스패처는 그대로, 읽기 타임아웃만 길게
+        this.client = NetClient.get().newBuilder()
+                .readTimeout(READ_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /** sinceId 다음 글부터 구독 시작 (이미 돌고 있으면 무시) */
+    public synchronized void start(int sinceId) {
+        if (thread != null) return;
+        if (sinceId > lastEventId) lastEventId = sinceId;
+        reconnectDelayMs = RECONNECT_MIN_MS;
+        thread = new Thread(this::loop, "post-push");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        thread = null;
+        if (call != null) call.cancel();
+        call = null;
+    }
+
+    public synchronized int getLastEventId() {
+        return lastEventId;
+    }
+
+    private synchronized boolean isCurrent() {
+        return thread == Thread.currentThread();
+    }
+
+    private void loop() {
+        while (isCurrent()) {
+            Boolean supported = connectOnce();
+            if (!isCurrent()) return;
+            if (supported == Boolean.FALSE) {
+                listener.onUnavailable();
+                synchronized (this) {
+                    if (isCurrent()) thread = null;
+                }
+                return;
+            }
+            listener.onDisconnected();
+
+            long delay;
+            synchronized (this) {
+                delay = reconnectDelayMs;
+                reconnectDelayMs = Math.min(reconnectDelayMs * 2, RECONNECT_MAX_MS);
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 한 번 연결해서 끊길 때까지 읽는다.
+     * @return FALSE = 서버가 푸시 미지원, TRUE/null = 재연결 대상
+     */
+    private Boolean connectOnce() {
+        Call c;
+        synchronized (this) {
+            if (!isCurrent()) return null;
+            Request req = new Request.Builder()
+                    .url(withSinceId(streamUrl, lastEventId))
+                    .header("Accept", "text/event-stream")
+                    .header("Cache-Control", "no-cache")
+                    .header("Last-Event-ID", String.valueOf(lastEventId))
+                    .build();
+            c = client.newCall(req);
+            call = c;
+        }
+
+        try (Response response = c.execute()) {
+            int code = response.code();
+            ResponseBody body = response.body();
+            String type = response.header("Content-Type", "");
+            if (code == HttpURLConnection.HTTP_NOT_FOUND || code == HttpURLConnection.HTTP_BAD_METHOD
+                    || code == HttpURLConnection.HTTP_NOT_ACCEPTABLE || code == HttpURLConnection.HTTP_NOT_IMPLEMENTED
+                    || (response.isSuccessful() && !type.startsWith("text/event-stream"))) {
+                return Boolean.FALSE;
+            }
+            if (!response.isSuccessful() || body == null) {
+                Log.e(TAG, "스트림 응답 코드 : " + code);
+                retryAfter(response.header("Retry-After"));
+                return Boolean.TRUE;
+            }
+
+            listener.onConnected();
+            readEvents(body.source());
+        } catch (IOException e) {
+            if (isCurrent()) Log.e(TAG, "스트림 끊김 : " + e.getMessage());
+        }
+        return Boolean.TRUE;
+    }
+
+    /** Retry-After(초)가 있으면 다음 재연결은 적어도 그만큼 뒤로 */
+    private void retryAfter(String header) {
+        if (header == null) return;
+        try {
+            long ms = TimeUnit.SECONDS.toMillis(Long.parseLong(header.trim()));
+            synchronized (this) {
+                reconnectDelayMs = Math.max(reconnectDelayMs, Math.min(ms, RECONNECT_MAX_MS));
+            }
+        } catch (NumberFormatException ignored) {} // HTTP 날짜 형식은 무시 (평소 간격대로)
+    }
+
+    private void readEvents(BufferedSource source) throws IOException {
+        String eventType = null;
+        String eventId = null;
+        StringBuilder data = new StringBuilder();
+
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (!isCurrent()) return;
+
+            if (line.isEmpty()) {
+                dispatch(eventType, eventId, data);
+                eventType = null;
+                eventId = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.charAt(0) == ':') continue; // heartbeat / 주석
+
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) value = value.substring(1);
+
+            switch (field) {
+                case "event": eventType = value; break;
+                case "id":    eventId = value; break;
+                case "data":
+                    if (data.length() > 0) data.append('\n');
+                    data.append(value);
+                    break;
+                case "retry":
+                    try {
+                        long retry = Long.parseLong(value.trim());
+                        synchronized (this) { reconnectDelayMs = Math.max(RECONNECT_MIN_MS, retry); }
+                    } catch (NumberFormatException ignored) {}
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void dispatch(String eventType, String eventId, StringBuilder data) throws IOException {
+        if (data.length() == 0) return;
+        if (eventType != null && !eventType.equals("post") && !eventType.equals("message")) return;
+
+        PostItem post = new PostFeedDecoder(new StringReader(data.toString())).decodeOne();
+
+        int id = post.getId();
+        if (eventId != null) {
+            try { id = Math.max(id, Integer.parseInt(eventId.trim())); } catch (NumberFormatException ignored) {}
+        }
+        synchronized (this) {
+            if (id > lastEventId) lastEventId = id;
+            reconnectDelayMs = RECONNECT_MIN_MS; // 이벤트를 받았으면 연결은 정상
+        }
+
+        List<PostItem> posts = new ArrayList<>(1);
+        posts.add(post);
+        listener.onPosts(Collections.unmodifiableList(posts));
+    }
+
+    private static String withSinceId(String url, int sinceId) {
+        return sinceId > 0 ? PostSync.withSinceId(url, sinceId) : url;
+    }
+}
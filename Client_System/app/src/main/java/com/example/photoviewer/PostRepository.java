@@ -0,0 +1,220 @@
+package com.example.photoviewer;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 프로세스에 하나뿐인 Post 목록 (메모리, 기본 식당 = Feed.primary). 대시보드와 History 가 같은 목록을 본다.
+ * - 목록은 최신순으로 정렬된 변경 불가 Snapshot 으로만 내보낸다 (받은 쪽이 그대로 들고 있어도 됨)
+ * - 폴링/푸시 결과는 PostSync 에 병합하고, 병합이 끝난 새 Snapshot 을 한 번에 바꿔 끼운다
+ * - refresh(maxAgeMs): 마지막으로 서버와 맞춘 지 maxAgeMs 가 안 됐으면 네트워크 없이 그대로.
+ *   아니면 가져오는데, 다른 스레드가 이미 가져오는 중이면 그 결과를 같이 기다린다 (single-flight)
+ * - 목록은 PostSync 가 들고 있는 최근 PostSync.WINDOW 개뿐 (오래된 글은 기기 저장소 / History 페이지에서)
+ * - 바뀔 때마다 바뀐 글(새 글 + 내용이 바뀐 글)만 기기 저장소에 병합하고, 서버에서 지워진 글은 저장소에서도 뺀 뒤 Listener 에 새 Snapshot
+ *   (병합한 워커 스레드에서 호출)
+ */
+public final class PostRepository {
+
+    /** 한 시점의 목록. 만들어진 뒤로 바뀌지 않는다 */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), 0, 0, -1, Collections.emptyList(), 0);
+
+        public final List<PostItem> posts; // 최신순 (PostStore.NEWEST_FIRST), 수정 불가
+        public final int version;          // 목록이 바뀔 때마다 1씩
+        public final long syncedAtMs;      // 마지막으로 서버와 맞춘 시각 (clock 기준, 없으면 0)
+        public final int totalCount;       // 서버 전체 글 수 (모르면 -1)
+        public final int added;            // 직전 버전보다 새로 들어온 글 수
+        public final List<PostItem> addedPosts; // 그 글들 (id 오름차순, 수정 불가)
+        public final int highestId;        // 가진 글 중 가장 큰 id (푸시 재연결용)
+
+        Snapshot(List<PostItem> posts, int version, long syncedAtMs, int totalCount,
+                 List<PostItem> addedPosts, int highestId) {
+            this.posts = posts;
+            this.version = version;
+            this.syncedAtMs = syncedAtMs;
+            this.totalCount = totalCount;
+            this.added = addedPosts.size();
+            this.addedPosts = addedPosts;
+            this.highestId = highestId;
+        }
+
+        public boolean isEmpty() {
+            return posts.isEmpty();
+        }
+
+        /** 최신 글 n 개 (복사 없이 앞부분만) */
+        public List<PostItem> newest(int n) {
+            return posts.subList(0, Math.min(n, posts.size()));
+        }
+
+        Snapshot synced(long at) {
+            return new Snapshot(posts, version, at, totalCount, Collections.emptyList(), highestId);
+        }
+    }
+
+    public interface Listener {
+        void onSnapshot(Snapshot snapshot);
+    }
+
+    // ✅ 계측: 서버 요청 / 캐시로 끝난 요청 / 진행 중인 요청에 합류
+    private static final PerfMetrics METRICS = PerfMetrics.get();
+    private static final LongAdder FETCHES = METRICS.counter("repo.fetches");
+    private static final LongAdder CACHE_HITS = METRICS.counter("repo.cacheHits");
+    private static final LongAdder JOINED = METRICS.counter("repo.joined");
+
+    private static PostRepository instance;
+
+    private final PostSync sync;
+    private final Consumer<List<PostItem>> persist;
+    private final Consumer<List<Integer>> remove;
+    private final LongSupplier clock;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private FutureTask<Snapshot> inFlight; // this 로 보호
+
+    public static synchronized PostRepository get(Context ctx) {
+        if (instance == null) {
+            PostStore store = PostStore.get(ctx);
+            Feed feed = Feed.primary(ctx);
+            instance = new PostRepository(new PostSync(feed.postsUrl(), feed.timeoutMs), store::putAll,
+                    store::removeAll, SystemClock::elapsedRealtime);
+        }
+        return instance;
+    }
+
+    PostRepository(PostSync sync, Consumer<List<PostItem>> persist, Consumer<List<Integer>> remove,
+                   LongSupplier clock) {
+        this.sync = sync;
+        this.persist = persist;
+        this.remove = remove;
+        this.clock = clock;
+    }
+
+    /** 지금 Snapshot (네트워크 없음, 어느 스레드든) */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    public void addListener(Listener l) {
+        listeners.add(l);
+    }
+
+    public void removeListener(Listener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * 워커 스레드. maxAgeMs 안에 서버와 맞춘 Snapshot 이 있으면 그대로,
+     * 없으면 동기화 (이미 진행 중이면 합류). 실패하면 IOException (Snapshot 은 그대로).
+     */
+    public Snapshot refresh(long maxAgeMs) throws IOException {
+        FutureTask<Snapshot> task;
+        boolean owner = false;
+        synchronized (this) {
+            Snapshot s = snapshot;
+            if (s.syncedAtMs > 0 && clock.getAsLong() - s.syncedAtMs < maxAgeMs) {
+                CACHE_HITS.increment();
+                return s;
+            }
+            task = inFlight;
+            if (task == null) {
+                task = inFlight = new FutureTask<>(this::fetch);
+                owner = true;
+            } else {
+                JOINED.increment();
+            }
+        }
+
+        if (owner) {
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    inFlight = null;
+                }
+            }
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Post 동기화 대기 중 중단");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Post 동기화 실패 : " + cause, cause);
+        }
+    }
+
+    /**
+     * 푸시로 받은 글을 병합한다. 바뀌었으면 새 Snapshot, 아니면 null.
+     * 첫 동기화 전이면 무시 (PostSync.ingest 와 같은 규칙).
+     */
+    public Snapshot ingest(List<PostItem> posts) {
+        Snapshot next;
+        List<PostItem> updated;
+        synchronized (sync) {
+            List<PostItem> merged = sync.ingest(posts);
+            if (merged == null) return null;
+            next = swap(merged, true, snapshot.syncedAtMs);
+            updated = sync.getLastUpdated();
+        }
+        publish(next, updated, Collections.emptyList());
+        return next;
+    }
+
+    private Snapshot fetch() throws IOException {
+        FETCHES.increment();
+        Snapshot next;
+        boolean changed;
+        List<PostItem> updated;
+        List<Integer> removed;
+        // poll 과 push 병합이 섞이지 않게, 그리고 Snapshot 이 병합 순서대로 바뀌게
+        synchronized (sync) {
+            List<PostItem> merged = sync.poll();
+            if (merged == null) throw new IOException("Post 동기화 실패");
+            changed = sync.isLastPollChanged();
+            next = swap(merged, changed, clock.getAsLong());
+            updated = sync.getLastUpdated();
+            removed = sync.getLastRemoved();
+        }
+        if (changed) publish(next, updated, removed);
+        return next;
+    }
+
+    // sync 잠금 안에서
+    private Snapshot swap(List<PostItem> merged, boolean changed, long syncedAt) {
+        Snapshot old = snapshot;
+        Snapshot next;
+        if (changed) {
+            List<PostItem> sorted = new ArrayList<>(merged);
+            sorted.sort(PostStore.NEWEST_FIRST);
+            next = new Snapshot(Collections.unmodifiableList(sorted), old.version + 1, syncedAt,
+                    sync.getTotalCount(), Collections.unmodifiableList(sync.getLastAdded()), sync.getHighestId());
+        } else {
+            next = old.synced(syncedAt);
+        }
+        snapshot = next;
+        return next;
+    }
+
+    private void publish(Snapshot s, List<PostItem> updated, List<Integer> removed) {
+        if (!updated.isEmpty()) persist.accept(updated);
+        if (!removed.isEmpty()) remove.accept(removed);
+        for (Listener l : listeners) l.onSnapshot(s);
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.photoviewer;
+
+import android.content.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * 기기에 남겨 두는 Post 저장소 (오프라인 우선).
+ * 앱을 켜자마자 마지막으로 본 글을 네트워크 없이 보여 주고, 새로 받은 글은 뒤에 병합한다.
+ * - 파일 하나(filesDir/posts.log)에 레코드를 이어 붙이는 로그 구조. 같은 id 는 마지막 레코드가 이긴다
+ *   (PUT = 글 전체, DELETE = 서버에서 지워진 글의 id 만)
+ * - 레코드에 파싱된 혼잡도 수치도 같이 저장해서 다시 읽을 때 본문을 파싱하지 않는다
+ * - 메모리 인덱스: id → PostItem, 생성 시각 최신순 TreeSet
+ *   (시간 구간 조회용 TimeIndex 배열은 처음 조회할 때 만들고, 바뀌면 버렸다가 다시 만든다)
+ * - 보관 기간(retentionMs)이 지난 글과 maxPosts 를 넘는 오래된 글은 버린다
+ * - 버려진/덮어쓴/지운 레코드가 쌓이면 살아 있는 글만 새 파일에 써서 rename (compaction).
+ *   덧붙이기에 실패하면 dirty 로 표시하고 바로 compaction (다음 변경 때도 성공할 때까지 다시)
+ * 끝이 잘린 레코드(쓰다가 죽은 경우)는 읽을 때 잘라 낸다.
+ * 모든 메서드는 파일 I/O 를 할 수 있으니 메인 스레드에서 부르지 않는다.
+ */
+public final class PostStore {
+
+    static final long DEFAULT_RETENTION_MS = 7L * 24 * 60 * 60 * 1000;
+    static final int DEFAULT_MAX_POSTS = 2000;
+
+    private static final int MAGIC = 0x50535431; // "PST1"
+    private static final int VERSION = 2; // 2: OP_DELETE 추가 (1 도 그대로 읽음)
+    private static final int HEADER_BYTES = 8;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int COMPACT_SLACK = 256;
+
+    // 최신순 (생성 시각 내림차순, 같으면 id 내림차순)
+    static final Comparator<PostItem> NEWEST_FIRST = (a, b) -> {
+        int c = Long.compare(b.getCreatedEpochMs(), a.getCreatedEpochMs());
+        return c != 0 ? c : Integer.compare(b.getId(), a.getId());
+    };
+
+    private static PostStore instance;
+
+    private final File file;
+    private final long retentionMs;
+    private final int maxPosts;
+    private final LongSupplier clock;
+
+    private final Map<Integer, PostItem> byId = new HashMap<>();
+    private final TreeSet<PostItem> byTime = new TreeSet<>(NEWEST_FIRST);
+    private PostItem[] timeOrder;  // byTime 을 배열로 (null 이면 다시 만듦)
+    private TimeIndex timeIndex;
+
+    private boolean loaded = false;
+    private int logRecords = 0; // 파일에 있는 레코드 수 (살아 있는 글 + 덮어쓴/버린/지운 글)
+    private boolean dirty = false; // 메모리에만 반영되고 파일에는 못 쓴 변경이 있음
+    private int highestId = 0;
+
+    public static synchronized PostStore get(Context ctx) {
+        if (instance == null) {
+            File f = new File(ctx.getApplicationContext().getFilesDir(), "posts.log");
+            instance = new PostStore(f, DEFAULT_RETENTION_MS, DEFAULT_MAX_POSTS, System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    PostStore(File file, long retentionMs, int maxPosts, LongSupplier clock) {
+        this.file = file;
+        this.retentionMs = retentionMs;
+        this.maxPosts = maxPosts;
+        this.clock = clock;
+    }
+
+    /** 최신순 최대 limit 개 */
+    public synchronized List<PostItem> newestFirst(int limit) {
+        ensureLoaded();
+        List<PostItem> out = new ArrayList<>(Math.min(limit, byTime.size()));
+        for (PostItem p : byTime) {
+            if (out.size() >= limit) break;
+            out.add(p);
+        }
+        return out;
+    }
+
+    /** fromMs <= 생성 시각 < toMs 인 글, 최신순 최대 limit 개 (이진 탐색) */
+    public synchronized List<PostItem> between(long fromMs, long toMs, int limit) {
+        ensureLoaded();
+        if (timeOrder == null) {
+            timeOrder = byTime.toArray(new PostItem[0]);
+            timeIndex = TimeIndex.of(Arrays.asList(timeOrder));
+        }
+        int[] r = timeIndex.range(fromMs, toMs);
+        int end = Math.min(r[1], r[0] + Math.max(0, limit));
+        return new ArrayList<>(Arrays.asList(timeOrder).subList(r[0], end));
+    }
+
+    public synchronized PostItem get(int id) {
+        ensureLoaded();
+        return byId.get(id);
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return byId.size();
+    }
+
+    public synchronized int getHighestId() {
+        ensureLoaded();
+        return highestId;
+    }
+
+    /**
+     * 받은 글을 병합해서 저장한다. 새 글이거나 내용이 바뀐 글만 파일에 덧붙인다.
+     * @return 저장소가 바뀌었는지
+     */
+    public synchronized boolean putAll(Collection<PostItem> posts) {
+        ensureLoaded();
+        long cutoff = cutoff();
+        List<PostItem> changed = new ArrayList<>();
+        for (PostItem p : posts) {
+            if (isExpired(p, cutoff)) continue;
+            PostItem old = byId.get(p.getId());
+            if (old != null && old.sameContentAs(p)) continue;
+            index(p);
+            changed.add(p);
+        }
+        if (changed.isEmpty()) return false;
+
+        write(encodePuts(changed, false), changed.size());
+        evict(cutoff);
+        maybeCompact();
+        return true;
+    }
+
+    /**
+     * 서버에서 지워진 글을 뺀다 (전체 조회 결과에 없던 글). 가진 글만 DELETE 레코드로 덧붙인다.
+     * @return 저장소가 바뀌었는지
+     */
+    public synchronized boolean removeAll(Collection<Integer> ids) {
+        ensureLoaded();
+        List<Integer> removed = new ArrayList<>();
+        for (Integer id : ids) {
+            if (unindex(id)) removed.add(id);
+        }
+        if (removed.isEmpty()) return false;
+
+        write(encodeDeletes(removed), removed.size());
+        maybeCompact();
+        return true;
+    }
+
+    /** 파일까지 비운다 */
+    public synchronized void clear() {
+        byId.clear();
+        byTime.clear();
+        timeOrder = null;
+        highestId = 0;
+        logRecords = 0;
+        dirty = false;
+        loaded = true;
+        file.delete();
+    }
+
+    // 테스트/계측용
+    synchronized long fileBytes() {
+        return file.length();
+    }
+
+    synchronized int logRecords() {
+        return logRecords;
+    }
+
+    // ---------------------------------------------------------------------
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        load();
+        long cutoff = cutoff();
+        int before = byId.size();
+        evict(cutoff);
+        if (byId.size() != before) maybeCompact();
+    }
+
+    private void load() {
+        byte[] data = readFully(file);
+        if (data == null) return;
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        int version = data.length < HEADER_BYTES || buf.getInt() != MAGIC ? -1 : buf.getInt();
+        if (version != 1 && version != VERSION) {
+            file.delete(); // 모르는 형식이면 버리고 새로 받는다
+            return;
+        }
+
+        int good = buf.position();
+        while (buf.hasRemaining()) {
+            try {
+                byte op = buf.get();
+                if (op == OP_PUT) {
+                    index(readPost(buf));
+                } else if (op == OP_DELETE) {
+                    unindex(buf.getInt());
+                } else {
+                    break;
+                }
+                logRecords++;
+                good = buf.position();
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                break;
+            }
+        }
+        if (good < data.length) truncate(good);
+    }
+
+    private void index(PostItem p) {
+        PostItem old = byId.put(p.getId(), p);
+        if (old != null) byTime.remove(old);
+        byTime.add(p);
+        timeOrder = null;
+        if (p.getId() > highestId) highestId = p.getId();
+    }
+
+    private boolean unindex(int id) {
+        PostItem old = byId.remove(id);
+        if (old == null) return false;
+        byTime.remove(old);
+        timeOrder = null;
+        if (id == highestId) {
+            highestId = 0;
+            for (int k : byId.keySet()) if (k > highestId) highestId = k;
+        }
+        return true;
+    }
+
+    private void evict(long cutoff) {
+        // byTime 은 최신순이라 오래된 글은 뒤쪽에 모여 있음 (시각을 모르는 글(0)은 맨 뒤)
+        Iterator<PostItem> it = byTime.descendingIterator();
+        while (it.hasNext()) {
+            PostItem p = it.next();
+            if (byTime.size() > maxPosts || isExpired(p, cutoff)) {
+                it.remove();
+                byId.remove(p.getId());
+                timeOrder = null;
+            } else if (p.getCreatedEpochMs() != 0L) {
+                break; // 여기부터 앞쪽은 모두 더 최신
+            }
+        }
+        if (byId.isEmpty()) highestId = 0;
+    }
+
+    private long cutoff() {
+        return clock.getAsLong() - retentionMs;
+    }
+
+    private static boolean isExpired(PostItem p, long cutoff) {
+        long t = p.getCreatedEpochMs();
+        return t != 0L && t < cutoff;
+    }
+
+    private void maybeCompact() {
+        if (!dirty && logRecords <= byId.size() * 2 + COMPACT_SLACK) return;
+        compact();
+    }
+
+    /** 살아 있는 글만 새 파일에 쓰고 바꿔 끼운다 */
+    synchronized void compact() {
+        ensureLoaded();
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(encodePuts(byTime, true));
+            out.getFD().sync();
+        } catch (IOException e) {
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return;
+        }
+        logRecords = byId.size();
+        dirty = false;
+    }
+
+    /** 레코드들을 파일 끝에 덧붙인다. 실패하면 dirty 로 두고 바로 compaction (메모리 내용을 통째로 씀) */
+    private void write(byte[] records, int count) {
+        if (!dirty) {
+            try {
+                append(records, count);
+                return;
+            } catch (IOException e) {
+                dirty = true;
+            }
+        }
+        compact();
+    }
+
+    private void append(byte[] records, int count) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) throw new IOException("no dir");
+        boolean fresh = !file.isFile() || file.length() < HEADER_BYTES;
+        try (FileOutputStream out = new FileOutputStream(file, !fresh)) {
+            if (fresh) out.write(header());
+            out.write(records);
+        }
+        if (fresh) logRecords = 0;
+        logRecords += count;
+    }
+
+    private static byte[] header() {
+        return ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).array();
+    }
+
+    private static byte[] encodeDeletes(List<Integer> ids) {
+        ByteBuffer buf = ByteBuffer.allocate(ids.size() * 5);
+        for (int id : ids) buf.put(OP_DELETE).putInt(id);
+        return buf.array();
+    }
+
+    private static byte[] encodePuts(Collection<PostItem> posts, boolean withHeader) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(posts.size() * 256 + HEADER_BYTES);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            if (withHeader) out.write(header());
+            for (PostItem p : posts) {
+                out.writeByte(OP_PUT);
+                out.writeInt(p.getId());
+                writeString(out, p.getTitle());
+                writeString(out, p.getText());
+                writeString(out, p.getCreatedDateRaw());
+                writeString(out, p.getPublishedDateRaw());
+                writeString(out, p.getImageUrl());
+                writeString(out, p.getAuthor());
+                ParsedStats s = p.getStats();
+                out.writeInt(s.totalSeats);
+                out.writeInt(s.seated);
+                out.writeInt(s.queue);
+                out.writeInt(s.remainSeats);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new AssertionError(e); // 메모리 스트림이라 나지 않음
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PostItem readPost(ByteBuffer buf) {
+        int id = buf.getInt();
+        String title = readString(buf);
+        String text = readString(buf);
+        String created = readString(buf);
+        String published = readString(buf);
+        String image = readString(buf);
+        String author = readString(buf);
+        ParsedStats stats = new ParsedStats(buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt());
+        return new PostItem(id, title, text, created, published, image, author, stats);
+    }
+
+    // 길이(-1 = null) + UTF-8 바이트 (writeUTF 의 64KB 제한이 없도록)
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len == -1) return null;
+        if (len < 0 || len > buf.remaining()) throw new IllegalArgumentException("bad length");
+        String s = new String(buf.array(), buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+
+    private static byte[] readFully(File f) {
+        if (!f.isFile()) return null;
+        try (InputStream in = new FileInputStream(f)) {
+            byte[] data = new byte[(int) f.length()];
+            int off = 0;
+            while (off < data.length) {
+                int n = in.read(data, off, data.length - off);
+                if (n < 0) break;
+                off += n;
+            }
+            return off == data.length ? data : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void truncate(long length) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        } catch (IOException ignored) {}
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.photoviewer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Post 목록 증분 동기화.
+ * - 지금까지 받은 가장 큰 id(high-water mark)를 기억하고 ?since_id= 로 새 글만 요청
+ * - ETag / Last-Modified 로 조건부 요청 → 변화 없으면 서버가 304
+ * - 받은 델타를 들고 있는 목록에 id 기준으로 병합
+ * - 서버가 since_id 를 무시하고 최신순 전체 목록을 주면, 이미 가진 글에 닿는 순간 읽기를 멈추고
+ *   그 앞까지만 델타로 병합 (정렬이 다르면 전체 응답으로 보고 목록을 교체)
+ * - 수정/삭제 반영을 위해 FULL_SYNC_EVERY 번마다 한 번은 전체 조회. 전체라도 피드 전부가 아니라
+ *   최신 WINDOW 개 한 페이지 (?page=1&page_size=WINDOW). 내용 해시가 같은 글은 변경으로 치지 않는다
+ * - 메모리에는 최신 WINDOW 개만 둔다 (오래된 글은 기기 저장소 / History 페이지에서)
+ */
+public class PostSync {
+
+    static final int FULL_SYNC_EVERY = 20;
+    // 들고 있는 최근 글 수 = 전체 조회 한 페이지 크기 (서버 MAX_PAGE_SIZE 이하)
+    static final int WINDOW = 100;
+
+    private final String feedUrl;
+    private final long timeoutMs; // 요청 하나의 제한 시간 (0 이면 공용 클라이언트 설정)
+    private final Map<Integer, PostItem> byId = new LinkedHashMap<>();
+
+    private int highestId = 0;
+    private int pollsSinceFull = 0;
+    private int totalCount = -1; // 서버 전체 글 수 (마지막 전체 조회의 count + 그 뒤 델타, 모르면 -1)
+
+    // 조건부 요청용: 마지막 200 응답의 URL 과 검증자
+    private String validatorUrl;
+    private String etag;
+    private String lastModified;
+
+    private boolean lastChanged = false;
+    private int lastAddedCount = 0;
+    private final List<PostItem> lastAdded = new ArrayList<>();
+    private final List<PostItem> lastUpdated = new ArrayList<>(); // 새 글 + 내용이 바뀐 글
+    private final List<Integer> lastRemoved = new ArrayList<>(); // 전체 조회에서 빠진 (서버에서 지워진) 글 id
+
+    public PostSync(String feedUrl) {
+        this(feedUrl, 0);
+    }
+
+    public PostSync(String feedUrl, long timeoutMs) {
+        this.feedUrl = feedUrl;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 한 번 동기화하고 병합된 전체 목록(복사본)을 돌려준다.
+     * 네트워크/서버 오류면 null (호출 측은 이전 화면 유지).
+     */
+    public synchronized List<PostItem> poll() {
+        boolean full = highestId == 0 || pollsSinceFull >= FULL_SYNC_EVERY;
+        String url = full ? fullSyncUrl(feedUrl) : withSinceId(feedUrl, highestId);
+
+        boolean sameUrl = url.equals(validatorUrl);
+        PostFetcher.Result r = PostFetcher.fetch(url,
+                sameUrl ? etag : null,
+                sameUrl ? lastModified : null,
+                full ? 0 : highestId,
+                timeoutMs);
+
+        clearLast();
+
+        if (r.isNotModified()) {
+            if (full) pollsSinceFull = 0;
+            else pollsSinceFull++;
+            return snapshot();
+        }
+        if (!r.isOk()) return null;
+
+        validatorUrl = url;
+        etag = r.etag;
+        lastModified = r.lastModified;
+
+        // 서버가 since_id 필터를 무시했는지: 이미 가진 id 이하가 섞여 오면 전체 응답으로 취급
+        // (stoppedEarly 면 최신순 피드에서 새 글만 읽고 멈춘 것이라 델타 그대로 사용)
+        if (!full && !r.stoppedEarly) {
+            for (PostItem p : r.posts) {
+                if (p.getId() <= highestId) {
+                    full = true;
+                    break;
+                }
+            }
+        }
+
+        if (full) {
+            applyFull(r.posts, r.next == null);
+            totalCount = r.count >= 0 ? r.count : r.next == null ? r.posts.size() : -1;
+            pollsSinceFull = 0;
+        } else {
+            applyDelta(r.posts);
+            pollsSinceFull++;
+        }
+        return snapshot();
+    }
+
+    /**
+     * 푸시로 받은 새 글을 병합한다. 바뀐 게 있으면 병합된 전체 목록, 없으면 null.
+     * 첫 전체 조회 전이면 무시 (high-water mark 가 먼저 올라가면 그 아래 글을 영영 못 받으므로).
+     */
+    public synchronized List<PostItem> ingest(List<PostItem> posts) {
+        clearLast();
+        if (highestId == 0) return null;
+        applyDelta(posts);
+        return lastChanged ? snapshot() : null;
+    }
+
+    /** 마지막 poll() 에서 목록이 바뀌었는지 (304 / 빈 델타면 false) */
+    public synchronized boolean isLastPollChanged() {
+        return lastChanged;
+    }
+
+    /** 마지막 poll() 에서 새로 들어온 글 수 */
+    public synchronized int getLastAddedCount() {
+        return lastAddedCount;
+    }
+
+    /** 마지막 poll()/ingest() 에서 새로 들어온 글 (id 오름차순) */
+    public synchronized List<PostItem> getLastAdded() {
+        List<PostItem> out = new ArrayList<>(lastAdded);
+        out.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        return out;
+    }
+
+    /** 마지막 poll()/ingest() 에서 저장해야 할 글: 새 글 + 내용이 바뀐 글 (델타만 기기 저장소로) */
+    public synchronized List<PostItem> getLastUpdated() {
+        return new ArrayList<>(lastUpdated);
+    }
+
+    /** 마지막 poll() 의 전체 조회에서 서버에서 지워진 글 id (기기 저장소에서도 뺀다) */
+    public synchronized List<Integer> getLastRemoved() {
+        return new ArrayList<>(lastRemoved);
+    }
+
+    public synchronized int getHighestId() {
+        return highestId;
+    }
+
+    /** 서버 피드의 전체 글 수 (페이지네이션 count 기준, 모르면 -1) */
+    public synchronized int getTotalCount() {
+        return totalCount;
+    }
+
+    private void clearLast() {
+        lastChanged = false;
+        lastAddedCount = 0;
+        lastAdded.clear();
+        lastUpdated.clear();
+        lastRemoved.clear();
+    }
+
+    /**
+     * 전체 조회 결과(최신 한 페이지)로 맞춘다. complete 면 서버 피드 전부를 받은 것.
+     * 응답 범위(가장 오래된 응답 글보다 새 글) 안에서 빠진 글은 서버에서 지워진 것, 그보다 오래된 글은 그대로 둔다.
+     * 변경은 새 글 / 내용 해시가 다른 글 / 지워진 글이 있을 때만.
+     */
+    private void applyFull(List<PostItem> posts, boolean complete) {
+        Map<Integer, PostItem> old = new HashMap<>(byId);
+        PostItem oldest = null;
+        byId.clear();
+        highestId = 0;
+        for (PostItem p : posts) {
+            byId.put(p.getId(), p);
+            PostItem prev = old.remove(p.getId());
+            if (prev == null) {
+                lastAddedCount++;
+                lastAdded.add(p);
+                lastUpdated.add(p);
+            } else if (prev.contentHash() != p.contentHash()) {
+                lastUpdated.add(p);
+            }
+            if (p.getId() > highestId) highestId = p.getId();
+            if (oldest == null || PostStore.NEWEST_FIRST.compare(p, oldest) > 0) oldest = p;
+        }
+
+        for (PostItem p : old.values()) {
+            if (complete || (oldest != null && PostStore.NEWEST_FIRST.compare(p, oldest) <= 0)) {
+                lastRemoved.add(p.getId());
+                continue;
+            }
+            byId.put(p.getId(), p); // 이번 페이지보다 오래된 글
+            if (p.getId() > highestId) highestId = p.getId();
+        }
+        trim();
+        lastChanged = !lastRemoved.isEmpty() || !lastUpdated.isEmpty();
+    }
+
+    private void applyDelta(List<PostItem> posts) {
+        int since = highestId;
+        for (PostItem p : posts) {
+            if (p.getId() <= since) continue; // 조기 종료 직전에 읽힌 기존 글
+            if (byId.put(p.getId(), p) == null) {
+                lastAddedCount++;
+                lastAdded.add(p);
+                lastUpdated.add(p);
+                if (totalCount >= 0) totalCount++;
+            }
+            if (p.getId() > highestId) highestId = p.getId();
+        }
+        trim();
+        lastChanged = highestId != since;
+    }
+
+    /** 최신 WINDOW 개만 남긴다 (highestId 는 그대로: 버린 글은 더 오래된 글) */
+    private void trim() {
+        int extra = byId.size() - WINDOW;
+        if (extra <= 0) return;
+        List<PostItem> oldestFirst = new ArrayList<>(byId.values());
+        oldestFirst.sort(PostStore.NEWEST_FIRST.reversed());
+        for (Iterator<PostItem> it = oldestFirst.iterator(); extra > 0 && it.hasNext(); extra--) {
+            byId.remove(it.next().getId());
+        }
+    }
+
+    private List<PostItem> snapshot() {
+        return new ArrayList<>(byId.values());
+    }
+
+    /** 전체 조회: 최신순 첫 페이지 WINDOW 개 (서버가 페이지를 모르면 배열 전체가 와도 WINDOW 개로 자름) */
+    static String fullSyncUrl(String url) {
+        return HistoryPager.withPage(url, 1) + "&page_size=" + WINDOW;
+    }
+
+    static String withSinceId(String url, int sinceId) {
+        return url + (url.indexOf('?') >= 0 ? "&" : "?") + "since_id=" + sinceId;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.photoviewer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주기적 새로고침 스케줄러 (AsyncTask 폴링 루프 대체).
+ * - 한 번에 fetch 는 하나만 (single-flight). 진행 중에 들어온 refreshNow() 는 하나로 합쳐서 끝난 직후 한 번
+ * - 다음 간격은 IntervalPolicy 가 매번 정한다 (고정 간격 또는 AdaptivePollingPolicy)
+ * - 실패(예외)하면 간격을 2배씩 늘려 maxBackoffMs 까지 (성공하면 원래 간격으로)
+ * - start()/stop() 을 액티비티 onStart/onStop 에 맞춰 호출. stop 이후 끝난 fetch 결과는 버린다
+ * - pause() 는 더 예약하지 않기만 한다 (진행 중인 fetch 결과는 전달). 푸시로 넘어갈 때
+ * - fetch 는 전용 워커 스레드 1개, 결과는 uiExecutor(메인 스레드 Handler)로 전달
+ */
+public class RefreshScheduler<T> {
+
+    public interface Task<T> {
+        T run() throws Exception;
+    }
+
+    public interface Listener<T> {
+        void onResult(T result);
+
+        default void onError(Exception e) {}
+    }
+
+    /** 다음 fetch 까지 기본 간격 (워커 스레드에서 호출) */
+    public interface IntervalPolicy {
+        long nextIntervalMs();
+    }
+
+    private final Task<T> task;
+    private final Listener<T> listener;
+    private final Executor uiExecutor;
+    private final ScheduledExecutorService worker;
+    private final IntervalPolicy policy;
+    private final long maxBackoffMs;
+
+    // ---- 아래 상태는 this 로 보호 ----
+    private boolean running = false;
+    private boolean inFlight = false;
+    private boolean pending = false;
+    private int failures = 0;
+    private int generation = 0;
+    private ScheduledFuture<?> next;
+
+    public RefreshScheduler(Task<T> task, Listener<T> listener, Executor uiExecutor,
+                            long intervalMs, long maxBackoffMs) {
+        this(task, listener, uiExecutor, () -> intervalMs, maxBackoffMs);
+    }
+
+    public RefreshScheduler(Task<T> task, Listener<T> listener, Executor uiExecutor,
+                            IntervalPolicy policy, long maxBackoffMs) {
+        this.task = task;
+        this.listener = listener;
+        this.uiExecutor = uiExecutor;
+        this.policy = policy;
+        this.maxBackoffMs = maxBackoffMs;
+
+        ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "refresh-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        ex.setRemoveOnCancelPolicy(true);
+        this.worker = ex;
+    }
+
+    /** 바로 한 번 가져오고 이후 주기적으로 */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        generation++;
+        if (inFlight) {
+            pending = true; // 이전 세대 fetch 가 끝나면 곧바로 다시
+        } else {
+            scheduleLocked(0);
+        }
+    }
+
+    /** 예약된 fetch 취소. 진행 중인 fetch 는 끝까지 가지만 결과는 전달하지 않는다 (pause 뒤에 불러도) */
+    public synchronized void stop() {
+        running = false;
+        pending = false;
+        generation++;
+        cancelNextLocked();
+    }
+
+    /**
+     * 예약된 fetch 만 취소하고 더 예약하지 않는다. 진행 중인 fetch 의 결과는 그대로 전달한다
+     * (그 결과는 이미 동기화 상태에 반영됐을 수 있어서 버리면 화면만 못 받음)
+     */
+    public synchronized void pause() {
+        if (!running) return;
+        running = false;
+        pending = false;
+        cancelNextLocked();
+    }
+
+    /** 지금 바로 새로고침 요청. 진행 중이면 끝난 뒤 한 번으로 합친다 */
+    public synchronized void refreshNow() {
+        if (!running) return;
+        if (inFlight) {
+            pending = true;
+            return;
+        }
+        cancelNextLocked();
+        scheduleLocked(0);
+    }
+
+    public void shutdown() {
+        stop();
+        worker.shutdownNow();
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return failures;
+    }
+
+    /** 연속 실패 횟수에 따른 다음 대기 시간 */
+    static long delayFor(int failures, long intervalMs, long maxBackoffMs) {
+        if (failures <= 0) return intervalMs;
+        long d = intervalMs;
+        for (int i = 0; i < failures && d < maxBackoffMs; i++) d *= 2;
+        return Math.min(d, maxBackoffMs);
+    }
+
+    private void scheduleLocked(long delayMs) {
+        next = worker.schedule(this::runOnce, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelNextLocked() {
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+    }
+
+    private void runOnce() {
+        final int gen;
+        synchronized (this) {
+            if (!running || inFlight) return;
+            inFlight = true;
+            pending = false;
+            next = null;
+            gen = generation;
+        }
+
+        T result = null;
+        Exception error = null;
+        try {
+            result = task.run();
+        } catch (Exception e) {
+            error = e;
+        }
+
+        synchronized (this) {
+            inFlight = false;
+            if (gen == generation) failures = error == null ? 0 : failures + 1;
+            if (running) {
+                if (pending) {
+                    pending = false;
+                    scheduleLocked(0);
+                } else {
+                    long interval = policy.nextIntervalMs();
+                    scheduleLocked(delayFor(failures, interval, Math.max(interval, maxBackoffMs)));
+                }
+            }
+            if (gen != generation) return; // stop/start 사이에 끝난 결과는 버림
+        }
+
+        final T r = result;
+        final Exception e = error;
+        uiExecutor.execute(() -> {
+            synchronized (RefreshScheduler.this) {
+                if (gen != generation) return;
+            }
+            if (e == null) listener.onResult(r);
+            else listener.onError(e);
+        });
+    }
+}
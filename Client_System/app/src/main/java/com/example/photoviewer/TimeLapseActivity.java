@@ -0,0 +1,233 @@
+package com.example.photoviewer;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 시간 구간의 카메라 이미지를 타임랩스로 재생한다 (History 의 "타임랩스" 버튼).
+ * - 프레임: 그 구간 글 중 이미지가 있는 것, 오래된 순 (서버 ?created_after / ?created_before 페이지,
+ *   안 되면 기기 저장소). 너무 많으면 최근 MAX_FRAMES 개
+ * - 재생은 TimeLapsePlayer: FPS 로 일정하게, BUFFER_FRAMES 개를 미리 받아 디코딩, 늦으면 건너뜀
+ * - 프레임은 화면 크기 RGB_565 로 디코딩하고 전용 BitmapPool 에 돌려서 다음 프레임의 inBitmap 으로 쓴다
+ *   (재생 중에는 새로 거의 할당하지 않음, 원본 바이트는 ImageCache 의 디스크 캐시를 같이 씀)
+ * 화면을 떠나면 일시 정지, 닫으면 프레임을 모두 돌려준다.
+ */
+public class TimeLapseActivity extends AppCompatActivity {
+
+    private static final String TAG = "TimeLapseActivity";
+
+    static final String EXTRA_FROM = "from";
+    static final String EXTRA_TO = "to";
+    static final String EXTRA_TITLE = "title";
+
+    // ✅ 30분 피크(글 수십 개)가 몇 초 안에 끝나게
+    private static final int FPS = 10;
+    // 재생 위치 앞에 미리 디코딩해 둘 프레임 수 / 디코딩 스레드 수
+    private static final int BUFFER_FRAMES = 6;
+    private static final int DECODE_THREADS = 2;
+    private static final int MAX_FRAMES = 600;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private ExecutorService decoders;
+
+    private ImageView imgFrame;
+    private TextView tvFrameTime, tvFrameStats;
+    private ProgressBar progressFrames;
+    private Button btnPlayPause;
+
+    private Feed feed;
+    private PostStore store;
+    private List<PostItem> frames = new ArrayList<>();
+    private TimeLapsePlayer player;
+    private BitmapPool pool;
+    private BitmapDecoder.Target target;
+    private FrameJankTracker jank;
+
+    static Intent intent(Context ctx, long fromMs, long toMs, String title) {
+        return new Intent(ctx, TimeLapseActivity.class)
+                .putExtra(EXTRA_FROM, fromMs)
+                .putExtra(EXTRA_TO, toMs)
+                .putExtra(EXTRA_TITLE, title);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_time_lapse);
+
+        imgFrame = findViewById(R.id.imgFrame);
+        tvFrameTime = findViewById(R.id.tvFrameTime);
+        tvFrameStats = findViewById(R.id.tvFrameStats);
+        progressFrames = findViewById(R.id.progressFrames);
+        btnPlayPause = findViewById(R.id.btnPlayPause);
+        TextView tvTitle = findViewById(R.id.tvTimeLapseTitle);
+
+        Intent in = getIntent();
+        long from = in.getLongExtra(EXTRA_FROM, 0);
+        long to = in.getLongExtra(EXTRA_TO, Long.MAX_VALUE);
+        String title = in.getStringExtra(EXTRA_TITLE);
+        if (title != null) tvTitle.setText(title);
+
+        feed = Feed.primary(this);
+        store = PostStore.get(this);
+        decoders = Executors.newFixedThreadPool(DECODE_THREADS, r -> {
+            Thread t = new Thread(r, "timelapse-decode");
+            t.setDaemon(true);
+            return t;
+        });
+        jank = new FrameJankTracker("timelapse", getWindowManager().getDefaultDisplay().getRefreshRate());
+
+        findViewById(R.id.btnTimeLapseClose).setOnClickListener(v -> finish());
+        btnPlayPause.setOnClickListener(v -> togglePlay());
+        btnPlayPause.setEnabled(false);
+        tvFrameTime.setText("프레임 불러오는 중…");
+
+        AppExecutors.get().io().execute(() -> {
+            List<PostItem> loaded = loadFrames(from, to);
+            handler.post(() -> onFramesLoaded(loaded));
+        });
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        if (player != null && player.isPlaying()) {
+            player.pause();
+            onPaused();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (player != null) {
+            player.stop();
+            logSummary();
+        }
+        decoders.shutdownNow();
+    }
+
+    private void logSummary() {
+        if (Log.isLoggable(TAG, Log.DEBUG)) Log.d(TAG, "timelapse " + player.summary());
+    }
+
+    /** 워커 스레드. [from, to) 에서 이미지가 있는 글, 오래된 순 */
+    private List<PostItem> loadFrames(long from, long to) {
+        List<PostItem> posts = new ArrayList<>();
+        String url = HistoryPager.withRange(feed.postsUrl(), from, to);
+        while (url != null && posts.size() < MAX_FRAMES) {
+            PostFetcher.Result r = PostFetcher.fetch(url, null, null, 0);
+            if (!r.isOk()) break;
+            posts.addAll(r.posts);
+            store.putAll(r.posts);
+            url = r.next;
+        }
+        if (posts.isEmpty()) posts = store.between(from, to, MAX_FRAMES); // 오프라인이면 기기 저장소
+
+        List<PostItem> out = new ArrayList<>();
+        for (PostItem p : posts) {
+            if (feed.imageUrl(p.getImageUrl()) != null) out.add(p);
+        }
+        out.sort(Comparator.comparingLong(PostItem::getCreatedEpochMs).thenComparingInt(PostItem::getId));
+        return out.size() > MAX_FRAMES ? new ArrayList<>(out.subList(out.size() - MAX_FRAMES, out.size())) : out;
+    }
+
+    private void onFramesLoaded(List<PostItem> loaded) {
+        if (isFinishing()) return;
+        frames = loaded;
+        if (frames.isEmpty()) {
+            tvFrameTime.setText("이 구간에는 카메라 이미지가 없습니다");
+            return;
+        }
+
+        // ✅ 카메라 이미지는 알파가 없으니 RGB_565 (Target 의 thumbnail = 565), 크기는 이 화면의 ImageView
+        target = BitmapDecoder.targetFor(imgFrame, true);
+        long frameBytes = (long) target.width * target.height * BitmapPool.bytesPerPixel(target.config());
+        pool = new BitmapPool(frameBytes * (BUFFER_FRAMES + 2));
+
+        player = new TimeLapsePlayer(new FrameBackend(), new TimeLapsePlayer.Listener() {
+            @Override
+            public void onFrame(int index) {
+                renderFrame(index);
+            }
+
+            @Override
+            public void onFinished() {
+                onPaused();
+                logSummary();
+            }
+        }, decoders, handler::post, Choreographer.getInstance()::postFrameCallback, frames.size(), FPS, BUFFER_FRAMES);
+
+        progressFrames.setMax(frames.size() - 1);
+        btnPlayPause.setEnabled(true);
+        togglePlay();
+    }
+
+    private void togglePlay() {
+        if (player == null) return;
+        if (player.isPlaying()) {
+            player.pause();
+            onPaused();
+        } else {
+            player.play();
+            btnPlayPause.setText("⏸ 일시 정지");
+            jank.start();
+        }
+    }
+
+    private void onPaused() {
+        btnPlayPause.setText("▶ 재생");
+        jank.stop();
+    }
+
+    private void renderFrame(int index) {
+        PostItem p = frames.get(index);
+        ParsedStats s = p.getStats();
+        String stats = s.isValid()
+                ? String.format(Locale.KOREA, " · 대기열 %d명 · 남은좌석 %d/%d", Math.max(0, s.queue), s.remainSeats, s.totalSeats)
+                : "";
+        tvFrameTime.setText(p.getCreatedTimeKor() + stats);
+        progressFrames.setProgress(index);
+        tvFrameStats.setText(String.format(Locale.KOREA, "%d / %d · 건너뜀 %d · 끊김 %d",
+                index + 1, frames.size(), player.getDroppedFrames(), player.getUnderruns()));
+    }
+
+    /** 원본 바이트는 ImageCache (디스크 → 네트워크), 디코딩은 이 화면 전용 풀로 */
+    private final class FrameBackend implements TimeLapsePlayer.Backend {
+        @Override
+        public Bitmap decode(int index) throws Exception {
+            String url = feed.imageUrl(frames.get(index).getImageUrl());
+            byte[] data = ImageCache.get(TimeLapseActivity.this).loadBytes(url, null);
+            return data == null ? null : BitmapDecoder.decode(data, target, pool);
+        }
+
+        @Override
+        public void show(int index, Bitmap frame) {
+            imgFrame.setImageBitmap(frame);
+        }
+
+        @Override
+        public void recycle(Bitmap frame) {
+            pool.put(frame);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.photoviewer;
+
+import android.graphics.Bitmap;
+import android.view.Choreographer;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 프레임(글 이미지) 목록을 일정한 속도(fps)로 이어 보여 주는 타임랩스 재생기.
+ * - 재생 위치는 시계로 정한다: 재생 시작 t 초 뒤면 시작 프레임 + t * fps 번째 (디코딩이 늦어도 재생이 느려지지 않음)
+ * - 재생 위치 앞 bufferFrames 개를 미리 받아서 디코딩해 둔다 (버퍼 = 디코딩 중 + 준비된 것, 그 이상은 시작 안 함)
+ * - 화면 프레임(Choreographer)마다 재생 위치까지 준비된 가장 늦은 프레임을 보여 주고, 그 사이 못 보여 준 프레임은
+ *   건너뛴다 (droppedFrames). 재생 위치의 프레임이 아직이면 이전 프레임을 두고 underrun 으로 센다 (위치마다 한 번)
+ * - 이미 재생 위치를 지난 프레임은 디코딩을 시작하지 않는다 (늦으면 건너뛰고 따라잡음)
+ * - 시작 / 이어 보기 때는 첫 프레임이 준비될 때까지 시계를 세우지 않는다
+ * - 다 쓴 Bitmap (보여 준 뒤 다음 프레임으로 바뀜 / 건너뜀 / 멈춤) 은 Backend.recycle 로 돌려준다 (BitmapPool → inBitmap)
+ * 상태는 UI 스레드에서만, 디코딩은 workers, 결과 전달은 uiExecutor 로.
+ */
+final class TimeLapsePlayer implements Choreographer.FrameCallback {
+
+    /** 실제 이미지 / 뷰 작업 (테스트에서 바꿔 끼울 수 있게) */
+    interface Backend {
+        /** 워커 스레드. index 번째 프레임을 받아서 디코딩 (실패하면 null 또는 예외) */
+        Bitmap decode(int index) throws Exception;
+
+        /** UI 스레드. 화면에 붙인다 (이전 프레임은 이 뒤에 recycle 로 돌아온다) */
+        void show(int index, Bitmap frame);
+
+        /** 더 안 쓰는 프레임 */
+        void recycle(Bitmap frame);
+    }
+
+    interface Listener {
+        /** 새 프레임을 보여 줬다 */
+        void onFrame(int index);
+
+        /** 마지막 프레임까지 재생했다 */
+        default void onFinished() {}
+    }
+
+    // ✅ 계측: 디코딩 시간, 보여 준 / 건너뛴 프레임, 버퍼가 비어서 멈춘 횟수
+    private static final PerfMetrics METRICS = PerfMetrics.get();
+    private static final PerfMetrics.Histogram DECODE = METRICS.histogram("timelapse.decode");
+    private static final LongAdder FRAMES = METRICS.counter("timelapse.frames");
+    private static final LongAdder DROPPED = METRICS.counter("timelapse.droppedFrames");
+    private static final LongAdder UNDERRUNS = METRICS.counter("timelapse.underruns");
+
+    private final Backend backend;
+    private final Listener listener;
+    private final Executor workers;
+    private final Executor uiExecutor;
+    private final Consumer<Choreographer.FrameCallback> postFrame;
+    private final int frameCount;
+    private final long frameNanos;
+    private final int bufferFrames;
+
+    // ---- UI 스레드 전용 ----
+    private final TreeMap<Integer, Bitmap> ready = new TreeMap<>();
+    private final Set<Integer> decoding = new HashSet<>();
+    private int generation = 0;
+    private boolean playing = false;
+    private boolean framePosted = false;
+    private int startIndex = 0;
+    private long startNanos = 0;  // 0 = 시작 프레임을 기다리는 중 (시계 안 감)
+    private int nextToDecode = 0;
+    private int shown = -1;
+    private Bitmap shownBitmap;
+    private int lastUnderrun = -1;
+
+    private long framesShown;
+    private long droppedFrames;
+    private long underruns;
+    private long decodeFailures;
+
+    TimeLapsePlayer(Backend backend, Listener listener, Executor workers, Executor uiExecutor,
+                    Consumer<Choreographer.FrameCallback> postFrame, int frameCount, int fps, int bufferFrames) {
+        this.backend = backend;
+        this.listener = listener;
+        this.workers = workers;
+        this.uiExecutor = uiExecutor;
+        this.postFrame = postFrame;
+        this.frameCount = frameCount;
+        this.frameNanos = 1_000_000_000L / Math.max(1, fps);
+        this.bufferFrames = Math.max(1, bufferFrames);
+    }
+
+    /** 재생 (끝까지 봤으면 처음부터, 멈춘 곳이 있으면 다음 프레임부터) */
+    void play() {
+        if (playing || frameCount == 0) return;
+        if (shown >= frameCount - 1) {
+            release();
+            shown = -1;
+            nextToDecode = 0;
+        }
+        playing = true;
+        startIndex = shown + 1;
+        startNanos = 0;
+        fill(startIndex);
+        requestFrame();
+    }
+
+    /** 일시 정지 (버퍼와 보여 주는 프레임은 그대로) */
+    void pause() {
+        playing = false;
+    }
+
+    /** 멈추고 들고 있는 프레임을 모두 돌려준다. 진행 중인 디코딩 결과도 도착하면 바로 돌려준다 */
+    void stop() {
+        playing = false;
+        release();
+    }
+
+    boolean isPlaying() {
+        return playing;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        framePosted = false;
+        if (!playing) return;
+        tick(frameTimeNanos);
+        if (playing) requestFrame();
+    }
+
+    /** 화면 프레임 하나 (frameTimeNanos 는 Choreographer 시각) */
+    void tick(long frameTimeNanos) {
+        if (!playing) return;
+        if (startNanos == 0) {
+            if (!ready.containsKey(startIndex)) {
+                // 첫 프레임 기다리는 중. 디코딩에 실패했으면 다음으로 준비된 프레임부터 (그 사이는 건너뜀)
+                if (decoding.contains(startIndex) || nextToDecode <= startIndex) return;
+                if (ready.isEmpty()) {
+                    if (decoding.isEmpty() && nextToDecode >= frameCount) finish();
+                    return;
+                }
+                startIndex = ready.firstKey();
+            }
+            startNanos = frameTimeNanos;
+        }
+        int due = startIndex + (int) Math.min(frameCount, (frameTimeNanos - startNanos) / frameNanos);
+        int target = Math.min(due, frameCount - 1);
+
+        if (target > shown && !ready.containsKey(target) && target != lastUnderrun) {
+            underruns++;
+            UNDERRUNS.increment();
+            lastUnderrun = target;
+        }
+        Integer pick = ready.floorKey(target);
+        if (pick != null && pick > shown) show(pick);
+
+        if (shown == frameCount - 1
+                || (due >= frameCount - 1 && nextToDecode >= frameCount && nothingPendingAfter(shown))) {
+            finish();
+            return;
+        }
+        fill(target);
+    }
+
+    private void finish() {
+        playing = false;
+        listener.onFinished();
+    }
+
+    private void show(int index) {
+        // 재생 위치보다 늦어서 못 보여 준 프레임은 건너뜀
+        int skipped = index - shown - 1;
+        if (skipped > 0) {
+            droppedFrames += skipped;
+            DROPPED.add(skipped);
+        }
+        Iterator<Map.Entry<Integer, Bitmap>> it = ready.headMap(index, false).entrySet().iterator();
+        while (it.hasNext()) {
+            backend.recycle(it.next().getValue());
+            it.remove();
+        }
+
+        Bitmap frame = ready.remove(index);
+        backend.show(index, frame);
+        if (shownBitmap != null) backend.recycle(shownBitmap); // 새 프레임을 붙인 뒤에 이전 것을 돌려준다
+        shownBitmap = frame;
+        shown = index;
+        framesShown++;
+        FRAMES.increment();
+        listener.onFrame(index);
+    }
+
+    /** 재생 위치(from) 부터 버퍼가 찰 때까지 디코딩을 시작한다. 이미 지난 프레임은 건너뜀 */
+    private void fill(int from) {
+        if (nextToDecode < from) nextToDecode = from;
+        while (ready.size() + decoding.size() < bufferFrames && nextToDecode < frameCount) {
+            decode(nextToDecode++);
+        }
+    }
+
+    private void decode(int index) {
+        decoding.add(index);
+        final int gen = generation;
+        workers.execute(() -> {
+            long start = METRICS.now();
+            Bitmap frame;
+            try {
+                frame = backend.decode(index);
+            } catch (Exception e) {
+                frame = null;
+            }
+            METRICS.recordSince(DECODE, start);
+            final Bitmap b = frame;
+            uiExecutor.execute(() -> onDecoded(gen, index, b));
+        });
+    }
+
+    private void onDecoded(int gen, int index, Bitmap frame) {
+        if (gen != generation) {
+            if (frame != null) backend.recycle(frame); // stop() 전에 시작한 디코딩
+            return;
+        }
+        decoding.remove(index);
+        if (frame == null) {
+            decodeFailures++;
+        } else if (index <= shown) {
+            backend.recycle(frame); // 재생 위치가 이미 지나감 (건너뛴 프레임으로 세어 둠)
+        } else {
+            ready.put(index, frame);
+        }
+        if (playing) fill(nextToDecode);
+    }
+
+    private boolean nothingPendingAfter(int index) {
+        if (ready.higherKey(index) != null) return false;
+        for (int i : decoding) if (i > index) return false;
+        return true;
+    }
+
+    private void requestFrame() {
+        if (framePosted) return;
+        framePosted = true;
+        postFrame.accept(this);
+    }
+
+    private void release() {
+        generation++;
+        for (Bitmap b : ready.values()) backend.recycle(b);
+        ready.clear();
+        decoding.clear();
+        if (shownBitmap != null) {
+            backend.show(shown, null);
+            backend.recycle(shownBitmap);
+            shownBitmap = null;
+        }
+        nextToDecode = shown + 1;
+        lastUnderrun = -1;
+    }
+
+    int getShownIndex() { return shown; }
+    int getFrameCount() { return frameCount; }
+    /** 디코딩 중 + 준비된 프레임 수 (bufferFrames 를 넘지 않음) */
+    int getBufferedCount() { return ready.size() + decoding.size(); }
+    long getFramesShown() { return framesShown; }
+    /** 재생 위치를 못 따라가서 건너뛴 프레임 수 */
+    long getDroppedFrames() { return droppedFrames; }
+    /** 재생 위치의 프레임이 준비되지 않았던 횟수 (위치마다 한 번) */
+    long getUnderruns() { return underruns; }
+    long getDecodeFailures() { return decodeFailures; }
+
+    String summary() {
+        return "shown=" + framesShown + "/" + frameCount + " dropped=" + droppedFrames
+                + " underruns=" + underruns + " decodeFailures=" + decodeFailures;
+    }
+}
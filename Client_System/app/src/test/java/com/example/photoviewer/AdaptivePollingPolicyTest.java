@@ -0,0 +1,91 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdaptivePollingPolicyTest {
+
+    private long now = IsoTime.parseEpochMs("2025-12-18T10:00:00+09:00");
+
+    private AdaptivePollingPolicy policy() {
+        return new AdaptivePollingPolicy(() -> now, AdaptivePollingPolicy.DEFAULT_PEAKS,
+                3_000, 10_000, 30_000, 120_000, 300_000);
+    }
+
+    private static ParsedStats stats(int total, int queue, int remain) {
+        return new ParsedStats(total, total - remain, queue, remain);
+    }
+
+    @Test
+    public void peakWindowsPollFastInKst() {
+        AdaptivePollingPolicy p = policy();
+        assertEquals(10_000, p.nextIntervalMs()); // 수치 모름 → 보통
+
+        now = IsoTime.parseEpochMs("2025-12-18T12:00:00+09:00");
+        assertEquals(3_000, p.nextIntervalMs());
+        now = IsoTime.parseEpochMs("2025-12-18T03:29:59Z"); // = 12:29:59 KST
+        assertEquals(3_000, p.nextIntervalMs());
+        now = IsoTime.parseEpochMs("2025-12-18T12:30:00+09:00");
+        assertEquals(10_000, p.nextIntervalMs());
+        now = IsoTime.parseEpochMs("2025-12-18T18:15:00+09:00");
+        assertEquals(3_000, p.nextIntervalMs());
+    }
+
+    @Test
+    public void occupancyDrivesTheIntervalOutsidePeaks() {
+        AdaptivePollingPolicy p = policy();
+
+        p.setStats(stats(40, 2, 0));
+        assertEquals(3_000, p.nextIntervalMs());   // 대기열 → 혼잡
+        p.setStats(stats(40, 0, 5));
+        assertEquals(10_000, p.nextIntervalMs());  // 보통
+        p.setStats(stats(40, 0, 30));
+        assertEquals(30_000, p.nextIntervalMs());  // 여유
+
+        // 피크 시간엔 여유로워도 빠르게
+        now = IsoTime.parseEpochMs("2025-12-18T18:00:00+09:00");
+        assertEquals(3_000, p.nextIntervalMs());
+    }
+
+    @Test
+    public void backgroundMeteredAndLowBatteryStretchTheInterval() {
+        AdaptivePollingPolicy p = policy();
+        p.setStats(stats(40, 1, 3));
+
+        p.setMetered(true);
+        assertEquals(6_000, p.nextIntervalMs());
+        p.setLowBattery(true);
+        assertEquals(18_000, p.nextIntervalMs());
+        p.setForeground(false);
+        assertEquals(300_000, p.nextIntervalMs()); // 120s × 2 × 3 → 상한
+
+        p.setMetered(false);
+        p.setLowBattery(false);
+        p.setForeground(true);
+        assertEquals(3_000, p.nextIntervalMs());
+    }
+
+    @Test
+    public void dayOfRequestsDropsWhileKeepingPeakFreshness() {
+        AdaptivePollingPolicy p = policy();
+        long start = IsoTime.parseEpochMs("2025-12-18T00:00:00+09:00");
+        long end = start + 24 * 60 * 60 * 1000L;
+
+        int requests = 0;
+        long worstPeakGap = 0;
+        for (now = start; now < end; ) {
+            // 피크엔 대기열, 그 밖엔 여유 (보통 날)
+            boolean peak = p.isPeak(now);
+            p.setStats(peak ? stats(40, 3, 0) : stats(40, 0, 25));
+            long interval = p.nextIntervalMs();
+            if (peak) worstPeakGap = Math.max(worstPeakGap, interval);
+            requests++;
+            now += interval;
+        }
+
+        int fixed = (int) ((end - start) / 3_000);
+        assertTrue("requests " + requests, requests < fixed / 5);
+        assertEquals(3_000, worstPeakGap);
+    }
+}
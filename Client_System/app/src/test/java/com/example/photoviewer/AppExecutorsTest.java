@@ -0,0 +1,58 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AppExecutorsTest {
+
+    @Test
+    public void serialRunsOneAtATimeInOrderOnThePool() throws Exception {
+        Executor serial = AppExecutors.get().serial();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlap = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            int k = i;
+            serial.execute(() -> {
+                if (running.incrementAndGet() > 1) overlap.incrementAndGet();
+                assertTrue(Thread.currentThread().getName().startsWith("app-io"));
+                order.add(k);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, overlap.get());
+        for (int i = 0; i < 20; i++) assertEquals(i, (int) order.get(i));
+    }
+
+    @Test
+    public void failingTaskDoesNotStallTheQueue() throws Exception {
+        Executor serial = new AppExecutors.SerialExecutor(r -> {
+            try {
+                r.run();
+            } catch (RuntimeException ignored) {
+            }
+        });
+        List<Integer> ran = new ArrayList<>();
+
+        serial.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        serial.execute(() -> ran.add(2));
+
+        assertEquals(Collections.singletonList(2), ran);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BitmapDecoderTest {
+
+    @Test
+    public void noSubsamplingWhenSourceFits() {
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(640, 480, 1080, 570));
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(640, 480, 640, 480));
+    }
+
+    @Test
+    public void largestPowerOfTwoThatStaysAboveTarget() {
+        // 1920x1080 카메라 스냅샷 → 190dp(xxhdpi 570px) 높이 썸네일
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(1920, 1080, 1080, 570));
+        assertEquals(2, BitmapDecoder.calculateInSampleSize(1920, 1080, 540, 285));
+        assertEquals(4, BitmapDecoder.calculateInSampleSize(4032, 3024, 1000, 570));
+    }
+
+    @Test
+    public void bothDimensionsMustStayAboveTarget() {
+        // 가로는 8배 줄일 수 있어도 세로가 2배까지만 허용
+        assertEquals(2, BitmapDecoder.calculateInSampleSize(4000, 1000, 400, 400));
+    }
+
+    @Test
+    public void unknownTargetDecodesFullSize() {
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(4000, 3000, 0, 0));
+    }
+
+    @Test
+    public void cacheKeyDistinguishesSizeAndQuality() {
+        BitmapDecoder.Target hero = new BitmapDecoder.Target(1080, 600, false);
+        BitmapDecoder.Target thumb = new BitmapDecoder.Target(1080, 600, true);
+        assertNotEquals(hero.cacheKey("u"), thumb.cacheKey("u"));
+        assertNotEquals(thumb.cacheKey("u"), new BitmapDecoder.Target(540, 300, true).cacheKey("u"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class DashboardChangeDetectorTest {
+
+    private static PostItem post(int id, int minute, String text, String image) {
+        return new PostItem(id, "t" + id, text, "2025-12-18T12:" + (minute < 10 ? "0" : "") + minute + ":00+09:00",
+                null, image, "edge");
+    }
+
+    private static PostItem post(int id, int minute) {
+        return post(id, minute, "남은 좌석: " + id + "석", "/media/" + id + ".jpg");
+    }
+
+    @Test
+    public void firstListRendersWithoutAlert() {
+        DashboardChangeDetector d = new DashboardChangeDetector();
+        DashboardChangeDetector.Change c = d.update(Arrays.asList(post(1, 1), post(3, 3), post(2, 2)));
+
+        assertTrue(c.render);
+        assertTrue(c.heroChanged);
+        assertEquals(3, c.latest.getId());
+        assertEquals(0, c.newPosts);
+    }
+
+    @Test
+    public void identicalListIsSkipped() {
+        DashboardChangeDetector d = new DashboardChangeDetector();
+        d.update(Arrays.asList(post(2, 2), post(1, 1)));
+
+        // 같은 내용의 새 객체, 순서만 다름
+        DashboardChangeDetector.Change c = d.update(Arrays.asList(post(1, 1), post(2, 2)));
+        assertFalse(c.render);
+        assertFalse(c.heroChanged);
+        assertFalse(c.membershipChanged);
+        assertEquals(0, c.newPosts);
+        assertEquals(1, d.getRenderCount());
+        assertEquals(1, d.getSkippedRenderCount());
+    }
+
+    @Test
+    public void newPostAlertsOnceAndEditRendersWithoutAlert() {
+        DashboardChangeDetector d = new DashboardChangeDetector();
+        d.update(Arrays.asList(post(2, 2), post(1, 1)));
+
+        DashboardChangeDetector.Change added = d.update(Arrays.asList(post(3, 3), post(2, 2), post(1, 1)));
+        assertTrue(added.render);
+        assertEquals(1, added.newPosts);
+        assertTrue(added.membershipChanged);
+
+        // 최신 글 본문만 수정: 다시 그리지만 알림은 없음, 이미지는 그대로
+        DashboardChangeDetector.Change edited = d.update(Arrays.asList(
+                post(3, 3, "남은 좌석: 0석", "/media/3.jpg"), post(2, 2), post(1, 1)));
+        assertTrue(edited.render);
+        assertFalse(edited.heroChanged);
+        assertEquals(0, edited.newPosts);
+    }
+
+    @Test
+    public void deleteIsNoticedEvenWhenCountIsRefilled() {
+        DashboardChangeDetector d = new DashboardChangeDetector();
+        d.update(Arrays.asList(post(3, 3), post(2, 2), post(1, 1)));
+
+        // 2 가 지워지고 (창 크기가 같은) 예전 글 0 이 들어옴 → 개수는 같아도 집합이 바뀜
+        DashboardChangeDetector.Change c = d.update(Arrays.asList(post(3, 3), post(1, 1), post(0, 0)));
+        assertTrue(c.membershipChanged);
+        assertFalse(c.render);
+        assertEquals(0, c.newPosts);
+
+        // 최신 글이 지워지면 다음 글로 다시 그림
+        DashboardChangeDetector.Change top = d.update(Arrays.asList(post(1, 1), post(0, 0)));
+        assertTrue(top.render);
+        assertEquals(1, top.latest.getId());
+        assertEquals(0, top.newPosts);
+    }
+
+    @Test
+    public void emptyList() {
+        DashboardChangeDetector d = new DashboardChangeDetector();
+        assertNull(d.update(Collections.emptyList()).latest);
+        assertFalse(d.update(Collections.emptyList()).render);
+    }
+}
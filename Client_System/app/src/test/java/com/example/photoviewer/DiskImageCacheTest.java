@@ -0,0 +1,89 @@
+package com.example.photoviewer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class DiskImageCacheTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static byte[] bytes(int n, int fill) {
+        byte[] b = new byte[n];
+        java.util.Arrays.fill(b, (byte) fill);
+        return b;
+    }
+
+    @Test
+    public void roundTripsAndSurvivesReopen() throws Exception {
+        File dir = new File(tmp.getRoot(), "images");
+        DiskImageCache cache = new DiskImageCache(dir, 1000);
+        cache.put("https://x/a.jpg", bytes(100, 1));
+
+        assertArrayEquals(bytes(100, 1), cache.get("https://x/a.jpg"));
+        assertNull(cache.get("https://x/b.jpg"));
+
+        DiskImageCache reopened = new DiskImageCache(dir, 1000);
+        assertEquals(100, reopened.sizeBytes());
+        assertArrayEquals(bytes(100, 1), reopened.get("https://x/a.jpg"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedWhenOverLimit() throws Exception {
+        DiskImageCache cache = new DiskImageCache(tmp.getRoot(), 250);
+        cache.put("a", bytes(100, 1));
+        cache.put("b", bytes(100, 2));
+        // a 를 최근에 쓴 것으로 만든다
+        setAge(cache, "b", 10_000);
+        setAge(cache, "a", 0);
+
+        cache.put("c", bytes(100, 3));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertTrue(cache.sizeBytes() <= 250);
+    }
+
+    @Test
+    public void replacingEntryKeepsSizeAccurate() {
+        DiskImageCache cache = new DiskImageCache(tmp.getRoot(), 1000);
+        cache.put("a", bytes(100, 1));
+        cache.put("a", bytes(40, 2));
+        assertEquals(40, cache.sizeBytes());
+        assertArrayEquals(bytes(40, 2), cache.get("a"));
+    }
+
+    @Test
+    public void ignoresEntriesLargerThanCache() {
+        DiskImageCache cache = new DiskImageCache(tmp.getRoot(), 50);
+        cache.put("big", bytes(100, 1));
+        assertNull(cache.get("big"));
+        assertEquals(0, cache.sizeBytes());
+    }
+
+    /** 파일 mtime 을 ageMs 만큼 과거로 */
+    private void setAge(DiskImageCache cache, String url, long ageMs) {
+        File[] files = tmp.getRoot().listFiles();
+        byte[] marker = cache.get(url);
+        assertNotNull(marker);
+        for (File f : files) {
+            if (f.length() == marker.length && contentEquals(f, marker)) {
+                f.setLastModified(System.currentTimeMillis() - ageMs);
+            }
+        }
+    }
+
+    private static boolean contentEquals(File f, byte[] expected) {
+        try {
+            return java.util.Arrays.equals(java.nio.file.Files.readAllBytes(f.toPath()), expected);
+        } catch (java.io.IOException e) {
+            return false;
+        }
+    }
+}
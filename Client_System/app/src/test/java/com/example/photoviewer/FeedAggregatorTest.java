@@ -0,0 +1,173 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class FeedAggregatorTest {
+
+    private final List<MockWebServer> servers = new ArrayList<>();
+    private FeedAggregator aggregator;
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockWebServer s = new MockWebServer();
+            s.start();
+            servers.add(s);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (aggregator != null) aggregator.shutdown();
+        for (MockWebServer s : servers) s.shutdown();
+    }
+
+    private Feed feed(int i, long timeoutMs) {
+        return new Feed("식당" + i, servers.get(i).url("/").toString(), timeoutMs);
+    }
+
+    // 식당마다 PostSync (첫 번째도 테스트에서는 그냥 PostSync)
+    private FeedAggregator aggregate(Feed... feeds) {
+        PostSync primary = new PostSync(feeds[0].postsUrl(), feeds[0].timeoutMs);
+        return FeedAggregator.create(Arrays.asList(feeds), () -> {
+            List<PostItem> posts = primary.poll();
+            if (posts == null) throw new IOException("실패");
+            return posts;
+        }, System::currentTimeMillis);
+    }
+
+    private static String post(int id, int remain) {
+        return "{\"id\":" + id + ",\"title\":\"혼잡도 변경\",\"text\":\"- 총 좌석 수: 40석\\n- 착석 인원: " + (40 - remain)
+                + "명\\n- 대기열 인원(서 있는 인원): 0명\\n- 남은 좌석: " + remain + "석\","
+                + "\"created_date\":\"2025-12-18T12:0" + (id % 10) + ":00+09:00\","
+                + "\"published_date\":null,\"image\":null,\"author\":\"edge\"}";
+    }
+
+    private static MockResponse page(String etag, String... posts) {
+        return new MockResponse().setHeader("ETag", etag)
+                .setBody("{\"count\":" + posts.length + ",\"results\":[" + String.join(",", posts) + "]}");
+    }
+
+    @Test
+    public void slowSiteTimesOutWithoutStallingOthers() throws Exception {
+        servers.get(0).enqueue(page("\"a\"", post(2, 10), post(1, 30)));
+        servers.get(1).enqueue(page("\"b\"", post(7, 20)).setHeadersDelay(2, TimeUnit.SECONDS));
+        servers.get(2).enqueue(page("\"c\"", post(4, 5)));
+        aggregator = aggregate(feed(0, 2000), feed(1, 300), feed(2, 2000));
+
+        long start = System.nanoTime();
+        FeedAggregator.View v = aggregator.refresh();
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("느린 식당 제한 시간만큼만 기다려야 함 : " + tookMs, tookMs < 1500);
+        assertEquals(FeedAggregator.OK, v.sites.get(0).state);
+        assertEquals(FeedAggregator.TIMEOUT, v.sites.get(1).state);
+        assertEquals(FeedAggregator.OK, v.sites.get(2).state);
+        assertNull(v.sites.get(1).latest);
+        assertEquals(2, v.okCount());
+
+        // 합계는 수치가 있는 식당만 (식당0 의 최신 글 id 2 + 식당2)
+        assertEquals(2, v.sites.get(0).latest.getId());
+        assertEquals(80, v.totalSeats);
+        assertEquals(15, v.remainSeats);
+        assertEquals("식당0", v.best().feed.name);
+    }
+
+    @Test
+    public void sitesAreFetchedInParallel() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            servers.get(i).enqueue(page("\"" + i + "\"", post(i + 1, 10)).setHeadersDelay(400, TimeUnit.MILLISECONDS));
+        }
+        aggregator = aggregate(feed(0, 3000), feed(1, 3000), feed(2, 3000));
+
+        long start = System.nanoTime();
+        FeedAggregator.View v = aggregator.refresh();
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(3, v.okCount());
+        // 차례로 했다면 1200ms 이상
+        assertTrue("가장 느린 식당 정도여야 함 : " + tookMs, tookMs < 1000);
+        for (FeedAggregator.Site s : v.sites) assertTrue(s.latencyMs >= 350);
+    }
+
+    @Test
+    public void eachSiteKeepsItsOwnWatermarkAndValidators() throws Exception {
+        servers.get(0).enqueue(page("\"a1\"", post(3, 10)));
+        servers.get(1).enqueue(page("\"b1\"", post(9, 20), post(8, 25)));
+        servers.get(0).enqueue(page("\"a2\"", post(4, 8)));
+        servers.get(1).enqueue(new MockResponse().setResponseCode(304));
+        aggregator = aggregate(feed(0, 2000), feed(1, 2000));
+
+        aggregator.refresh();
+        FeedAggregator.View v = aggregator.refresh();
+
+        servers.get(0).takeRequest();
+        RecordedRequest a = servers.get(0).takeRequest();
+        assertEquals("3", a.getRequestUrl().queryParameter("since_id"));
+        servers.get(1).takeRequest();
+        RecordedRequest b = servers.get(1).takeRequest();
+        assertEquals("9", b.getRequestUrl().queryParameter("since_id"));
+
+        assertEquals(4, v.sites.get(0).latest.getId());
+        assertEquals(9, v.sites.get(1).latest.getId()); // 304 → 캐시 그대로
+        assertEquals(FeedAggregator.OK, v.sites.get(1).state);
+    }
+
+    @Test
+    public void failedSiteKeepsLastValue() throws Exception {
+        servers.get(0).enqueue(page("\"a\"", post(1, 10)));
+        servers.get(1).enqueue(page("\"b\"", post(5, 20)));
+        servers.get(0).enqueue(page("\"a\"", post(2, 12)));
+        servers.get(1).enqueue(new MockResponse().setResponseCode(500));
+        aggregator = aggregate(feed(0, 2000), feed(1, 2000));
+
+        aggregator.refresh();
+        FeedAggregator.View v = aggregator.refresh();
+        assertEquals(FeedAggregator.FAILED, v.sites.get(1).state);
+        assertEquals(5, v.sites.get(1).latest.getId());
+        assertEquals(32, v.remainSeats);
+    }
+
+    @Test(expected = IOException.class)
+    public void allSitesFailingIsAnError() throws Exception {
+        servers.get(0).enqueue(new MockResponse().setResponseCode(500));
+        servers.get(1).enqueue(new MockResponse().setResponseCode(503));
+        aggregator = aggregate(feed(0, 2000), feed(1, 2000));
+        aggregator.refresh();
+    }
+
+    @Test
+    public void parsesFeedConfig() {
+        Feed f = Feed.parse(" 기숙사 식당 | https://dorm.example.com/ | 3000 ");
+        assertEquals("기숙사 식당", f.name);
+        assertEquals("https://dorm.example.com/api_root/Post/", f.postsUrl());
+        assertEquals(3000, f.timeoutMs);
+        assertEquals("https://dorm.example.com/media/a.jpg", f.imageUrl("/media/a.jpg"));
+        assertEquals("https://cdn/x.jpg", f.imageUrl("https://cdn/x.jpg"));
+        assertNull(f.imageUrl(""));
+
+        assertEquals(Feed.DEFAULT_TIMEOUT_MS, Feed.parse("학생식당|http://10.0.2.2:8000").timeoutMs);
+        assertNull(Feed.parse("이름만"));
+        assertNull(Feed.parse("x|ftp://nope"));
+        assertNull(Feed.parse("x|https://a|-1"));
+
+        List<Feed> all = Feed.parseAll(new String[]{"잘못됨", "교직원|https://staff.example.com"});
+        assertEquals(1, all.size());
+        assertEquals("교직원", all.get(0).name);
+        assertSame(Feed.DEFAULT, Feed.parseAll(new String[0]).get(0));
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.photoviewer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * 테스트용 로컬 서버: /api_root/Post/ 를 실제 서버(DRF + ColumnarPostRenderer)와 같은 모양으로 내려준다.
+ * - 글: synthetic(n, seed) = 엣지 장치 글 n 개 (가끔 사람이 쓴 수치 없는 글), 또는
+ *   recorded(json) = 실제 서버 응답을 저장해 둔 것 (이미지 주소는 이 서버로 바꿔서)
+ * - pageSize > 0 이면 실제 서버(HistoryPagination)처럼 ?page=N 을 준 요청만 페이지 (count / next / results),
+ *   page 가 없으면 (대시보드 ?since_id= 증분 / 전체 동기화) 배열. 0 이면 page 를 무시하고 언제나 전체 배열
+ * - Accept 에 컬럼형 타입이 있으면 컬럼형, 아니면 JSON. ?since_id=N 이면 id > N 만
+ * - latencyMs: 피드 응답 헤더 전 지연, failEvery: 피드 요청 N 번째마다 503
+ * - /media/... : imageDelayMs 뒤에 imageBytes 바이트 (느린 이미지 서버)
+ * 요청 수는 피드 / 이미지 / 실패(503)로 따로 센다.
+ */
+final class FeedReplayServer extends Dispatcher {
+
+    static final String POSTS_PATH = "/api_root/Post/";
+    static final String IMAGE_DIR = "/media/blog_image/";
+
+    private static final String[] STATES = {"여유", "보통", "혼잡"};
+    private static final long BASE_EPOCH_MS = IsoTime.kstEpochMs(2025, 12, 18, 8, 0);
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<PostItem> posts; // 최신순, image 는 서버 안 경로 (/media/...) 또는 ""
+
+    // 서버 스레드가 읽으니 volatile (테스트 중간에 바꿀 수 있게)
+    private volatile int pageSize = 10;
+    private volatile boolean columnar = true;
+    private volatile long latencyMs;
+    private volatile int failEvery;
+    private volatile long imageDelayMs;
+    private volatile int imageBytes = 4 * 1024;
+
+    final AtomicInteger feedRequests = new AtomicInteger();
+    final AtomicInteger imageRequests = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+
+    // 같은 응답을 여러 번 만들지 않게 (10만 개 전체 응답은 수십 MB)
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    private FeedReplayServer(List<PostItem> posts) {
+        this.posts = posts;
+    }
+
+    /** 엣지 장치 글 n 개 (id n..1, 30초 간격, 50 개마다 하나는 수치 없는 공지). 같은 seed 면 같은 내용 */
+    static FeedReplayServer synthetic(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<PostItem> posts = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int id = n - i;
+            String created = createdDate(rnd, BASE_EPOCH_MS + id * 30_000L);
+            String published = rnd.nextInt(4) == 0 ? null : created;
+            if (id % 50 == 0) {
+                posts.add(new PostItem(id, "공지", "오늘 점심은 11시 30분부터 배식합니다.", created, published, "", "admin"));
+            } else {
+                String image = IMAGE_DIR + "cam_" + id + "_" + Integer.toHexString(rnd.nextInt()) + ".jpg";
+                posts.add(new PostItem(id, "혼잡도 변경", edgeText(rnd, created), created, published, image, "edge"));
+            }
+        }
+        return new FeedReplayServer(posts);
+    }
+
+    /** 저장해 둔 서버 응답 (JSON 배열 또는 DRF 페이지). 최신순으로 다시 정렬한다 */
+    static FeedReplayServer recorded(InputStream json) throws IOException {
+        List<PostItem> decoded = new ArrayList<>();
+        PostFeedDecoder.of(json).decode(decoded, 0);
+        List<PostItem> posts = new ArrayList<>(decoded.size());
+        for (PostItem p : decoded) {
+            posts.add(new PostItem(p.getId(), p.getTitle(), p.getText(), p.getCreatedDateRaw(),
+                    p.getPublishedDateRaw(), localPath(p.getImageUrl()), p.getAuthor()));
+        }
+        posts.sort((a, b) -> Integer.compare(b.getId(), a.getId()));
+        return new FeedReplayServer(posts);
+    }
+
+    FeedReplayServer pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /** false 면 컬럼형을 모르는 옛 서버 */
+    FeedReplayServer columnar(boolean columnar) {
+        this.columnar = columnar;
+        return this;
+    }
+
+    FeedReplayServer latencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    /** 피드 요청 n 번째마다 503 (0 이면 실패 없음) */
+    FeedReplayServer failEvery(int n) {
+        this.failEvery = n;
+        return this;
+    }
+
+    FeedReplayServer slowImages(long delayMs, int bytes) {
+        this.imageDelayMs = delayMs;
+        this.imageBytes = bytes;
+        return this;
+    }
+
+    FeedReplayServer start() throws IOException {
+        server.setDispatcher(this);
+        server.start();
+        return this;
+    }
+
+    void close() throws IOException {
+        server.shutdown();
+    }
+
+    /** 이 서버를 가리키는 식당 */
+    Feed feed() {
+        return new Feed("replay", server.url("/").toString(), Feed.DEFAULT_TIMEOUT_MS);
+    }
+
+    /** 서버가 가진 글 (최신순, image 는 서버 안 경로) */
+    List<PostItem> posts() {
+        return Collections.unmodifiableList(posts);
+    }
+
+    /** 전체 응답을 미리 만들어 둔다 (측정에서 응답 만드는 비용을 빼려고) */
+    void prepare(boolean columnarBody) {
+        body(server.url(POSTS_PATH), 0, 0, columnarBody);
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        HttpUrl url = request.getRequestUrl();
+        if (url == null) return new MockResponse().setResponseCode(400);
+        String path = url.encodedPath();
+
+        if (path.startsWith("/media/")) {
+            imageRequests.incrementAndGet();
+            return new MockResponse()
+                    .setHeader("Content-Type", "image/jpeg")
+                    .setBody(new Buffer().write(new byte[imageBytes]))
+                    .setHeadersDelay(imageDelayMs, TimeUnit.MILLISECONDS);
+        }
+        if (!path.equals(POSTS_PATH)) return new MockResponse().setResponseCode(404);
+
+        int nth = feedRequests.incrementAndGet();
+        if (failEvery > 0 && nth % failEvery == 0) {
+            failures.incrementAndGet();
+            return delayed(new MockResponse().setResponseCode(503));
+        }
+
+        int sinceId = intParam(url, "since_id", 0);
+        int page = pageSize > 0 ? intParam(url, "page", 0) : 0;
+        String accept = request.getHeader("Accept");
+        boolean columnarBody = columnar && accept != null && accept.contains(PostFetcher.COLUMNAR_TYPE);
+
+        if (pageSize > 0 && url.queryParameter("page") != null && page < 1) {
+            return delayed(new MockResponse().setResponseCode(404).setBody("{\"detail\":\"Invalid page.\"}"));
+        }
+        byte[] body = body(url, sinceId, page, columnarBody);
+        if (body == null) return delayed(new MockResponse().setResponseCode(404).setBody("{\"detail\":\"Invalid page.\"}"));
+        return delayed(new MockResponse()
+                .setHeader("Content-Type", (columnarBody ? PostFetcher.COLUMNAR_TYPE : "application/json")
+                        + "; charset=utf-8")
+                .setBody(new Buffer().write(body)));
+    }
+
+    private MockResponse delayed(MockResponse r) {
+        return latencyMs > 0 ? r.setHeadersDelay(latencyMs, TimeUnit.MILLISECONDS) : r;
+    }
+
+    private static int intParam(HttpUrl url, String name, int fallback) {
+        String v = url.queryParameter(name);
+        try {
+            return v == null ? fallback : Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /** page 0 = 페이지 없이 전체. 없는 페이지면 null */
+    private byte[] body(HttpUrl url, int sinceId, int page, boolean columnarBody) {
+        String key = sinceId + "/" + page + "/" + columnarBody;
+        byte[] cached = bodies.get(key);
+        if (cached != null) return cached;
+
+        List<PostItem> matching = posts;
+        if (sinceId > 0) {
+            int end = 0;
+            while (end < posts.size() && posts.get(end).getId() > sinceId) end++;
+            matching = posts.subList(0, end);
+        }
+
+        List<PostItem> rows = matching;
+        String next = null;
+        if (page > 0) {
+            int from = (page - 1) * pageSize;
+            if (from > 0 && from >= matching.size()) return null;
+            int to = Math.min(matching.size(), from + pageSize);
+            rows = matching.subList(from, to);
+            if (to < matching.size()) {
+                // DRF 처럼 다른 조건(since_id 등)은 그대로 두고 page 만 바꿈
+                next = url.newBuilder().setQueryParameter("page", String.valueOf(page + 1)).build().toString();
+            }
+        }
+
+        String base = server.url("/").toString();
+        base = base.substring(0, base.length() - 1);
+        byte[] body = (columnarBody
+                ? columnarJson(rows, page > 0 ? matching.size() : -1, next, base)
+                : json(rows, page > 0 ? matching.size() : -1, next, base)).getBytes(StandardCharsets.UTF_8);
+        // 전체 응답만 남긴다 (페이지는 만들기 싸고, 캐시하면 10만 개일 때 페이지만 1만 개)
+        if (page == 0) bodies.put(key, body);
+        return body;
+    }
+
+    /** PostSerializer 모양. count < 0 이면 배열 */
+    private static String json(List<PostItem> rows, int count, String next, String base) {
+        StringBuilder sb = new StringBuilder(rows.size() * 420 + 128);
+        if (count >= 0) {
+            sb.append("{\"count\":").append(count).append(",\"next\":");
+            appendJsonString(sb, next);
+            sb.append(",\"previous\":null,\"results\":");
+        }
+        sb.append('[');
+        for (int i = 0; i < rows.size(); i++) {
+            PostItem p = rows.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(p.getId()).append(",\"author\":");
+            appendJsonString(sb, p.getAuthor());
+            appendJsonString(sb.append(",\"title\":"), p.getTitle());
+            appendJsonString(sb.append(",\"text\":"), p.getText());
+            appendJsonString(sb.append(",\"created_date\":"), p.getCreatedDateRaw());
+            appendJsonString(sb.append(",\"published_date\":"), p.getPublishedDateRaw());
+            appendJsonString(sb.append(",\"image\":"), imageUrl(base, p));
+            sb.append('}');
+        }
+        sb.append(']');
+        if (count >= 0) sb.append('}');
+        return sb.toString();
+    }
+
+    /** ColumnarPostRenderer.to_columns 모양 (네 수치를 다 뽑은 글은 text 가 null) */
+    private static String columnarJson(List<PostItem> rows, int count, String next, String base) {
+        int n = rows.size();
+        StringBuilder sb = new StringBuilder(n * 150 + 256);
+        sb.append("{\"format\":\"columnar\",\"v\":1,\"n\":").append(n);
+        if (count >= 0) sb.append(",\"count\":").append(count);
+        appendJsonString(sb.append(",\"next\":"), next);
+
+        sb.append(",\"id\":[");
+        for (int i = 0; i < n; i++) sb.append(i > 0 ? "," : "").append(rows.get(i).getId());
+        sb.append(']');
+        appendColumn(sb, "author", rows, PostItem::getAuthor);
+        appendColumn(sb, "title", rows, PostItem::getTitle);
+        appendColumn(sb, "created_date", rows, PostItem::getCreatedDateRaw);
+        appendColumn(sb, "published_date", rows, PostItem::getPublishedDateRaw);
+
+        String imageBase = base + IMAGE_DIR;
+        appendJsonString(sb.append(",\"image_base\":"), imageBase);
+        appendColumn(sb, "image", rows, p -> {
+            String url = imageUrl(base, p);
+            return url == null ? null : url.startsWith(imageBase) ? url.substring(imageBase.length()) : url;
+        });
+
+        ParsedStats[] stats = new ParsedStats[n];
+        for (int i = 0; i < n; i++) stats[i] = ParsedStats.parse(rows.get(i).getText());
+        String[] names = {"total", "seated", "queue", "remain"};
+        for (int f = 0; f < names.length; f++) {
+            sb.append(",\"").append(names[f]).append("\":[");
+            for (int i = 0; i < n; i++) {
+                int v = f == 0 ? stats[i].totalSeats : f == 1 ? stats[i].seated
+                        : f == 2 ? stats[i].queue : stats[i].remainSeats;
+                sb.append(i > 0 ? "," : "").append(v < 0 ? "null" : String.valueOf(v));
+            }
+            sb.append(']');
+        }
+        sb.append(",\"text\":[");
+        for (int i = 0; i < n; i++) {
+            ParsedStats s = stats[i];
+            boolean all = s.totalSeats >= 0 && s.seated >= 0 && s.queue >= 0 && s.remainSeats >= 0;
+            if (i > 0) sb.append(',');
+            appendJsonString(sb, all ? null : rows.get(i).getText());
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    private interface Field {
+        String of(PostItem p);
+    }
+
+    private static void appendColumn(StringBuilder sb, String name, List<PostItem> rows, Field field) {
+        sb.append(",\"").append(name).append("\":[");
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sb.append(',');
+            appendJsonString(sb, field.of(rows.get(i)));
+        }
+        sb.append(']');
+    }
+
+    private static String imageUrl(String base, PostItem p) {
+        String path = p.getImageUrl();
+        return path == null || path.isEmpty() ? null : base + path;
+    }
+
+    private static void appendJsonString(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':  sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /** 저장된 응답의 이미지 주소 → 이 서버 안 경로 */
+    private static String localPath(String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) return "";
+        if (!imageUrl.startsWith("http")) return imageUrl;
+        String path = URI.create(imageUrl).getRawPath();
+        return path == null ? "" : path;
+    }
+
+    /** 엣지 장치(changedetection.py) 본문 */
+    private static String edgeText(Random rnd, String createdDate) {
+        int total = 40;
+        int seated = rnd.nextInt(total + 1);
+        int queue = seated == total ? rnd.nextInt(8) : 0;
+        return createdDate.substring(0, 19).replace('T', ' ') + " 기준 학생식당 혼잡도 상태가 '"
+                + STATES[rnd.nextInt(STATES.length)] + "'로 변경되었습니다.\n"
+                + "- 총 좌석 수: " + total + "석\n"
+                + "- 착석 인원: " + seated + "명\n"
+                + "- 대기열 인원(서 있는 인원): " + queue + "명\n"
+                + "- 남은 좌석: " + (total - seated) + "석";
+    }
+
+    /** DRF DateTimeField 출력 (KST, 마이크로초) */
+    private static String createdDate(Random rnd, long epochMs) {
+        long kst = epochMs + IsoTime.KST_OFFSET_MS;
+        long days = Math.floorDiv(kst, 24 * 60 * 60 * 1000L);
+        int msOfDay = (int) Math.floorMod(kst, 24 * 60 * 60 * 1000L);
+        int[] ymd = IsoTime.civilFromDays(days);
+        return String.format(Locale.ROOT, "%04d-%02d-%02dT%02d:%02d:%02d.%06d+09:00",
+                ymd[0], ymd[1], ymd[2],
+                msOfDay / 3_600_000, msOfDay / 60_000 % 60, msOfDay / 1000 % 60,
+                msOfDay % 1000 * 1000 + rnd.nextInt(1000));
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.photoviewer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.*;
+
+public class HistoryPagerTest {
+
+    private static final int SERVER_PAGE = 10;
+
+    private int total = 95;
+    private final List<Integer> requested = new ArrayList<>();
+    private final Queue<Runnable> pendingLoads = new ArrayDeque<>();
+    private final List<HistoryPager.Snapshot> snapshots = new ArrayList<>();
+    private HistoryPager pager;
+
+    @Before
+    public void setUp() {
+        pager = newPager(SERVER_PAGE, 4, 3);
+    }
+
+    // 로더는 테스트가 runLoads() 할 때까지 쌓아 두고, UI 전달은 즉시
+    private HistoryPager newPager(int pageSize, int maxPages, int prefetch) {
+        return new HistoryPager(this::serve, snapshots::add, pendingLoads::add, Runnable::run,
+                pageSize, maxPages, prefetch);
+    }
+
+    // id 는 최신순으로 total..1
+    private HistoryPager.Page serve(int page) throws IOException {
+        requested.add(page);
+        List<PostItem> posts = new ArrayList<>();
+        for (int i = page * SERVER_PAGE; i < Math.min(total, (page + 1) * SERVER_PAGE); i++) {
+            posts.add(post(total - i));
+        }
+        return new HistoryPager.Page(posts, total, (page + 1) * SERVER_PAGE < total);
+    }
+
+    private static PostItem post(int id) {
+        return new PostItem(id, "t" + id, "", "", "", "", "edge");
+    }
+
+    private void runLoads() {
+        Runnable r;
+        while ((r = pendingLoads.poll()) != null) r.run();
+    }
+
+    private HistoryPager.Snapshot last() {
+        return snapshots.get(snapshots.size() - 1);
+    }
+
+    @Test
+    public void firstScreenNeedsOnlyFirstPage() {
+        pager.refresh();
+        runLoads();
+
+        assertEquals(Collections.singletonList(0), requested);
+        assertEquals(95, pager.getItemCount());
+        assertEquals(95, last().size());
+        assertEquals(95, last().get(0).getId());
+        assertEquals(86, last().get(9).getId());
+        assertNull(last().get(10));
+        assertEquals(95, pager.getTopId());
+    }
+
+    @Test
+    public void prefetchesNextPageBeforeTheEnd() {
+        pager.refresh();
+        runLoads();
+
+        pager.onVisibleRange(0, 5); // 끝(9)까지 4개 남음 → 아직
+        pager.onVisibleRange(1, 6); // 6 + 3 = 9 → 아직 첫 페이지 안
+        assertTrue(pendingLoads.isEmpty());
+
+        pager.onVisibleRange(2, 7); // 7 + 3 = 10 → 다음 페이지 미리 읽기
+        assertEquals(1, pendingLoads.size());
+        pager.onVisibleRange(2, 7); // 진행 중인 페이지는 다시 요청하지 않음
+        pager.request(12);
+        assertEquals(1, pendingLoads.size());
+        runLoads();
+        assertEquals(Arrays.asList(0, 1), requested);
+        assertEquals(85, last().get(10).getId());
+    }
+
+    @Test
+    public void keepsBoundedWindowWhileScrollingFar() {
+        pager.refresh();
+        runLoads();
+
+        for (int first = 0; first + 5 < total; first += 3) {
+            pager.onVisibleRange(first, first + 5);
+            runLoads();
+            assertTrue(pager.getLoadedPageCount() <= 4);
+        }
+        assertTrue(pager.getLoadedItemCount() <= 40);
+        assertEquals(1, last().get(total - 1).getId());
+
+        // 버린 첫 페이지는 null → 다시 읽음
+        assertNull(last().get(0));
+        pager.request(0);
+        runLoads();
+        assertEquals(95, last().get(0).getId());
+    }
+
+    @Test
+    public void learnsServerPageSizeAndSeedIsReplaced() {
+        pager = newPager(4, 4, 2);
+
+        pager.seed(Collections.singletonList(new PostItem(1, "cached", "", "", "", "", "")));
+        assertEquals(1, pager.getItemCount());
+        assertEquals("cached", last().get(0).getTitle());
+
+        pager.refresh();
+        runLoads();
+        assertEquals(95, pager.getItemCount());
+        assertEquals(95, last().get(0).getId());
+        assertNull(last().get(11));
+        pager.request(11);
+        runLoads();
+        assertEquals(84, last().get(11).getId()); // 페이지 크기 10 으로 계산
+    }
+
+    @Test
+    public void prependShiftsLoadedRowsWithoutRefetching() {
+        pager.refresh();
+        runLoads();
+        pager.onVisibleRange(8, 12);
+        runLoads();
+        assertEquals(Arrays.asList(0, 1), requested);
+        HistoryPager.Snapshot before = last();
+
+        total = 97;
+        pager.prepend(Arrays.asList(post(97), post(96)));
+
+        HistoryPager.Snapshot after = last();
+        assertEquals(97, after.size());
+        assertEquals(97, after.get(0).getId());
+        assertEquals(96, after.get(1).getId());
+        assertEquals(95, after.get(2).getId());
+        assertEquals(76, after.get(21).getId()); // 두 번째 페이지 끝도 그대로 밀림
+        assertEquals(97, pager.getTopId());
+        assertEquals(Arrays.asList(0, 1), requested);
+
+        // 이전 스냅샷은 바뀌지 않음
+        assertEquals(95, before.size());
+        assertEquals(95, before.get(0).getId());
+
+        // 밀린 뒤 다음 페이지(서버 기준 page 2 = 위치 20..29)는 새 위치 그대로 맞음
+        pager.request(25);
+        runLoads();
+        assertEquals(72, last().get(25).getId());
+        assertEquals(76, last().get(21).getId());
+    }
+
+    @Test
+    public void showSwitchesToRangeFeedAndDropsStaleLoads() {
+        pager.refresh();
+        runLoads();
+        pager.onVisibleRange(0, 4);
+        pager.request(40); // 아직 안 끝난 요청 → 구간으로 바꾸면 버려야 함
+        List<Integer> rangeRequested = new ArrayList<>();
+
+        // 구간 피드: 위치 0..11 에 id 60..49
+        pager.show(page -> {
+            rangeRequested.add(page);
+            List<PostItem> posts = new ArrayList<>();
+            for (int i = page * SERVER_PAGE; i < Math.min(12, (page + 1) * SERVER_PAGE); i++) posts.add(post(60 - i));
+            return new HistoryPager.Page(posts, 12, (page + 1) * SERVER_PAGE < 12);
+        }, Collections.singletonList(post(60)));
+        assertEquals(1, pager.getItemCount());
+        assertEquals(60, last().get(0).getId());
+
+        runLoads();
+        assertEquals(Collections.singletonList(0), rangeRequested);
+        assertEquals(12, pager.getItemCount());
+        assertEquals(12, last().size());
+        assertEquals(51, last().get(9).getId());
+        assertNull(last().get(10));
+        assertEquals(1, pager.getLoadedPageCount());
+
+        pager.onVisibleRange(5, 11);
+        runLoads();
+        assertEquals(Arrays.asList(0, 1), rangeRequested);
+        assertEquals(49, last().get(11).getId());
+    }
+
+    @Test
+    public void rangeUrlUsesUtcBounds() {
+        long from = IsoTime.parseEpochMs("2025-12-18T12:00:00+09:00");
+        long to = IsoTime.parseEpochMs("2025-12-18T12:30:00+09:00");
+        assertEquals("http://h/api_root/Post/?created_after=2025-12-18T03:00:00Z&created_before=2025-12-18T03:30:00Z",
+                HistoryPager.withRange("http://h/api_root/Post/", from, to));
+        assertEquals("http://h/api_root/Post/?created_before=2025-12-18T03:30:00Z&page=2",
+                HistoryPager.withPage(HistoryPager.withRange("http://h/api_root/Post/", 0, to), 2));
+        assertEquals("http://h/p?x=1", HistoryPager.withRange("http://h/p?x=1", 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void snapshotDiffMatchesPostsById() {
+        List<PostItem> old = Arrays.asList(post(3), post(2), null);
+        List<PostItem> next = Arrays.asList(post(4), post(3), post(2), null);
+        HistoryAdapter.SnapshotDiff diff = new HistoryAdapter.SnapshotDiff(old, next);
+
+        assertTrue(diff.areItemsTheSame(0, 1));
+        assertFalse(diff.areItemsTheSame(0, 0));
+        assertTrue(diff.areItemsTheSame(2, 3));   // 안 읽은 자리끼리
+        assertFalse(diff.areItemsTheSame(2, 1));  // 자리 ↔ 다른 위치의 글
+        assertTrue(diff.areContentsTheSame(1, 2));
+        assertFalse(diff.areContentsTheSame(0, 1)); // 맨 위에서 내려감 → "최신" 표시 갱신
+
+        // 같은 위치에서 글이 읽혀 들어오면 같은 행의 내용 변경
+        HistoryAdapter.SnapshotDiff loaded = new HistoryAdapter.SnapshotDiff(
+                Arrays.asList(post(3), null), Arrays.asList(post(3), post(2)));
+        assertTrue(loaded.areItemsTheSame(1, 1));
+        assertFalse(loaded.areContentsTheSame(1, 1));
+
+        PostItem edited = new PostItem(2, "changed", "", "", "", "", "edge");
+        assertFalse(new HistoryAdapter.SnapshotDiff(old, Arrays.asList(post(3), edited, null))
+                .areContentsTheSame(1, 1));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.photoviewer;
+
+import android.graphics.Bitmap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ImageRequestSchedulerTest {
+
+    private static final BitmapDecoder.Target THUMB = new BitmapDecoder.Target(200, 120, true);
+
+    /** 받은 순서를 기록하고, 다운로드는 URL 길이 * 100 바이트로 친다 */
+    private final class FakeBackend implements ImageRequestScheduler.Backend {
+        final List<String> loaded = new ArrayList<>();
+        final Map<Object, String> bound = new IdentityHashMap<>();
+        final Set<String> memory = new HashSet<>();
+        final Map<Bitmap, String> urls = new IdentityHashMap<>();
+        int released = 0;
+
+        @Override
+        public Bitmap fromMemory(String url, BitmapDecoder.Target target) {
+            return memory.contains(url) ? bitmap(url) : null;
+        }
+
+        @Override
+        public Bitmap load(String url, BitmapDecoder.Target target, ImageCache.LoadTrace trace) {
+            loaded.add(url);
+            memory.add(url);
+            trace.networkBytes = url.length() * 100L;
+            return bitmap(url);
+        }
+
+        @Override
+        public void bind(Object owner, Bitmap bitmap) {
+            bound.put(owner, urls.get(bitmap));
+        }
+
+        @Override
+        public void clear(Object owner) {
+            bound.remove(owner);
+        }
+
+        @Override
+        public void release(Bitmap bitmap) {
+            released++;
+        }
+
+        private Bitmap bitmap(String url) {
+            Bitmap b = new Bitmap();
+            urls.put(b, url);
+            return b;
+        }
+    }
+
+    private FakeBackend backend;
+    private ArrayDeque<Runnable> workers;
+    private long now;
+    private ImageRequestScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        backend = new FakeBackend();
+        workers = new ArrayDeque<>();
+        now = 0;
+        scheduler = new ImageRequestScheduler(backend, workers::add, Runnable::run, () -> now, 1, 3);
+    }
+
+    private void runAll() {
+        while (!workers.isEmpty()) workers.poll().run();
+    }
+
+    @Test
+    public void heroAndVisibleRowsGoBeforePrefetch() {
+        Object busy = new Object();
+        scheduler.load(busy, "busy", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE); // 자리 하나를 차지
+
+        scheduler.prefetch("p1", THUMB);
+        Object row1 = new Object();
+        Object row2 = new Object();
+        scheduler.load(row1, "r1", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        scheduler.load(row2, "r2", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        Object hero = new Object();
+        scheduler.load(hero, "hero", THUMB, ImageRequestScheduler.PRIORITY_HERO);
+        assertEquals(1, scheduler.getRunningCount()); // 동시에 하나만
+
+        runAll();
+        // 대표 이미지 → 나중에 바인딩된 행 먼저 → 미리 받기
+        assertEquals(Arrays.asList("busy", "hero", "r2", "r1", "p1"), backend.loaded);
+        assertEquals("hero", backend.bound.get(hero));
+        assertEquals("r1", backend.bound.get(row1));
+        assertEquals(0, scheduler.getRunningCount());
+    }
+
+    @Test
+    public void rebindCancelsStaleRequestAndCountsWastedBytes() {
+        Object row = new Object();
+        scheduler.load(row, "aa", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE); // 바로 시작됨
+        Object other = new Object();
+        scheduler.load(other, "queued", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE); // 대기
+
+        // 스크롤로 두 행 모두 다른 글로 다시 바인딩
+        scheduler.load(row, "bbb", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        scheduler.cancel(other);
+
+        runAll();
+        assertEquals(Arrays.asList("aa", "bbb"), backend.loaded); // 대기 중이던 것은 받지도 않음
+        assertEquals("bbb", backend.bound.get(row)); // 늦게 도착한 "aa" 가 덮어쓰지 않음
+        assertNull(backend.bound.get(other));
+        assertEquals(1, scheduler.getSkippedBeforeStart());
+        assertEquals(1, scheduler.getStaleResults());
+        assertEquals(200, scheduler.getWastedBytes());
+        assertEquals(1, backend.released);
+    }
+
+    @Test
+    public void sameImageRebindKeepsPendingRequestAndMemoryHitBindsImmediately() {
+        Object row = new Object();
+        scheduler.load(row, "a", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        scheduler.load(row, "a", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE); // diff 로 같은 행 다시 바인딩
+        runAll();
+        assertEquals(1, backend.loaded.size());
+        assertEquals(0, scheduler.getStaleResults());
+
+        Object again = new Object();
+        scheduler.load(again, "a", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        assertEquals("a", backend.bound.get(again));
+        assertEquals(1, scheduler.getMemoryBinds());
+        assertEquals(1, backend.loaded.size());
+    }
+
+    @Test
+    public void prefetchQueueIsBoundedAndDeduplicated() {
+        Object busy = new Object();
+        scheduler.load(busy, "busy", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        for (int i = 0; i < 5; i++) scheduler.prefetch("p" + i, THUMB);
+        scheduler.prefetch("p4", THUMB); // 이미 대기 중
+
+        runAll();
+        // 최대 3개만 대기 → 가장 오래된 p0, p1 은 받지 않음, 남은 것은 최근 것부터
+        assertEquals(Arrays.asList("busy", "p4", "p3", "p2"), backend.loaded);
+        assertEquals(2, scheduler.getSkippedBeforeStart());
+        assertEquals(600, scheduler.getPrefetchBytes());
+        assertEquals(0, scheduler.getWastedBytes());
+        assertEquals(3, backend.released); // 미리 받은 건 캐시에만 두고 참조는 돌려줌
+    }
+
+    @Test
+    public void timeToVisibleIsMeasuredFromRequest() {
+        Object row = new Object();
+        now = 1_000_000_000L;
+        scheduler.load(row, "a", THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+        now += 250_000_000L;
+        runAll();
+
+        assertEquals(1, scheduler.getVisibleBinds());
+        assertEquals(250, scheduler.getAverageTimeToVisibleMs());
+        assertEquals(250, scheduler.getMaxTimeToVisibleMs());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+public class NetClientTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private static Buffer gzip(String s) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            gz.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return new Buffer().write(bytes.toByteArray());
+    }
+
+    @Test
+    public void pollsReuseOneConnection() throws Exception {
+        for (int i = 0; i < 3; i++) server.enqueue(new MockResponse().setBody("[{\"id\":" + i + "}]"));
+
+        String url = server.url("/api_root/Post/").toString();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(PostFetcher.fetch(url, null, null, 0).isOk());
+        }
+
+        // sequenceNumber = 같은 커넥션에서 몇 번째 요청인지
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+        assertEquals(2, server.takeRequest().getSequenceNumber());
+    }
+
+    @Test
+    public void gzipIsNegotiatedAndDecodedTransparently() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(gzip("{\"count\":1,\"results\":[{\"id\":7,\"text\":\"남은 좌석: 3석\"}]}")));
+
+        PostFetcher.Result r = PostFetcher.fetch(server.url("/api_root/Post/").toString(), null, null, 0);
+
+        RecordedRequest req = server.takeRequest();
+        assertEquals("gzip", req.getHeader("Accept-Encoding"));
+        assertTrue(r.isOk());
+        assertEquals(1, r.posts.size());
+        assertEquals("남은 좌석: 3석", r.posts.get(0).getText());
+    }
+
+    @Test
+    public void readTimeoutIsConfigurable() throws Exception {
+        NetClient.configure(new NetClient.Settings().readTimeoutMs(200));
+        try {
+            server.enqueue(new MockResponse()
+                    .setBody("[]")
+                    .setHeadersDelay(2, java.util.concurrent.TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            PostFetcher.Result r = PostFetcher.fetch(server.url("/").toString(), null, null, 0);
+            long tookMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(-1, r.code);
+            assertTrue("took " + tookMs + "ms", tookMs < 1500);
+        } finally {
+            NetClient.configure(new NetClient.Settings());
+        }
+    }
+
+    @Test
+    public void sharedClientIsSingleton() {
+        assertSame(NetClient.get(), NetClient.get());
+    }
+}
@@ -0,0 +1,387 @@
+package com.example.photoviewer;
+
+import android.graphics.Bitmap;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.*;
+
+/**
+ * 피드가 커질 때 받기 → 파싱 → History 바인딩이 어떻게 되는지 FeedReplayServer 로 잰다.
+ * - 크기: 10 / 1천 / 1만 (기본), 10만은 -Pscale.max=100000 일 때만 (scale.max 이하만 돈다)
+ * - 전체 피드: PostFetcher 로 받고 수치 / 생성 시각을 다 읽고 PostColumns 로 (JSON, 컬럼형 각각)
+ * - History: 서버 페이지(10개) + 지연 + 가끔 503 + 느린 이미지에서 첫 화면까지, 그리고 몇백 행 스크롤
+ * 측정값(시간 / 힙 최고치 / 요청 수)은 ScaleReport 로 보고서에 남기고 기준값을 넘으면 실패.
+ */
+public class PipelineScaleTest {
+
+    private static final int[] SIZES = {10, 1_000, 10_000, 100_000};
+    private static final int MAX_SIZE = Integer.getInteger("scale.max", 10_000);
+    private static final long SEED = 20251218L;
+
+    // HistoryActivity 와 같은 값
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 6;
+    private static final int PREFETCH_ITEMS = 5;
+
+    private static final int SCREEN_ROWS = 8;
+    private static final int SCROLL_ROWS = 400;
+    private static final long FEED_LATENCY_MS = 20;
+    private static final int FAIL_EVERY = 7;
+    private static final long IMAGE_DELAY_MS = 250;
+    private static final long WAIT_MS = 20_000;
+
+    private static final BitmapDecoder.Target THUMB = new BitmapDecoder.Target(200, 120, true);
+
+    private static final ScaleReport REPORT = new ScaleReport();
+
+    @AfterClass
+    public static void writeReport() throws IOException {
+        REPORT.write();
+    }
+
+    private static List<Integer> sizes() {
+        List<Integer> out = new ArrayList<>();
+        for (int n : SIZES) if (n <= MAX_SIZE) out.add(n);
+        return out;
+    }
+
+    @Test
+    public void fullFeedFetchAndParse() throws Exception {
+        fetchAndParse(200, true, null); // JIT / 커넥션 준비 (기록 안 함)
+        fetchAndParse(200, false, null);
+        for (int n : sizes()) {
+            fetchAndParse(n, true, "fetch.columnar." + n);
+            fetchAndParse(n, false, "fetch.json." + n);
+        }
+        REPORT.assertNoRegression("fetch.");
+    }
+
+    private void fetchAndParse(int n, boolean columnar, String name) throws Exception {
+        FeedReplayServer server = FeedReplayServer.synthetic(n, SEED).pageSize(0).columnar(columnar).start();
+        try {
+            server.prepare(columnar);
+            HeapPeak heap = new HeapPeak();
+            long start = System.nanoTime();
+
+            PostFetcher.Result r = PostFetcher.fetch(server.feed().postsUrl(), null, null, 0);
+            int withStats = 0;
+            long prevEpoch = Long.MAX_VALUE;
+            for (PostItem p : r.posts) {
+                if (p.getStats().isValid()) withStats++;
+                long epoch = p.getCreatedEpochMs();
+                assertTrue("최신순 / 시각 파싱", epoch > 0 && epoch < prevEpoch);
+                prevEpoch = epoch;
+            }
+            PostColumns cols = PostColumns.of(r.posts);
+
+            long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long mb = heap.increaseMb();
+
+            assertTrue(r.isOk());
+            assertEquals(columnar, r.columnar);
+            assertEquals(n, cols.size());
+            assertEquals(n - n / 50, withStats); // 50 개마다 공지 하나
+            List<PostItem> truth = server.posts();
+            for (int i : new int[]{0, n / 2, n - 1}) {
+                PostItem t = truth.get(i);
+                ParsedStats s = t.getStats();
+                assertEquals(t.getId(), cols.id(i));
+                assertEquals(t.getCreatedEpochMs(), cols.createdEpochMs(i));
+                assertEquals(s.queue, cols.queue(i));
+                assertEquals(s.remainSeats, cols.remainSeats(i));
+            }
+
+            if (name != null) {
+                REPORT.put(name + ".ms", ms);
+                REPORT.put(name + ".mb", mb);
+                REPORT.put(name + ".requests", server.feedRequests.get());
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void historyFirstRenderAndScroll() throws Exception {
+        history(10, null); // JIT / 커넥션 준비 (기록 안 함)
+        for (int n : sizes()) history(n, "history." + n);
+        REPORT.assertNoRegression("history.");
+    }
+
+    private void history(int n, String name) throws Exception {
+        FeedReplayServer server = FeedReplayServer.synthetic(n, SEED)
+                .pageSize(PAGE_SIZE)
+                .latencyMs(FEED_LATENCY_MS)
+                .failEvery(FAIL_EVERY)
+                .slowImages(IMAGE_DELAY_MS, 8 * 1024)
+                .start();
+        ExecutorService ui = pool(1);
+        ExecutorService loader = pool(2);
+        ExecutorService imageWorkers = pool(4);
+        try {
+            HeapPeak heap = new HeapPeak();
+            Screen screen = new Screen(server.feed(), ui, loader, imageWorkers);
+            long start = System.nanoTime();
+
+            ui.execute(screen.pager::refresh);
+            await(() -> screen.boundWindow == 0, "첫 화면");
+            long firstRenderMs = TimeUnit.NANOSECONDS.toMillis(screen.firstRowNanos - start);
+            await(() -> screen.firstImageNanos != 0, "첫 이미지");
+            long firstImageMs = TimeUnit.NANOSECONDS.toMillis(screen.firstImageNanos - start);
+
+            int rows = Math.min(n, SCROLL_ROWS);
+            long scrollStart = System.nanoTime();
+            for (int first = SCREEN_ROWS; first < rows; first += SCREEN_ROWS) {
+                final int f = first;
+                ui.execute(() -> screen.scrollTo(f));
+                await(() -> screen.boundWindow == f, "스크롤 " + f);
+            }
+            long scrollMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scrollStart);
+            long mb = heap.increaseMb();
+
+            // 첫 화면 글자는 이미지를 기다리지 않는다
+            assertTrue("첫 화면 " + firstRenderMs + "ms / 첫 이미지 " + firstImageMs + "ms",
+                    firstRenderMs < firstImageMs);
+            // 전체가 몇 개든 메모리에는 maxPages 만큼만 (?page 없이 요청하면 서버가 전체 배열을 줘서 여기서 걸림)
+            assertTrue("들고 있는 글 " + screen.maxLoadedItems, screen.maxLoadedItems <= MAX_PAGES * PAGE_SIZE);
+            assertEquals(n, screen.itemCount);
+            // 503 이 섞여도 (실패한 페이지는 다시 요청) 위에서 모든 화면이 바인딩됐다
+            if (server.feedRequests.get() >= FAIL_EVERY) assertTrue(screen.errors > 0);
+            int pagesNeeded = (rows + PAGE_SIZE - 1) / PAGE_SIZE;
+            assertTrue("피드 요청 " + server.feedRequests.get(),
+                    server.feedRequests.get() <= pagesNeeded + 2 + server.failures.get());
+
+            if (name != null) {
+                REPORT.put(name + ".firstRender.ms", firstRenderMs);
+                REPORT.put(name + ".firstImage.ms", firstImageMs);
+                REPORT.put(name + ".scroll" + rows + ".ms", scrollMs);
+                REPORT.put(name + ".mb", mb);
+                REPORT.put(name + ".feed.requests", server.feedRequests.get());
+                REPORT.put(name + ".image.requests", server.imageRequests.get());
+            }
+        } finally {
+            // 받는 중인 요청은 끝까지 (서버를 먼저 닫으면 MockWebServer 가 연결 정리를 기다리다 실패)
+            loader.shutdown();
+            imageWorkers.shutdown();
+            loader.awaitTermination(WAIT_MS, TimeUnit.MILLISECONDS);
+            imageWorkers.awaitTermination(WAIT_MS, TimeUnit.MILLISECONDS);
+            ui.shutdownNow();
+            server.close();
+        }
+    }
+
+    @Test
+    public void recordedFeedBindsTheSameInBothFormats() throws Exception {
+        FeedReplayServer server;
+        try (InputStream in = getClass().getResourceAsStream("/replay/feed-sample.json")) {
+            assertNotNull(in);
+            server = FeedReplayServer.recorded(in).pageSize(0).start();
+        }
+        try {
+            String url = server.feed().postsUrl();
+            PostColumns columnar = PostColumns.of(PostFetcher.fetch(url, null, null, 0).posts);
+            server.columnar(false);
+            PostColumns json = PostColumns.of(PostFetcher.fetch(url, null, null, 0).posts);
+
+            assertEquals(12, columnar.size());
+            assertEquals(12, json.size());
+            for (int i = 0; i < json.size(); i++) {
+                HistoryAdapter.RowText a = HistoryAdapter.RowText.of(json, i);
+                HistoryAdapter.RowText b = HistoryAdapter.RowText.of(columnar, i);
+                assertEquals(json.id(i), columnar.id(i));
+                assertEquals(json.createdEpochMs(i), columnar.createdEpochMs(i));
+                assertEquals(a.time, b.time);
+                assertEquals(a.queue, b.queue);
+                assertEquals(a.seats, b.seats);
+                assertEquals(a.badge, b.badge);
+                assertEquals(json.imageUrl(i), columnar.imageUrl(i));
+            }
+
+            HistoryAdapter.RowText full = HistoryAdapter.RowText.of(json, 0);   // 212: 만석 + 대기열
+            assertEquals("오후 12:41", full.time);
+            assertEquals("대기열 6명", full.queue);
+            assertEquals("남은좌석 0/40", full.seats);
+            assertEquals("😵  혼잡", full.badge);
+            HistoryAdapter.RowText notice = HistoryAdapter.RowText.of(json, 3); // 209: 수치 없는 공지
+            assertEquals("대기열 -", notice.queue);
+            assertEquals("-", notice.badge);
+            assertNull(server.feed().imageUrl(json.imageUrl(3)));
+            // 202: UTC(Z) 로 저장된 글도 KST 로
+            assertEquals("오후 12:15", HistoryAdapter.RowText.of(json, 10).time);
+            assertEquals(server.feed().baseUrl + FeedReplayServer.IMAGE_DIR + "cam_212_9f3a1c.jpg",
+                    server.feed().imageUrl(json.imageUrl(0)));
+        } finally {
+            server.close();
+        }
+    }
+
+    /** 끝낸 뒤 늦게 도착한 결과 전달은 버린다 (shutdownNow 뒤 RejectedExecutionException 대신) */
+    private static ExecutorService pool(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    private static void await(BooleanSupplier done, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WAIT_MS);
+        while (!done.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail(what + " : " + WAIT_MS + "ms 안에 안 끝남");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 화면 대신: 보이는 SCREEN_ROWS 행을 HistoryAdapter 와 같은 방식으로 바인딩한다
+     * (안 읽은 자리는 pager.request, 글자는 RowText, 썸네일은 ImageRequestScheduler).
+     * 필드는 ui 스레드에서만 바꾸고 테스트 스레드는 volatile 만 읽는다.
+     */
+    private static final class Screen implements HistoryPager.Listener {
+        final Feed feed;
+        final HistoryPager pager;
+        final ImageRequestScheduler images;
+        final Object[] slots = new Object[SCREEN_ROWS]; // 행 뷰 대신 (이미지 owner)
+        final HistoryAdapter.RowText[] texts = new HistoryAdapter.RowText[SCREEN_ROWS];
+        HistoryPager.Snapshot current = HistoryPager.Snapshot.EMPTY;
+        int first = 0;
+
+        volatile int boundWindow = -1;
+        volatile long firstRowNanos;
+        volatile long firstImageNanos;
+        volatile int maxLoadedItems;
+        volatile int itemCount;
+        volatile int errors;
+
+        Screen(Feed feed, ExecutorService ui, ExecutorService loader, ExecutorService imageWorkers) {
+            this.feed = feed;
+            for (int i = 0; i < slots.length; i++) slots[i] = new Object();
+            this.pager = new HistoryPager(HistoryPager.network(feed.postsUrl()), this, loader, ui,
+                    PAGE_SIZE, MAX_PAGES, PREFETCH_ITEMS);
+            this.images = new ImageRequestScheduler(new NetworkBackend(), imageWorkers, ui, System::nanoTime, 4, 8);
+        }
+
+        void scrollTo(int first) {
+            this.first = first;
+            pager.onVisibleRange(first, first + SCREEN_ROWS - 1);
+            bind();
+        }
+
+        @Override
+        public void onSnapshot(HistoryPager.Snapshot snapshot) {
+            current = snapshot;
+            itemCount = snapshot.size();
+            maxLoadedItems = Math.max(maxLoadedItems, pager.getLoadedItemCount());
+            bind();
+        }
+
+        @Override
+        public void onError(int pageIndex, Exception e) {
+            // 다음 스크롤 / 바인딩이 하는 것처럼 보이는 범위를 다시 요청 (첫 페이지부터 실패했으면 새로고침)
+            errors++;
+            if (current.isEmpty()) pager.refresh();
+            else pager.onVisibleRange(first, first + SCREEN_ROWS - 1);
+        }
+
+        private void bind() {
+            if (current.isEmpty()) return;
+            boolean all = true;
+            int last = Math.min(current.size(), first + SCREEN_ROWS) - 1;
+            for (int pos = first; pos <= last; pos++) {
+                Object slot = slots[pos - first];
+                PostColumns cols = current.columnsAt(pos);
+                if (cols == null) {
+                    pager.request(pos);
+                    texts[pos - first] = HistoryAdapter.RowText.EMPTY;
+                    images.cancel(slot);
+                    all = false;
+                    continue;
+                }
+                int row = current.rowOf(pos);
+                texts[pos - first] = HistoryAdapter.RowText.of(cols, row);
+                if (pos == 0 && firstRowNanos == 0) firstRowNanos = System.nanoTime();
+                String url = feed.imageUrl(cols.imageUrl(row));
+                if (url != null) images.load(slot, url, THUMB, ImageRequestScheduler.PRIORITY_VISIBLE);
+                else images.cancel(slot);
+            }
+            if (all) boundWindow = first;
+        }
+
+        /** 이미지를 실제로 서버에서 받는다 (JVM 에는 디코더가 없으니 Bitmap 은 자리만) */
+        private final class NetworkBackend implements ImageRequestScheduler.Backend {
+            private final Set<String> memory = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+            @Override
+            public Bitmap fromMemory(String url, BitmapDecoder.Target target) {
+                return memory.contains(url) ? new Bitmap() : null;
+            }
+
+            @Override
+            public Bitmap load(String url, BitmapDecoder.Target target, ImageCache.LoadTrace trace) throws Exception {
+                try (Response r = NetClient.get().newCall(new Request.Builder().url(url).build()).execute()) {
+                    ResponseBody body = r.body();
+                    if (!r.isSuccessful() || body == null) throw new IOException("이미지 " + r.code());
+                    trace.networkBytes = body.bytes().length;
+                }
+                memory.add(url);
+                return new Bitmap();
+            }
+
+            @Override
+            public void bind(Object owner, Bitmap bitmap) {
+                if (firstImageNanos == 0) firstImageNanos = System.nanoTime();
+            }
+
+            @Override
+            public void clear(Object owner) {
+            }
+
+            @Override
+            public void release(Bitmap bitmap) {
+            }
+        }
+    }
+
+    /** GC 뒤 힙 사용량에서 그 뒤 최고치까지 늘어난 양 (풀별 최고치의 합이라 조금 넉넉하게 나온다) */
+    private static final class HeapPeak {
+        private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+        private final long before;
+
+        HeapPeak() {
+            System.gc();
+            long used = 0;
+            for (MemoryPoolMXBean p : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (p.getType() != MemoryType.HEAP) continue;
+                p.resetPeakUsage();
+                pools.add(p);
+                used += p.getUsage().getUsed();
+            }
+            before = used;
+        }
+
+        long increaseMb() {
+            long peak = 0;
+            for (MemoryPoolMXBean p : pools) peak += p.getPeakUsage().getUsed();
+            return Math.max(0, peak - before) / (1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class PostFetcherTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void columnarResponseCarriesStatsWithoutText() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", PostFetcher.COLUMNAR_TYPE + "; charset=utf-8")
+                .setBody("{\"format\":\"columnar\",\"v\":1,\"n\":1,\"count\":1,\"next\":null,\"id\":[9],"
+                        + "\"total\":[40],\"seated\":[40],\"queue\":[3],\"remain\":[0],\"text\":[null]}"));
+
+        PostFetcher.Result r = PostFetcher.fetch(server.url("/api_root/Post/").toString(), null, null, 0);
+
+        assertEquals(PostFetcher.ACCEPT, server.takeRequest().getHeader("Accept"));
+        assertTrue(r.isOk());
+        assertTrue(r.columnar);
+        assertEquals(1, r.count);
+        assertEquals(9, r.posts.get(0).getId());
+        assertEquals(3, r.posts.get(0).getStats().queue);
+    }
+
+    @Test
+    public void plainJsonIsTheFallback() throws Exception {
+        // 컬럼형을 모르는 서버는 Accept 의 두 번째 후보(application/json)로 응답
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("[{\"id\":9,\"text\":\"- 대기열 인원(서 있는 인원): 3명\"}]"));
+
+        PostFetcher.Result r = PostFetcher.fetch(server.url("/api_root/Post/").toString(), null, null, 0);
+
+        assertTrue(r.isOk());
+        assertFalse(r.columnar);
+        assertEquals(3, r.posts.get(0).getStats().queue);
+    }
+}
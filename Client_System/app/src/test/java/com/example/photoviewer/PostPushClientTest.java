@@ -0,0 +1,129 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class PostPushClientTest {
+
+    private MockWebServer server;
+    private PostPushClient client;
+
+    private final BlockingQueue<PostItem> received = new LinkedBlockingQueue<>();
+    private final CountDownLatch disconnected = new CountDownLatch(1);
+    private final CountDownLatch unavailable = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new PostPushClient(server.url("/api_root/Post/stream/").toString(), new PostPushClient.Listener() {
+            @Override
+            public void onConnected() {}
+
+            @Override
+            public void onPosts(List<PostItem> posts) {
+                received.addAll(posts);
+            }
+
+            @Override
+            public void onDisconnected() {
+                disconnected.countDown();
+            }
+
+            @Override
+            public void onUnavailable() {
+                unavailable.countDown();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.stop();
+        server.shutdown();
+    }
+
+    private static String event(int id) {
+        return "event: post\nid: " + id + "\ndata: {\"id\":" + id + ",\"title\":\"t" + id + "\","
+                + "\"text\":\"총 좌석 수: 40석\",\"created_date\":\"2025-12-18T12:00:00+09:00\","
+                + "\"published_date\":null,\"image\":null,\"author\":\"edge\"}\n\n";
+    }
+
+    private static MockResponse stream(String body) {
+        return new MockResponse().setHeader("Content-Type", "text/event-stream").setBody(body);
+    }
+
+    @Test
+    public void deliversPostsAndResumesFromLastEventId() throws Exception {
+        server.enqueue(stream("retry: 1000\n\n: ping\n\n" + event(8) + event(9)));
+        server.enqueue(stream(event(10)));
+
+        client.start(7);
+
+        assertEquals(8, received.poll(5, TimeUnit.SECONDS).getId());
+        PostItem second = received.poll(5, TimeUnit.SECONDS);
+        assertEquals(9, second.getId());
+        assertEquals("t9", second.getTitle());
+        assertEquals(40, second.getStats().totalSeats);
+
+        RecordedRequest first = server.takeRequest();
+        assertEquals("7", first.getRequestUrl().queryParameter("since_id"));
+        assertEquals("text/event-stream", first.getHeader("Accept"));
+
+        // 서버가 닫으면 마지막 id 로 재연결
+        assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+        assertEquals(10, received.poll(5, TimeUnit.SECONDS).getId());
+        RecordedRequest reconnect = server.takeRequest();
+        assertEquals("9", reconnect.getHeader("Last-Event-ID"));
+        assertEquals("9", reconnect.getRequestUrl().queryParameter("since_id"));
+    }
+
+    @Test
+    public void reportsUnavailableWhenServerHasNoStream() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        client.start(0);
+
+        assertTrue(unavailable.await(5, TimeUnit.SECONDS));
+        RecordedRequest req = server.takeRequest();
+        assertNull(req.getRequestUrl().queryParameter("since_id"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void plainJsonResponseMeansNoPush() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("[]"));
+
+        client.start(3);
+
+        assertTrue(unavailable.await(5, TimeUnit.SECONDS));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void busyServerDelaysReconnectByRetryAfter() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "3"));
+        server.enqueue(stream(event(5)));
+
+        client.start(4);
+
+        assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+        server.takeRequest(); // 503
+        // 평소 간격(1초)이 아니라 Retry-After 동안은 다시 붙지 않음
+        assertNull(server.takeRequest(2, TimeUnit.SECONDS));
+        assertEquals(5, received.poll(5, TimeUnit.SECONDS).getId());
+    }
+}
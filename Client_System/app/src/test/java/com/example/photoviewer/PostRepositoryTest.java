@@ -0,0 +1,154 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class PostRepositoryTest {
+
+    private MockWebServer server;
+    private PostRepository repo;
+    private final List<List<PostItem>> persisted = Collections.synchronizedList(new ArrayList<>());
+    private final List<List<Integer>> removed = Collections.synchronizedList(new ArrayList<>());
+    private long now = 1_000;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        repo = new PostRepository(new PostSync(server.url("/api_root/Post/").toString()),
+                persisted::add, removed::add, () -> now);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private static String post(int id, int minute) {
+        return "{\"id\":" + id + ",\"text\":\"남은 좌석: " + id + "석\","
+                + "\"created_date\":\"2025-12-18T12:" + (minute < 10 ? "0" : "") + minute + ":00+09:00\"}";
+    }
+
+    private static MockResponse page(int count, String... posts) {
+        return new MockResponse().setBody("{\"count\":" + count + ",\"results\":[" + String.join(",", posts) + "]}");
+    }
+
+    @Test
+    public void snapshotIsSortedImmutableAndReusedWhileFresh() throws Exception {
+        // id 순서와 시간 순서가 다른 응답
+        server.enqueue(page(30, post(1, 5), post(3, 20), post(2, 10)));
+
+        PostRepository.Snapshot s = repo.refresh(3000);
+        assertEquals(1, s.version);
+        assertEquals(30, s.totalCount);
+        assertEquals(3, s.highestId);
+        assertEquals(3, s.posts.get(0).getId());
+        assertEquals(1, s.posts.get(2).getId());
+        assertEquals(2, s.newest(2).get(1).getId());
+        try {
+            s.posts.clear();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals(1, persisted.size());
+
+        // 3초가 안 지났으면 네트워크 없이 같은 Snapshot
+        now += 2999;
+        assertSame(s, repo.refresh(3000));
+        assertEquals(1, server.getRequestCount());
+
+        // 지나면 since_id 로 델타, 바뀐 게 없으면 버전 그대로
+        now += 1;
+        server.enqueue(page(0));
+        PostRepository.Snapshot same = repo.refresh(3000);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, same.version);
+        assertSame(s.posts, same.posts);
+        assertEquals(1, persisted.size());
+    }
+
+    @Test
+    public void fullSyncRemovesDeletedPostsFromStore() throws Exception {
+        server.enqueue(page(3, post(1, 5), post(2, 10), post(3, 20)));
+        repo.refresh(0);
+        for (int i = 0; i < PostSync.FULL_SYNC_EVERY; i++) {
+            server.enqueue(page(0));
+            repo.refresh(0);
+        }
+        assertTrue(removed.isEmpty());
+
+        // 전체 조회에서 2 가 빠짐 → 저장소에서도 뺀다 (다시 쓸 글은 없음)
+        server.enqueue(page(2, post(1, 5), post(3, 20)));
+        PostRepository.Snapshot s = repo.refresh(0);
+        assertEquals(2, s.posts.size());
+        assertEquals(Collections.singletonList(Collections.singletonList(2)), removed);
+        assertEquals(1, persisted.size());
+    }
+
+    @Test
+    public void concurrentCallersShareOneRequest() throws Exception {
+        server.enqueue(page(1, post(1, 0)).setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        int callers = 4;
+        CountDownLatch done = new CountDownLatch(callers);
+        PostRepository.Snapshot[] results = new PostRepository.Snapshot[callers];
+        for (int i = 0; i < callers; i++) {
+            int k = i;
+            new Thread(() -> {
+                try {
+                    results[k] = repo.refresh(0);
+                } catch (Exception ignored) {
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, server.getRequestCount());
+        for (PostRepository.Snapshot r : results) assertSame(results[0], r);
+        assertEquals(1, results[0].posts.size());
+    }
+
+    @Test
+    public void failureKeepsSnapshotAndPushMergesAfterFirstSync() throws Exception {
+        List<PostRepository.Snapshot> seen = new ArrayList<>();
+        repo.addListener(seen::add);
+
+        // 첫 동기화 전 푸시는 무시
+        assertNull(repo.ingest(Collections.singletonList(new PostItem(9, "t", "", "", "", "", "edge"))));
+
+        server.enqueue(page(1, post(1, 0)));
+        repo.refresh(0);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        try {
+            repo.refresh(0);
+            fail();
+        } catch (java.io.IOException expected) {
+        }
+        assertEquals(1, repo.current().posts.size());
+
+        PostRepository.Snapshot pushed = repo.ingest(Collections.singletonList(
+                new PostItem(2, "t", "", "2025-12-18T12:30:00+09:00", "", "", "edge")));
+        assertEquals(2, pushed.version);
+        assertEquals(1, pushed.added);
+        assertEquals(2, pushed.totalCount);
+        assertEquals(2, pushed.posts.get(0).getId());
+        assertEquals(2, seen.size());
+        assertSame(pushed, seen.get(1));
+        // 기기 저장소에는 들어온 글만
+        assertEquals(1, persisted.get(persisted.size() - 1).size());
+        assertEquals(2, persisted.get(persisted.size() - 1).get(0).getId());
+    }
+}
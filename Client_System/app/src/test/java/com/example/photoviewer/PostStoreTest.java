@@ -0,0 +1,201 @@
+package com.example.photoviewer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PostStoreTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    // 2025-12-18T12:00:00+09:00
+    private static final long NOW = IsoTime.parseEpochMs("2025-12-18T12:00:00+09:00");
+
+    private File file;
+    private long now = NOW;
+
+    @Before
+    public void setUp() throws Exception {
+        file = new File(tmp.getRoot(), "posts.log");
+    }
+
+    private PostStore open(long retentionMs, int maxPosts) {
+        return new PostStore(file, retentionMs, maxPosts, () -> now);
+    }
+
+    private static PostItem post(int id, String created, String text) {
+        return new PostItem(id, "t" + id, text, created, null, "http://x/" + id + ".jpg", "edge");
+    }
+
+    private static PostItem post(int id, int day) {
+        return post(id, "2025-12-" + (10 + day) + "T12:00:00+09:00", "총 좌석 수: 40석\n- 남은 좌석: " + id + "석");
+    }
+
+    @Test
+    public void reopenedStoreReturnsPostsNewestFirstWithStats() {
+        PostStore store = open(30 * DAY, 100);
+        assertTrue(store.putAll(Arrays.asList(post(1, 6), post(3, 8), post(2, 7))));
+
+        PostStore reopened = open(30 * DAY, 100);
+        List<PostItem> posts = reopened.newestFirst(10);
+        assertEquals(3, posts.size());
+        assertEquals(3, posts.get(0).getId());
+        assertEquals(1, posts.get(2).getId());
+        assertEquals(3, reopened.getHighestId());
+        assertEquals(40, posts.get(0).getStats().totalSeats);
+        assertEquals(3, posts.get(0).getStats().remainSeats);
+        assertEquals("http://x/3.jpg", reopened.get(3).getImageUrl());
+        assertNull(reopened.get(3).getPublishedDateRaw());
+        assertEquals(2, reopened.newestFirst(2).size());
+    }
+
+    @Test
+    public void betweenReturnsOnlyTheRequestedTimeRange() {
+        PostStore store = open(30 * DAY, 100);
+        store.putAll(Arrays.asList(post(1, 6), post(2, 7), post(3, 8), post(4, 9)));
+        long day7 = IsoTime.parseEpochMs("2025-12-17T12:00:00+09:00");
+
+        assertEquals(Arrays.asList(3, 2), ids(store.between(day7, day7 + 2 * DAY, 10)));
+        assertEquals(Collections.singletonList(3), ids(store.between(day7, day7 + 2 * DAY, 1)));
+        assertTrue(store.between(NOW + 2 * DAY, NOW + 3 * DAY, 10).isEmpty());
+
+        // 새로 넣으면 색인을 다시 만든다
+        store.putAll(Collections.singletonList(post(5, 7)));
+        assertEquals(Arrays.asList(5, 2), ids(store.between(day7, day7 + 1, 10)));
+    }
+
+    @Test
+    public void unchangedPostsAreNotAppendedAgain() {
+        PostStore store = open(30 * DAY, 100);
+        store.putAll(Arrays.asList(post(1, 6), post(2, 7)));
+        long bytes = store.fileBytes();
+
+        assertFalse(store.putAll(Arrays.asList(post(1, 6), post(2, 7))));
+        assertEquals(bytes, store.fileBytes());
+
+        // 내용이 바뀐 글은 덮어쓰고, 다시 열어도 마지막 내용
+        PostItem edited = post(2, "2025-12-17T12:00:00+09:00", "남은 좌석: 9석");
+        assertTrue(store.putAll(Collections.singletonList(edited)));
+        assertEquals(9, open(30 * DAY, 100).get(2).getStats().remainSeats);
+
+        // 컬럼형 글: 본문은 그대로(null) 수치만 바뀌어도 덮어씀
+        PostItem columnar = new PostItem(3, "t3", null, "2025-12-17T13:00:00+09:00", null, "", "edge",
+                new ParsedStats(40, 30, 0, 10));
+        store.putAll(Collections.singletonList(columnar));
+        PostItem updated = new PostItem(3, "t3", null, "2025-12-17T13:00:00+09:00", null, "", "edge",
+                new ParsedStats(40, 35, 2, 5));
+        assertTrue(store.putAll(Collections.singletonList(updated)));
+        assertEquals(5, open(30 * DAY, 100).get(3).getStats().remainSeats);
+    }
+
+    @Test
+    public void retentionDropsOldPostsAndCap() {
+        PostStore store = open(3 * DAY, 100);
+        // NOW = 18일, 3일 보관 → 15일 12시 이전은 버림
+        store.putAll(Arrays.asList(post(1, 3), post(2, 5), post(3, 6), post(4, 8)));
+        assertEquals(3, store.size());
+        assertNull(store.get(1));
+
+        // 시간이 흘러 다시 열면 그 사이 만료된 글도 빠짐
+        now = NOW + 2 * DAY;
+        PostStore later = open(3 * DAY, 100);
+        assertEquals(1, later.size());
+        assertEquals(4, later.newestFirst(10).get(0).getId());
+
+        PostStore capped = open(30 * DAY, 2);
+        capped.clear();
+        capped.putAll(Arrays.asList(post(5, 1), post(6, 2), post(7, 3)));
+        assertEquals(Arrays.asList(7, 6), ids(capped.newestFirst(10)));
+    }
+
+    @Test
+    public void compactionKeepsOnlyLiveRecords() {
+        PostStore store = open(30 * DAY, 100);
+        for (int round = 0; round < 300; round++) {
+            PostItem p = post(1, "2025-12-17T12:00:00+09:00", "남은 좌석: " + round + "석");
+            store.putAll(Collections.singletonList(p));
+        }
+        assertTrue(store.logRecords() < 300);
+
+        store.compact();
+        assertEquals(1, store.logRecords());
+        PostStore reopened = open(30 * DAY, 100);
+        assertEquals(1, reopened.size());
+        assertEquals(299, reopened.get(1).getStats().remainSeats);
+    }
+
+    @Test
+    public void removedPostsStayRemovedAfterReload() {
+        PostStore store = open(30 * DAY, 100);
+        store.putAll(Arrays.asList(post(1, 6), post(2, 7), post(3, 8)));
+
+        assertTrue(store.removeAll(Arrays.asList(3, 9)));
+        assertFalse(store.removeAll(Collections.singletonList(9)));
+        assertEquals(2, store.getHighestId());
+        assertEquals(4, store.logRecords());
+
+        PostStore reopened = open(30 * DAY, 100);
+        assertEquals(Arrays.asList(2, 1), ids(reopened.newestFirst(10)));
+        assertEquals(2, reopened.getHighestId());
+
+        // compaction 하면 지운 글의 레코드(PUT + DELETE)는 파일에서도 사라짐
+        reopened.compact();
+        assertEquals(2, reopened.logRecords());
+        assertNull(open(30 * DAY, 100).get(3));
+    }
+
+    @Test
+    public void failedAppendIsRewrittenByCompaction() {
+        PostStore store = open(30 * DAY, 100);
+        store.putAll(Collections.singletonList(post(1, 6)));
+
+        // 로그 자리에 디렉터리가 있으면 덧붙이기도 compaction 도 실패 → 메모리에만 남음
+        assertTrue(file.delete());
+        assertTrue(file.mkdir());
+        assertTrue(store.putAll(Collections.singletonList(post(2, 7))));
+        assertEquals(2, store.size());
+
+        // 다시 쓸 수 있게 되면 다음 변경 때 통째로 다시 써서 빠진 글이 없음
+        assertTrue(file.delete());
+        store.putAll(Collections.singletonList(post(3, 8)));
+        assertEquals(3, store.logRecords());
+        assertEquals(Arrays.asList(3, 2, 1), ids(open(30 * DAY, 100).newestFirst(10)));
+    }
+
+    @Test
+    public void truncatedTailIsIgnored() throws Exception {
+        PostStore store = open(30 * DAY, 100);
+        store.putAll(Collections.singletonList(post(1, 6)));
+        long good = store.fileBytes();
+        store.putAll(Collections.singletonList(post(2, 7)));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(store.fileBytes() - 5); // 두 번째 레코드 쓰다가 죽은 것처럼
+        }
+
+        PostStore reopened = open(30 * DAY, 100);
+        assertEquals(1, reopened.size());
+        assertEquals(good, reopened.fileBytes());
+
+        // 잘라낸 뒤에 이어 쓴 레코드도 정상으로 읽힘
+        reopened.putAll(Collections.singletonList(post(3, 8)));
+        assertEquals(Arrays.asList(3, 1), ids(open(30 * DAY, 100).newestFirst(10)));
+    }
+
+    private static List<Integer> ids(List<PostItem> posts) {
+        Integer[] out = new Integer[posts.size()];
+        for (int i = 0; i < out.length; i++) out[i] = posts.get(i).getId();
+        return Arrays.asList(out);
+    }
+}
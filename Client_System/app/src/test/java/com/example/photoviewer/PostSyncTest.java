@@ -0,0 +1,184 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class PostSyncTest {
+
+    private MockWebServer server;
+    private PostSync sync;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        sync = new PostSync(server.url("/api_root/Post/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private static String post(int id) {
+        return "{\"id\":" + id + ",\"title\":\"t" + id + "\",\"text\":\"총 좌석 수: 40석\","
+                + "\"created_date\":\"2025-12-18T12:0" + (id % 10) + ":00+09:00\","
+                + "\"published_date\":null,\"image\":null,\"author\":\"edge\"}";
+    }
+
+    private static MockResponse page(String etag, int... ids) {
+        StringBuilder sb = new StringBuilder("{\"count\":" + ids.length + ",\"results\":[");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(post(ids[i]));
+        }
+        sb.append("]}");
+        return new MockResponse().setHeader("ETag", etag).setBody(sb.toString());
+    }
+
+    @Test
+    public void deltaIsRequestedAndMerged() throws Exception {
+        server.enqueue(page("\"a\"", 3, 2, 1));
+        server.enqueue(page("\"b\"", 5, 4));
+
+        assertEquals(3, sync.poll().size());
+        RecordedRequest first = server.takeRequest();
+        assertNull(first.getRequestUrl().queryParameter("since_id"));
+
+        List<PostItem> merged = sync.poll();
+        RecordedRequest second = server.takeRequest();
+        assertEquals("3", second.getRequestUrl().queryParameter("since_id"));
+        assertEquals(5, merged.size());
+        assertEquals(2, sync.getLastAddedCount());
+        assertEquals(5, sync.getHighestId());
+        assertTrue(sync.isLastPollChanged());
+    }
+
+    @Test
+    public void notModifiedKeepsListAndSendsValidator() throws Exception {
+        server.enqueue(page("\"a\"", 2, 1));
+        server.enqueue(page("\"d\"")); // 빈 델타
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        sync.poll();
+        server.takeRequest();
+        sync.poll();
+        server.takeRequest();
+
+        List<PostItem> posts = sync.poll();
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals("\"d\"", conditional.getHeader("If-None-Match"));
+        assertEquals(2, posts.size());
+        assertFalse(sync.isLastPollChanged());
+    }
+
+    @Test
+    public void stopsEarlyWhenServerIgnoresFilter() throws Exception {
+        server.enqueue(page("\"a\"", 3, 2, 1));
+        // since_id 를 무시하고 최신순 전체를 다시 주는 서버
+        server.enqueue(page("\"b\"", 5, 4, 3, 2, 1));
+
+        sync.poll();
+        List<PostItem> posts = sync.poll();
+
+        assertEquals(5, posts.size());
+        assertEquals(2, sync.getLastAddedCount());
+        assertEquals(5, sync.getHighestId());
+    }
+
+    @Test
+    public void fallsBackToFullWhenIgnoredFilterIsNotNewestFirst() throws Exception {
+        server.enqueue(page("\"a\"", 3, 2, 1));
+        // since_id 를 무시하고 오래된 순으로 전체를 주는 서버 (1 은 삭제됨)
+        server.enqueue(page("\"b\"", 2, 3, 4));
+
+        sync.poll();
+        List<PostItem> posts = sync.poll();
+
+        assertEquals(3, posts.size());
+        assertEquals(1, sync.getLastAddedCount());
+        for (PostItem p : posts) assertNotEquals(1, p.getId());
+    }
+
+    @Test
+    public void serverErrorReturnsNullAndKeepsState() throws Exception {
+        server.enqueue(page("\"a\"", 2, 1));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(page("\"b\"", 3));
+
+        sync.poll();
+        assertNull(sync.poll());
+        assertEquals(2, sync.getHighestId());
+
+        assertEquals(3, sync.poll().size());
+    }
+
+    @Test
+    public void fullSyncAsksForOnePageAndReportsOnlyRealChanges() throws Exception {
+        server.enqueue(page("\"a\"", 3, 2, 1));
+        sync.poll();
+        RecordedRequest first = server.takeRequest();
+        assertEquals("1", first.getRequestUrl().queryParameter("page"));
+        assertEquals(String.valueOf(PostSync.WINDOW), first.getRequestUrl().queryParameter("page_size"));
+
+        // 같은 내용의 전체 응답은 변경이 아님
+        skipToFullSync();
+        server.enqueue(page("\"b\"", 3, 2, 1));
+        sync.poll();
+        assertEquals("1", server.takeRequest().getRequestUrl().queryParameter("page"));
+        assertFalse(sync.isLastPollChanged());
+        assertTrue(sync.getLastUpdated().isEmpty());
+        assertTrue(sync.getLastRemoved().isEmpty());
+
+        // 지워진 글(2)이 빠지면 변경
+        skipToFullSync();
+        server.enqueue(page("\"c\"", 3, 1));
+        List<PostItem> posts = sync.poll();
+        assertTrue(sync.isLastPollChanged());
+        assertEquals(2, posts.size());
+        assertTrue(sync.getLastUpdated().isEmpty());
+        assertEquals(Collections.singletonList(2), sync.getLastRemoved());
+    }
+
+    @Test
+    public void keepsOnlyNewestWindowInMemory() throws Exception {
+        int[] ids = new int[PostSync.WINDOW];
+        for (int i = 0; i < ids.length; i++) ids[i] = ids.length - i;
+        server.enqueue(page("\"a\"", ids));
+        sync.poll();
+        server.enqueue(page("\"b\"", PostSync.WINDOW + 2, PostSync.WINDOW + 1));
+
+        List<PostItem> posts = sync.poll();
+
+        assertEquals(PostSync.WINDOW, posts.size());
+        assertEquals(PostSync.WINDOW + 2, sync.getHighestId());
+        // 생성 시각이 가장 오래된 글부터 버림 (이 픽스처에서는 12:00 의 10, 20)
+        boolean hasNewest = false;
+        for (PostItem p : posts) {
+            assertNotEquals(10, p.getId());
+            assertNotEquals(20, p.getId());
+            if (p.getId() == PostSync.WINDOW + 2) hasNewest = true;
+        }
+        assertTrue(hasNewest);
+        assertEquals(2, sync.getLastUpdated().size());
+    }
+
+    /** 빈 델타로 FULL_SYNC_EVERY 번 채워서 다음 poll 이 전체 조회가 되게 */
+    private void skipToFullSync() throws Exception {
+        for (int i = 0; i < PostSync.FULL_SYNC_EVERY; i++) {
+            server.enqueue(page("\"d" + i + "\""));
+            sync.poll();
+            server.takeRequest();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.photoviewer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RefreshSchedulerTest {
+
+    private RefreshScheduler<Integer> scheduler;
+
+    @After
+    public void tearDown() {
+        if (scheduler != null) scheduler.shutdown();
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier cond) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (!cond.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timeout");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void backoffDoublesUpToMax() {
+        assertEquals(3000, RefreshScheduler.delayFor(0, 3000, 60_000));
+        assertEquals(6000, RefreshScheduler.delayFor(1, 3000, 60_000));
+        assertEquals(24_000, RefreshScheduler.delayFor(3, 3000, 60_000));
+        assertEquals(60_000, RefreshScheduler.delayFor(5, 3000, 60_000));
+        assertEquals(60_000, RefreshScheduler.delayFor(100, 3000, 60_000));
+    }
+
+    @Test
+    public void intervalPolicyIsAskedBeforeEachReschedule() throws Exception {
+        AtomicInteger asked = new AtomicInteger();
+        CountDownLatch threeRuns = new CountDownLatch(3);
+
+        scheduler = new RefreshScheduler<>(() -> {
+            threeRuns.countDown();
+            return 1;
+        }, r -> {}, Runnable::run, () -> {
+            asked.incrementAndGet();
+            return 10L;
+        }, 1_000);
+
+        scheduler.start();
+        assertTrue(threeRuns.await(2, TimeUnit.SECONDS));
+        assertTrue(asked.get() >= 2);
+    }
+
+    @Test
+    public void onlyOneFetchInFlightAndRequestsCoalesce() throws Exception {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        scheduler = new RefreshScheduler<>(() -> {
+            int c = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(c, Math::max);
+            int n = runs.incrementAndGet();
+            if (n == 1) release.await(2, TimeUnit.SECONDS);
+            concurrent.decrementAndGet();
+            return n;
+        }, results::add, Runnable::run, 60_000, 60_000);
+
+        scheduler.start();
+        waitUntil(() -> runs.get() == 1);
+        for (int i = 0; i < 10; i++) scheduler.refreshNow();
+        release.countDown();
+
+        waitUntil(() -> results.size() == 2);
+        Thread.sleep(100);
+        assertEquals(2, runs.get()); // 10번 요청이 1번으로 합쳐짐
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    public void failuresBackOffAndSuccessResets() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        List<Exception> errors = new CopyOnWriteArrayList<>();
+
+        scheduler = new RefreshScheduler<>(() -> {
+            if (runs.incrementAndGet() <= 2) throw new IOException("503");
+            return 1;
+        }, new RefreshScheduler.Listener<Integer>() {
+            @Override public void onResult(Integer r) {}
+            @Override public void onError(Exception e) { errors.add(e); }
+        }, Runnable::run, 20, 10_000);
+
+        scheduler.start();
+        waitUntil(() -> errors.size() == 2);
+        assertEquals(2, scheduler.getConsecutiveFailures());
+        waitUntil(() -> runs.get() >= 3);
+        waitUntil(() -> scheduler.getConsecutiveFailures() == 0);
+    }
+
+    @Test
+    public void stopDropsInFlightResultAndStopsPolling() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        scheduler = new RefreshScheduler<>(() -> {
+            runs.incrementAndGet();
+            entered.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return 1;
+        }, results::add, Runnable::run, 10, 10);
+
+        scheduler.start();
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+        scheduler.stop();
+        release.countDown();
+
+        Thread.sleep(150);
+        assertTrue(results.isEmpty());
+        assertEquals(1, runs.get());
+        assertFalse(scheduler.isRunning());
+    }
+
+    @Test
+    public void pauseDeliversInFlightResultButStopsPolling() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        scheduler = new RefreshScheduler<>(() -> {
+            runs.incrementAndGet();
+            entered.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return 1;
+        }, results::add, Runnable::run, 10, 10);
+
+        scheduler.start();
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+        scheduler.pause(); // 푸시 연결됨
+        release.countDown();
+
+        waitUntil(() -> results.size() == 1);
+        Thread.sleep(150);
+        assertEquals(1, runs.get());
+        assertFalse(scheduler.isRunning());
+    }
+
+    @Test
+    public void restartWhileOldFetchInFlightRunsAgain() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        scheduler = new RefreshScheduler<>(() -> {
+            int n = runs.incrementAndGet();
+            if (n == 1) release.await(2, TimeUnit.SECONDS);
+            return n;
+        }, results::add, Runnable::run, 60_000, 60_000);
+
+        scheduler.start();
+        waitUntil(() -> runs.get() == 1);
+        scheduler.stop();
+        scheduler.start();
+        release.countDown();
+
+        waitUntil(() -> results.size() == 1);
+        assertEquals(Integer.valueOf(2), results.get(0));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.photoviewer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.Assert.fail;
+
+/**
+ * 규모 테스트 측정값 (이름 → 정수). 보고서로 남기고 기준값과 비교한다.
+ * - 이름 끝이 단위: .ms (시간) / .mb (힙 최고치 증가량) / .requests (서버가 받은 요청 수)
+ * - 기준값: 테스트 리소스 scale-baseline.properties. 기준값 * (1 + scale.tolerance) + 단위별 여유를
+ *   넘으면 회귀로 보고 테스트를 실패시킨다 (→ 빌드 실패). 기준값에 없는 이름은 보고만 한다
+ * - 보고서: scale.reportDir (기본 build/reports/scale) 의 pipeline-scale.properties.
+ *   기준값을 바꿀 때는 이 파일에서 옮겨 적는다 (느린 CI 를 생각해 넉넉하게)
+ */
+final class ScaleReport {
+
+    static final String BASELINE = "/scale-baseline.properties";
+    static final String FILE_NAME = "pipeline-scale.properties";
+
+    // 작은 값은 잡음이 커서 비율만으로 보지 않는다
+    private static final long SLACK_MS = 100;
+    private static final long SLACK_MB = 16;
+    private static final long SLACK_REQUESTS = 3;
+
+    private final Map<String, Long> values = new TreeMap<>();
+    private final Properties baseline = new Properties();
+    private final double tolerance;
+
+    ScaleReport() {
+        tolerance = Double.parseDouble(System.getProperty("scale.tolerance", "0.5"));
+        try (InputStream in = ScaleReport.class.getResourceAsStream(BASELINE)) {
+            if (in != null) baseline.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("기준값을 읽지 못함 : " + BASELINE, e);
+        }
+    }
+
+    synchronized void put(String name, long value) {
+        values.put(name, value);
+    }
+
+    /** prefix 로 시작하는 측정값 중 기준값을 넘은 것이 있으면 모두 모아서 실패 */
+    synchronized void assertNoRegression(String prefix) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Long> e : values.entrySet()) {
+            String name = e.getKey();
+            String base = baseline.getProperty(name);
+            if (!name.startsWith(prefix) || base == null) continue;
+            long limit = (long) (Long.parseLong(base.trim()) * (1 + tolerance)) + slack(name);
+            if (e.getValue() > limit) {
+                regressions.add(name + " = " + e.getValue() + " (기준 " + base.trim() + ", 한도 " + limit + ")");
+            }
+        }
+        if (!regressions.isEmpty()) fail("성능 회귀 :\n  " + String.join("\n  ", regressions));
+    }
+
+    /** 보고서를 쓰고 표로 출력한다 (기준값 파일과 같은 name=value 형식, 이름순) */
+    synchronized void write() throws IOException {
+        StringBuilder file = new StringBuilder("# PipelineScaleTest\n");
+        StringBuilder table = new StringBuilder("== 규모 테스트 (tolerance " + tolerance + ") ==\n");
+        for (Map.Entry<String, Long> e : values.entrySet()) {
+            file.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+            String base = baseline.getProperty(e.getKey());
+            table.append(String.format(Locale.ROOT, "%-40s %10d   기준 %s%n",
+                    e.getKey(), e.getValue(), base == null ? "-" : base.trim()));
+        }
+        System.out.print(table);
+
+        File dir = new File(System.getProperty("scale.reportDir", "build/reports/scale"));
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("보고서 폴더를 만들 수 없음 : " + dir);
+        try (Writer w = new OutputStreamWriter(new FileOutputStream(new File(dir, FILE_NAME)), StandardCharsets.UTF_8)) {
+            w.write(file.toString());
+        }
+    }
+
+    private static long slack(String name) {
+        if (name.endsWith(".ms")) return SLACK_MS;
+        if (name.endsWith(".mb")) return SLACK_MB;
+        if (name.endsWith(".requests")) return SLACK_REQUESTS;
+        return 0;
+    }
+}
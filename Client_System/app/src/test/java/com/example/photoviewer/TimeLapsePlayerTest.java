@@ -0,0 +1,207 @@
+package com.example.photoviewer;
+
+import android.graphics.Bitmap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TimeLapsePlayerTest {
+
+    private static final long T0 = 1_000_000_000L;
+    private static final long MS = 1_000_000L;
+    private static final int FPS = 10; // 프레임당 100ms
+
+    /** 디코딩한 프레임 / 화면에 붙인 것 / 돌려받은 횟수를 기록한다 */
+    private static final class FakeBackend implements TimeLapsePlayer.Backend {
+        final List<Integer> decoded = new ArrayList<>();
+        final Map<Bitmap, Integer> created = new IdentityHashMap<>();
+        final Map<Bitmap, Integer> recycled = new IdentityHashMap<>();
+        final Set<Integer> failing = new HashSet<>();
+        Bitmap onScreen;
+
+        @Override
+        public synchronized Bitmap decode(int index) {
+            decoded.add(index);
+            if (failing.contains(index)) throw new IllegalStateException("decode " + index);
+            Bitmap b = new Bitmap();
+            created.put(b, index);
+            return b;
+        }
+
+        @Override
+        public void show(int index, Bitmap frame) {
+            onScreen = frame;
+        }
+
+        @Override
+        public void recycle(Bitmap frame) {
+            assertNotSame("화면에 붙은 프레임을 돌려받음", onScreen, frame);
+            recycled.merge(frame, 1, Integer::sum);
+        }
+    }
+
+    private FakeBackend backend;
+    private ArrayDeque<Runnable> workers;
+    private int finished;
+
+    @Before
+    public void setUp() {
+        backend = new FakeBackend();
+        workers = new ArrayDeque<>();
+        finished = 0;
+    }
+
+    private TimeLapsePlayer player(int frames, int buffer) {
+        return new TimeLapsePlayer(backend, new TimeLapsePlayer.Listener() {
+            @Override
+            public void onFrame(int index) {}
+
+            @Override
+            public void onFinished() {
+                finished++;
+            }
+        }, workers::add, Runnable::run, cb -> {}, frames, FPS, buffer);
+    }
+
+    /** 지금 줄 서 있는 디코딩만 끝낸다 (그 결과로 새로 시작한 것은 다음 차례) */
+    private void decodeQueued() {
+        for (int n = workers.size(); n > 0; n--) workers.poll().run();
+    }
+
+    @Test
+    public void steadyRateOncePrimed() {
+        TimeLapsePlayer p = player(20, 4);
+        p.play();
+        assertEquals(4, p.getBufferedCount());
+        decodeQueued();
+
+        // 화면 프레임 50ms 마다, 그 사이 디코딩은 제때 끝남
+        for (int i = 0; p.isPlaying() && i < 100; i++) {
+            p.tick(T0 + i * 50 * MS);
+            assertEquals(i / 2, p.getShownIndex());
+            assertTrue(p.getBufferedCount() <= 4);
+            decodeQueued();
+        }
+
+        assertFalse(p.isPlaying());
+        assertEquals(1, finished);
+        assertEquals(20, p.getFramesShown());
+        assertEquals(0, p.getDroppedFrames());
+        assertEquals(0, p.getUnderruns());
+    }
+
+    @Test
+    public void skipsFramesWhenDecodingFallsBehind() {
+        TimeLapsePlayer p = player(20, 2);
+        p.play();
+        decodeQueued();
+        p.tick(T0);
+        assertEquals(0, p.getShownIndex());
+
+        // 디코딩 없이 0.5초: 재생 위치 5, 준비된 것 중 가장 늦은 1 을 보여 줌
+        p.tick(T0 + 500 * MS);
+        assertEquals(1, p.getShownIndex());
+        assertEquals(1, p.getUnderruns());
+
+        decodeQueued();
+        p.tick(T0 + 600 * MS);
+        assertEquals(5, p.getShownIndex());
+        assertEquals(3, p.getDroppedFrames()); // 2, 3, 4
+        // 재생 위치가 이미 지난 프레임은 디코딩을 시작하지 않음
+        assertFalse(backend.decoded.contains(3));
+        assertFalse(backend.decoded.contains(4));
+    }
+
+    @Test
+    public void underrunHoldsLastFrameAndCountsOncePerPosition() {
+        TimeLapsePlayer p = player(10, 2);
+        p.play();
+        decodeQueued();
+        p.tick(T0);
+        p.tick(T0 + 100 * MS);
+        assertEquals(1, p.getShownIndex());
+        Bitmap held = backend.onScreen;
+
+        // 2 번이 아직 디코딩 중 → 1 번을 그대로 두고 끊김은 한 번만
+        p.tick(T0 + 200 * MS);
+        p.tick(T0 + 216 * MS);
+        p.tick(T0 + 250 * MS);
+        assertEquals(1, p.getShownIndex());
+        assertSame(held, backend.onScreen);
+        assertEquals(1, p.getUnderruns());
+        assertFalse(backend.recycled.containsKey(held));
+
+        p.tick(T0 + 300 * MS);
+        assertEquals(2, p.getUnderruns());
+
+        decodeQueued();
+        p.tick(T0 + 316 * MS);
+        assertEquals(3, p.getShownIndex());
+        assertEquals(1, p.getDroppedFrames());
+    }
+
+    @Test
+    public void pausedTimeIsNotCountedAsDrops() {
+        TimeLapsePlayer p = player(10, 3);
+        p.play();
+        decodeQueued();
+        p.tick(T0);
+        decodeQueued();
+        p.tick(T0 + 100 * MS);
+        p.pause();
+        decodeQueued();
+
+        // 10초 쉬었다가 이어 보기: 다음 프레임부터 시계를 다시 잰다
+        p.play();
+        p.tick(T0 + 10_000 * MS);
+        assertEquals(2, p.getShownIndex());
+        decodeQueued();
+        p.tick(T0 + 10_100 * MS);
+        assertEquals(3, p.getShownIndex());
+        assertEquals(0, p.getDroppedFrames());
+        assertEquals(0, p.getUnderruns());
+    }
+
+    @Test
+    public void failedStartFrameIsSkipped() {
+        backend.failing.add(0);
+        TimeLapsePlayer p = player(5, 2);
+        p.play();
+        decodeQueued();
+        p.tick(T0);
+        assertEquals(1, p.getShownIndex());
+        assertEquals(1, p.getDecodeFailures());
+    }
+
+    @Test
+    public void stopRecyclesEveryFrameExactlyOnce() {
+        TimeLapsePlayer p = player(20, 3);
+        p.play();
+        decodeQueued();
+        p.tick(T0);
+        decodeQueued();
+        p.tick(T0 + 100 * MS);
+        p.tick(T0 + 500 * MS); // 몇 개는 건너뛰면서 돌려줌
+        assertFalse(workers.isEmpty());
+
+        p.stop();
+        assertNull(backend.onScreen);
+        decodeQueued(); // stop() 전에 시작한 디코딩이 뒤늦게 도착
+        assertTrue(workers.isEmpty());
+
+        assertFalse(backend.created.isEmpty());
+        assertEquals(backend.created.size(), backend.recycled.size());
+        for (int count : backend.recycled.values()) assertEquals(1, count);
+        assertEquals(0, p.getBufferedCount());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.photoviewer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 피드 디코딩 (PostFetcher 가 응답 스트림에 하는 일): 바이트 → PostItem 목록.
+ * - decodeAll: 전체 목록 (History 첫 로드 / since_id 없는 폴링). 혼잡도 수치 파싱은 디코더가 행마다 같이 한다
+ * - decodeUntilKnown: 최신순 피드에서 가진 글(맨 위 10개 빼고 전부)에 닿으면 멈춤 (증분 폴링)
+ * - decodeAndParse: 디코딩 + 화면에서 읽는 값까지 (화면에 그리기 직전 상태)
+ * 한 번의 연산 = 피드 하나. 글 하나당 비용은 점수 / posts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedDecodeBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int posts;
+
+    @Param({"true", "false"})
+    public boolean paginated;
+
+    private byte[] feed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        feed = FeedPayloads.feed(posts, paginated, 42);
+        // 입력이 실제로 끝까지 읽히는지 한 번 확인
+        if (decode(0).size() != posts) throw new IllegalStateException("payload 디코딩 개수가 다름");
+    }
+
+    @Benchmark
+    public List<PostItem> decodeAll() throws IOException {
+        return decode(0);
+    }
+
+    @Benchmark
+    public List<PostItem> decodeUntilKnown() throws IOException {
+        return decode(Math.max(1, posts - 10));
+    }
+
+    @Benchmark
+    public long decodeAndParse() throws IOException {
+        long acc = 0;
+        for (PostItem p : decode(0)) {
+            acc += p.getStats().remainSeats + p.getCreatedEpochMs();
+        }
+        return acc;
+    }
+
+    private List<PostItem> decode(int stopAtId) throws IOException {
+        List<PostItem> out = new ArrayList<>();
+        PostFeedDecoder.of(new ByteArrayInputStream(feed)).decode(out, stopAtId);
+        return out;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.photoviewer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 벤치마크 입력: 서버(PostSerializer)가 실제로 내려주는 모양의 글.
+ * 엣지 장치(changedetection.py) 본문, 마이크로초 + 오프셋 created_date, 절대 URL image.
+ * 같은 seed 면 항상 같은 내용 (실행끼리 비교할 수 있게).
+ */
+final class FeedPayloads {
+
+    private static final String[] STATES = {"여유", "보통", "혼잡"};
+    private static final long BASE_EPOCH_MS = IsoTime.parseEpochMs("2025-12-18T08:00:00+09:00");
+
+    private FeedPayloads() {}
+
+    /** 엣지 장치 본문 */
+    static String edgeText(Random rnd, String createdDate) {
+        int total = 40;
+        int seated = rnd.nextInt(total + 1);
+        int queue = seated == total ? rnd.nextInt(8) : 0;
+        return createdDate.substring(0, 19).replace('T', ' ') + " 기준 학생식당 혼잡도 상태가 '"
+                + STATES[rnd.nextInt(STATES.length)] + "'로 변경되었습니다.\n"
+                + "- 총 좌석 수: " + total + "석\n"
+                + "- 착석 인원: " + seated + "명\n"
+                + "- 대기열 인원(서 있는 인원): " + queue + "명\n"
+                + "- 남은 좌석: " + (total - seated) + "석";
+    }
+
+    /** DRF DateTimeField 출력 (KST, 마이크로초) */
+    static String createdDate(Random rnd, long epochMs) {
+        long kst = epochMs + IsoTime.KST_OFFSET_MS;
+        long days = Math.floorDiv(kst, 24 * 60 * 60 * 1000L);
+        int msOfDay = (int) Math.floorMod(kst, 24 * 60 * 60 * 1000L);
+        int[] ymd = IsoTime.civilFromDays(days);
+        return String.format(Locale.ROOT, "%04d-%02d-%02dT%02d:%02d:%02d.%06d+09:00",
+                ymd[0], ymd[1], ymd[2],
+                msOfDay / 3_600_000, msOfDay / 60_000 % 60, msOfDay / 1000 % 60,
+                msOfDay % 1000 * 1000 + rnd.nextInt(1000));
+    }
+
+    /** 최신순 글 posts 개의 본문 배열 */
+    static String[] texts(int posts, long seed) {
+        Random rnd = new Random(seed);
+        String[] out = new String[posts];
+        for (int i = 0; i < posts; i++) out[i] = edgeText(rnd, createdDate(rnd, epochOf(posts, i)));
+        return out;
+    }
+
+    /** 최신순 글 posts 개의 created_date 배열 */
+    static String[] createdDates(int posts, long seed) {
+        Random rnd = new Random(seed);
+        String[] out = new String[posts];
+        for (int i = 0; i < posts; i++) out[i] = createdDate(rnd, epochOf(posts, i));
+        return out;
+    }
+
+    /**
+     * 최신순 피드 (UTF-8). paginated 면 {"count":..,"next":..,"previous":..,"results":[...]},
+     * 아니면 배열.
+     */
+    static byte[] feed(int posts, boolean paginated, long seed) {
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder(posts * 420 + 128);
+        if (paginated) {
+            sb.append("{\"count\":").append(posts)
+                    .append(",\"next\":\"https://soyeonkk.pythonanywhere.com/api_root/Post/?page=2\"")
+                    .append(",\"previous\":null,\"results\":");
+        }
+        sb.append('[');
+        for (int i = 0; i < posts; i++) {
+            if (i > 0) sb.append(',');
+            int id = posts - i;
+            long epochMs = epochOf(posts, i);
+            String created = createdDate(rnd, epochMs);
+            sb.append("{\"id\":").append(id)
+                    .append(",\"author\":\"edge\"")
+                    .append(",\"title\":\"혼잡도 변경\"")
+                    .append(",\"text\":");
+            appendJsonString(sb, edgeText(rnd, created));
+            sb.append(",\"created_date\":\"").append(created).append('"')
+                    .append(",\"published_date\":").append(rnd.nextInt(4) == 0 ? "null" : '"' + created + '"')
+                    .append(",\"image\":\"https://soyeonkk.pythonanywhere.com/media/blog_image/cam_")
+                    .append(id).append("_").append(Integer.toHexString(rnd.nextInt())).append(".jpg\"}");
+        }
+        sb.append(']');
+        if (paginated) sb.append('}');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * feed(posts, true, seed) 와 같은 글을 서버 ColumnarPostRenderer 모양으로.
+     * 엣지 본문은 네 수치가 다 있으므로 text 는 전부 null.
+     */
+    static byte[] columnarFeed(int posts, long seed) {
+        Random rnd = new Random(seed);
+        int[] total = new int[posts], seated = new int[posts], queue = new int[posts];
+        String[] created = new String[posts], published = new String[posts], images = new String[posts];
+        for (int i = 0; i < posts; i++) {
+            int id = posts - i;
+            created[i] = createdDate(rnd, epochOf(posts, i));
+            ParsedStats st = ParsedStats.parse(edgeText(rnd, created[i]));
+            total[i] = st.totalSeats;
+            seated[i] = st.seated;
+            queue[i] = st.queue;
+            published[i] = rnd.nextInt(4) == 0 ? null : created[i];
+            images[i] = "cam_" + id + "_" + Integer.toHexString(rnd.nextInt()) + ".jpg";
+        }
+
+        StringBuilder sb = new StringBuilder(posts * 150 + 256);
+        sb.append("{\"format\":\"columnar\",\"v\":1,\"n\":").append(posts)
+                .append(",\"count\":").append(posts)
+                .append(",\"next\":\"https://soyeonkk.pythonanywhere.com/api_root/Post/?page=2\"");
+        sb.append(",\"id\":[");
+        for (int i = 0; i < posts; i++) sb.append(i > 0 ? "," : "").append(posts - i);
+        sb.append("],\"author\":");
+        appendRepeated(sb, "\"edge\"", posts);
+        sb.append(",\"title\":");
+        appendRepeated(sb, "\"혼잡도 변경\"", posts);
+        appendStrings(sb.append(",\"created_date\":"), created);
+        appendStrings(sb.append(",\"published_date\":"), published);
+        sb.append(",\"image_base\":\"https://soyeonkk.pythonanywhere.com/media/blog_image/\"");
+        appendStrings(sb.append(",\"image\":"), images);
+        appendInts(sb.append(",\"total\":"), total, null);
+        appendInts(sb.append(",\"seated\":"), seated, null);
+        appendInts(sb.append(",\"queue\":"), queue, null);
+        appendInts(sb.append(",\"remain\":"), total, seated);
+        sb.append(",\"text\":");
+        appendRepeated(sb, "null", posts);
+        sb.append('}');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendRepeated(StringBuilder sb, String value, int n) {
+        sb.append('[');
+        for (int i = 0; i < n; i++) sb.append(i > 0 ? "," : "").append(value);
+        sb.append(']');
+    }
+
+    private static void appendStrings(StringBuilder sb, String[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            if (values[i] == null) sb.append("null");
+            else appendJsonString(sb, values[i]);
+        }
+        sb.append(']');
+    }
+
+    // minus 가 있으면 values - minus (남은 좌석)
+    private static void appendInts(StringBuilder sb, int[] values, int[] minus) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            sb.append(i > 0 ? "," : "").append(minus == null ? values[i] : values[i] - minus[i]);
+        }
+        sb.append(']');
+    }
+
+    // 최신순: i 번째 글은 30초씩 과거
+    private static long epochOf(int posts, int i) {
+        return BASE_EPOCH_MS + (long) (posts - i) * 30_000L;
+    }
+
+    private static void appendJsonString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                default: sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
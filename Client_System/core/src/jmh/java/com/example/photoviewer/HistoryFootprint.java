@@ -0,0 +1,58 @@
+package com.example.photoviewer;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 읽어 둔 기록이 힙에 남기는 크기: PostItem 목록 vs PostColumns.
+ * 목록은 화면에 한 번씩 그린 뒤 상태 (수치 파싱, 시각 문자열 캐시까지) 로 비교한다.
+ * JMH 가 아니라 한 번 재는 프로그램: ./gradlew :core:footprint  (-Pposts=10000)
+ */
+public final class HistoryFootprint {
+
+    private HistoryFootprint() {}
+
+    public static void main(String[] args) throws Exception {
+        int posts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        byte[] feed = FeedPayloads.feed(posts, false, 42);
+
+        long before = usedAfterGc();
+        List<PostItem> list = decode(feed);
+        for (PostItem p : list) {
+            p.getStats();
+            p.getCreatedTimeKor();
+        }
+        long listBytes = usedAfterGc() - before;
+
+        PostColumns columns = PostColumns.of(list);
+        if (columns.size() != posts) throw new IllegalStateException("행 수가 다름");
+        int keepId = list.get(posts / 2).getId();
+        list = null; // 열만 남긴다
+        long columnBytes = usedAfterGc() - before;
+
+        System.out.printf(Locale.ROOT, "posts=%d  PostItem list=%,d B (%.0f B/post)  PostColumns=%,d B (%.0f B/post)  %.1fx%n",
+                posts, listBytes, (double) listBytes / posts, columnBytes, (double) columnBytes / posts,
+                (double) listBytes / columnBytes);
+        // 측정 중에 입력/열이 수거되지 않게 끝에서 한 번 더 쓴다
+        if (columns.id(posts / 2) != keepId || feed.length == 0) throw new IllegalStateException();
+    }
+
+    private static List<PostItem> decode(byte[] feed) throws Exception {
+        List<PostItem> out = new ArrayList<>();
+        PostFeedDecoder.of(new ByteArrayInputStream(feed)).decode(out, 0);
+        return out;
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.photoviewer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OccupancySeries: 글 posts 개를 오래된 것부터 접어 넣기 (한 번의 연산 = posts 개, 이벤트당 비용은 나눠서 봄)
+ * 와 trend 조회 (기록 길이와 무관해야 함).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OccupancySeriesBenchmark {
+
+    @Param({"1000", "100000"})
+    public int posts;
+
+    private long[] epochs;
+    private int[][] stats; // total, seated, queue, remain
+    private OccupancySeries filled;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] texts = FeedPayloads.texts(posts, 42);
+        String[] dates = FeedPayloads.createdDates(posts, 42);
+        epochs = new long[posts];
+        stats = new int[posts][];
+        // 피드는 최신순 → 뒤집어서 오래된 것부터
+        for (int i = 0; i < posts; i++) {
+            int from = posts - 1 - i;
+            ParsedStats s = ParsedStats.parse(texts[from]);
+            epochs[i] = IsoTime.parseEpochMs(dates[from]);
+            stats[i] = new int[]{s.totalSeats, s.seated, s.queue, s.remainSeats};
+        }
+        filled = ingestAll();
+        now = epochs[posts - 1];
+    }
+
+    @Benchmark
+    public OccupancySeries ingest() {
+        return ingestAll();
+    }
+
+    @Benchmark
+    public void trend(Blackhole bh) {
+        bh.consume(filled.trend(now));
+    }
+
+    private OccupancySeries ingestAll() {
+        OccupancySeries series = new OccupancySeries(512);
+        for (int i = 0; i < posts; i++) {
+            int[] s = stats[i];
+            series.ingest(i + 1, epochs[i], s[0], s[1], s[2], s[3]);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.photoviewer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 본문 → 혼잡도 수치 (ParsedStats.parse) 와 created_date → epoch / 표시 문자열 (IsoTime).
+ * 한 번의 연산 = posts 개 전부 (목록 전체를 처음 그릴 때와 같음).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsParseBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int posts;
+
+    private String[] texts;
+    private String[] createdDates;
+    private long[] epochs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        texts = FeedPayloads.texts(posts, 42);
+        createdDates = FeedPayloads.createdDates(posts, 42);
+        epochs = new long[posts];
+        for (int i = 0; i < posts; i++) epochs[i] = IsoTime.parseEpochMs(createdDates[i]);
+        if (!ParsedStats.parse(texts[0]).isValid()) throw new IllegalStateException("본문에서 수치를 못 찾음");
+        if (epochs[0] == 0) throw new IllegalStateException("created_date 파싱 실패");
+    }
+
+    @Benchmark
+    public void parseStats(Blackhole bh) {
+        for (String t : texts) bh.consume(ParsedStats.parse(t));
+    }
+
+    @Benchmark
+    public void parseCreatedDate(Blackhole bh) {
+        for (String d : createdDates) bh.consume(IsoTime.parseEpochMs(d));
+    }
+
+    @Benchmark
+    public void formatKorTime(Blackhole bh) {
+        for (long e : epochs) bh.consume(IsoTime.formatKorTime(e));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.photoviewer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 폴링 한 번의 본문 처리 비용: 일반 JSON vs 컬럼형 JSON (같은 글).
+ * 두 경로 모두 혼잡도 수치까지 꺼낸 상태 (대시보드가 쓰는 값) 를 한 연산으로 센다.
+ * 본문 크기 (원본 / gzip) 는 setUp 에서 한 줄로 찍는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    // 10 = 한 페이지 (PAGE_SIZE), 나머지는 히스토리 전체 내려받기
+    @Param({"10", "100", "1000", "10000"})
+    public int posts;
+
+    private byte[] json;
+    private byte[] columnar;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = FeedPayloads.feed(posts, true, 42);
+        columnar = FeedPayloads.columnarFeed(posts, 42);
+        if (json() != columnar()) throw new IllegalStateException("두 형식의 내용이 다름");
+        System.out.printf(Locale.ROOT, "%n[payload] posts=%d json=%d B (gzip %d) columnar=%d B (gzip %d)%n",
+                posts, json.length, gzipSize(json), columnar.length, gzipSize(columnar));
+    }
+
+    @Benchmark
+    public long json() throws IOException {
+        List<PostItem> out = new ArrayList<>();
+        PostFeedDecoder.of(new ByteArrayInputStream(json)).decode(out, 0);
+        return sum(out);
+    }
+
+    @Benchmark
+    public long columnar() throws IOException {
+        List<PostItem> out = new ArrayList<>();
+        PostFeedDecoder.of(new ByteArrayInputStream(columnar)).decodeColumnar(out, 0);
+        return sum(out);
+    }
+
+    private static long sum(List<PostItem> posts) {
+        long acc = 0;
+        for (PostItem p : posts) {
+            ParsedStats s = p.getStats();
+            acc += p.getId() * 31L + s.totalSeats + s.seated + s.queue + s.remainSeats;
+        }
+        return acc;
+    }
+
+    private static int gzipSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.size();
+    }
+}
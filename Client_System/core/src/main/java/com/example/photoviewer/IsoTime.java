@@ -0,0 +1,168 @@
+package com.example.photoviewer;
+
+import java.util.Locale;
+
+/**
+ * 서버 created_date 용 ISO-8601 파서 / 한국 시간 표시 (객체 생성 없음).
+ * 예: 2025-12-18T19:11:09.123456+09:00, 2025-12-18T10:11:09Z, 2025-12-18 19:11:09
+ * - 오프셋(+09:00, +0900, Z)이 있으면 그대로 반영하고, 없으면 KST(+09:00)로 본다
+ * - 소수 초는 밀리초까지만 사용
+ * 형식이 틀리면 0 (예전 SimpleDateFormat 버전과 같음).
+ */
+public final class IsoTime {
+
+    public static final long KST_OFFSET_MS = 9 * 60 * 60 * 1000L;
+    private static final long MS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private IsoTime() {}
+
+    public static long parseEpochMs(String s) {
+        if (s == null || s.length() < 19) return 0L;
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return 0L;
+        }
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(13) != ':' || s.charAt(16) != ':') return 0L;
+        char sep = s.charAt(10);
+        if (sep != 'T' && sep != 't' && sep != ' ') return 0L;
+
+        int i = 19;
+        int n = s.length();
+
+        // 소수 초: 앞 3자리만 밀리초로
+        int millis = 0;
+        if (i < n && (s.charAt(i) == '.' || s.charAt(i) == ',')) {
+            i++;
+            int scale = 100;
+            int start = i;
+            while (i < n && isDigit(s.charAt(i))) {
+                if (scale > 0) {
+                    millis += (s.charAt(i) - '0') * scale;
+                    scale /= 10;
+                }
+                i++;
+            }
+            if (i == start) return 0L;
+        }
+
+        long offsetMs = KST_OFFSET_MS;
+        if (i < n) {
+            char c = s.charAt(i);
+            if (c == 'Z' || c == 'z') {
+                offsetMs = 0;
+                i++;
+            } else if (c == '+' || c == '-') {
+                int oh = digits(s, i + 1, 2);
+                int om;
+                int end;
+                if (i + 3 < n && s.charAt(i + 3) == ':') {
+                    om = digits(s, i + 4, 2);
+                    end = i + 6;
+                } else if (i + 3 < n) {
+                    om = digits(s, i + 3, 2);
+                    end = i + 5;
+                } else {
+                    om = 0;
+                    end = i + 3;
+                }
+                if (oh < 0 || om < 0 || oh > 18 || om > 59) return 0L;
+                offsetMs = (oh * 60L + om) * 60_000L;
+                if (c == '-') offsetMs = -offsetMs;
+                i = end;
+            } else {
+                return 0L;
+            }
+        }
+        if (i != n) return 0L;
+
+        long days = daysFromCivil(year, month, day);
+        long local = days * MS_PER_DAY + ((hour * 60L + minute) * 60L + second) * 1000L + millis;
+        return local - offsetMs;
+    }
+
+    /** epoch(ms) → 한국 시간 "오전/오후 hh:mm" (SimpleDateFormat("a hh:mm", KOREA) 와 같은 모양) */
+    public static String formatKorTime(long epochMs) {
+        long local = epochMs + KST_OFFSET_MS;
+        int minuteOfDay = (int) (Math.floorMod(local, MS_PER_DAY) / 60_000L);
+        int hh = minuteOfDay / 60;
+        int mm = minuteOfDay % 60;
+        int hh12 = hh % 12;
+        if (hh12 == 0) hh12 = 12;
+
+        char[] out = new char[8];
+        out[0] = '오';
+        out[1] = hh < 12 ? '전' : '후';
+        out[2] = ' ';
+        out[3] = (char) ('0' + hh12 / 10);
+        out[4] = (char) ('0' + hh12 % 10);
+        out[5] = ':';
+        out[6] = (char) ('0' + mm / 10);
+        out[7] = (char) ('0' + mm % 10);
+        return new String(out);
+    }
+
+    /** 한국 시간 y-m-d hh:mm (m 은 1~12) → epoch(ms) */
+    public static long kstEpochMs(int y, int m, int d, int hour, int minute) {
+        return daysFromCivil(y, m, d) * MS_PER_DAY + hour * 3_600_000L + minute * 60_000L - KST_OFFSET_MS;
+    }
+
+    /** epochMs 가 속한 한국 날짜의 0시 (epoch ms) */
+    public static long kstStartOfDay(long epochMs) {
+        return Math.floorDiv(epochMs + KST_OFFSET_MS, MS_PER_DAY) * MS_PER_DAY - KST_OFFSET_MS;
+    }
+
+    /** epoch(ms) → UTC "yyyy-MM-ddTHH:mm:ssZ" (쿼리 파라미터용, 초 단위로 버림) */
+    public static String formatIsoUtc(long epochMs) {
+        long days = Math.floorDiv(epochMs, MS_PER_DAY);
+        int secOfDay = (int) (Math.floorMod(epochMs, MS_PER_DAY) / 1000L);
+        int[] ymd = civilFromDays(days);
+        return String.format(Locale.ROOT, "%04d-%02d-%02dT%02d:%02d:%02dZ",
+                ymd[0], ymd[1], ymd[2], secOfDay / 3600, secOfDay / 60 % 60, secOfDay % 60);
+    }
+
+    /** daysFromCivil 의 역 → {y, m, d} (Howard Hinnant) */
+    public static int[] civilFromDays(long z) {
+        z += 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int d = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int m = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int y = (int) (yoe + era * 400 + (m <= 2 ? 1 : 0));
+        return new int[]{y, m, d};
+    }
+
+    /** 1970-01-01 기준 일수 (proleptic Gregorian) */
+    static long daysFromCivil(int y, int m, int d) {
+        y -= m <= 2 ? 1 : 0;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (m + (m > 2 ? -3 : 9)) + 2) / 5 + d - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int digits(String s, int from, int count) {
+        if (from + count > s.length()) return -1;
+        int v = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
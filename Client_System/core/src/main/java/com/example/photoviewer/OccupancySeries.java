@@ -0,0 +1,331 @@
+package com.example.photoviewer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 혼잡도 시계열을 글이 들어올 때마다 O(1) 로 접어 넣는 집계기 (서버 admin_dashboard_data 의 기기 쪽 버전).
+ * - 원본 값: 최근 capacity 개의 (시각, 남은 좌석, 대기열) 링 버퍼
+ * - 10분 버킷 24시간치 / 1시간 버킷 48시간치: 건수, 수치 합/최소/최대, 여유·보통·혼잡 건수
+ *   (버킷 번호 = epoch / 폭, 칸 = 번호 % 칸 수. 칸의 번호가 다르면 지난 주기 값이라 비우고 씀)
+ * - 이상치는 들어오는 순간 검사해서 플래그로 돌려주고 최근 MAX_ANOMALIES 개를 들고 있는다
+ * 조회(trend)도 버킷 몇 칸만 읽으니 기록 길이와 무관하다.
+ * 같은 id 이하는 이미 넣은 글로 보고 무시하므로 오래된 글부터 (id 오름차순) 넣는다.
+ * 한 스레드에서만 사용.
+ */
+public final class OccupancySeries {
+
+    public static final long TEN_MINUTES_MS = 10 * 60_000L;
+    public static final long HOUR_MS = 60 * 60_000L;
+
+    // 이상치 플래그 (ingest 반환값). 음수 값은 파서가 숫자만 읽어서 생길 수 없다 (-1 은 '없음')
+    public static final int REMAIN_OVER_TOTAL = 1;  // 남은 좌석 > 총 좌석
+    public static final int SEATED_OVER_TOTAL = 2;  // 착석 인원 > 총 좌석
+    public static final int SEAT_MISMATCH = 4;      // 착석 + 남은 좌석 ≠ 총 좌석
+    public static final int TIME_REGRESSION = 8;    // 더 큰 id 인데 생성 시각이 앞섬 (엣지 시계 문제)
+
+    /** 이미 넣은 글 (id 가 지금까지의 최대 이하) */
+    public static final int IGNORED = -1;
+
+    static final int MAX_ANOMALIES = 50;
+
+    /** 혼잡 단계: 서버 _status_bucket / 대시보드 뱃지와 같은 규칙 */
+    public static final int STATUS_NONE = -1, STATUS_FREE = 0, STATUS_NORMAL = 1, STATUS_BUSY = 2;
+
+    public static int statusOf(int total, int queue, int remain) {
+        if (total < 0 || queue < 0 || remain < 0) return STATUS_NONE;
+        if (queue > 0 || remain <= 0) return STATUS_BUSY;
+        if (remain <= total * 0.3) return STATUS_NORMAL;
+        return STATUS_FREE;
+    }
+
+    /** 이상치 하나 */
+    public static final class Anomaly {
+        public final int id;
+        public final long epochMs;
+        public final int flags;
+        public final int total, seated, remain;
+
+        Anomaly(int id, long epochMs, int flags, int total, int seated, int remain) {
+            this.id = id;
+            this.epochMs = epochMs;
+            this.flags = flags;
+            this.total = total;
+            this.seated = seated;
+            this.remain = remain;
+        }
+
+        /** 서버 대시보드와 같은 말투의 설명 */
+        public String describe() {
+            List<String> issues = new ArrayList<>();
+            if ((flags & REMAIN_OVER_TOTAL) != 0) issues.add("남은 좌석이 총좌석 초과(" + remain + ">" + total + ")");
+            if ((flags & SEATED_OVER_TOTAL) != 0) issues.add("착석 인원이 총좌석 초과(" + seated + ">" + total + ")");
+            if ((flags & SEAT_MISMATCH) != 0) issues.add("착석+남은 좌석 불일치(" + seated + "+" + remain + "≠" + total + ")");
+            if ((flags & TIME_REGRESSION) != 0) issues.add("생성 시각 역행");
+            return String.join(", ", issues);
+        }
+    }
+
+    /** 고정 폭 버킷 링 */
+    static final class Buckets {
+        final long widthMs;
+        final long[] key;       // epoch / widthMs (비었으면 Long.MIN_VALUE)
+        final int[] events;     // 글 수 (수치 없는 글 포함)
+        final int[] samples;    // 남은 좌석 값이 있는 글 수 (평균의 분모)
+        final long[] sumRemain;
+        final int[] minRemain;
+        final int[] maxQueue;
+        final int[] status;     // 칸마다 여유/보통/혼잡 건수 3개
+
+        Buckets(long widthMs, int slots) {
+            this.widthMs = widthMs;
+            key = new long[slots];
+            Arrays.fill(key, Long.MIN_VALUE);
+            events = new int[slots];
+            samples = new int[slots];
+            sumRemain = new long[slots];
+            minRemain = new int[slots];
+            maxQueue = new int[slots];
+            status = new int[slots * 3];
+        }
+
+        /** epochMs 가 들어갈 칸. 지난 주기 값이면 비운다. 링보다 오래된 시각이면 -1 */
+        int slotFor(long epochMs, long newestKey) {
+            long k = Math.floorDiv(epochMs, widthMs);
+            if (newestKey != Long.MIN_VALUE && k <= newestKey - key.length) return -1;
+            int slot = (int) Math.floorMod(k, (long) key.length);
+            if (key[slot] != k) {
+                key[slot] = k;
+                events[slot] = 0;
+                samples[slot] = 0;
+                sumRemain[slot] = 0;
+                minRemain[slot] = Integer.MAX_VALUE;
+                maxQueue[slot] = 0;
+                status[slot * 3] = status[slot * 3 + 1] = status[slot * 3 + 2] = 0;
+            }
+            return slot;
+        }
+
+        /** epochMs 가 속한 칸 (그 주기 값이 없으면 -1) */
+        int find(long epochMs) {
+            long k = Math.floorDiv(epochMs, widthMs);
+            int slot = (int) Math.floorMod(k, (long) key.length);
+            return key[slot] == k ? slot : -1;
+        }
+    }
+
+    /** 대시보드 추세 (trend() 가 만드는 불변 값) */
+    public static final class Trend {
+        public final int latestRemain, latestQueue, latestTotal; // 최근 글 (없으면 -1)
+        public final double meanRemain10m;      // 지금 10분 칸 평균 (없으면 NaN)
+        public final double meanRemainPrev10m;  // 바로 전 10분 칸 평균
+        public final int maxQueue10m;
+        public final int minRemain1h;           // 지금 포함 최근 6개 10분 칸의 최소 (없으면 -1)
+        public final int events1h;              // 지금 포함 최근 6개 10분 칸
+        public final int events24h;             // 지금 포함 최근 24개 1시간 칸
+        public final int free24h, normal24h, busy24h;
+        public final int anomalies;             // 지금까지 감지한 이상치 수
+
+        Trend(int latestRemain, int latestQueue, int latestTotal, double meanRemain10m, double meanRemainPrev10m,
+              int maxQueue10m, int minRemain1h, int events1h, int events24h,
+              int free24h, int normal24h, int busy24h, int anomalies) {
+            this.latestRemain = latestRemain;
+            this.latestQueue = latestQueue;
+            this.latestTotal = latestTotal;
+            this.meanRemain10m = meanRemain10m;
+            this.meanRemainPrev10m = meanRemainPrev10m;
+            this.maxQueue10m = maxQueue10m;
+            this.minRemain1h = minRemain1h;
+            this.events1h = events1h;
+            this.events24h = events24h;
+            this.free24h = free24h;
+            this.normal24h = normal24h;
+            this.busy24h = busy24h;
+            this.anomalies = anomalies;
+        }
+
+        /** 전 10분 대비 남은 좌석 평균 변화 (둘 중 하나가 없으면 NaN) */
+        public double remainDelta() {
+            return meanRemain10m - meanRemainPrev10m;
+        }
+    }
+
+    private final long[] times;
+    private final int[] remains;
+    private final int[] queues;
+    private int head = 0;   // 다음에 쓸 칸
+    private int count = 0;
+
+    private final Buckets tenMinutes = new Buckets(TEN_MINUTES_MS, 24 * 6);
+    private final Buckets hours = new Buckets(HOUR_MS, 48);
+    private long newestTenMinuteKey = Long.MIN_VALUE;
+    private long newestHourKey = Long.MIN_VALUE;
+
+    private final Anomaly[] anomalies = new Anomaly[MAX_ANOMALIES];
+    private int anomalyHead = 0;
+    private int anomalyTotal = 0;
+
+    private int lastId = 0;
+    private long lastEpochMs = 0;
+    private int latestTotal = -1;
+
+    public OccupancySeries(int capacity) {
+        times = new long[capacity];
+        remains = new int[capacity];
+        queues = new int[capacity];
+    }
+
+    public int ingest(PostItem p) {
+        ParsedStats s = p.getStats();
+        return ingest(p.getId(), p.getCreatedEpochMs(), s.totalSeats, s.seated, s.queue, s.remainSeats);
+    }
+
+    /**
+     * 글 하나를 접어 넣는다. 수치가 없는 값은 -1.
+     * @return 이상치 플래그 (없으면 0), 이미 넣은 글이면 IGNORED
+     */
+    public int ingest(int id, long epochMs, int total, int seated, int queue, int remain) {
+        if (id <= lastId) return IGNORED;
+        int flags = 0;
+        if (lastEpochMs > 0 && epochMs > 0 && epochMs < lastEpochMs) flags |= TIME_REGRESSION;
+        lastId = id;
+        if (epochMs <= 0) return flags; // 시각을 모르면 버킷에 넣을 수 없음
+        lastEpochMs = Math.max(lastEpochMs, epochMs);
+
+        boolean hasStats = total >= 0 || remain >= 0 || queue >= 0;
+        if (total >= 0) {
+            if (remain > total) flags |= REMAIN_OVER_TOTAL;
+            if (seated > total) flags |= SEATED_OVER_TOTAL;
+            if (seated >= 0 && remain >= 0 && seated + remain != total) flags |= SEAT_MISMATCH;
+            latestTotal = total;
+        }
+        int status = statusOf(total, queue, remain);
+
+        if (hasStats && (flags & TIME_REGRESSION) == 0) {
+            times[head] = epochMs;
+            remains[head] = remain;
+            queues[head] = queue;
+            head = (head + 1) % times.length;
+            if (count < times.length) count++;
+        }
+
+        newestTenMinuteKey = add(tenMinutes, newestTenMinuteKey, epochMs, hasStats, remain, queue, status);
+        newestHourKey = add(hours, newestHourKey, epochMs, hasStats, remain, queue, status);
+
+        if (flags != 0) {
+            anomalies[anomalyHead] = new Anomaly(id, epochMs, flags, total, seated, remain);
+            anomalyHead = (anomalyHead + 1) % MAX_ANOMALIES;
+            anomalyTotal++;
+        }
+        return flags;
+    }
+
+    private static long add(Buckets b, long newestKey, long epochMs, boolean hasStats, int remain, int queue, int status) {
+        int slot = b.slotFor(epochMs, newestKey);
+        if (slot < 0) return newestKey;
+        b.events[slot]++;
+        if (hasStats) {
+            if (remain >= 0) {
+                b.samples[slot]++;
+                b.sumRemain[slot] += remain;
+                b.minRemain[slot] = Math.min(b.minRemain[slot], remain);
+            }
+            if (queue >= 0) b.maxQueue[slot] = Math.max(b.maxQueue[slot], queue);
+            if (status != STATUS_NONE) b.status[slot * 3 + status]++;
+        }
+        return Math.max(newestKey, b.key[slot]);
+    }
+
+    /** 링 버퍼에 든 원본 값 수 (최대 capacity) */
+    public int size() {
+        return count;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    /** k 번째로 최근 값 (0 = 가장 최근) */
+    public long timeAt(int k) {
+        return times[index(k)];
+    }
+
+    public int remainAt(int k) {
+        return remains[index(k)];
+    }
+
+    public int queueAt(int k) {
+        return queues[index(k)];
+    }
+
+    private int index(int k) {
+        if (k < 0 || k >= count) throw new IndexOutOfBoundsException("k " + k + " / " + count);
+        return Math.floorMod(head - 1 - k, times.length);
+    }
+
+    /** 10분 칸: epochMs 가 속한 칸의 글 수 */
+    public int eventsIn10m(long epochMs) {
+        int slot = tenMinutes.find(epochMs);
+        return slot < 0 ? 0 : tenMinutes.events[slot];
+    }
+
+    /** 10분 칸: 남은 좌석 평균 (값이 없으면 NaN) */
+    public double meanRemainIn10m(long epochMs) {
+        return meanRemain(tenMinutes, epochMs);
+    }
+
+    /** 1시간 칸: 남은 좌석 평균 (값이 없으면 NaN) */
+    public double meanRemainInHour(long epochMs) {
+        return meanRemain(hours, epochMs);
+    }
+
+    private static double meanRemain(Buckets b, long epochMs) {
+        int slot = b.find(epochMs);
+        return slot < 0 || b.samples[slot] == 0 ? Double.NaN : (double) b.sumRemain[slot] / b.samples[slot];
+    }
+
+    /** 최근 이상치 (오래된 것부터, 최대 MAX_ANOMALIES 개) */
+    public List<Anomaly> recentAnomalies() {
+        int n = Math.min(anomalyTotal, MAX_ANOMALIES);
+        List<Anomaly> out = new ArrayList<>(n);
+        for (int i = n; i > 0; i--) out.add(anomalies[Math.floorMod(anomalyHead - i, MAX_ANOMALIES)]);
+        return out;
+    }
+
+    public int getAnomalyCount() {
+        return anomalyTotal;
+    }
+
+    /** nowMs 기준 대시보드 추세. 버킷 30여 칸만 읽는다 */
+    public Trend trend(long nowMs) {
+        int cur = tenMinutes.find(nowMs);
+
+        int events1h = 0, minRemain = Integer.MAX_VALUE;
+        for (int i = 0; i < 6; i++) {
+            int slot = tenMinutes.find(nowMs - i * TEN_MINUTES_MS);
+            if (slot < 0) continue;
+            events1h += tenMinutes.events[slot];
+            minRemain = Math.min(minRemain, tenMinutes.minRemain[slot]);
+        }
+        int events24h = 0, free = 0, normal = 0, busy = 0;
+        for (int i = 0; i < 24; i++) {
+            int slot = hours.find(nowMs - i * HOUR_MS);
+            if (slot < 0) continue;
+            events24h += hours.events[slot];
+            free += hours.status[slot * 3 + STATUS_FREE];
+            normal += hours.status[slot * 3 + STATUS_NORMAL];
+            busy += hours.status[slot * 3 + STATUS_BUSY];
+        }
+
+        return new Trend(
+                count > 0 ? remainAt(0) : -1,
+                count > 0 ? queueAt(0) : -1,
+                latestTotal,
+                meanRemain(tenMinutes, nowMs),
+                meanRemain(tenMinutes, nowMs - TEN_MINUTES_MS),
+                cur >= 0 ? tenMinutes.maxQueue[cur] : 0,
+                minRemain == Integer.MAX_VALUE ? -1 : minRemain,
+                events1h, events24h, free, normal, busy, anomalyTotal);
+    }
+}
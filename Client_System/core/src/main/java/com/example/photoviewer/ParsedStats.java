@@ -0,0 +1,117 @@
+package com.example.photoviewer;
+
+/**
+ * 엣지 장치가 올리는 본문에서 뽑은 혼잡도 수치. 못 찾은 값은 -1.
+ * <pre>
+ * - 총 좌석 수: 40석
+ * - 착석 인원: 12명
+ * - 대기열 인원(서 있는 인원): 3명
+ * - 남은 좌석: 28석
+ * </pre>
+ * 정규식 없이 본문을 한 번만 훑는다. 글마다 한 번만 계산한다 (피드 디코더에서, 아니면 PostItem.getStats() 처음 부를 때).
+ * 매칭 규칙은 예전 정규식과 같다:
+ * 총 좌석 수:\s*(\d+)석 / 착석 인원:\s*(\d+)명 / 대기열 인원.*?:\s*(\d+)명 / 남은 좌석:\s*(\d+)석
+ */
+public final class ParsedStats {
+
+    public static final ParsedStats EMPTY = new ParsedStats(-1, -1, -1, -1);
+
+    private static final String TOTAL_LABEL  = "총 좌석 수:";
+    private static final String SEATED_LABEL = "착석 인원:";
+    private static final String QUEUE_LABEL  = "대기열 인원";
+    private static final String REMAIN_LABEL = "남은 좌석:";
+
+    public final int totalSeats;
+    public final int seated;
+    public final int queue;
+    public final int remainSeats;
+
+    public ParsedStats(int totalSeats, int seated, int queue, int remainSeats) {
+        this.totalSeats = totalSeats;
+        this.seated = seated;
+        this.queue = queue;
+        this.remainSeats = remainSeats;
+    }
+
+    /** 화면에 수치를 보여줄 수 있는지 (총 좌석과 남은 좌석이 있어야 함) */
+    public boolean isValid() {
+        return totalSeats > 0 && remainSeats >= 0;
+    }
+
+    public static ParsedStats parse(String text) {
+        if (text == null || text.isEmpty()) return EMPTY;
+
+        int total = -1, seated = -1, queue = -1, remain = -1;
+        int n = text.length();
+
+        for (int i = 0; i < n; i++) {
+            switch (text.charAt(i)) {
+                case '총':
+                    if (total < 0 && text.startsWith(TOTAL_LABEL, i)) {
+                        total = valueAfter(text, i + TOTAL_LABEL.length(), '석');
+                    }
+                    break;
+                case '착':
+                    if (seated < 0 && text.startsWith(SEATED_LABEL, i)) {
+                        seated = valueAfter(text, i + SEATED_LABEL.length(), '명');
+                    }
+                    break;
+                case '대':
+                    if (queue < 0 && text.startsWith(QUEUE_LABEL, i)) {
+                        queue = queueValue(text, i + QUEUE_LABEL.length());
+                    }
+                    break;
+                case '남':
+                    if (remain < 0 && text.startsWith(REMAIN_LABEL, i)) {
+                        remain = valueAfter(text, i + REMAIN_LABEL.length(), '석');
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (total < 0 && seated < 0 && queue < 0 && remain < 0) return EMPTY;
+        return new ParsedStats(total, seated, queue, remain);
+    }
+
+    /** 라벨 뒤 "(공백)*숫자+단위" 면 숫자, 아니면 -1 */
+    private static int valueAfter(String s, int i, char unit) {
+        int n = s.length();
+        while (i < n && isRegexSpace(s.charAt(i))) i++;
+        int start = i;
+        long v = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') break;
+            v = v * 10 + (c - '0');
+            if (v > Integer.MAX_VALUE) return -1;
+            i++;
+        }
+        if (i == start || i >= n || s.charAt(i) != unit) return -1;
+        return (int) v;
+    }
+
+    /** "대기열 인원" 뒤 같은 줄의 ':' 들 중 처음으로 "(공백)*숫자+명" 이 이어지는 값 */
+    private static int queueValue(String s, int i) {
+        int n = s.length();
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (isLineTerminator(c)) return -1;
+            if (c == ':') {
+                int v = valueAfter(s, i + 1, '명');
+                if (v >= 0) return v;
+            }
+        }
+        return -1;
+    }
+
+    // java.util.regex 의 \s
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // java.util.regex 의 '.' 가 매칭하지 않는 줄끝 문자
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
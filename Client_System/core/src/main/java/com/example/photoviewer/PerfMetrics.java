@@ -0,0 +1,253 @@
+package com.example.photoviewer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 앱 안 성능 계측 (가져오기 / 디코딩 / 수치 파싱 / 그리기 / 이미지 단계).
+ * - Histogram: 지연 시간 분포. 2의 거듭제곱 구간을 4칸씩 나눈 고정 버킷 (오차 25% 이내) + 합계/최대
+ * - Counter: 누적 개수/바이트
+ * - Gauge: 지금 값 (진행 중인 요청 수 등) + 최댓값
+ * - Probe: 다른 곳에 이미 있는 값 (ImageCache 적중 수 등) 을 보고서 만들 때만 읽음
+ * 기록은 원자 연산 몇 개뿐이고 백그라운드 스레드가 없어서, 일이 없을 때는 비용도 없다.
+ * 계측 지점은 이름으로 한 번 받아서 static 필드에 들고 있는다.
+ */
+public final class PerfMetrics {
+
+    private static final PerfMetrics GLOBAL = new PerfMetrics(System::nanoTime);
+
+    public static PerfMetrics get() {
+        return GLOBAL;
+    }
+
+    /** 지연 시간 분포 (마이크로초 단위로 모음) */
+    public static final class Histogram {
+        static final int BUCKETS = 128; // 2^33 µs (약 2.4시간) 까지, 넘으면 마지막 칸
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder sumMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        public void recordNanos(long nanos) {
+            long micros = Math.max(0, nanos / 1000);
+            counts.incrementAndGet(bucketOf(micros));
+            total.increment();
+            sumMicros.add(micros);
+            maxMicros.accumulate(micros);
+        }
+
+        public long count() {
+            return total.sum();
+        }
+
+        public double meanMs() {
+            long n = total.sum();
+            return n == 0 ? 0 : sumMicros.sum() / 1000.0 / n;
+        }
+
+        public double maxMs() {
+            return maxMicros.get() / 1000.0;
+        }
+
+        /** p (0~1) 분위 값의 상한 (그 버킷 끝, 최대값을 넘지 않게) */
+        public double percentileMs(double p) {
+            long[] snap = new long[BUCKETS];
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snap[i] = counts.get(i);
+                n += snap[i];
+            }
+            if (n == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snap[i];
+                if (seen >= rank) {
+                    long upper = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                    return Math.min(upper, maxMicros.get()) / 1000.0;
+                }
+            }
+            return maxMs();
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+            total.reset();
+            sumMicros.reset();
+            maxMicros.reset();
+        }
+
+        static int bucketOf(long micros) {
+            if (micros < 4) return (int) micros;
+            int msb = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) ((micros >>> (msb - 2)) & 3);
+            return Math.min((msb - 1) * 4 + sub, BUCKETS - 1);
+        }
+
+        static long lowerBound(int bucket) {
+            if (bucket < 4) return bucket;
+            int msb = bucket / 4 + 1;
+            return (4L + bucket % 4) << (msb - 2);
+        }
+    }
+
+    /** 지금 값과 지금까지의 최댓값 */
+    public static final class Gauge {
+        private final AtomicLong value = new AtomicLong();
+        private final LongAccumulator peak = new LongAccumulator(Math::max, 0);
+
+        public void increment() {
+            peak.accumulate(value.incrementAndGet());
+        }
+
+        public void decrement() {
+            value.decrementAndGet();
+        }
+
+        public long value() {
+            return value.get();
+        }
+
+        public long peak() {
+            return peak.get();
+        }
+
+        void reset() {
+            peak.reset();
+            peak.accumulate(value.get());
+        }
+    }
+
+    private final LongSupplier clock;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> probes = new ConcurrentHashMap<>();
+
+    PerfMetrics(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, k -> new Gauge());
+    }
+
+    /** 보고서를 만들 때만 읽는 값. 같은 이름이면 덮어씀 */
+    public void probe(String name, LongSupplier value) {
+        probes.put(name, value);
+    }
+
+    /** 측정 시작 시각 (recordSince 와 짝) */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public void recordSince(Histogram h, long startNanos) {
+        h.recordNanos(clock.getAsLong() - startNanos);
+    }
+
+    /** 분포/카운터/최댓값을 0 으로 (진행 중인 Gauge 값과 Probe 는 그대로) */
+    public void reset() {
+        for (Histogram h : histograms.values()) h.reset();
+        for (LongAdder c : counters.values()) c.reset();
+        for (Gauge g : gauges.values()) g.reset();
+    }
+
+    /** 디버그 화면용 사람이 읽는 표 */
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[지연 ms]  count  mean  p50  p90  p99  max\n");
+        for (Map.Entry<String, Histogram> e : new TreeMap<>(histograms).entrySet()) {
+            Histogram h = e.getValue();
+            sb.append(String.format(Locale.ROOT, "%-18s %6d %6.2f %6.2f %6.2f %7.2f %7.2f\n", e.getKey(), h.count(),
+                    h.meanMs(), h.percentileMs(0.5), h.percentileMs(0.9), h.percentileMs(0.99), h.maxMs()));
+        }
+        sb.append("\n[카운터]\n");
+        for (Map.Entry<String, LongAdder> e : new TreeMap<>(counters).entrySet()) {
+            sb.append(String.format(Locale.ROOT, "%-26s %d\n", e.getKey(), e.getValue().sum()));
+        }
+        for (Map.Entry<String, LongSupplier> e : new TreeMap<>(probes).entrySet()) {
+            sb.append(String.format(Locale.ROOT, "%-26s %d\n", e.getKey(), e.getValue().getAsLong()));
+        }
+        sb.append("\n[진행 중]  now  peak\n");
+        for (Map.Entry<String, Gauge> e : new TreeMap<>(gauges).entrySet()) {
+            sb.append(String.format(Locale.ROOT, "%-18s %4d %5d\n", e.getKey(), e.getValue().value(), e.getValue().peak()));
+        }
+        return sb.toString();
+    }
+
+    /** 파일로 내보내기용 JSON (빌드끼리 비교). meta 는 앞에 그대로 붙는 문자열 필드 */
+    public String toJson(Map<String, String> meta) {
+        StringBuilder sb = new StringBuilder(1024).append('{');
+        List<String> fields = new ArrayList<>();
+        for (Map.Entry<String, String> e : new TreeMap<>(meta).entrySet()) {
+            fields.add(quote(e.getKey()) + ":" + quote(e.getValue()));
+        }
+
+        StringBuilder hs = new StringBuilder("\"histograms\":{");
+        boolean first = true;
+        for (Map.Entry<String, Histogram> e : new TreeMap<>(histograms).entrySet()) {
+            Histogram h = e.getValue();
+            if (!first) hs.append(',');
+            first = false;
+            hs.append(quote(e.getKey())).append(String.format(Locale.ROOT,
+                    ":{\"count\":%d,\"meanMs\":%.3f,\"p50Ms\":%.3f,\"p90Ms\":%.3f,\"p99Ms\":%.3f,\"maxMs\":%.3f}",
+                    h.count(), h.meanMs(), h.percentileMs(0.5), h.percentileMs(0.9), h.percentileMs(0.99), h.maxMs()));
+        }
+        fields.add(hs.append('}').toString());
+
+        StringBuilder cs = new StringBuilder("\"counters\":{");
+        first = true;
+        Map<String, Long> all = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> e : counters.entrySet()) all.put(e.getKey(), e.getValue().sum());
+        for (Map.Entry<String, LongSupplier> e : probes.entrySet()) all.put(e.getKey(), e.getValue().getAsLong());
+        for (Map.Entry<String, Long> e : all.entrySet()) {
+            if (!first) cs.append(',');
+            first = false;
+            cs.append(quote(e.getKey())).append(':').append(e.getValue());
+        }
+        fields.add(cs.append('}').toString());
+
+        StringBuilder gs = new StringBuilder("\"gauges\":{");
+        first = true;
+        for (Map.Entry<String, Gauge> e : new TreeMap<>(gauges).entrySet()) {
+            if (!first) gs.append(',');
+            first = false;
+            gs.append(quote(e.getKey())).append(":{\"now\":").append(e.getValue().value())
+                    .append(",\"peak\":").append(e.getValue().peak()).append('}');
+        }
+        fields.add(gs.append('}').toString());
+
+        sb.append(String.join(",", fields));
+        return sb.append('}').toString();
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.photoviewer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽어 둔 기록을 글 객체 없이 열(column) 단위로 들고 있는 불변 묶음.
+ * - 화면에 쓰는 값: id, 생성 시각(epoch ms), 혼잡도 수치 4개 → int[] / long[]
+ * - 제목 / 작성자 / 이미지 폴더는 거의 같은 값이라 문자열 표 하나에 한 번씩만 두고 번호로 가리킨다
+ * - 본문 / 원본 시각 문자열 / 이미지 파일 이름은 UTF-8 바이트 하나(blob)에 이어 붙이고,
+ *   요청할 때만 String 으로 만든다 (post(i) 로 PostItem 전체를 만들 수도 있음)
+ * - 행마다 내용 해시를 미리 계산해 둬서 목록 diff 때 문자열을 비교하지 않는다
+ * 글 하나당 객체가 0개라서 PostItem 목록보다 힙을 훨씬 적게 쓴다 (HistoryFootprint 로 측정).
+ * null 문자열은 빈 문자열로 저장된다.
+ * slice 는 배열을 복사하지 않고 같은 배열의 일부를 보는 묶음을 만든다.
+ */
+public final class PostColumns {
+
+    private static final int TEXT = 0, CREATED = 1, PUBLISHED = 2, IMAGE_NAME = 3, FIELDS = 4;
+
+    public static final PostColumns EMPTY = new Builder(0).build();
+
+    private final int base;
+    private final int size;
+
+    private final int[] ids;
+    private final long[] createdEpochMs;
+    private final int[] stats;        // 행마다 total, seated, queue, remain (없으면 -1)
+    private final long[] contentHash;
+    private final int[] titleRef;     // pool 번호
+    private final int[] authorRef;
+    private final int[] imageDirRef;
+    private final String[] pool;
+    private final byte[] blob;
+    private final int[] offsets;      // 행 i 의 필드 f 는 blob[offsets[i*4+f], offsets[i*4+f+1])
+
+    private PostColumns(int base, int size, int[] ids, long[] createdEpochMs, int[] stats, long[] contentHash,
+                        int[] titleRef, int[] authorRef, int[] imageDirRef, String[] pool, byte[] blob, int[] offsets) {
+        this.base = base;
+        this.size = size;
+        this.ids = ids;
+        this.createdEpochMs = createdEpochMs;
+        this.stats = stats;
+        this.contentHash = contentHash;
+        this.titleRef = titleRef;
+        this.authorRef = authorRef;
+        this.imageDirRef = imageDirRef;
+        this.pool = pool;
+        this.blob = blob;
+        this.offsets = offsets;
+    }
+
+    public static PostColumns of(List<PostItem> posts) {
+        Builder b = new Builder(posts.size());
+        for (PostItem p : posts) b.add(p);
+        return b.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** [from, to) 행만 보는 묶음 (배열 공유) */
+    public PostColumns slice(int from, int to) {
+        if (from < 0 || to > size || from > to) throw new IndexOutOfBoundsException(from + ".." + to + " / " + size);
+        if (from == 0 && to == size) return this;
+        return new PostColumns(base + from, to - from, ids, createdEpochMs, stats, contentHash,
+                titleRef, authorRef, imageDirRef, pool, blob, offsets);
+    }
+
+    public int id(int i) {
+        return ids[row(i)];
+    }
+
+    public long createdEpochMs(int i) {
+        return createdEpochMs[row(i)];
+    }
+
+    /** 화면 표시용 "오전/오후 hh:mm" (PostItem.getCreatedTimeKor 와 같음, 매번 만든다) */
+    public String createdTimeKor(int i) {
+        long ms = createdEpochMs(i);
+        return ms == 0L ? "" : IsoTime.formatKorTime(ms);
+    }
+
+    public int totalSeats(int i) {
+        return stats[row(i) * 4];
+    }
+
+    public int seated(int i) {
+        return stats[row(i) * 4 + 1];
+    }
+
+    public int queue(int i) {
+        return stats[row(i) * 4 + 2];
+    }
+
+    public int remainSeats(int i) {
+        return stats[row(i) * 4 + 3];
+    }
+
+    /** ParsedStats.isValid 와 같은 조건 */
+    public boolean hasStats(int i) {
+        int r = row(i) * 4;
+        return stats[r] > 0 && stats[r + 3] >= 0;
+    }
+
+    /** 행 i 의 수치를 객체로 (필요할 때만) */
+    public ParsedStats stats(int i) {
+        int r = row(i) * 4;
+        return new ParsedStats(stats[r], stats[r + 1], stats[r + 2], stats[r + 3]);
+    }
+
+    /** id 와 모든 문자열 필드의 해시 (같으면 내용이 같다고 본다) */
+    public long contentHash(int i) {
+        return contentHash[row(i)];
+    }
+
+    public String title(int i) {
+        return pool[titleRef[row(i)]];
+    }
+
+    public String author(int i) {
+        return pool[authorRef[row(i)]];
+    }
+
+    public String text(int i) {
+        return field(row(i), TEXT);
+    }
+
+    public String createdDateRaw(int i) {
+        return field(row(i), CREATED);
+    }
+
+    public String publishedDateRaw(int i) {
+        return field(row(i), PUBLISHED);
+    }
+
+    public String imageUrl(int i) {
+        int r = row(i);
+        String dir = pool[imageDirRef[r]];
+        String name = field(r, IMAGE_NAME);
+        return dir.isEmpty() ? name : dir.concat(name);
+    }
+
+    /** 행 i 를 PostItem 으로 (수치는 다시 파싱하지 않음) */
+    public PostItem post(int i) {
+        return new PostItem(id(i), title(i), text(i), createdDateRaw(i), publishedDateRaw(i),
+                imageUrl(i), author(i), stats(i));
+    }
+
+    public List<PostItem> toList() {
+        List<PostItem> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(post(i));
+        return out;
+    }
+
+    private int row(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("row " + i + " / " + size);
+        return base + i;
+    }
+
+    private String field(int row, int f) {
+        int from = offsets[row * FIELDS + f];
+        int to = offsets[row * FIELDS + f + 1];
+        return from == to ? "" : new String(blob, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /** 글을 차례로 넣어 PostColumns 를 만든다 (한 스레드에서) */
+    public static final class Builder {
+        private int n;
+        private int[] ids;
+        private long[] created;
+        private int[] stats;
+        private long[] hashes;
+        private int[] titleRef, authorRef, imageDirRef;
+        private final List<String> pool = new ArrayList<>();
+        private final Map<String, Integer> poolIndex = new HashMap<>();
+        private byte[] blob;
+        private int blobSize;
+        private int[] offsets;
+
+        public Builder(int expected) {
+            int cap = Math.max(4, expected);
+            ids = new int[cap];
+            created = new long[cap];
+            stats = new int[cap * 4];
+            hashes = new long[cap];
+            titleRef = new int[cap];
+            authorRef = new int[cap];
+            imageDirRef = new int[cap];
+            blob = new byte[cap * 256];
+            offsets = new int[cap * FIELDS + 1];
+        }
+
+        public Builder add(PostItem p) {
+            if (n == ids.length) grow();
+            ids[n] = p.getId();
+            created[n] = p.getCreatedEpochMs();
+            ParsedStats s = p.getStats();
+            stats[n * 4] = s.totalSeats;
+            stats[n * 4 + 1] = s.seated;
+            stats[n * 4 + 2] = s.queue;
+            stats[n * 4 + 3] = s.remainSeats;
+            titleRef[n] = intern(p.getTitle());
+            authorRef[n] = intern(p.getAuthor());
+
+            String image = nonNull(p.getImageUrl());
+            int slash = image.lastIndexOf('/') + 1;
+            imageDirRef[n] = intern(image.substring(0, slash));
+
+            append(n * FIELDS + TEXT, p.getText());
+            append(n * FIELDS + CREATED, p.getCreatedDateRaw());
+            append(n * FIELDS + PUBLISHED, p.getPublishedDateRaw());
+            append(n * FIELDS + IMAGE_NAME, image.substring(slash));
+
+            hashes[n] = p.contentHash();
+            n++;
+            return this;
+        }
+
+        public PostColumns build() {
+            return new PostColumns(0, n,
+                    Arrays.copyOf(ids, n), Arrays.copyOf(created, n), Arrays.copyOf(stats, n * 4),
+                    Arrays.copyOf(hashes, n), Arrays.copyOf(titleRef, n), Arrays.copyOf(authorRef, n),
+                    Arrays.copyOf(imageDirRef, n), pool.toArray(new String[0]),
+                    Arrays.copyOf(blob, blobSize), Arrays.copyOf(offsets, n * FIELDS + 1));
+        }
+
+        private int intern(String s) {
+            s = nonNull(s);
+            Integer idx = poolIndex.get(s);
+            if (idx == null) {
+                idx = pool.size();
+                pool.add(s);
+                poolIndex.put(s, idx);
+            }
+            return idx;
+        }
+
+        private void append(int slot, String s) {
+            byte[] bytes = nonNull(s).getBytes(StandardCharsets.UTF_8);
+            if (blobSize + bytes.length > blob.length) {
+                blob = Arrays.copyOf(blob, Math.max(blob.length * 2, blobSize + bytes.length));
+            }
+            System.arraycopy(bytes, 0, blob, blobSize, bytes.length);
+            offsets[slot] = blobSize;
+            blobSize += bytes.length;
+            offsets[slot + 1] = blobSize;
+        }
+
+        private void grow() {
+            int cap = ids.length * 2;
+            ids = Arrays.copyOf(ids, cap);
+            created = Arrays.copyOf(created, cap);
+            stats = Arrays.copyOf(stats, cap * 4);
+            hashes = Arrays.copyOf(hashes, cap);
+            titleRef = Arrays.copyOf(titleRef, cap);
+            authorRef = Arrays.copyOf(authorRef, cap);
+            imageDirRef = Arrays.copyOf(imageDirRef, cap);
+            offsets = Arrays.copyOf(offsets, cap * FIELDS + 1);
+        }
+
+        private static String nonNull(String s) {
+            return s == null ? "" : s;
+        }
+    }
+}
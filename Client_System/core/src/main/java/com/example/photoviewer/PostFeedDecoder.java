@@ -0,0 +1,480 @@
+package com.example.photoviewer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Post 피드 스트리밍 디코더.
+ * 응답 전체를 문자열/JSONArray 로 만들지 않고, 스트림을 읽으면서 바로 PostItem 을 만든다.
+ * - 배열로 오는 경우: [...]
+ * - 페이지네이션: {"count":..,"results":[...]}
+ * - 컬럼형 (decodeColumnar): {"count":..,"next":..,"id":[..],"title":[..],..,"total":[..],..}
+ *   필드별 배열 하나씩. 혼잡도 수치가 숫자로 오니 본문을 다시 파싱하지 않는다.
+ * stopAtId > 0 이면 최신순 피드에서 이미 가진 글(id <= stopAtId)에 닿는 순간 읽기를 멈춘다.
+ */
+public final class PostFeedDecoder {
+
+    private static final int BUF_SIZE = 8192;
+
+    // ✅ 계측: 본문에서 혼잡도 수치 파싱 (행 디코더에서 글마다 한 번)
+    private static final PerfMetrics METRICS = PerfMetrics.get();
+    private static final PerfMetrics.Histogram STATS_PARSE = METRICS.histogram("stats.parse");
+
+    private final Reader in;
+    private final char[] buf = new char[BUF_SIZE];
+    private int pos = 0;
+    private int limit = 0;
+
+    // 문자열 디코딩용 버퍼 (재사용)
+    private final StringBuilder sb = new StringBuilder(256);
+
+    private boolean stoppedEarly = false;
+
+    // 페이지네이션 응답의 전체 개수 / 다음 페이지 URL (배열 응답이면 -1 / null)
+    private int count = -1;
+    private String next;
+
+    public PostFeedDecoder(Reader in) {
+        this.in = in;
+    }
+
+    public static PostFeedDecoder of(InputStream is) {
+        return new PostFeedDecoder(new InputStreamReader(is, StandardCharsets.UTF_8));
+    }
+
+    /** 마지막 decode 가 stopAtId 때문에 중간에 멈췄는지 */
+    public boolean stoppedEarly() {
+        return stoppedEarly;
+    }
+
+    public int totalCount() {
+        return count;
+    }
+
+    public String nextPageUrl() {
+        return next;
+    }
+
+    /** 피드를 읽어 out 에 추가한다. */
+    public void decode(List<PostItem> out, int stopAtId) throws IOException {
+        stoppedEarly = false;
+        count = -1;
+        next = null;
+        int c = peekNonWs();
+        if (c == '[') {
+            readPosts(out, stopAtId);
+        } else if (c == '{') {
+            pos++;
+            if (peekNonWs() == '}') { pos++; return; }
+            while (true) {
+                String key = readString();
+                expect(':');
+                if ("results".equals(key) && peekNonWs() == '[') {
+                    readPosts(out, stopAtId);
+                    if (stoppedEarly) return;
+                } else if ("count".equals(key)) {
+                    count = readInt();
+                } else if ("next".equals(key)) {
+                    next = readStringOr(null);
+                } else {
+                    skipValue();
+                }
+                if (!nextMember('}')) break;
+            }
+        } else if (c != -1) {
+            throw syntax("피드 시작이 [ 또는 { 가 아님");
+        }
+    }
+
+    /**
+     * 컬럼형 피드 (Accept: application/vnd.photoviewer.columnar+json) 를 읽어 out 에 추가한다.
+     * 열마다 값을 바로 배열에 담고, 마지막에 행마다 PostItem 하나를 (수치 포함) 만든다.
+     * 수치 열이 null 인 행은 본문(text)에서 필요할 때 파싱.
+     */
+    public void decodeColumnar(List<PostItem> out, int stopAtId) throws IOException {
+        stoppedEarly = false;
+        count = -1;
+        next = null;
+        int[] ids = null;
+        int[] total = null, seated = null, queue = null, remain = null;
+        String[] titles = null, texts = null, created = null, published = null, images = null, authors = null;
+        String imageBase = "";
+
+        expect('{');
+        if (peekNonWs() == '}') { pos++; return; }
+        while (true) {
+            String key = readString();
+            expect(':');
+            switch (key) {
+                case "count":          count = readInt(); break;
+                case "next":           next = readStringOr(null); break;
+                case "image_base":     imageBase = readStringOr(""); break;
+                case "id":             ids = readIntColumn(); break;
+                case "title":          titles = readStringColumn(); break;
+                case "text":           texts = readStringColumn(); break;
+                case "created_date":   created = readStringColumn(); break;
+                case "published_date": published = readStringColumn(); break;
+                case "image":          images = readStringColumn(); break;
+                case "author":         authors = readStringColumn(); break;
+                case "total":          total = readIntColumn(); break;
+                case "seated":         seated = readIntColumn(); break;
+                case "queue":          queue = readIntColumn(); break;
+                case "remain":         remain = readIntColumn(); break;
+                default:               skipValue(); break;
+            }
+            if (!nextMember('}')) break;
+        }
+        if (ids == null) return;
+
+        int n = ids.length;
+        checkColumn(titles, n, "title");
+        checkColumn(texts, n, "text");
+        checkColumn(created, n, "created_date");
+        checkColumn(published, n, "published_date");
+        checkColumn(images, n, "image");
+        checkColumn(authors, n, "author");
+        checkColumn(total, n, "total");
+        checkColumn(seated, n, "seated");
+        checkColumn(queue, n, "queue");
+        checkColumn(remain, n, "remain");
+
+        int prevId = -1;
+        for (int i = 0; i < n; i++) {
+            int id = ids[i];
+            // readPosts 와 같은 규칙: 최신순임이 확인된 뒤에만 조기 종료
+            if (stopAtId > 0 && id <= stopAtId && prevId > id) {
+                stoppedEarly = true;
+                return;
+            }
+            prevId = id;
+
+            String image = at(images, i, null);
+            ParsedStats stats = null;
+            int t = at(total, i), se = at(seated, i), q = at(queue, i), r = at(remain, i);
+            if (t >= 0 || se >= 0 || q >= 0 || r >= 0) stats = new ParsedStats(t, se, q, r);
+            else if (at(texts, i, null) == null) stats = ParsedStats.EMPTY;
+
+            out.add(new PostItem(id,
+                    at(titles, i, "제목 없음"),
+                    at(texts, i, ""),
+                    at(created, i, ""),
+                    at(published, i, ""),
+                    image == null ? "" : imageBase.isEmpty() ? image : imageBase.concat(image),
+                    at(authors, i, "익명"),
+                    stats));
+        }
+    }
+
+    private static String at(String[] column, int i, String def) {
+        String v = column == null ? null : column[i];
+        return v == null ? def : v;
+    }
+
+    private static int at(int[] column, int i) {
+        return column == null ? -1 : column[i];
+    }
+
+    private void checkColumn(String[] column, int n, String name) throws IOException {
+        if (column != null) checkLength(column.length, n, name);
+    }
+
+    private void checkColumn(int[] column, int n, String name) throws IOException {
+        if (column != null) checkLength(column.length, n, name);
+    }
+
+    private void checkLength(int length, int n, String name) throws IOException {
+        if (length != n) throw syntax("'" + name + "' 열 길이가 id 와 다름");
+    }
+
+    /** 정수 배열 (null 은 -1) */
+    private int[] readIntColumn() throws IOException {
+        if (peekNonWs() == 'n') { readLiteral("null"); return null; }
+        expect('[');
+        int[] values = new int[16];
+        int n = 0;
+        if (peekNonWs() == ']') { pos++; return new int[0]; }
+        while (true) {
+            if (n == values.length) values = Arrays.copyOf(values, n * 2);
+            if (peekNonWs() == 'n') {
+                readLiteral("null");
+                values[n++] = -1;
+            } else {
+                values[n++] = readInt();
+            }
+            if (!nextMember(']')) break;
+        }
+        return n == values.length ? values : Arrays.copyOf(values, n);
+    }
+
+    /** 문자열 배열 (null 은 null) */
+    private String[] readStringColumn() throws IOException {
+        if (peekNonWs() == 'n') { readLiteral("null"); return null; }
+        expect('[');
+        String[] values = new String[16];
+        int n = 0;
+        if (peekNonWs() == ']') { pos++; return new String[0]; }
+        while (true) {
+            if (n == values.length) values = Arrays.copyOf(values, n * 2);
+            values[n++] = readStringOr(null);
+            if (!nextMember(']')) break;
+        }
+        return n == values.length ? values : Arrays.copyOf(values, n);
+    }
+
+    /** 글 하나짜리 JSON 객체 (푸시 이벤트 data) */
+    public PostItem decodeOne() throws IOException {
+        return readPost();
+    }
+
+    private void readPosts(List<PostItem> out, int stopAtId) throws IOException {
+        expect('[');
+        if (peekNonWs() == ']') { pos++; return; }
+        int prevId = -1;
+        while (true) {
+            PostItem p = readPost();
+            // 최신순(내림차순)임이 확인된 뒤에만 조기 종료 → 나머지는 모두 이미 가진 글
+            if (stopAtId > 0 && p.getId() <= stopAtId && prevId > p.getId()) {
+                stoppedEarly = true;
+                return;
+            }
+            prevId = p.getId();
+            out.add(p);
+            if (!nextMember(']')) return;
+        }
+    }
+
+    private PostItem readPost() throws IOException {
+        int id = 0;
+        String title = "제목 없음";
+        String text = "";
+        String created = "";
+        String published = "";
+        String image = "";
+        String author = "익명";
+
+        expect('{');
+        if (peekNonWs() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                String key = readString();
+                expect(':');
+                switch (key) {
+                    case "id":             id = readInt(); break;
+                    case "title":          title = readStringOr(title); break;
+                    case "text":           text = readStringOr(text); break;
+                    case "created_date":   created = readStringOr(created); break;
+                    case "published_date": published = readStringOr(published); break;
+                    case "image":          image = readStringOr(image); break;
+                    case "author":         author = readStringOr(author); break;
+                    default:               skipValue(); break;
+                }
+                if (!nextMember('}')) break;
+            }
+        }
+        return new PostItem(id, title, text, created, published, image, author, parseStats(text));
+    }
+
+    private static ParsedStats parseStats(String text) {
+        long start = METRICS.now();
+        ParsedStats s = ParsedStats.parse(text);
+        METRICS.recordSince(STATS_PARSE, start);
+        return s;
+    }
+
+    // ---------------------------------------------------------------------
+    // 저수준 토큰 읽기
+    // ---------------------------------------------------------------------
+
+    private boolean fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private int peekNonWs() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) return -1;
+            char c = buf[pos];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\uFEFF') {
+                pos++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private char next() throws IOException {
+        if (pos == limit && !fill()) throw syntax("예상치 못한 끝");
+        return buf[pos++];
+    }
+
+    private void expect(char c) throws IOException {
+        if (peekNonWs() != c) throw syntax("'" + c + "' 필요");
+        pos++;
+    }
+
+    /** ',' 면 true, close 면 false */
+    private boolean nextMember(char close) throws IOException {
+        int c = peekNonWs();
+        pos++;
+        if (c == ',') return true;
+        if (c == close) return false;
+        throw syntax("',' 또는 '" + close + "' 필요");
+    }
+
+    private String readStringOr(String def) throws IOException {
+        int c = peekNonWs();
+        if (c == '"') return readString();
+        if (c == 'n') { readLiteral("null"); return def; }
+        skipValue();
+        return def;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        sb.setLength(0);
+        while (true) {
+            // 이스케이프 없는 구간은 버퍼에서 한 번에 복사
+            int start = pos;
+            while (pos < limit) {
+                char c = buf[pos];
+                if (c == '"' || c == '\\') break;
+                pos++;
+            }
+            sb.append(buf, start, pos - start);
+            if (pos == limit) {
+                if (!fill()) throw syntax("닫히지 않은 문자열");
+                continue;
+            }
+            char c = buf[pos++];
+            if (c == '"') return sb.toString();
+            readEscape();
+        }
+    }
+
+    private void readEscape() throws IOException {
+        char e = next();
+        switch (e) {
+            case '"':  sb.append('"'); break;
+            case '\\': sb.append('\\'); break;
+            case '/':  sb.append('/'); break;
+            case 'b':  sb.append('\b'); break;
+            case 'f':  sb.append('\f'); break;
+            case 'n':  sb.append('\n'); break;
+            case 'r':  sb.append('\r'); break;
+            case 't':  sb.append('\t'); break;
+            case 'u': {
+                int v = 0;
+                for (int i = 0; i < 4; i++) {
+                    int d = Character.digit(next(), 16);
+                    if (d < 0) throw syntax("잘못된 \\u 이스케이프");
+                    v = (v << 4) | d;
+                }
+                sb.append((char) v);
+                break;
+            }
+            default: throw syntax("잘못된 이스케이프");
+        }
+    }
+
+    /** 정수 (null 은 0). 숫자가 아니거나 int 범위를 넘으면 파싱 실패 */
+    private int readInt() throws IOException {
+        int c = peekNonWs();
+        if (c == 'n') { readLiteral("null"); return 0; }
+        if (c == '"') {
+            // 문자열로 온 id 도 허용
+            String s = readString().trim();
+            try { return Integer.parseInt(s); } catch (NumberFormatException e) { throw syntax("정수 필요: \"" + s + "\""); }
+        }
+        boolean neg = false;
+        if (c == '-') { neg = true; pos++; }
+        long v = 0;
+        int digits = 0;
+        while (true) {
+            if (pos == limit && !fill()) break;
+            char d = buf[pos];
+            if (d < '0' || d > '9') break;
+            if (v <= Integer.MAX_VALUE) v = v * 10 + (d - '0');
+            digits++;
+            pos++;
+        }
+        if (digits == 0) throw syntax("정수 필요");
+        if (v > Integer.MAX_VALUE) throw syntax("int 범위를 넘는 정수");
+        // 소수/지수부는 버린다
+        skipNumberTail();
+        return neg ? (int) -v : (int) v;
+    }
+
+    private void skipNumberTail() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) return;
+            char d = buf[pos];
+            if ((d >= '0' && d <= '9') || d == '.' || d == 'e' || d == 'E' || d == '+' || d == '-') {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void readLiteral(String lit) throws IOException {
+        for (int i = 0; i < lit.length(); i++) {
+            if (next() != lit.charAt(i)) throw syntax(lit + " 필요");
+        }
+    }
+
+    /** 모르는 필드 값은 만들지 않고 건너뛴다 (중첩 포함) */
+    private void skipValue() throws IOException {
+        int c = peekNonWs();
+        switch (c) {
+            case '"':
+                pos++;
+                while (true) {
+                    char ch = next();
+                    if (ch == '\\') next();
+                    else if (ch == '"') return;
+                }
+            case '{':
+            case '[': {
+                int depth = 0;
+                boolean inString = false;
+                while (true) {
+                    char ch = next();
+                    if (inString) {
+                        if (ch == '\\') next();
+                        else if (ch == '"') inString = false;
+                    } else if (ch == '"') {
+                        inString = true;
+                    } else if (ch == '{' || ch == '[') {
+                        depth++;
+                    } else if (ch == '}' || ch == ']') {
+                        if (--depth == 0) return;
+                    }
+                }
+            }
+            case 't': readLiteral("true"); return;
+            case 'f': readLiteral("false"); return;
+            case 'n': readLiteral("null"); return;
+            case -1: throw syntax("예상치 못한 끝");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos++;
+                    skipNumberTail();
+                    return;
+                }
+                throw syntax("잘못된 값");
+        }
+    }
+
+    private IOException syntax(String msg) {
+        return new IOException("JSON 파싱 실패: " + msg);
+    }
+}
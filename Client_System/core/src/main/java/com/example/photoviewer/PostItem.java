@@ -0,0 +1,133 @@
+package com.example.photoviewer;
+
+import java.util.Objects;
+
+public class PostItem {
+    private int id;
+    private String title;
+    private String text;
+    private String created_date;
+    private String published_date;
+    private String image;
+    private String author;
+
+    private final long createdEpochMs;
+    private volatile String createdTimeKor;
+
+    // 본문에서 뽑은 혼잡도 (피드 디코더 / 저장소가 넘겨 주거나, 처음 요청할 때 한 번만 계산)
+    private volatile ParsedStats stats;
+
+    public PostItem(int id, String title, String text,
+                    String created_date, String published_date,
+                    String image, String author) {
+        this.id = id;
+        this.title = title;
+        this.text = text;
+        this.created_date = created_date;
+        this.published_date = published_date;
+        this.image = image;
+        this.author = author;
+        this.createdEpochMs = IsoTime.parseEpochMs(created_date);
+    }
+
+    // 디코더 / PostStore: 이미 뽑은 수치를 그대로 써서 본문을 다시 파싱하지 않음
+    public PostItem(int id, String title, String text,
+                    String created_date, String published_date,
+                    String image, String author, ParsedStats stats) {
+        this(id, title, text, created_date, published_date, image, author);
+        this.stats = stats;
+    }
+
+    public int getId() { return id; }
+    public String getTitle() { return title; }
+    public String getText() { return text; }
+    public String getCreatedDateRaw() { return created_date; }
+    public String getPublishedDateRaw() { return published_date; }
+
+    public String getDate() {
+        return (published_date != null && !published_date.isEmpty())
+                ? published_date
+                : created_date;
+    }
+
+    public String getImageUrl() { return image; }
+    public String getAuthor() { return author; }
+
+    // 서버에서 다시 받은 같은 id 의 글이 바뀌었는지 비교 (저장소 / 목록 diff)
+    // 컬럼형 피드는 본문 없이 수치만 오니 수치도 비교한다
+    public boolean sameContentAs(PostItem o) {
+        if (id != o.id
+                || !Objects.equals(title, o.title)
+                || !Objects.equals(text, o.text)
+                || !Objects.equals(created_date, o.created_date)
+                || !Objects.equals(published_date, o.published_date)
+                || !Objects.equals(image, o.image)
+                || !Objects.equals(author, o.author)) {
+            return false;
+        }
+        ParsedStats a = getStats(), b = o.getStats();
+        return a.totalSeats == b.totalSeats && a.seated == b.seated
+                && a.queue == b.queue && a.remainSeats == b.remainSeats;
+    }
+
+    // ✅ 화면에 쓰이는 내용의 64비트 FNV-1a (대시보드 변경 감지 / History 행 diff 가 같이 씀)
+    // null 과 "" 는 같게 본다 (PostColumns 에서 다시 만든 글과 값이 같도록), 수치도 넣는다
+    public long contentHash() {
+        long h = 0xcbf29ce484222325L;
+        h = fnv(h, id);
+        h = fnv(h, title);
+        h = fnv(h, text);
+        h = fnv(h, created_date);
+        h = fnv(h, published_date);
+        h = fnv(h, image);
+        h = fnv(h, author);
+        ParsedStats s = getStats();
+        h = fnv(h, s.totalSeats);
+        h = fnv(h, s.seated);
+        h = fnv(h, s.queue);
+        return fnv(h, s.remainSeats);
+    }
+
+    private static long fnv(long h, String s) {
+        if (s != null) {
+            for (int i = 0; i < s.length(); i++) {
+                h ^= s.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        }
+        return (h ^ 0xffff) * 0x100000001b3L; // 필드 구분자
+    }
+
+    private static long fnv(long h, int v) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            h ^= (v >>> shift) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // ✅ 혼잡도 수치: 글마다 한 번만 파싱해서 재사용 (스크롤/폴링 때 다시 파싱하지 않음)
+    public ParsedStats getStats() {
+        ParsedStats s = stats;
+        if (s == null) {
+            s = ParsedStats.parse(text);
+            stats = s;
+        }
+        return s;
+    }
+
+    // ✅ 정렬용 epoch(ms): 생성 시 한 번만 파싱해 둔 값
+    public long getCreatedEpochMs() {
+        return createdEpochMs;
+    }
+
+    // ✅ 화면 표시용 "오전/오후 hh:mm" (처음 요청할 때 한 번 만들고 재사용)
+    public String getCreatedTimeKor() {
+        String s = createdTimeKor;
+        if (s == null) {
+            s = createdEpochMs == 0L ? "" : IsoTime.formatKorTime(createdEpochMs);
+            createdTimeKor = s;
+        }
+        return s;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.photoviewer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 최신순으로 정렬된 글의 생성 시각 색인 (long[] 하나, 이진 탐색).
+ * - positionAtOrBefore(t): "t 시각에는 어땠나" → t 이전(포함) 가장 최근 글의 위치
+ * - range(from, to): [from, to) 시각 구간에 든 글의 위치 [start, end)
+ * 모두 O(log n) 이고 글 객체를 건드리지 않는다. 위치는 만들 때 넘긴 목록의 순서 그대로.
+ * 시각을 모르는 글(0)은 가장 오래된 것으로 보고 맨 뒤에 있어야 한다 (PostStore.NEWEST_FIRST 와 같은 순서).
+ * 만든 뒤로 바뀌지 않는다.
+ */
+public final class TimeIndex {
+
+    public static final TimeIndex EMPTY = new TimeIndex(new long[0], new int[0]);
+
+    private final long[] epochs; // 내림차순
+    private final int[] ids;
+
+    private TimeIndex(long[] epochs, int[] ids) {
+        this.epochs = epochs;
+        this.ids = ids;
+    }
+
+    /** 최신순 목록으로 만든다. 순서가 틀리면 IllegalArgumentException */
+    public static TimeIndex of(List<PostItem> newestFirst) {
+        return build(newestFirst.size(), i -> newestFirst.get(i).getCreatedEpochMs(),
+                i -> newestFirst.get(i).getId());
+    }
+
+    /** PostColumns 의 행 순서 그대로 (최신순이어야 함) */
+    public static TimeIndex of(PostColumns columns) {
+        return build(columns.size(), columns::createdEpochMs, columns::id);
+    }
+
+    private static TimeIndex build(int size, IntToLongFunction epochMsAt, IntUnaryOperator idAt) {
+        long[] epochs = new long[size];
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            epochs[i] = epochMsAt.applyAsLong(i);
+            ids[i] = idAt.applyAsInt(i);
+            if (i > 0 && epochs[i] > epochs[i - 1]) {
+                throw new IllegalArgumentException("최신순이 아님 : " + ids[i - 1] + " 다음 " + ids[i]);
+            }
+        }
+        return new TimeIndex(epochs, ids);
+    }
+
+    public int size() {
+        return epochs.length;
+    }
+
+    public long epochAt(int position) {
+        return epochs[position];
+    }
+
+    public int idAt(int position) {
+        return ids[position];
+    }
+
+    /** 생성 시각이 t 보다 이른 첫 위치 (없으면 size) */
+    public int firstBefore(long t) {
+        return firstBefore(epochs, 0, epochs.length, t);
+    }
+
+    /** 생성 시각이 t 이하인 첫 위치 = t 시점에 가장 최근이던 글 (없으면 size) */
+    public int positionAtOrBefore(long t) {
+        return t == Long.MAX_VALUE ? 0 : firstBefore(t + 1);
+    }
+
+    /**
+     * fromMs <= 생성 시각 < toMs 인 글의 위치 [start, end).
+     * @return {start, end} (없으면 start == end)
+     */
+    public int[] range(long fromMs, long toMs) {
+        int start = firstBefore(toMs);
+        int end = Math.max(start, firstBefore(fromMs));
+        return new int[]{start, end};
+    }
+
+    public int countInRange(long fromMs, long toMs) {
+        int[] r = range(fromMs, toMs);
+        return r[1] - r[0];
+    }
+
+    /** 내림차순 a[from, to) 에서 a[i] < t 인 첫 i (없으면 to) */
+    static int firstBefore(long[] a, int from, int to, long t) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < t) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeIndex(" + epochs.length + (epochs.length > 0
+                ? ", " + Arrays.toString(new long[]{epochs[0], epochs[epochs.length - 1]}) : "") + ")";
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IsoTimeTest {
+
+    @Test
+    public void honoursOffsets() {
+        long kst = IsoTime.parseEpochMs("2025-12-18T19:11:09+09:00");
+        assertEquals(OffsetDateTime.parse("2025-12-18T19:11:09+09:00").toInstant().toEpochMilli(), kst);
+        assertEquals(kst, IsoTime.parseEpochMs("2025-12-18T10:11:09Z"));
+        assertEquals(kst, IsoTime.parseEpochMs("2025-12-18T10:11:09+00:00"));
+        assertEquals(kst, IsoTime.parseEpochMs("2025-12-18T05:11:09-0500"));
+        // 오프셋이 없으면 KST
+        assertEquals(kst, IsoTime.parseEpochMs("2025-12-18 19:11:09"));
+    }
+
+    @Test
+    public void fractionalSecondsKeepMillis() {
+        long base = IsoTime.parseEpochMs("2025-12-18T19:11:09+09:00");
+        assertEquals(base + 123, IsoTime.parseEpochMs("2025-12-18T19:11:09.123456+09:00"));
+        assertEquals(base + 500, IsoTime.parseEpochMs("2025-12-18T19:11:09.5+09:00"));
+    }
+
+    @Test
+    public void malformedIsZero() {
+        assertEquals(0L, IsoTime.parseEpochMs(null));
+        assertEquals(0L, IsoTime.parseEpochMs(""));
+        assertEquals(0L, IsoTime.parseEpochMs("2025-12-18T19:11"));
+        assertEquals(0L, IsoTime.parseEpochMs("2025/12/18T19:11:09"));
+        assertEquals(0L, IsoTime.parseEpochMs("2025-13-18T19:11:09"));
+        assertEquals(0L, IsoTime.parseEpochMs("2025-12-18T19:11:09+9"));
+        assertEquals(0L, IsoTime.parseEpochMs("2025-12-18T19:11:09 KST"));
+    }
+
+    @Test
+    public void matchesJavaTimeOnRandomInstants() {
+        Random rnd = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            LocalDateTime t = LocalDateTime.of(1971 + rnd.nextInt(120), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28),
+                    rnd.nextInt(24), rnd.nextInt(60), rnd.nextInt(60), rnd.nextInt(1000) * 1_000_000);
+            ZoneOffset off = ZoneOffset.ofTotalSeconds((rnd.nextInt(27) - 12) * 3600 + (rnd.nextBoolean() ? 1800 : 0));
+            OffsetDateTime odt = t.atOffset(off);
+            assertEquals(odt.toString(), odt.toInstant().toEpochMilli(), IsoTime.parseEpochMs(odt.toString()));
+        }
+    }
+
+    @Test
+    public void formatsKoreanClock() {
+        assertEquals("오후 07:11", IsoTime.formatKorTime(IsoTime.parseEpochMs("2025-12-18T19:11:09+09:00")));
+        assertEquals("오전 12:05", IsoTime.formatKorTime(IsoTime.parseEpochMs("2025-12-18T00:05:00+09:00")));
+        assertEquals("오후 12:30", IsoTime.formatKorTime(IsoTime.parseEpochMs("2025-12-18T12:30:00+09:00")));
+        // UTC 로 와도 한국 시간으로 표시
+        assertEquals("오전 09:00", IsoTime.formatKorTime(IsoTime.parseEpochMs("2025-12-18T00:00:00Z")));
+    }
+
+    @Test
+    public void kstCalendarHelpersRoundTrip() {
+        long t = IsoTime.parseEpochMs("2025-12-18T12:15:00+09:00");
+        assertEquals(t, IsoTime.kstEpochMs(2025, 12, 18, 12, 15));
+        assertEquals("2025-12-18T03:15:00Z", IsoTime.formatIsoUtc(t));
+        assertEquals(t, IsoTime.parseEpochMs(IsoTime.formatIsoUtc(t)));
+        // 한국 날짜 기준 자정 (UTC 로는 전날 15시)
+        assertEquals(IsoTime.parseEpochMs("2025-12-18T00:00:00+09:00"),
+                IsoTime.kstStartOfDay(IsoTime.parseEpochMs("2025-12-18T08:59:00+09:00")));
+        assertArrayEquals(new int[]{2024, 2, 29}, IsoTime.civilFromDays(IsoTime.daysFromCivil(2024, 2, 29)));
+    }
+
+    @Test
+    public void postItemParsesOnceAndCachesDisplay() {
+        PostItem item = new PostItem(1, "t", "", "2025-12-18T19:11:09.123+09:00", "", "", "a");
+        assertEquals(IsoTime.parseEpochMs("2025-12-18T19:11:09.123+09:00"), item.getCreatedEpochMs());
+        assertSame(item.getCreatedTimeKor(), item.getCreatedTimeKor());
+        assertEquals("", new PostItem(2, "t", "", "", "", "", "a").getCreatedTimeKor());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OccupancySeriesTest {
+
+    // 10분 칸 경계에 맞춘 기준 시각
+    private static final long T0 = OccupancySeries.HOUR_MS * 480_000;
+    private static final long MIN = 60_000L;
+
+    @Test
+    public void bucketsAndRingFoldEachEvent() {
+        OccupancySeries s = new OccupancySeries(3);
+        assertEquals(0, s.ingest(1, T0 + MIN, 40, 30, 0, 10));
+        assertEquals(0, s.ingest(2, T0 + 2 * MIN, 40, 36, 2, 4));
+        assertEquals(0, s.ingest(3, T0 + 12 * MIN, 40, 20, 0, 20));
+        assertEquals(0, s.ingest(4, T0 + 13 * MIN, 40, 40, 5, 0));
+
+        assertEquals(2, s.eventsIn10m(T0));
+        assertEquals(7.0, s.meanRemainIn10m(T0 + 9 * MIN), 1e-9);
+        assertEquals(10.0, s.meanRemainIn10m(T0 + 10 * MIN), 1e-9);
+        assertEquals(8.5, s.meanRemainInHour(T0), 1e-9);
+
+        // 링은 최근 3개만
+        assertEquals(3, s.size());
+        assertEquals(0, s.remainAt(0));
+        assertEquals(5, s.queueAt(0));
+        assertEquals(T0 + 2 * MIN, s.timeAt(2));
+        assertEquals(4, s.getLastId());
+    }
+
+    @Test
+    public void alreadySeenIdsAreIgnored() {
+        OccupancySeries s = new OccupancySeries(8);
+        s.ingest(5, T0, 40, 30, 0, 10);
+        assertEquals(OccupancySeries.IGNORED, s.ingest(5, T0, 40, 30, 0, 10));
+        assertEquals(OccupancySeries.IGNORED, s.ingest(3, T0 + MIN, 40, 30, 0, 10));
+        assertEquals(1, s.eventsIn10m(T0));
+        assertEquals(1, s.size());
+    }
+
+    @Test
+    public void anomaliesAreFlaggedOnIngest() {
+        OccupancySeries s = new OccupancySeries(8);
+        assertEquals(OccupancySeries.REMAIN_OVER_TOTAL | OccupancySeries.SEAT_MISMATCH,
+                s.ingest(1, T0 + 5 * MIN, 40, 0, 0, 45));
+        assertEquals(OccupancySeries.SEATED_OVER_TOTAL | OccupancySeries.SEAT_MISMATCH,
+                s.ingest(2, T0 + 6 * MIN, 40, 42, 0, 0));
+        assertEquals(OccupancySeries.SEAT_MISMATCH, s.ingest(3, T0 + 7 * MIN, 40, 30, 0, 5));
+        assertEquals(OccupancySeries.TIME_REGRESSION, s.ingest(4, T0 + MIN, 40, 30, 0, 10));
+        // 수치 없는 글 (사진) 은 검사할 게 없음
+        assertEquals(0, s.ingest(5, T0 + 8 * MIN, -1, -1, -1, -1));
+
+        List<OccupancySeries.Anomaly> recent = s.recentAnomalies();
+        assertEquals(4, recent.size());
+        assertEquals(1, recent.get(0).id);
+        assertEquals(4, recent.get(3).id);
+        assertTrue(recent.get(0).describe().contains("45>40"));
+        assertEquals(4, s.getAnomalyCount());
+        // 역행한 값은 원본 링에 넣지 않음
+        assertEquals(3, s.size());
+    }
+
+    @Test
+    public void anomalyListKeepsOnlyTheNewest() {
+        OccupancySeries s = new OccupancySeries(8);
+        int n = OccupancySeries.MAX_ANOMALIES + 7;
+        for (int id = 1; id <= n; id++) s.ingest(id, T0 + id * 1000L, 40, 0, 0, 41);
+        List<OccupancySeries.Anomaly> recent = s.recentAnomalies();
+        assertEquals(OccupancySeries.MAX_ANOMALIES, recent.size());
+        assertEquals(8, recent.get(0).id);
+        assertEquals(n, recent.get(recent.size() - 1).id);
+        assertEquals(n, s.getAnomalyCount());
+    }
+
+    @Test
+    public void trendSummarisesRecentBuckets() {
+        OccupancySeries s = new OccupancySeries(16);
+        s.ingest(1, T0 - 30 * MIN, 40, 40, 3, 0);  // 혼잡
+        s.ingest(2, T0 - 5 * MIN, 40, 20, 0, 20);  // 여유
+        s.ingest(3, T0 - 4 * MIN, 40, 30, 0, 10);  // 보통
+        s.ingest(4, T0 + MIN, 40, 35, 1, 5);       // 혼잡
+        s.ingest(5, T0 + 2 * MIN, 40, 33, 0, 7);   // 보통
+
+        OccupancySeries.Trend t = s.trend(T0 + 3 * MIN);
+        assertEquals(7, t.latestRemain);
+        assertEquals(0, t.latestQueue);
+        assertEquals(40, t.latestTotal);
+        assertEquals(6.0, t.meanRemain10m, 1e-9);
+        assertEquals(15.0, t.meanRemainPrev10m, 1e-9);
+        assertEquals(-9.0, t.remainDelta(), 1e-9);
+        assertEquals(1, t.maxQueue10m);
+        assertEquals(0, t.minRemain1h);
+        assertEquals(5, t.events1h);
+        assertEquals(5, t.events24h);
+        assertEquals(1, t.free24h);
+        assertEquals(2, t.normal24h);
+        assertEquals(2, t.busy24h);
+        assertEquals(0, t.anomalies);
+    }
+
+    @Test
+    public void oldBucketsExpire() {
+        OccupancySeries s = new OccupancySeries(16);
+        s.ingest(1, T0, 40, 30, 0, 10);
+        // 하루 뒤 같은 칸 → 지난 주기 값은 비우고 씀
+        s.ingest(2, T0 + 24 * OccupancySeries.HOUR_MS, 40, 20, 0, 20);
+        assertEquals(0, s.eventsIn10m(T0));
+        assertEquals(20.0, s.meanRemainIn10m(T0 + 24 * OccupancySeries.HOUR_MS), 1e-9);
+
+        OccupancySeries.Trend t = s.trend(T0 + 24 * OccupancySeries.HOUR_MS);
+        assertEquals(1, t.events1h);
+        assertEquals(1, t.events24h);
+        assertTrue(Double.isNaN(s.trend(T0 + 30 * OccupancySeries.HOUR_MS).meanRemain10m));
+    }
+
+    @Test
+    public void ingestsParsedPosts() {
+        OccupancySeries s = new OccupancySeries(4);
+        PostItem p = new PostItem(7, "혼잡도 변경",
+                "- 총 좌석 수: 40석\n- 착석 인원: 32명\n- 대기열 인원(서 있는 인원): 0명\n- 남은 좌석: 8석",
+                "2025-12-18T12:05:00+09:00", "", "", "edge");
+        assertEquals(0, s.ingest(p));
+        assertEquals(8, s.remainAt(0));
+        assertEquals(1, s.eventsIn10m(p.getCreatedEpochMs()));
+    }
+}
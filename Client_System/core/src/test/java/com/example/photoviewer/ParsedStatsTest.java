@@ -0,0 +1,94 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class ParsedStatsTest {
+
+    // changedetection.py 가 올리는 본문 그대로
+    private static final String EDGE_TEXT =
+            "2025-12-18 12:11:09 기준 학생식당 혼잡도 상태가 '혼잡'로 변경되었습니다.\n"
+            + "- 총 좌석 수: 40석\n"
+            + "- 착석 인원: 40명\n"
+            + "- 대기열 인원(서 있는 인원): 3명\n"
+            + "- 남은 좌석: 0석";
+
+    @Test
+    public void parsesEdgeDeviceText() {
+        ParsedStats ps = ParsedStats.parse(EDGE_TEXT);
+        assertEquals(40, ps.totalSeats);
+        assertEquals(40, ps.seated);
+        assertEquals(3, ps.queue);
+        assertEquals(0, ps.remainSeats);
+        assertTrue(ps.isValid());
+    }
+
+    @Test
+    public void missingValuesAreMinusOne() {
+        ParsedStats ps = ParsedStats.parse("- 총 좌석 수: 40석\n- 남은 좌석: 석");
+        assertEquals(40, ps.totalSeats);
+        assertEquals(-1, ps.seated);
+        assertEquals(-1, ps.queue);
+        assertEquals(-1, ps.remainSeats);
+        assertFalse(ps.isValid());
+
+        assertSame(ParsedStats.EMPTY, ParsedStats.parse(null));
+        assertSame(ParsedStats.EMPTY, ParsedStats.parse(""));
+        assertSame(ParsedStats.EMPTY, ParsedStats.parse("사진 테스트"));
+    }
+
+    @Test
+    public void queueLabelMatchesFirstValidColonOnSameLine() {
+        assertEquals(5, ParsedStats.parse("대기열 인원 (기준: 입구): 5명").queue);
+        assertEquals(7, ParsedStats.parse("대기열 인원:   7명").queue);
+        // 콜론 뒤 공백은 줄을 넘어가도 된다 (\s*)
+        assertEquals(2, ParsedStats.parse("대기열 인원:\n 2명").queue);
+        // 라벨과 콜론 사이에는 줄바꿈이 올 수 없다 (.*?)
+        assertEquals(-1, ParsedStats.parse("대기열 인원\n: 2명").queue);
+    }
+
+    @Test
+    public void laterOccurrenceIsUsedWhenFirstDoesNotMatch() {
+        assertEquals(30, ParsedStats.parse("총 좌석 수: 미정\n총 좌석 수: 30석").totalSeats);
+    }
+
+    @Test
+    public void memoizedOnPostItem() {
+        PostItem item = new PostItem(1, "t", EDGE_TEXT, "", "", "", "edge");
+        assertSame(item.getStats(), item.getStats());
+        assertEquals(3, item.getStats().queue);
+    }
+
+    // ---- 예전 정규식 구현과 같은 결과인지 무작위 본문으로 비교 ----
+
+    private static int regex(String text, String re) {
+        Matcher m = Pattern.compile(re).matcher(text);
+        return m.find() ? Integer.parseInt(m.group(1)) : -1;
+    }
+
+    @Test
+    public void agreesWithLegacyRegexes() {
+        String[] pieces = {
+                "총 좌석 수:", "착석 인원:", "대기열 인원", "대기열 인원(서 있는 인원):", "남은 좌석:",
+                " ", "\n", ":", "12", "0", "석", "명", "- ", "abc", "혼잡", "(", ")"
+        };
+        Random rnd = new Random(42);
+        for (int iter = 0; iter < 20000; iter++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + rnd.nextInt(14);
+            for (int k = 0; k < len; k++) sb.append(pieces[rnd.nextInt(pieces.length)]);
+            String text = sb.toString();
+
+            ParsedStats ps = ParsedStats.parse(text);
+            assertEquals(text, regex(text, "총 좌석 수:\\s*(\\d+)석"), ps.totalSeats);
+            assertEquals(text, regex(text, "착석 인원:\\s*(\\d+)명"), ps.seated);
+            assertEquals(text, regex(text, "대기열 인원.*?:\\s*(\\d+)명"), ps.queue);
+            assertEquals(text, regex(text, "남은 좌석:\\s*(\\d+)석"), ps.remainSeats);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PerfMetricsTest {
+
+    private long now = 0;
+    private final PerfMetrics metrics = new PerfMetrics(() -> now);
+
+    @Test
+    public void bucketsCoverEveryValueWithinQuarterError() {
+        for (long micros = 0; micros < 1_000_000; micros += micros < 100 ? 1 : 997) {
+            int b = PerfMetrics.Histogram.bucketOf(micros);
+            long lo = PerfMetrics.Histogram.lowerBound(b);
+            long hi = PerfMetrics.Histogram.lowerBound(b + 1);
+            assertTrue(micros + " in [" + lo + "," + hi + ")", lo <= micros && micros < hi);
+            assertTrue(hi - lo <= Math.max(1, lo / 4));
+        }
+        assertEquals(PerfMetrics.Histogram.BUCKETS - 1, PerfMetrics.Histogram.bucketOf(Long.MAX_VALUE / 1000));
+    }
+
+    @Test
+    public void percentilesMeanAndMax() {
+        PerfMetrics.Histogram h = metrics.histogram("feed.fetch");
+        assertSame(h, metrics.histogram("feed.fetch"));
+        for (int i = 1; i <= 100; i++) {
+            long start = metrics.now();
+            now += i * 1_000_000L; // i ms
+            metrics.recordSince(h, start);
+        }
+        assertEquals(100, h.count());
+        assertEquals(50.5, h.meanMs(), 0.01);
+        assertEquals(100.0, h.maxMs(), 0.001);
+        assertEquals(50.0, h.percentileMs(0.5), 50 * 0.25);
+        assertEquals(90.0, h.percentileMs(0.9), 90 * 0.25);
+        assertEquals(100.0, h.percentileMs(1.0), 0.001); // 최대값을 넘지 않음
+
+        metrics.reset();
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentileMs(0.5), 0);
+    }
+
+    @Test
+    public void gaugeKeepsPeakAcrossReset() {
+        PerfMetrics.Gauge g = metrics.gauge("http.inFlight");
+        g.increment();
+        g.increment();
+        g.decrement();
+        assertEquals(1, g.value());
+        assertEquals(2, g.peak());
+
+        metrics.reset(); // 진행 중인 값은 그대로, 최댓값은 지금 값부터
+        assertEquals(1, g.value());
+        assertEquals(1, g.peak());
+    }
+
+    @Test
+    public void jsonAndTextIncludeEveryKind() {
+        metrics.histogram("render.dashboard").recordNanos(2_500_000);
+        metrics.counter("http.wireBytes").add(1234);
+        metrics.gauge("http.inFlight").increment();
+        metrics.probe("image.memoryHits", () -> 7);
+
+        String json = metrics.toJson(Collections.singletonMap("device", "Pixel \"7\""));
+        assertTrue(json, json.startsWith("{\"device\":\"Pixel \\\"7\\\"\","));
+        assertTrue(json, json.contains("\"render.dashboard\":{\"count\":1,\"meanMs\":2.500,"));
+        assertTrue(json, json.contains("\"counters\":{\"http.wireBytes\":1234,\"image.memoryHits\":7}"));
+        assertTrue(json, json.contains("\"gauges\":{\"http.inFlight\":{\"now\":1,\"peak\":1}}"));
+
+        String text = metrics.toText();
+        assertTrue(text.contains("render.dashboard"));
+        assertTrue(text.contains("image.memoryHits"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PostColumnsTest {
+
+    private static PostItem edge(int id, String image) {
+        return new PostItem(id, "혼잡도 변경",
+                "- 총 좌석 수: 40석\n- 착석 인원: " + id + "명\n- 대기열 인원(서 있는 인원): 0명\n- 남은 좌석: " + (40 - id) + "석",
+                "2025-12-18T12:0" + id + ":00.123456+09:00", "", image, "edge");
+    }
+
+    @Test
+    public void rowsRoundTripWithoutReparsing() {
+        PostItem photo = new PostItem(9, "사진", "사진 테스트", "2025-12-18T13:00:00+09:00",
+                "2025-12-18T13:01:00+09:00", "/media/blog_image/p.jpg", "익명");
+        List<PostItem> posts = Arrays.asList(edge(3, "https://h/media/blog_image/a.jpg"),
+                edge(2, "https://h/media/blog_image/b.jpg"), photo, edge(1, ""));
+        PostColumns c = PostColumns.of(posts);
+
+        assertEquals(4, c.size());
+        for (int i = 0; i < posts.size(); i++) {
+            PostItem p = posts.get(i);
+            assertEquals(p.getId(), c.id(i));
+            assertEquals(p.getCreatedEpochMs(), c.createdEpochMs(i));
+            assertEquals(p.getCreatedTimeKor(), c.createdTimeKor(i));
+            assertEquals(p.getImageUrl(), c.imageUrl(i));
+            assertEquals(p.getStats().isValid(), c.hasStats(i));
+            assertTrue(p.sameContentAs(c.post(i)));
+        }
+        assertEquals(37, c.remainSeats(0));
+        assertEquals(3, c.seated(0));
+        assertEquals(0, c.queue(0));
+        assertEquals(40, c.totalSeats(0));
+        assertFalse(c.hasStats(2));
+        assertEquals("사진 테스트", c.text(2));
+        assertEquals("2025-12-18T13:01:00+09:00", c.publishedDateRaw(2));
+
+        // 제목/작성자 문자열은 행마다 새로 만들지 않음
+        assertSame(c.title(0), c.title(1));
+        assertSame(c.author(0), c.author(3));
+    }
+
+    @Test
+    public void sliceSharesRowsAndHashTracksContent() {
+        List<PostItem> posts = new ArrayList<>();
+        for (int id = 1; id <= 9; id++) posts.add(edge(id, "/media/blog_image/" + id + ".jpg"));
+        PostColumns all = PostColumns.of(posts);
+
+        PostColumns mid = all.slice(3, 6);
+        assertEquals(3, mid.size());
+        assertEquals(4, mid.id(0));
+        assertEquals("/media/blog_image/6.jpg", mid.imageUrl(2));
+        assertEquals(all.contentHash(4), mid.contentHash(1));
+        assertEquals(5, mid.slice(1, 2).id(0));
+        try {
+            mid.id(3);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        PostColumns same = PostColumns.of(Arrays.asList(edge(4, "/media/blog_image/4.jpg")));
+        PostColumns edited = PostColumns.of(Arrays.asList(edge(4, "/media/blog_image/4b.jpg")));
+        assertEquals(mid.contentHash(0), same.contentHash(0));
+        assertNotEquals(mid.contentHash(0), edited.contentHash(0));
+        assertTrue(PostColumns.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void hashTracksStatsOfColumnarRows() {
+        // 컬럼형 피드: 본문 없이 수치만 바뀜
+        PostItem before = new PostItem(7, "혼잡도 변경", null, "2025-12-18T12:07:00+09:00", null, "", "edge",
+                new ParsedStats(40, 30, 0, 10));
+        PostItem after = new PostItem(7, "혼잡도 변경", null, "2025-12-18T12:07:00+09:00", null, "", "edge",
+                new ParsedStats(40, 30, 3, 10));
+        PostColumns a = PostColumns.of(Arrays.asList(before));
+        PostColumns b = PostColumns.of(Arrays.asList(after));
+
+        assertNotEquals(a.contentHash(0), b.contentHash(0));
+        assertEquals(before.contentHash(), a.contentHash(0));
+        // 컬럼에서 다시 만든 글 (null → "") 도 같은 값
+        assertEquals(a.contentHash(0), a.post(0).contentHash());
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PostFeedDecoderTest {
+
+    private static final String POST_2 =
+            "{\"id\":2,\"author\":\"edge\",\"title\":\"식당 \\\"A\\\"\","
+            + "\"text\":\"총 좌석 수: 40석\\n착석 인원: 12명\\u0021\","
+            + "\"created_date\":\"2025-12-18T12:10:00+09:00\",\"published_date\":null,"
+            + "\"image\":\"/media/blog_image/a.jpg\",\"extra\":{\"k\":[1,{\"x\":\"]}\"}]},\"score\":-1.5e3}";
+    private static final String POST_1 =
+            "{\"id\":1,\"title\":null,\"text\":\"\",\"created_date\":\"2025-12-18T12:00:00+09:00\"}";
+
+    private static List<PostItem> decode(String json, int stopAtId, boolean[] stopped) throws Exception {
+        List<PostItem> out = new ArrayList<>();
+        PostFeedDecoder d = new PostFeedDecoder(new StringReader(json));
+        d.decode(out, stopAtId);
+        if (stopped != null) stopped[0] = d.stoppedEarly();
+        return out;
+    }
+
+    @Test
+    public void decodesBareArray() throws Exception {
+        List<PostItem> posts = decode("[" + POST_2 + "," + POST_1 + "]", 0, null);
+
+        assertEquals(2, posts.size());
+        PostItem p = posts.get(0);
+        assertEquals(2, p.getId());
+        assertEquals("식당 \"A\"", p.getTitle());
+        assertEquals("총 좌석 수: 40석\n착석 인원: 12명!", p.getText());
+        assertEquals("", p.getPublishedDateRaw());
+        assertEquals("/media/blog_image/a.jpg", p.getImageUrl());
+        assertEquals("edge", p.getAuthor());
+
+        // null / 누락 필드는 기존 optString 기본값과 동일
+        PostItem q = posts.get(1);
+        assertEquals("제목 없음", q.getTitle());
+        assertEquals("익명", q.getAuthor());
+        assertEquals("", q.getImageUrl());
+    }
+
+    @Test
+    public void decodesPaginatedObject() throws Exception {
+        String json = " {\"count\":2,\"next\":null,\"previous\":null,\"results\":[" + POST_2 + "," + POST_1 + "]} ";
+        List<PostItem> posts = decode(json, 0, null);
+        assertEquals(2, posts.size());
+        assertEquals(1, posts.get(1).getId());
+    }
+
+    @Test
+    public void readsCountAndNextLink() throws Exception {
+        PostFeedDecoder d = new PostFeedDecoder(new StringReader(
+                "{\"count\":25,\"next\":\"http://x/api_root/Post/?page=3\",\"previous\":null,\"results\":[" + POST_1 + "]}"));
+        d.decode(new ArrayList<>(), 0);
+        assertEquals(25, d.totalCount());
+        assertEquals("http://x/api_root/Post/?page=3", d.nextPageUrl());
+
+        d = new PostFeedDecoder(new StringReader("[" + POST_1 + "]"));
+        d.decode(new ArrayList<>(), 0);
+        assertEquals(-1, d.totalCount());
+        assertNull(d.nextPageUrl());
+    }
+
+    @Test
+    public void emptyShapes() throws Exception {
+        assertTrue(decode("[]", 0, null).isEmpty());
+        assertTrue(decode("{}", 0, null).isEmpty());
+        assertTrue(decode("{\"count\":0,\"results\":[]}", 0, null).isEmpty());
+    }
+
+    @Test
+    public void stopsAtKnownPostsInNewestFirstFeed() throws Exception {
+        boolean[] stopped = new boolean[1];
+        String json = "{\"results\":[{\"id\":5},{\"id\":4},{\"id\":3},{\"id\":2},{\"id\":1}]}";
+
+        List<PostItem> posts = decode(json, 3, stopped);
+
+        assertTrue(stopped[0]);
+        assertEquals(2, posts.size());
+        assertEquals(4, posts.get(1).getId());
+    }
+
+    @Test
+    public void doesNotStopInOldestFirstFeed() throws Exception {
+        boolean[] stopped = new boolean[1];
+        List<PostItem> posts = decode("[{\"id\":1},{\"id\":2},{\"id\":3},{\"id\":4}]", 2, stopped);
+
+        assertFalse(stopped[0]);
+        assertEquals(4, posts.size());
+    }
+
+    @Test
+    public void largeFeedAcrossBufferBoundaries() throws Exception {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 3000; i > 0; i--) {
+            if (i != 3000) sb.append(',');
+            sb.append("{\"id\":").append(i).append(",\"text\":\"대기열 인원(명): ").append(i % 7).append("명\"}");
+        }
+        sb.append(']');
+
+        List<PostItem> posts = decode(sb.toString(), 0, null);
+        assertEquals(3000, posts.size());
+        assertEquals("대기열 인원(명): 6명", posts.get(2994).getText());
+    }
+
+    // 서버 renderers.to_columns 출력 모양
+    private static final String COLUMNAR =
+            "{\"format\":\"columnar\",\"v\":1,\"n\":3,\"count\":30,\"next\":\"http://x/api_root/Post/?page=2\","
+            + "\"id\":[5,4,3],\"author\":[\"edge\",null,\"edge\"],\"title\":[\"혼잡도 변경\",null,\"t\"],"
+            + "\"created_date\":[\"2025-12-18T12:10:00+09:00\",\"2025-12-18T12:05:00+09:00\",null],"
+            + "\"published_date\":[null,null,null],"
+            + "\"image_base\":\"https://h/media/blog_image/\",\"image\":[\"a.jpg\",null,\"c.jpg\"],"
+            + "\"total\":[40,null,null],\"seated\":[12,null,null],\"queue\":[0,null,null],\"remain\":[28,null,null],"
+            + "\"text\":[null,\"사진 테스트\",null],\"future\":{\"x\":[1]}}";
+
+    private static List<PostItem> decodeColumnar(String json, int stopAtId, PostFeedDecoder[] decoder) throws Exception {
+        List<PostItem> out = new ArrayList<>();
+        PostFeedDecoder d = new PostFeedDecoder(new StringReader(json));
+        d.decodeColumnar(out, stopAtId);
+        if (decoder != null) decoder[0] = d;
+        return out;
+    }
+
+    @Test
+    public void decodesColumnarWithNumericStats() throws Exception {
+        PostFeedDecoder[] d = new PostFeedDecoder[1];
+        List<PostItem> posts = decodeColumnar(COLUMNAR, 0, d);
+
+        assertEquals(3, posts.size());
+        assertEquals(30, d[0].totalCount());
+        assertEquals("http://x/api_root/Post/?page=2", d[0].nextPageUrl());
+
+        // 수치가 숫자로 왔으니 본문은 비어 있어도 stats 는 그대로
+        PostItem p = posts.get(0);
+        assertEquals(5, p.getId());
+        assertEquals("", p.getText());
+        assertEquals("https://h/media/blog_image/a.jpg", p.getImageUrl());
+        ParsedStats s = p.getStats();
+        assertEquals(40, s.totalSeats);
+        assertEquals(12, s.seated);
+        assertEquals(0, s.queue);
+        assertEquals(28, s.remainSeats);
+
+        // 수치가 없으면 본문이 오고, null 은 JSON 경로와 같은 기본값
+        PostItem q = posts.get(1);
+        assertEquals("사진 테스트", q.getText());
+        assertEquals("제목 없음", q.getTitle());
+        assertEquals("익명", q.getAuthor());
+        assertEquals("", q.getImageUrl());
+        assertFalse(q.getStats().isValid());
+
+        assertEquals("", posts.get(2).getCreatedDateRaw());
+        assertFalse(posts.get(2).getStats().isValid());
+    }
+
+    @Test
+    public void columnarStopsAtKnownPosts() throws Exception {
+        PostFeedDecoder[] d = new PostFeedDecoder[1];
+        List<PostItem> posts = decodeColumnar(COLUMNAR, 4, d);
+        assertTrue(d[0].stoppedEarly());
+        assertEquals(1, posts.size());
+
+        assertTrue(decodeColumnar("{}", 0, null).isEmpty());
+        assertTrue(decodeColumnar("{\"format\":\"columnar\",\"v\":1,\"n\":0,\"id\":[]}", 0, null).isEmpty());
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void columnarLengthMismatchFails() throws Exception {
+        decodeColumnar("{\"id\":[2,1],\"title\":[\"a\"]}", 0, null);
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void truncatedFeedFails() throws Exception {
+        decode("[{\"id\":1,\"title\":\"abc", 0, null);
+    }
+
+    @Test
+    public void columnarIntLengthMismatchFails() throws Exception {
+        try {
+            decodeColumnar("{\"id\":[2,1],\"total\":[40]}", 0, null);
+            fail();
+        } catch (java.io.IOException e) {
+            assertTrue(e.getMessage().contains("total"));
+        }
+    }
+
+    @Test
+    public void malformedNumbersFailInsteadOfBecomingZero() throws Exception {
+        String[] bad = {
+                "[{\"id\":\"abc\"}]",
+                "[{\"id\":true}]",
+                "[{\"id\":-}]",
+                "[{\"id\":99999999999}]",
+                "{\"count\":\"many\",\"results\":[]}",
+        };
+        for (String json : bad) {
+            try {
+                decode(json, 0, null);
+                fail(json);
+            } catch (java.io.IOException expected) {
+            }
+        }
+        try {
+            decodeColumnar("{\"id\":[2,1],\"remain\":[3,\"x\"]}", 0, null);
+            fail();
+        } catch (java.io.IOException expected) {
+        }
+        // 문자열 id / null / 소수부는 그대로 허용
+        assertEquals(7, decode("[{\"id\":\" 7 \"}]", 0, null).get(0).getId());
+        assertEquals(0, decode("[{\"id\":null}]", 0, null).get(0).getId());
+        assertEquals(3, decode("[{\"id\":3.0}]", 0, null).get(0).getId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.photoviewer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TimeIndexTest {
+
+    private static PostItem at(int id, String created) {
+        return new PostItem(id, "t" + id, "", created, "", "", "edge");
+    }
+
+    // 최신순, 12:30 에 두 개 (같은 시각)
+    private static final List<PostItem> POSTS = Arrays.asList(
+            at(6, "2025-12-18T18:10:00+09:00"),
+            at(5, "2025-12-18T12:30:00+09:00"),
+            at(4, "2025-12-18T12:30:00+09:00"),
+            at(3, "2025-12-18T12:15:00+09:00"),
+            at(2, "2025-12-18T11:50:00+09:00"),
+            at(1, ""));
+
+    private static long t(String iso) {
+        return IsoTime.parseEpochMs(iso);
+    }
+
+    @Test
+    public void positionAtOrBeforeFindsNewestPostAtThatTime() {
+        TimeIndex idx = TimeIndex.of(POSTS);
+        assertEquals(3, idx.idAt(idx.positionAtOrBefore(t("2025-12-18T12:15:00+09:00"))));
+        assertEquals(3, idx.idAt(idx.positionAtOrBefore(t("2025-12-18T12:29:59+09:00"))));
+        assertEquals(5, idx.idAt(idx.positionAtOrBefore(t("2025-12-18T12:30:00+09:00"))));
+        assertEquals(0, idx.positionAtOrBefore(t("2025-12-19T00:00:00+09:00")));
+        // 가장 오래된 글보다 이전 → 시각 모르는 글만
+        assertEquals(5, idx.positionAtOrBefore(t("2025-12-18T08:00:00+09:00")));
+    }
+
+    @Test
+    public void rangeIsHalfOpen() {
+        TimeIndex idx = TimeIndex.of(POSTS);
+        assertArrayEquals(new int[]{1, 4}, idx.range(t("2025-12-18T12:00:00+09:00"), t("2025-12-18T12:31:00+09:00")));
+        // 끝 시각은 포함하지 않음
+        assertArrayEquals(new int[]{3, 4}, idx.range(t("2025-12-18T12:00:00+09:00"), t("2025-12-18T12:30:00+09:00")));
+        assertEquals(0, idx.countInRange(t("2025-12-18T13:00:00+09:00"), t("2025-12-18T18:00:00+09:00")));
+        assertEquals(0, idx.countInRange(t("2025-12-18T13:00:00+09:00"), t("2025-12-18T12:00:00+09:00")));
+        assertEquals(0, TimeIndex.EMPTY.countInRange(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void matchesLinearScanOnLargeIndex() {
+        List<PostItem> posts = new ArrayList<>();
+        long base = t("2025-12-18T08:00:00+09:00");
+        for (int i = 0; i < 2000; i++) {
+            long ms = base + (i / 3) * 45_000L; // 같은 시각 3개씩
+            posts.add(new PostItem(i + 1, "", "", IsoTime.formatIsoUtc(ms), "", "", ""));
+        }
+        Collections.reverse(posts);
+        TimeIndex idx = TimeIndex.of(posts);
+        TimeIndex fromColumns = TimeIndex.of(PostColumns.of(posts));
+
+        for (long q = base - 60_000L; q < base + 700 * 45_000L; q += 17_000L) {
+            int expected = 0;
+            while (expected < posts.size() && posts.get(expected).getCreatedEpochMs() > q) expected++;
+            assertEquals(expected, idx.positionAtOrBefore(q));
+            assertEquals(expected, fromColumns.positionAtOrBefore(q));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnsortedInput() {
+        TimeIndex.of(Arrays.asList(POSTS.get(3), POSTS.get(0)));
+    }
+}
@@ -6,7 +6,8 @@ class Post(models.Model):
     author = models.CharField(max_length=50, default="AnonymousUser", blank=True)
     title = models.CharField(max_length=200)
     text = models.TextField()
-    created_date = models.DateTimeField(default=timezone.now)
+    # 앱 History 의 시간 구간 조회(?created_after / ?created_before)용 색인
+    created_date = models.DateTimeField(default=timezone.now, db_index=True)
     published_date = models.DateTimeField(blank=True, null=True)
     image = models.ImageField(upload_to='blog_image/', blank=True, null=True)
 
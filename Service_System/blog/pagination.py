@@ -0,0 +1,20 @@
+# blog/pagination.py
+# 앱 History 용 페이지 나누기 (DRF PageNumberPagination: {"count", "next", "previous", "results"})
+#  - ?page=N 을 주거나 생성 시각 구간(?created_after / ?created_before)을 주면 PAGE_SIZE 개씩
+#    (열린 구간 "t 이전 기록" 도 전체가 아니라 한 페이지)
+#  - 그 밖(대시보드의 ?since_id= 증분 / 전체 동기화, 예전 앱)은 지금처럼 배열 그대로
+#  - ?page_size= 로 한 페이지 크기를 MAX_PAGE_SIZE 까지 바꿀 수 있음
+from rest_framework.pagination import PageNumberPagination
+
+PAGED_QUERY_PARAMS = ("page", "created_after", "created_before")
+MAX_PAGE_SIZE = 100
+
+
+class HistoryPagination(PageNumberPagination):
+    page_size_query_param = "page_size"
+    max_page_size = MAX_PAGE_SIZE
+
+    def paginate_queryset(self, queryset, request, view=None):
+        if not any(request.query_params.get(p) for p in PAGED_QUERY_PARAMS):
+            return None
+        return super().paginate_queryset(queryset, request, view)
@@ -0,0 +1,70 @@
+# blog/renderers.py
+# 앱용 컬럼형 Post 피드 (Accept: application/vnd.photoviewer.columnar+json)
+#  - 글마다 키를 반복하지 않고 필드별 배열 하나씩 (id 가 먼저)
+#  - 혼잡도 수치는 본문에서 뽑아 숫자 그대로 (total / seated / queue / remain, 없으면 null)
+#  - 네 수치를 다 뽑은 글은 본문(text)을 null 로 (앱은 본문을 다시 파싱하지 않음)
+#  - image 는 공통 앞부분을 image_base 로 한 번만
+# Accept 에 이 타입이 없으면 DRF 가 평소 JSON 을 고른다.
+import json
+
+from rest_framework.renderers import BaseRenderer
+
+from .stats import parse_stats
+
+COLUMNAR_MEDIA_TYPE = "application/vnd.photoviewer.columnar+json"
+COLUMNAR_VERSION = 1
+
+_STAT_FIELDS = ("total", "seated", "queue", "remain")
+
+
+def _common_dir_prefix(urls):
+    urls = [u for u in urls if u]
+    if not urls:
+        return ""
+    lo, hi = min(urls), max(urls)
+    n = 0
+    while n < len(lo) and n < len(hi) and lo[n] == hi[n]:
+        n += 1
+    return lo[: lo.rfind("/", 0, n) + 1]
+
+
+def to_columns(posts, count=None, next_url=None):
+    images = [p.get("image") for p in posts]
+    base = _common_dir_prefix(images)
+
+    out = {"format": "columnar", "v": COLUMNAR_VERSION, "n": len(posts)}
+    if count is not None:
+        out["count"] = count
+    out["next"] = next_url
+    out["id"] = [p.get("id") for p in posts]
+    out["author"] = [p.get("author") for p in posts]
+    out["title"] = [p.get("title") for p in posts]
+    out["created_date"] = [p.get("created_date") for p in posts]
+    out["published_date"] = [p.get("published_date") for p in posts]
+    out["image_base"] = base
+    out["image"] = [u[len(base):] if u else None for u in images]
+
+    stats = [parse_stats(p.get("text") or "") or {} for p in posts]
+    for field in _STAT_FIELDS:
+        out[field] = [s.get(field) for s in stats]
+    out["text"] = [
+        None if s and all(s.get(f) is not None for f in _STAT_FIELDS) else p.get("text")
+        for p, s in zip(posts, stats)
+    ]
+    return out
+
+
+class ColumnarPostRenderer(BaseRenderer):
+    media_type = COLUMNAR_MEDIA_TYPE
+    format = "columnar"
+    charset = "utf-8"
+
+    def render(self, data, accepted_media_type=None, renderer_context=None):
+        if data is None:
+            return b""
+        if isinstance(data, list):
+            data = to_columns(data)
+        elif isinstance(data, dict) and isinstance(data.get("results"), list):
+            data = to_columns(data["results"], data.get("count"), data.get("next"))
+        # 그 밖(글 하나, 오류 등)은 평소 JSON 그대로
+        return json.dumps(data, ensure_ascii=False, separators=(",", ":")).encode("utf-8")
@@ -0,0 +1,25 @@
+# blog/stats.py
+# 엣지 장치 본문("- 총 좌석 수: 40석" ...)에서 혼잡도 수치 뽑기
+# (관리자 대시보드 / 앱용 컬럼형 피드가 같이 씀)
+import re
+
+_TOTAL = re.compile(r"총\s*좌석\s*수:\s*(\d+)\s*석")
+_SEATED = re.compile(r"착석\s*인원:\s*(\d+)\s*명")
+_QUEUE = re.compile(r"대기열\s*인원.*?:\s*(\d+)\s*명")
+_REMAIN = re.compile(r"남은\s*좌석:\s*(\d+)\s*석")
+
+
+def parse_stats(text: str):
+    if not text:
+        return None
+
+    def pick(pattern):
+        m = pattern.search(text)
+        return int(m.group(1)) if m else None
+
+    return {
+        "total": pick(_TOTAL),
+        "seated": pick(_SEATED),
+        "queue": pick(_QUEUE),
+        "remain": pick(_REMAIN),
+    }
@@ -1,3 +1,110 @@
-from django.test import TestCase
+from datetime import timedelta, timezone as dt_timezone
+from unittest import mock
 
-# Create your tests here.
+from django.test import AsyncClient, TestCase
+from django.utils import timezone
+from rest_framework.test import APIClient
+
+from . import views
+from .models import Post
+from .pagination import MAX_PAGE_SIZE
+from .renderers import COLUMNAR_MEDIA_TYPE
+
+FEED = "/api_root/Post/"
+
+
+def _text(seated):
+    return (f"- 총 좌석 수: 40석\n- 착석 인원: {seated}명\n"
+            f"- 대기열 인원(서 있는 인원): 0명\n- 남은 좌석: {40 - seated}석")
+
+
+def _iso(dt):
+    return dt.astimezone(dt_timezone.utc).strftime("%Y-%m-%dT%H:%M:%SZ")
+
+
+class PostFeedShapeTests(TestCase):
+    """앱이 기대하는 Post 피드 모양: History 는 페이지, 대시보드 증분은 배열"""
+
+    @classmethod
+    def setUpTestData(cls):
+        cls.now = timezone.now().replace(microsecond=0)
+        cls.posts = []
+        for i in range(25):  # 1분 간격, 마지막 글이 1분 전
+            t = cls.now - timedelta(minutes=25 - i)
+            cls.posts.append(Post.objects.create(
+                author="edge", title="혼잡도 변경", text=_text(i), created_date=t, published_date=t))
+
+    def setUp(self):
+        self.client = APIClient()
+
+    def test_plain_list_stays_an_array(self):
+        data = self.client.get(FEED).json()
+        self.assertIsInstance(data, list)
+        self.assertEqual(len(data), 25)
+
+    def test_since_id_stays_an_array(self):
+        since = self.posts[-4].id
+        data = self.client.get(FEED, {"since_id": since}).json()
+        self.assertIsInstance(data, list)
+        self.assertEqual([p["id"] for p in data], [p.id for p in reversed(self.posts[-3:])])
+
+    def test_page_param_returns_one_page_newest_first(self):
+        first = self.client.get(FEED, {"page": 1}).json()
+        self.assertEqual(first["count"], 25)
+        self.assertEqual(len(first["results"]), 10)
+        self.assertEqual(first["results"][0]["id"], self.posts[-1].id)
+        self.assertIn("page=2", first["next"])
+
+        last = self.client.get(FEED, {"page": 3}).json()
+        self.assertEqual(len(last["results"]), 5)
+        self.assertIsNone(last["next"])
+        self.assertEqual(self.client.get(FEED, {"page": 4}).status_code, 404)
+
+    def test_pages_follow_created_date_like_the_app_store(self):
+        # 예전 글을 방금 수정해도(published_date 갱신) 페이지 순서는 생성 시각 그대로
+        edited = self.posts[0]
+        Post.objects.filter(id=edited.id).update(published_date=self.now)
+        ids = []
+        for page in (1, 2, 3):
+            ids += [p["id"] for p in self.client.get(FEED, {"page": page}).json()["results"]]
+        self.assertEqual(ids, [p.id for p in reversed(self.posts)])
+
+    def test_page_size_is_capped(self):
+        data = self.client.get(FEED, {"page": 1, "page_size": 5}).json()
+        self.assertEqual(len(data["results"]), 5)
+        data = self.client.get(FEED, {"page": 1, "page_size": MAX_PAGE_SIZE * 10}).json()
+        self.assertEqual(len(data["results"]), 25)
+
+    def test_open_range_is_paged_without_page_param(self):
+        # "t 이전 기록": 구간 안의 글이 많아도 한 페이지만
+        data = self.client.get(FEED, {"created_before": _iso(self.now - timedelta(minutes=10))}).json()
+        self.assertEqual(data["count"], 15)
+        self.assertEqual(len(data["results"]), 10)
+        self.assertEqual(data["results"][0]["id"], self.posts[14].id)
+        self.assertIsNotNone(data["next"])
+
+    def test_columnar_page_keeps_count_and_next(self):
+        resp = self.client.get(FEED, {"page": 1}, HTTP_ACCEPT=COLUMNAR_MEDIA_TYPE)
+        self.assertEqual(resp["Content-Type"].split(";")[0], COLUMNAR_MEDIA_TYPE)
+        data = resp.json()
+        self.assertEqual(data["format"], "columnar")
+        self.assertEqual(data["n"], 10)
+        self.assertEqual(data["count"], 25)
+        self.assertIn("page=2", data["next"])
+        self.assertEqual(data["remain"][0], 40 - 24)
+
+
+class PostStreamTests(TestCase):
+    """푸시 스트림은 워커를 잡지 않을 때만 열고, 못 열면 앱이 폴링으로 가도록 알린다"""
+
+    STREAM = "/api_root/Post/stream/"
+
+    def test_wsgi_request_is_refused_as_unsupported(self):
+        resp = self.client.get(self.STREAM)
+        self.assertEqual(resp.status_code, 501)
+
+    async def test_full_server_asks_client_to_poll(self):
+        with mock.patch.object(views, "_open_streams", views.STREAM_MAX_CLIENTS):
+            resp = await AsyncClient().get(self.STREAM)
+        self.assertEqual(resp.status_code, 503)
+        self.assertEqual(resp["Retry-After"], str(views.STREAM_RETRY_AFTER_SECONDS))
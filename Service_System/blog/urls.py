@@ -11,7 +11,8 @@ from .views import (
     admin_login,
     admin_logout,
     admin_dashboard,
-    admin_dashboard_data
+    admin_dashboard_data,
+    post_stream
 )
 
 router = routers.DefaultRouter()
@@ -32,6 +33,7 @@ urlpatterns = [
     path("login/", admin_login, name="admin_login"),
     path("logout/", admin_logout, name="admin_logout"),
 
-    # DRF API
+    # DRF API (stream/ 은 router 의 Post/<pk>/ 보다 먼저)
+    path("api_root/Post/stream/", post_stream, name="post_stream"),
     path("api_root/", include(router.urls)),
 ]
@@ -1,18 +1,30 @@
 # blog/views.py
+import asyncio
 from functools import wraps
-import re
+import json
+import time
 from datetime import timedelta
 
+from asgiref.sync import sync_to_async
 from django.contrib import messages
-from django.http import JsonResponse
+from django.core.handlers.asgi import ASGIRequest
+from django.http import JsonResponse, StreamingHttpResponse
 from django.shortcuts import render, get_object_or_404, redirect
+from django.views.decorators.http import require_GET
 from django.utils import timezone
+from django.utils.cache import patch_vary_headers
+from django.utils.dateparse import parse_datetime
 
 from .forms import PostForm
 from .models import Post, SecurityKey
+from .pagination import PAGED_QUERY_PARAMS, HistoryPagination
+from .renderers import ColumnarPostRenderer
+from .stats import parse_stats as _parse_stats
 
 from rest_framework import viewsets
+from rest_framework.exceptions import ValidationError
 from rest_framework.parsers import JSONParser, FormParser, MultiPartParser
+from rest_framework.renderers import BrowsableAPIRenderer, JSONRenderer
 from .serializers import PostSerializer
 
 
@@ -124,22 +136,6 @@ def js_test(request):
 #   - 페이지: /dashboard/
 #   - 데이터: /dashboard/data/
 # -------------------------
-def _parse_stats(text: str):
-    if not text:
-        return None
-
-    def pick(pattern):
-        m = re.search(pattern, text)
-        return int(m.group(1)) if m else None
-
-    total = pick(r"총\s*좌석\s*수:\s*(\d+)\s*석")
-    seated = pick(r"착석\s*인원:\s*(\d+)\s*명")
-    queue = pick(r"대기열\s*인원.*?:\s*(\d+)\s*명")
-    remain = pick(r"남은\s*좌석:\s*(\d+)\s*석")
-
-    return {"total": total, "seated": seated, "queue": queue, "remain": remain}
-
-
 def _status_bucket(queue, remain, total):
     if total is None or remain is None or queue is None:
         return None
@@ -243,6 +239,155 @@ def admin_dashboard_data(request):
 #   -> 여기는 계속 공개 (앱에서 조회)
 # -------------------------
 class BlogImage(viewsets.ModelViewSet):
-    queryset = Post.objects.all().order_by("-published_date")
+    # 같은 시각 글이 있어도 페이지 경계가 흔들리지 않게 id 로 한 번 더
+    queryset = Post.objects.all().order_by("-published_date", "-id")
     serializer_class = PostSerializer
+    # ?page= / 시간 구간이면 페이지로, ?since_id= 증분은 배열 그대로 (blog/pagination.py)
+    pagination_class = HistoryPagination
     parser_classes = [JSONParser, FormParser, MultiPartParser]
+    # 앱이 Accept 로 컬럼형을 요청하면 그걸로, 아니면 평소 JSON
+    renderer_classes = [JSONRenderer, BrowsableAPIRenderer, ColumnarPostRenderer]
+
+    def finalize_response(self, request, response, *args, **kwargs):
+        response = super().finalize_response(request, response, *args, **kwargs)
+        patch_vary_headers(response, ["Accept"])
+        return response
+
+    def get_queryset(self):
+        qs = super().get_queryset()
+
+        # 앱 증분 동기화: ?since_id=N 이면 id > N 인 글만
+        since_id = self.request.query_params.get("since_id")
+        if since_id and since_id.isdigit():
+            qs = qs.filter(id__gt=int(since_id))
+
+        # 앱 History 시간 이동 / 구간 보기: created_after <= created_date < created_before
+        # (ISO-8601, 예: 2025-12-18T03:00:00Z)
+        after = _query_datetime(self.request, "created_after")
+        before = _query_datetime(self.request, "created_before")
+        if after is not None:
+            qs = qs.filter(created_date__gte=after)
+        if before is not None:
+            qs = qs.filter(created_date__lt=before)
+
+        # History 페이지/구간은 앱 기기 저장소(PostStore.NEWEST_FIRST)와 같은 순서로: 생성 시각 최신순, 같으면 id
+        # (앱이 기기에서 만든 첫 페이지와 서버 다음 페이지의 경계에서 글이 겹치거나 빠지지 않게, created_date 색인)
+        if any(self.request.query_params.get(p) for p in PAGED_QUERY_PARAMS):
+            qs = qs.order_by("-created_date", "-id")
+        return qs
+
+
+def _query_datetime(request, name):
+    raw = (request.query_params.get(name) or "").strip()
+    if not raw:
+        return None
+    try:
+        dt = parse_datetime(raw)
+    except ValueError:
+        dt = None
+    if dt is None:
+        raise ValidationError({name: "ISO-8601 날짜/시간이어야 합니다."})
+    if timezone.is_naive(dt):
+        dt = timezone.make_aware(dt)
+    return dt
+
+
+# -------------------------
+#   새 글 푸시 (Server-Sent Events)
+#   - GET /api_root/Post/stream/?since_id=N  (또는 Last-Event-ID 헤더)
+#   - 새 글마다 "event: post / id: <id> / data: <Post JSON>" 하나
+#   - async 뷰라 ASGI(uvicorn/daphne)에서만 연다. 기다리는 동안 워커 스레드를 잡지 않음
+#     WSGI 로 띄웠으면 501 → 앱은 푸시를 끄고 폴링만
+#   - 프로세스당 STREAM_MAX_CLIENTS 개까지. 넘으면 503 + Retry-After → 앱은 그동안 폴링
+#   - 새 글 확인은 스트림마다 DB 를 치지 않고, 프로세스에서 STREAM_POLL_SECONDS 에 한 번
+#     가장 큰 id 만 읽어 나눠 본다 (새 글이 있을 때만 글을 읽음)
+#   - 15초마다 heartbeat 주석, STREAM_MAX_SECONDS 뒤에는 닫음 (앱은 마지막 id 로 재연결)
+# -------------------------
+STREAM_POLL_SECONDS = 1
+STREAM_HEARTBEAT_SECONDS = 15
+STREAM_MAX_SECONDS = 60
+STREAM_MAX_CLIENTS = 200
+STREAM_RETRY_AFTER_SECONDS = 30
+
+# 이벤트 루프 스레드에서만 만짐
+_open_streams = 0
+_latest_id = 0
+_latest_checked_at = 0.0
+_latest_lock = asyncio.Lock()
+
+
+async def _latest_post_id():
+    global _latest_id, _latest_checked_at
+    if time.monotonic() - _latest_checked_at < STREAM_POLL_SECONDS:
+        return _latest_id
+    async with _latest_lock:
+        if time.monotonic() - _latest_checked_at >= STREAM_POLL_SECONDS:
+            last = await Post.objects.order_by("-id").values_list("id", flat=True).afirst()
+            _latest_id = last or 0
+            _latest_checked_at = time.monotonic()
+    return _latest_id
+
+
+def _stream_since_id(request):
+    raw = request.headers.get("Last-Event-ID") or request.GET.get("since_id") or ""
+    raw = raw.strip()
+    if raw.isdigit() and int(raw) > 0:
+        return int(raw)
+    return None
+
+
+@sync_to_async
+def _post_events(request, last_id):
+    events = []
+    for post in Post.objects.filter(id__gt=last_id).order_by("id")[:50]:
+        data = PostSerializer(post, context={"request": request}).data
+        body = json.dumps(data, ensure_ascii=False)
+        events.append((post.id, f"event: post\nid: {post.id}\ndata: {body}\n\n"))
+    return events
+
+
+def _stream_refused(status, message, retry_after=None):
+    response = JsonResponse({"detail": message}, status=status)
+    if retry_after is not None:
+        response["Retry-After"] = str(retry_after)
+    return response
+
+
+@require_GET
+async def post_stream(request):
+    if not isinstance(request, ASGIRequest):
+        return _stream_refused(501, "푸시는 ASGI 서버에서만 지원합니다.")
+    if _open_streams >= STREAM_MAX_CLIENTS:
+        return _stream_refused(503, "푸시 연결이 많습니다. 잠시 폴링을 사용하세요.",
+                               STREAM_RETRY_AFTER_SECONDS)
+
+    since_id = _stream_since_id(request)
+    if since_id is None:
+        # 기준이 없으면 지금 가장 최근 글 이후부터
+        since_id = await _latest_post_id()
+
+    async def events(last_id):
+        global _open_streams
+        _open_streams += 1
+        try:
+            yield f"retry: {STREAM_POLL_SECONDS * 3000}\n\n"
+            started = time.monotonic()
+            last_sent = started
+            while time.monotonic() - started < STREAM_MAX_SECONDS:
+                if await _latest_post_id() > last_id:
+                    for post_id, event in await _post_events(request, last_id):
+                        yield event
+                        last_id = post_id
+                        last_sent = time.monotonic()
+
+                if time.monotonic() - last_sent >= STREAM_HEARTBEAT_SECONDS:
+                    yield ": ping\n\n"
+                    last_sent = time.monotonic()
+                await asyncio.sleep(STREAM_POLL_SECONDS)
+        finally:
+            _open_streams -= 1
+
+    response = StreamingHttpResponse(events(since_id), content_type="text/event-stream; charset=utf-8")
+    response["Cache-Control"] = "no-cache"
+    response["X-Accel-Buffering"] = "no"
+    return response